@@ -18,10 +18,14 @@
 package io.ballerina.runtime.api;
 
 import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.scheduling.BlockingCallExecutor;
 import io.ballerina.runtime.internal.scheduling.State;
 import io.ballerina.runtime.internal.scheduling.Strand;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * When this class is used as the first argument of an interop method, Ballerina will inject an instance of the class
@@ -59,6 +63,48 @@ public class Environment {
         return future;
     }
 
+    /**
+     * Executes a blocking operation such as a JDBC call or file I/O. If the runtime is configured with a blocking
+     * executor through the BALLERINA_BLOCKING_EXECUTOR system variable, the current strand is marked as async and the
+     * operation runs on a separate (virtual or platform) thread, so that the strand executor thread is released
+     * for other strands. Otherwise the operation runs on the current thread.
+     * <p>
+     * The interop method must return the value returned by this method. A {@link BError} thrown by the operation is
+     * returned as the result of the call. When executed asynchronously, any other exception is converted to an error
+     * value as well.
+     *
+     * @param operation blocking operation that produces the result of the interop call
+     * @return result of the operation, or null if it is executed asynchronously
+     */
+    public Object executeBlocking(Supplier<Object> operation) {
+        BlockingCallExecutor executor = strand.scheduler.getBlockingCallExecutor();
+        if (!executor.isOffloading()) {
+            return getBlockingResult(operation);
+        }
+        Future blockingFuture = new Future(this.strand);
+        strand.blockedOnExtern = true;
+        strand.setState(State.BLOCK_AND_YIELD);
+        executor.execute(() -> {
+            Object result;
+            try {
+                result = getBlockingResult(operation);
+            } catch (Throwable t) {
+                // the strand would never be resumed if the future is left incomplete
+                result = ErrorCreator.createError(t);
+            }
+            blockingFuture.complete(result);
+        });
+        return null;
+    }
+
+    private static Object getBlockingResult(Supplier<Object> operation) {
+        try {
+            return operation.get();
+        } catch (BError error) {
+            return error;
+        }
+    }
+
     public Runtime getRuntime() {
         return new Runtime(strand.scheduler);
     }
@@ -57,6 +57,13 @@ public class RuntimeConstants {
     public static final String BALLERINA_HOME = "ballerina.home";
     public static final String BALLERINA_PACKAGE_PREFIX = "ballerina" + ORG_NAME_SEPARATOR;
     public static final String BALLERINA_MAX_POOL_SIZE_ENV_VAR = "BALLERINA_MAX_POOL_SIZE";
+    public static final String BALLERINA_SCHEDULER_POLICY_ENV_VAR = "BALLERINA_SCHEDULER_POLICY";
+    public static final String SCHEDULER_POLICY_SHARED = "shared";
+    public static final String SCHEDULER_POLICY_WORK_STEALING = "work-stealing";
+    public static final String BALLERINA_BLOCKING_EXECUTOR_ENV_VAR = "BALLERINA_BLOCKING_EXECUTOR";
+    public static final String BLOCKING_EXECUTOR_INLINE = "inline";
+    public static final String BLOCKING_EXECUTOR_PLATFORM = "platform";
+    public static final String BLOCKING_EXECUTOR_VIRTUAL = "virtual";
 
     public static final Module BALLERINA_BUILTIN_PKG_ID = new Module(BALLERINA_BUILTIN_PKG_PREFIX, "builtin");
     public static final Module BALLERINA_LANG_ERROR_PKG_ID = new Module(BALLERINA_BUILTIN_PKG_PREFIX,
@@ -35,6 +35,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 /**
@@ -67,6 +68,41 @@ public class JsonUtils {
         return JsonParser.parse(in, charsetName);
     }
 
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json.
+     *
+     * @param jsonBytes the byte array which contains the UTF-8 encoded JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] jsonBytes) throws BError {
+        return JsonParser.parse(jsonBytes, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json.
+     *
+     * @param jsonBytes the byte array which contains the UTF-8 encoded JSON content
+     * @param mode      the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] jsonBytes, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        return JsonParser.parse(jsonBytes, mode);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents remaining in the given {@link ByteBuffer} and returns a json. The position
+     * of the buffer is not changed.
+     *
+     * @param jsonBuffer the buffer which contains the UTF-8 encoded JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer jsonBuffer) throws BError {
+        return JsonParser.parse(jsonBuffer, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
     /**
      * Parses the contents in the given string and returns a json.
      *
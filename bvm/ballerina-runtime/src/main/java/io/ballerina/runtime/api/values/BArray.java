@@ -151,6 +151,17 @@ public interface BArray extends BRefValue, BCollection {
      */
     void append(Object value);
 
+    /**
+     * Append values to the existing array, as {@link #append(Object)} does for each value. Arrays may override this
+     * to grow their storage at most once.
+     * @param values values to be appended
+     */
+    default void appendAll(Object[] values) {
+        for (Object value : values) {
+            append(value);
+        }
+    }
+
     /**
      * Reverse an array.
      *
@@ -21,29 +21,57 @@ import io.ballerina.runtime.internal.scheduling.State;
 import io.ballerina.runtime.internal.scheduling.Strand;
 
 import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * {@code VarLock} represents lock object for variables in jvm.
+ * <p>
+ * The lock is acquired by setting the owner strand with a CAS, and the owner re-enters by incrementing the hold
+ * count, so an uncontended lock never synchronizes. Strands which fail to acquire the lock are queued under the
+ * monitor of the lock, and the owner only takes the monitor on release when there are queued strands.
  *
  * @since 1.0.0
  */
 public class BLock {
 
-    private ArrayDeque<Strand> current;
+    private static final AtomicReferenceFieldUpdater<BLock, Strand> OWNER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(BLock.class, Strand.class, "owner");
+
+    private volatile Strand owner;
+
+    // Only accessed by the owner.
+    private int holdCount;
+
+    // Number of queued strands, written under the monitor. Queuing strands write this before checking the owner,
+    // and the owner checks it after clearing the owner, so either the strand gets the lock or the owner wakes it.
+    private volatile int waitingCount;
 
     private ArrayDeque<Strand> waitingForLock;
 
-    public BLock() {
-        this.current = new ArrayDeque<>();
-        this.waitingForLock = new ArrayDeque<>();
+    public boolean lock(Strand strand) {
+        Strand currentOwner = this.owner;
+        if (currentOwner == strand) {
+            this.holdCount++;
+            return true;
+        }
+        if (currentOwner == null && OWNER_UPDATER.compareAndSet(this, null, strand)) {
+            this.holdCount = 1;
+            return true;
+        }
+        return lockOrWait(strand);
     }
 
-    public synchronized boolean lock(Strand strand) {
-        if (isLockFree() || lockedBySameContext(strand)) {
-            this.current.offerLast(strand);
+    private synchronized boolean lockOrWait(Strand strand) {
+        this.waitingCount++;
+        if (OWNER_UPDATER.compareAndSet(this, null, strand)) {
+            this.waitingCount--;
+            this.holdCount = 1;
             return true;
         }
 
+        if (this.waitingForLock == null) {
+            this.waitingForLock = new ArrayDeque<>();
+        }
         this.waitingForLock.offerLast(strand);
 
         // Strand state change
@@ -52,20 +80,31 @@ public class BLock {
         return false;
     }
 
-    public synchronized void unlock() {
-        //current cannot be empty as unlock cannot be called without lock being called first.
-        this.current.removeLast();
-        if (!waitingForLock.isEmpty()) {
-            Strand strand = this.waitingForLock.removeFirst();
+    public void unlock() {
+        //owner cannot be null as unlock cannot be called without lock being called first.
+        if (--this.holdCount != 0) {
+            return;
+        }
+        this.owner = null;
+        if (this.waitingCount != 0) {
+            unblockWaitingStrand();
+        }
+    }
+
+    private synchronized void unblockWaitingStrand() {
+        // The strand has to acquire the lock again once it is rescheduled.
+        Strand strand = this.waitingForLock == null ? null : this.waitingForLock.pollFirst();
+        if (strand != null) {
+            this.waitingCount--;
             strand.scheduler.unblockStrand(strand);
         }
     }
 
     public boolean isLockFree() {
-        return this.current.isEmpty();
+        return this.owner == null;
     }
 
     public boolean lockedBySameContext(Strand ctx) {
-        return this.current.getLast() == ctx;
+        return this.owner == ctx;
     }
 }
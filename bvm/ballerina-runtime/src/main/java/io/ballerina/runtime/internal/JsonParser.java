@@ -25,6 +25,7 @@ import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.runtime.internal.types.BArrayType;
 import io.ballerina.runtime.internal.types.BMapType;
 import io.ballerina.runtime.internal.values.ArrayValue;
@@ -39,9 +40,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.function.Function;
 
 import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode.FROM_JSON_DECIMAL_STRING;
 import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING;
@@ -83,6 +87,9 @@ public class JsonParser {
      */
     public static Object parse(InputStream in, String charsetName) throws BError {
         try {
+            if (isUtf8(charsetName)) {
+                return Utf8JsonParser.parse(in, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+            }
             Object jsonObj = parse(new InputStreamReader(new BufferedInputStream(in), charsetName),
                                    JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
             return changeForBString(jsonObj);
@@ -115,6 +122,72 @@ public class JsonParser {
         return parse(new StringReader(jsonStr), mode);
     }
 
+    /**
+     * Parses the UTF-8 encoded contents in the given byte array and returns a json.
+     *
+     * @param jsonBytes the byte array which contains the UTF-8 encoded JSON content
+     * @param mode      the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] jsonBytes, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        return Utf8JsonParser.parse(jsonBytes, 0, jsonBytes.length, mode);
+    }
+
+    /**
+     * Parses the UTF-8 encoded contents between the position and the limit of the given {@link ByteBuffer} and
+     * returns a json. The position of the buffer is not changed.
+     *
+     * @param jsonBuffer the buffer which contains the UTF-8 encoded JSON content
+     * @param mode       the mode to use when processing numeric values
+     * @return JSON value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer jsonBuffer, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        if (jsonBuffer.hasArray()) {
+            return Utf8JsonParser.parse(jsonBuffer.array(), jsonBuffer.arrayOffset() + jsonBuffer.position(),
+                                        jsonBuffer.remaining(), mode);
+        }
+        byte[] jsonBytes = new byte[jsonBuffer.remaining()];
+        jsonBuffer.duplicate().get(jsonBytes);
+        return Utf8JsonParser.parse(jsonBytes, 0, jsonBytes.length, mode);
+    }
+
+    /**
+     * Parses the contents in the given string directly into a value of the type described by the given typedesc,
+     * without creating an intermediate JSON value. If the target type cannot be created directly while parsing, or
+     * if the content does not belong to the target type, the content is parsed as a JSON value and converted using
+     * the given converter instead.
+     *
+     * @param jsonStr        the string which contains the JSON content
+     * @param targetTypedesc the typedesc describing the type of the value to be created
+     * @param jsonConverter  the function used to convert a JSON value to the target type
+     * @return value of the target type, or the result of the converter
+     * @throws BError for any parsing error
+     */
+    public static Object parse(String jsonStr, BTypedesc targetTypedesc, Function<Object, Object> jsonConverter)
+            throws BError {
+        byte[] jsonBytes = jsonStr.getBytes(StandardCharsets.UTF_8);
+        if (Utf8JsonParser.isDirectlyParsable(targetTypedesc.getDescribingType())) {
+            try {
+                return Utf8JsonParser.parse(jsonBytes, 0, jsonBytes.length, targetTypedesc);
+            } catch (Utf8JsonParser.TargetTypeMismatchException e) {
+                // Let the converter report the conversion error.
+            }
+        }
+        return jsonConverter.apply(Utf8JsonParser.parse(jsonBytes, 0, jsonBytes.length,
+                                                        JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING));
+    }
+
+    private static boolean isUtf8(String charsetName) {
+        try {
+            return StandardCharsets.UTF_8.equals(Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            // Unknown or illegal charset names are reported by the reader based parser.
+            return false;
+        }
+    }
+
     private static Object changeForBString(Object jsonObj) {
         if (jsonObj instanceof String) {
             return StringUtils.fromString((String) jsonObj);
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.types.Type;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread safe cache of type level subtype checks, keyed by the identity of the source and the target types.
+ * <p>
+ * Only results that depend purely on the types are stored here. Checks that look at the value, such as shape checks
+ * and checks on records with readonly fields, must not be cached. Once the cache is full it is cleared, so that types
+ * created at runtime cannot grow it without a limit.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckCache {
+
+    private static final int MAX_ENTRIES = 8192;
+
+    private final Map<TypePairKey, Boolean> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    Boolean get(Type sourceType, Type targetType) {
+        Boolean result = cache.get(new TypePairKey(sourceType, targetType));
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    void put(Type sourceType, Type targetType, boolean result) {
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(new TypePairKey(sourceType, targetType), result);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Cache key that compares the types by reference, since type equality may itself be expensive.
+     */
+    private static class TypePairKey {
+        private final Type sourceType;
+        private final Type targetType;
+        private final int hash;
+
+        TypePairKey(Type sourceType, Type targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.hash = 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypePairKey)) {
+                return false;
+            }
+            TypePairKey other = (TypePairKey) obj;
+            return this.sourceType == other.sourceType && this.targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
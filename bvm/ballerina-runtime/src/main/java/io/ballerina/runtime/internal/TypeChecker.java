@@ -121,6 +121,8 @@ import static io.ballerina.runtime.api.utils.TypeUtils.isValueType;
 @SuppressWarnings({"rawtypes"})
 public class TypeChecker {
 
+    private static final TypeCheckCache TYPE_CHECK_CACHE = new TypeCheckCache();
+
     public static Object checkCast(Object sourceVal, Type targetType) {
 
         if (checkIsType(sourceVal, targetType)) {
@@ -414,7 +416,7 @@ public class TypeChecker {
      */
     public static boolean checkDecimalEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-               lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0;
+               lhsValue.compareValue(rhsValue) == 0;
     }
 
     /**
@@ -596,6 +598,9 @@ public class TypeChecker {
         }
 
         if (sourceTypeTag == TypeTags.UNION_TAG) {
+            if (unresolvedTypes == null) {
+                return checkIsTypeWithCache(sourceType, targetType);
+            }
             return isUnionTypeMatch((BUnionType) sourceType, targetType, unresolvedTypes);
         }
 
@@ -645,11 +650,43 @@ public class TypeChecker {
             case TypeTags.XML_PI_TAG:
                 return targetTypeTag == sourceTypeTag;
             default:
-                return checkIsRecursiveType(sourceType, targetType,
-                        unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                if (unresolvedTypes == null) {
+                    return checkIsTypeWithCache(sourceType, targetType);
+                }
+                return checkIsRecursiveType(sourceType, targetType, unresolvedTypes);
         }
     }
 
+    /**
+     * Returns the cache of the type level checks, used to report the cache hits and misses.
+     *
+     * @return type check cache
+     */
+    public static TypeCheckCache getTypeCheckCache() {
+        return TYPE_CHECK_CACHE;
+    }
+
+    /**
+     * Checks a union source type or a structured target type, going through the type check cache. This must only be
+     * used for a check that is not nested in another check, since a nested result may rely on the pairs assumed to
+     * hold in {@code unresolvedTypes} and hence is not final.
+     */
+    private static boolean checkIsTypeWithCache(Type sourceType, Type targetType) {
+        Boolean cachedResult = TYPE_CHECK_CACHE.get(sourceType, targetType);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        boolean result;
+        if (sourceType.getTag() == TypeTags.UNION_TAG) {
+            result = isUnionTypeMatch((BUnionType) sourceType, targetType, null);
+        } else {
+            result = checkIsRecursiveType(sourceType, targetType, new ArrayList<>());
+        }
+        TYPE_CHECK_CACHE.put(sourceType, targetType, result);
+        return result;
+    }
+
     private static boolean checkIsType(Object sourceVal, Type sourceType, Type targetType,
                                       List<TypePair> unresolvedTypes) {
         int sourceTypeTag = sourceType.getTag();
@@ -692,8 +729,16 @@ public class TypeChecker {
             case TypeTags.READONLY_TAG:
                 return isInherentlyImmutableType(sourceType) || sourceType.isReadOnly();
             default:
+                if (unresolvedTypes == null) {
+                    // If every value of the source type belongs to the target type, there is no need to look at the
+                    // value. Otherwise the value may still belong to the target type due to readonly or final fields.
+                    if (checkIsTypeWithCache(sourceType, targetType)) {
+                        return true;
+                    }
+                    unresolvedTypes = new ArrayList<>();
+                }
                 return checkIsRecursiveTypeOnValue(sourceVal, sourceType, targetType, sourceTypeTag, targetTypeTag,
-                                                   unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                                                   unresolvedTypes);
         }
     }
 
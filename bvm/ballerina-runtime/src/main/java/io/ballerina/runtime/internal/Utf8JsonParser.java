@@ -0,0 +1,842 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.values.ArrayValue;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode.FROM_JSON_DECIMAL_STRING;
+import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING;
+import static io.ballerina.runtime.api.utils.JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING;
+
+/**
+ * A single pass JSON parser which works directly on UTF-8 encoded bytes.
+ * <p>
+ * Unlike the {@link JsonParser} state machine, the input is not decoded into characters up front. Strings without
+ * escape sequences are created straight from the input bytes and integers which fit in a long are accumulated
+ * without an intermediate string. The line and column are only computed when an error is reported. The produced
+ * values and error messages are the same as the ones of {@link JsonParser}.
+ * <p>
+ * An input stream is read through a fixed size window instead of being read fully up front. The consumed part of the
+ * window is discarded on each refill, so only the token being read has to fit in it.
+ * <p>
+ * When a target type is given, records, maps and arrays of that type are created while parsing instead of creating
+ * a JSON value first and converting it afterwards. Only the types accepted by {@link #isDirectlyParsable(Type)}
+ * can be used as the target type.
+ *
+ * @since 2.0.0
+ */
+@SuppressWarnings("unchecked")
+final class Utf8JsonParser {
+
+    private static final int MAX_FAST_PATH_DIGITS = 18;
+    private static final int WINDOW_SIZE = 8192;
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private byte[] buff;
+    private int start;
+    private int limit;
+    private final InputStream in;
+    private final JsonUtils.NonStringValueProcessingMode mode;
+    private final Type definedJsonType;
+
+    private int pos;
+    // The beginning of the token being read, which is kept in the window on a refill. -1 if there is no such token.
+    private int mark = -1;
+    private boolean endOfInput;
+    // The location of the first byte in the window.
+    private int line = 1;
+    private int column;
+    private char[] charBuff;
+
+    private Object[] nodes = new Object[16];
+    private BString[] fieldNames = new BString[16];
+    private int depth;
+
+    // Target types, only used when parsing with a target type. A null type means a plain JSON value.
+    private final BTypedesc targetTypedesc;
+    private Type[] nodeTypes;
+    private Type[] memberTypes;
+
+    private Utf8JsonParser(byte[] buff, int offset, int length, InputStream in,
+                           JsonUtils.NonStringValueProcessingMode mode, BTypedesc targetTypedesc) {
+        this.buff = buff;
+        this.start = offset;
+        this.limit = offset + length;
+        this.pos = offset;
+        this.in = in;
+        this.mode = mode;
+        this.targetTypedesc = targetTypedesc;
+        if (targetTypedesc != null) {
+            this.nodeTypes = new Type[16];
+            this.memberTypes = new Type[16];
+        }
+        if (mode == FROM_JSON_DECIMAL_STRING) {
+            this.definedJsonType = PredefinedTypes.TYPE_JSON_DECIMAL;
+        } else if (mode == FROM_JSON_FLOAT_STRING) {
+            this.definedJsonType = PredefinedTypes.TYPE_JSON_FLOAT;
+        } else {
+            this.definedJsonType = PredefinedTypes.TYPE_JSON;
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the given range of the buffer and returns a json.
+     *
+     * @param buff   the buffer which contains the JSON content
+     * @param offset the index of the first byte of the JSON content
+     * @param length the number of bytes of the JSON content
+     * @param mode   the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    static Object parse(byte[] buff, int offset, int length, JsonUtils.NonStringValueProcessingMode mode)
+            throws BError {
+        checkBounds(buff, offset, length);
+        return parse(new Utf8JsonParser(buff, offset, length, null, mode == null ? FROM_JSON_STRING : mode, null));
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content of the given input stream and returns a json. The stream is read through
+     * a fixed size window, and is read up to the end of the JSON content.
+     *
+     * @param in   the input stream which contains the JSON content
+     * @param mode the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError      for any parsing error
+     * @throws IOException if reading the input stream fails
+     */
+    static Object parse(InputStream in, JsonUtils.NonStringValueProcessingMode mode) throws BError, IOException {
+        try {
+            return parse(new Utf8JsonParser(new byte[WINDOW_SIZE], 0, 0, in, mode == null ? FROM_JSON_STRING : mode,
+                                            null));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object parse(Utf8JsonParser parser) throws BError {
+        try {
+            return parser.execute();
+        } catch (JsonParserException e) {
+            throw ErrorCreator.createError(StringUtils.fromString(e.getMessage() + parser.location()));
+        } catch (TargetTypeMismatchException e) {
+            // Cannot happen without a target type.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON content in the given range of the buffer directly into a value of the type
+     * described by the given typedesc. The described type must be one accepted by {@link #isDirectlyParsable(Type)}.
+     *
+     * @param buff           the buffer which contains the JSON content
+     * @param offset         the index of the first byte of the JSON content
+     * @param length         the number of bytes of the JSON content
+     * @param targetTypedesc the typedesc describing the type of the value to be created
+     * @return value of the target type
+     * @throws BError                      for any parsing error
+     * @throws TargetTypeMismatchException if the JSON content does not belong to the target type
+     */
+    static Object parse(byte[] buff, int offset, int length, BTypedesc targetTypedesc)
+            throws BError, TargetTypeMismatchException {
+        checkBounds(buff, offset, length);
+        Utf8JsonParser parser = new Utf8JsonParser(buff, offset, length, null, FROM_JSON_STRING, targetTypedesc);
+        try {
+            return parser.execute();
+        } catch (JsonParserException e) {
+            throw ErrorCreator.createError(StringUtils.fromString(e.getMessage() + parser.location()));
+        }
+    }
+
+    private static void checkBounds(byte[] buff, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > buff.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", buffer size: " +
+                                                        buff.length);
+        }
+    }
+
+    /**
+     * Checks whether values of the given type can be created directly while parsing. These are the types for which
+     * the result is the same as converting the parsed JSON value using {@code value:fromJsonWithType}; open records,
+     * maps and open arrays of such types, optional types, and the basic types which a JSON value can be converted to.
+     *
+     * @param type the target type
+     * @return true if values of the type can be created directly while parsing
+     */
+    static boolean isDirectlyParsable(Type type) {
+        return isDirectlyParsable(type, new HashSet<>());
+    }
+
+    private static boolean isDirectlyParsable(Type type, Set<Type> visited) {
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.JSON_TAG:
+            case TypeTags.ANYDATA_TAG:
+                return true;
+            case TypeTags.UNION_TAG:
+                List<Type> memberTypes = ((UnionType) type).getMemberTypes();
+                return memberTypes.size() == 2 && type.isNilable() && isDirectlyParsable(getNonNilType(type),
+                                                                                          visited);
+            case TypeTags.MAP_TAG:
+                return !type.isReadOnly() && isDirectlyParsable(((MapType) type).getConstrainedType(), visited);
+            case TypeTags.ARRAY_TAG:
+                ArrayType arrayType = (ArrayType) type;
+                return !type.isReadOnly() && arrayType.getState() == ArrayType.ArrayState.OPEN &&
+                        isDirectlyParsable(arrayType.getElementType(), visited);
+            case TypeTags.RECORD_TYPE_TAG:
+                if (!visited.add(type)) {
+                    return true;
+                }
+                RecordType recordType = (RecordType) type;
+                if (type.isReadOnly()) {
+                    return false;
+                }
+                for (Field field : recordType.getFields().values()) {
+                    if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.READONLY) ||
+                            !isDirectlyParsable(field.getFieldType(), visited)) {
+                        return false;
+                    }
+                }
+                return recordType.isSealed() || isDirectlyParsable(recordType.getRestFieldType(), visited);
+            default:
+                return false;
+        }
+    }
+
+    private static Type getNonNilType(Type unionType) {
+        for (Type memberType : ((UnionType) unionType).getMemberTypes()) {
+            if (memberType.getTag() != TypeTags.NULL_TAG) {
+                return memberType;
+            }
+        }
+        return null;
+    }
+
+    private Object execute() throws JsonParserException, TargetTypeMismatchException {
+        skipWhitespace();
+        if (pos == limit) {
+            throw new JsonParserException("empty JSON document");
+        }
+        Object value;
+        while (true) {
+            byte ch = peek();
+            Type targetType = null;
+            Type nodeType = null;
+            if (targetTypedesc != null) {
+                targetType = depth == 0 ? targetTypedesc.getDescribingType() : memberTypes[depth - 1];
+                nodeType = targetType == null ? null : getNodeType(targetType);
+            }
+            if (ch == '{') {
+                pos++;
+                BMap<BString, Object> map = nodeType == null ? new MapValueImpl<>(new BMapType(definedJsonType)) :
+                        createMap(nodeType);
+                skipWhitespace();
+                if (peek() != '}') {
+                    push(map, nodeType);
+                    readFieldName(true);
+                    continue;
+                }
+                pos++;
+                if (nodeType != null && nodeType.getTag() == TypeTags.RECORD_TYPE_TAG) {
+                    checkRequiredFields(map, (RecordType) nodeType);
+                }
+                value = map;
+            } else if (ch == '[') {
+                pos++;
+                ArrayValue array = nodeType == null ? new ArrayValueImpl(new BArrayType(definedJsonType)) :
+                        createArray(nodeType);
+                skipWhitespace();
+                if (peek() != ']') {
+                    push(array, nodeType);
+                    continue;
+                }
+                pos++;
+                value = array;
+            } else if (ch == '"' || ch == '\'') {
+                value = StringUtils.fromString(readString(ch));
+                if (nodeType != null) {
+                    value = convertLeaf(value, nodeType);
+                }
+            } else {
+                value = readNonStringValue();
+                if (targetType != null) {
+                    if (value == null) {
+                        if (!targetType.isNilable()) {
+                            throw new TargetTypeMismatchException();
+                        }
+                    } else if (nodeType != null) {
+                        value = convertLeaf(value, nodeType);
+                    }
+                }
+            }
+
+            // Add the completed value to the enclosing nodes, closing them as long as their end is reached.
+            while (true) {
+                if (depth == 0) {
+                    skipWhitespace();
+                    if (pos < limit) {
+                        throw new JsonParserException("JSON document has already ended");
+                    }
+                    return value;
+                }
+                Object parent = nodes[depth - 1];
+                boolean isArray = parent instanceof ArrayValue;
+                if (isArray) {
+                    ((ArrayValue) parent).append(value);
+                } else {
+                    ((BMap<BString, Object>) parent).put(fieldNames[depth - 1], value);
+                }
+                skipWhitespace();
+                ch = peek();
+                if (ch == ',') {
+                    pos++;
+                    skipWhitespace();
+                    if (!isArray) {
+                        readFieldName(false);
+                    }
+                    break;
+                }
+                if (isArray && ch == ']' || !isArray && ch == '}') {
+                    pos++;
+                    depth--;
+                    nodes[depth] = null;
+                    fieldNames[depth] = null;
+                    if (targetTypedesc != null && nodeTypes[depth] != null &&
+                            nodeTypes[depth].getTag() == TypeTags.RECORD_TYPE_TAG) {
+                        checkRequiredFields((BMap<BString, Object>) parent, (RecordType) nodeTypes[depth]);
+                    }
+                    value = parent;
+                    continue;
+                }
+                throw new JsonParserException(isArray ? "expected , or ]" : "expected , or }");
+            }
+        }
+    }
+
+    private void push(Object node, Type nodeType) {
+        if (depth == nodes.length) {
+            nodes = Arrays.copyOf(nodes, depth << 1);
+            fieldNames = Arrays.copyOf(fieldNames, depth << 1);
+            if (targetTypedesc != null) {
+                nodeTypes = Arrays.copyOf(nodeTypes, depth << 1);
+                memberTypes = Arrays.copyOf(memberTypes, depth << 1);
+            }
+        }
+        if (targetTypedesc != null) {
+            nodeTypes[depth] = nodeType;
+            memberTypes[depth] = getMemberType(nodeType);
+        }
+        nodes[depth++] = node;
+    }
+
+    /**
+     * Returns the type of the value to be created for the given target type, or null if a JSON value is to be
+     * created.
+     */
+    private static Type getNodeType(Type targetType) {
+        switch (targetType.getTag()) {
+            case TypeTags.JSON_TAG:
+                return null;
+            case TypeTags.UNION_TAG:
+                return getNodeType(getNonNilType(targetType));
+            default:
+                return targetType;
+        }
+    }
+
+    private static Type getMemberType(Type nodeType) {
+        if (nodeType == null) {
+            return null;
+        }
+        switch (nodeType.getTag()) {
+            case TypeTags.MAP_TAG:
+                return ((MapType) nodeType).getConstrainedType();
+            case TypeTags.ARRAY_TAG:
+                return ((ArrayType) nodeType).getElementType();
+            case TypeTags.ANYDATA_TAG:
+                return nodeType;
+            default:
+                // Record member types are resolved per field.
+                return null;
+        }
+    }
+
+    private BMap<BString, Object> createMap(Type nodeType) throws TargetTypeMismatchException {
+        switch (nodeType.getTag()) {
+            case TypeTags.RECORD_TYPE_TAG:
+                RecordType recordType = (RecordType) nodeType;
+                if (targetTypedesc.getDescribingType() == recordType) {
+                    return (BMap<BString, Object>) targetTypedesc.instantiate(Scheduler.getStrand());
+                }
+                return ValueCreator.createRecordValue(recordType.getPackage(), recordType.getName());
+            case TypeTags.MAP_TAG:
+                return ValueCreator.createMapValue(nodeType);
+            case TypeTags.ANYDATA_TAG:
+                return ValueCreator.createMapValue(TypeCreator.createMapType(nodeType));
+            default:
+                throw new TargetTypeMismatchException();
+        }
+    }
+
+    private static ArrayValue createArray(Type nodeType) throws TargetTypeMismatchException {
+        switch (nodeType.getTag()) {
+            case TypeTags.ARRAY_TAG:
+                return (ArrayValue) ValueCreator.createArrayValue((ArrayType) nodeType);
+            case TypeTags.ANYDATA_TAG:
+                return (ArrayValue) ValueCreator.createArrayValue(TypeCreator.createArrayType(nodeType));
+            default:
+                throw new TargetTypeMismatchException();
+        }
+    }
+
+    private static Object convertLeaf(Object value, Type nodeType) throws TargetTypeMismatchException {
+        if (nodeType.getTag() == TypeTags.ANYDATA_TAG || TypeChecker.checkIsType(value, nodeType)) {
+            return value;
+        }
+        if (TypeChecker.checkIsLikeType(value, nodeType, true)) {
+            // Has to be a numeric conversion.
+            return TypeConverter.convertValues(nodeType, value);
+        }
+        throw new TargetTypeMismatchException();
+    }
+
+    private static void checkRequiredFields(BMap<BString, Object> record, RecordType recordType)
+            throws TargetTypeMismatchException {
+        for (Field field : recordType.getFields().values()) {
+            if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.REQUIRED) &&
+                    !record.containsKey(StringUtils.fromString(field.getFieldName()))) {
+                throw new TargetTypeMismatchException();
+            }
+        }
+    }
+
+    private byte peek() throws JsonParserException {
+        if (pos == limit && !fill()) {
+            throw new JsonParserException("unexpected end of JSON document");
+        }
+        return buff[pos];
+    }
+
+    private void skipWhitespace() {
+        while ((pos < limit || fill()) && isWhitespace(buff[pos])) {
+            pos++;
+        }
+    }
+
+    /**
+     * Reads more of the input stream into the window once all of it is consumed. The bytes before the mark, or before
+     * the position if there is no mark, are discarded. The window is only grown when a single token does not fit in
+     * it. The position and the mark are moved along with the bytes.
+     *
+     * @return true if more bytes are available, false at the end of the input
+     */
+    private boolean fill() {
+        if (in == null || endOfInput) {
+            return false;
+        }
+        int keep = mark < 0 ? pos : mark;
+        advanceLocation(start, keep);
+        int remaining = limit - keep;
+        if (remaining == buff.length) {
+            byte[] newBuff = new byte[buff.length << 1];
+            System.arraycopy(buff, keep, newBuff, 0, remaining);
+            buff = newBuff;
+        } else {
+            System.arraycopy(buff, keep, buff, 0, remaining);
+        }
+        start = 0;
+        limit = remaining;
+        pos -= keep;
+        if (mark >= 0) {
+            mark -= keep;
+        }
+        try {
+            int read;
+            do {
+                read = in.read(buff, limit, buff.length - limit);
+            } while (read == 0);
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            limit += read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isWhitespace(byte ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+    }
+
+    private void readFieldName(boolean firstField) throws JsonParserException, TargetTypeMismatchException {
+        byte ch = peek();
+        if (ch != '"' && ch != '\'') {
+            throw new JsonParserException(firstField ? "expected \" or }" : "expected \"");
+        }
+        String fieldName = readString(ch);
+        fieldNames[depth - 1] = StringUtils.fromString(fieldName);
+        if (targetTypedesc != null && nodeTypes[depth - 1] != null &&
+                nodeTypes[depth - 1].getTag() == TypeTags.RECORD_TYPE_TAG) {
+            RecordType recordType = (RecordType) nodeTypes[depth - 1];
+            Field field = recordType.getFields().get(fieldName);
+            if (field != null) {
+                memberTypes[depth - 1] = field.getFieldType();
+            } else if (!recordType.isSealed()) {
+                memberTypes[depth - 1] = recordType.getRestFieldType();
+            } else {
+                throw new TargetTypeMismatchException();
+            }
+        }
+        skipWhitespace();
+        if (peek() != ':') {
+            throw new JsonParserException("expected :");
+        }
+        pos++;
+        skipWhitespace();
+    }
+
+    /**
+     * Reads the string which starts at the current position. All the bytes of a multi-byte UTF-8 sequence are
+     * negative, hence the closing quote and escape characters can be looked up without decoding.
+     *
+     * @param quote the quote character the string is enclosed with
+     * @return the string content
+     * @throws JsonParserException if the string is not terminated
+     */
+    private String readString(byte quote) throws JsonParserException {
+        mark = ++pos;
+        boolean ascii = true;
+        int i = pos;
+        while (true) {
+            if (i == limit) {
+                pos = i;
+                if (!fill()) {
+                    break;
+                }
+                i = pos;
+            }
+            byte ch = buff[i];
+            if (ch == quote) {
+                String str = new String(buff, mark, i - mark, ascii ? StandardCharsets.ISO_8859_1 :
+                        StandardCharsets.UTF_8);
+                mark = -1;
+                pos = i + 1;
+                return str;
+            }
+            if (ch == '\\') {
+                return readEscapedString(quote);
+            }
+            ascii &= ch >= 0;
+            i++;
+        }
+        mark = -1;
+        throw new JsonParserException("unexpected end of JSON document");
+    }
+
+    /**
+     * Reads the string which starts at the mark, decoding its escape sequences. The mark is released since the
+     * decoded characters are collected separately.
+     */
+    private String readEscapedString(byte quote) throws JsonParserException {
+        if (charBuff == null) {
+            charBuff = new char[Math.max(64, Math.min(limit - mark, 1024))];
+        }
+        int count = 0;
+        pos = mark;
+        mark = -1;
+        while (pos < limit || fill()) {
+            byte ch = buff[pos];
+            if (ch == quote) {
+                pos++;
+                return new String(charBuff, 0, count);
+            }
+            if (count == charBuff.length) {
+                charBuff = Arrays.copyOf(charBuff, count << 1);
+            }
+            if (ch >= 0 && ch != '\\') {
+                charBuff[count++] = (char) ch;
+                pos++;
+                continue;
+            }
+            if (ch < 0) {
+                // A run of multi-byte sequences, which is decoded as a whole. The run is marked so that a sequence
+                // split by a refill is kept together.
+                mark = pos++;
+                while ((pos < limit || fill()) && buff[pos] < 0) {
+                    pos++;
+                }
+                String decoded = new String(buff, mark, pos - mark, StandardCharsets.UTF_8);
+                mark = -1;
+                if (charBuff.length - count < decoded.length()) {
+                    charBuff = Arrays.copyOf(charBuff, (count + decoded.length()) << 1);
+                }
+                decoded.getChars(0, decoded.length(), charBuff, count);
+                count += decoded.length();
+                continue;
+            }
+            pos++;
+            if (pos == limit && !fill()) {
+                break;
+            }
+            switch (buff[pos]) {
+                case '"':
+                    charBuff[count++] = '"';
+                    break;
+                case '\\':
+                    charBuff[count++] = '\\';
+                    break;
+                case '/':
+                    charBuff[count++] = '/';
+                    break;
+                case 'b':
+                    charBuff[count++] = '\b';
+                    break;
+                case 'f':
+                    charBuff[count++] = '\f';
+                    break;
+                case 'n':
+                    charBuff[count++] = '\n';
+                    break;
+                case 'r':
+                    charBuff[count++] = '\r';
+                    break;
+                case 't':
+                    charBuff[count++] = '\t';
+                    break;
+                case 'u':
+                    charBuff[count++] = readUnicodeEscape();
+                    continue;
+                default:
+                    throw new JsonParserException("expected escaped characters");
+            }
+            pos++;
+        }
+        throw new JsonParserException("unexpected end of JSON document");
+    }
+
+    /**
+     * Reads the four hexadecimal digits following the {@code u} at the current position, and moves past them.
+     */
+    private char readUnicodeEscape() throws JsonParserException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            pos++;
+            if (pos == limit && !fill()) {
+                throw new JsonParserException("unexpected end of JSON document");
+            }
+            int digit = Character.digit(buff[pos], 16);
+            if (digit < 0) {
+                throw new JsonParserException("expected hexadecimal value of an unicode character");
+            }
+            value = (value << 4) | digit;
+        }
+        pos++;
+        return (char) value;
+    }
+
+    private Object readNonStringValue() throws JsonParserException {
+        mark = pos;
+        boolean hasDot = false;
+        int i = pos;
+        while (true) {
+            if (i == limit) {
+                pos = i;
+                if (!fill()) {
+                    break;
+                }
+                i = pos;
+            }
+            byte ch = buff[i];
+            if (isWhitespace(ch) || ch == ',' || ch == '}' || ch == ']') {
+                break;
+            }
+            hasDot |= ch == '.';
+            i++;
+        }
+        pos = i;
+        // The token stays in the window until the next refill, which cannot happen before it is converted.
+        int begin = mark;
+        mark = -1;
+        int length = pos - begin;
+        if (!hasDot && length > 0) {
+            switch (buff[begin]) {
+                case 't':
+                    if (matches(begin, length, TRUE)) {
+                        return Boolean.TRUE;
+                    }
+                    break;
+                case 'f':
+                    if (matches(begin, length, FALSE)) {
+                        return Boolean.FALSE;
+                    }
+                    break;
+                case 'n':
+                    if (matches(begin, length, NULL)) {
+                        return null;
+                    }
+                    break;
+                default:
+                    if (mode == FROM_JSON_STRING) {
+                        Object value = readInteger(begin, length);
+                        if (value != null) {
+                            return value;
+                        }
+                    }
+                    break;
+            }
+        }
+
+        String str = new String(buff, begin, length, StandardCharsets.UTF_8);
+        try {
+            switch (mode) {
+                case FROM_JSON_FLOAT_STRING:
+                    return Double.parseDouble(str);
+                case FROM_JSON_DECIMAL_STRING:
+                    return new DecimalValue(str);
+                default:
+                    if (isNegativeZero(str)) {
+                        return Double.parseDouble(str);
+                    }
+                    return hasDot ? new DecimalValue(str) : Long.parseLong(str);
+            }
+        } catch (NumberFormatException | StringIndexOutOfBoundsException ignore) {
+            throw new JsonParserException("unrecognized token '" + str + "'");
+        }
+    }
+
+    private boolean matches(int begin, int length, byte[] token) {
+        return length == token.length && Arrays.equals(buff, begin, begin + length, token, 0, length);
+    }
+
+    /**
+     * Reads an integer token consisting of an optional minus sign and at most {@link #MAX_FAST_PATH_DIGITS} digits,
+     * which cannot overflow a long.
+     *
+     * @return the integer value, or null if the token needs to be parsed from its string form
+     */
+    private Object readInteger(int begin, int length) {
+        boolean negative = buff[begin] == '-';
+        int i = negative ? begin + 1 : begin;
+        int end = begin + length;
+        if (i == end || end - i > MAX_FAST_PATH_DIGITS) {
+            return null;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buff[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        if (negative) {
+            return value == 0 ? (Object) (-0.0) : (Object) (-value);
+        }
+        return value;
+    }
+
+    private static boolean isNegativeZero(String str) {
+        return '-' == str.charAt(0) && 0 == Double.parseDouble(str);
+    }
+
+    private String location() {
+        advanceLocation(start, Math.min(pos + 1, limit));
+        if (pos >= limit) {
+            column++;
+        }
+        return " at line: " + line + " column: " + column;
+    }
+
+    private void advanceLocation(int begin, int end) {
+        for (int i = begin; i < end; i++) {
+            byte ch = buff[i];
+            if (ch == '\n') {
+                line++;
+                column = 0;
+            } else if ((ch & 0xC0) != 0x80) {
+                // UTF-8 continuation bytes do not start a new character.
+                column++;
+            }
+        }
+    }
+
+    /**
+     * Thrown when the JSON content does not belong to the target type of the parser.
+     */
+    static class TargetTypeMismatchException extends Exception {
+
+        private static final long serialVersionUID = 3391458617429658171L;
+
+        TargetTypeMismatchException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Represents a JSON parser related exception.
+     */
+    private static class JsonParserException extends Exception {
+
+        private static final long serialVersionUID = -2574405542325089378L;
+
+        JsonParserException(String msg) {
+            super(msg, null, false, false);
+        }
+    }
+}
@@ -304,7 +304,7 @@ public class ValueComparisonUtils {
             case ZERO:
             case OTHER:
                 return rhsValue.valueKind == DecimalValueKind.NEGATIVE_INFINITY || (isDecimalRealNumber(rhsValue) &&
-                        lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) > 0);
+                        lhsValue.compareValue(rhsValue) > 0);
             default:
                 return false;
         }
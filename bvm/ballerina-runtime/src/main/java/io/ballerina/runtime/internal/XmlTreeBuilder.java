@@ -22,6 +22,7 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BXml;
 import io.ballerina.runtime.api.values.BXmlSequence;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
+import io.ballerina.runtime.internal.values.LazyXmlChildList;
 import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.internal.values.XmlComment;
 import io.ballerina.runtime.internal.values.XmlItem;
@@ -29,10 +30,11 @@ import io.ballerina.runtime.internal.values.XmlPi;
 import io.ballerina.runtime.internal.values.XmlQName;
 import io.ballerina.runtime.internal.values.XmlSequence;
 
+import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -69,16 +71,50 @@ public class XmlTreeBuilder {
         xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     }
 
+    // Sources at least this long are parsed lazily, see LazyXmlChildList.
+    static final int LAZY_PARSE_SOURCE_LENGTH = 64 * 1024;
+    // Content of an element is left unparsed when it is at least this long.
+    static final int LAZY_PARSE_CONTENT_LENGTH = 16 * 1024;
+    private static final String CONTENT_ROOT = "content";
+
     private XMLStreamReader xmlStreamReader;
     private Map<String, String> namespaces; // xml ns declarations from Bal source [xmlns "http://ns.com" as ns]
     private Deque<BXmlSequence> seqDeque;
     private Deque<List<BXml>> siblingDeque;
 
+    // State used only when parsing lazily.
+    private String source;
+    private Map<String, String> inheritedNamespaces;
+    private List<int[]> elementContents; // content range of each top level element, null if it is built right away
+    private int elementCount;
+    private boolean contentRootPending;
+
     public XmlTreeBuilder(String str) {
-        this(new StringReader(str));
+        this(str, 0, str.length(), "", "", LAZY_PARSE_SOURCE_LENGTH, Collections.emptyMap());
     }
 
     public XmlTreeBuilder(Reader stringReader) {
+        init(stringReader);
+    }
+
+    /**
+     * Create a tree builder for a range of the given source, which defers the content of top level elements that is
+     * at least {@link #LAZY_PARSE_CONTENT_LENGTH} long if the range is at least {@code lazyParseLength} long. The xml
+     * stream reader still reads through deferred content, so malformed content fails the parse, but no values are
+     * created for it until it is accessed.
+     */
+    private XmlTreeBuilder(String source, int start, int end, String prefix, String suffix, int lazyParseLength,
+                           Map<String, String> inheritedNamespaces) {
+        init(new SourceRangeReader(prefix, source, start, end, suffix));
+        List<int[]> contents = end - start >= lazyParseLength ? findElementContents(source, start, end) : null;
+        if (contents != null) {
+            this.source = source;
+            this.inheritedNamespaces = inheritedNamespaces;
+            this.elementContents = contents;
+        }
+    }
+
+    private void init(Reader stringReader) {
         namespaces = new HashMap<>();
         seqDeque = new ArrayDeque<>();
         siblingDeque = new ArrayDeque<>();
@@ -94,6 +130,90 @@ public class XmlTreeBuilder {
         }
     }
 
+    /**
+     * Parse the content of an element whose children were deferred by a lazy parse.
+     *
+     * @param source     xml source the element was parsed from
+     * @param start      start index of the content in the source
+     * @param end        end index of the content in the source
+     * @param namespaces namespace declarations in scope for the content, keyed by prefix
+     * @return the children of the element
+     */
+    public static List<BXml> parseContent(String source, int start, int end, Map<String, String> namespaces) {
+        // The content is parsed inside a root element which redeclares the namespaces of its ancestors.
+        StringBuilder rootStartTag = new StringBuilder("<").append(CONTENT_ROOT);
+        for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+            rootStartTag.append(namespace.getKey().isEmpty() ? " xmlns" : " xmlns:" + namespace.getKey())
+                    .append("=\"").append(escapeAttributeValue(namespace.getValue())).append('"');
+        }
+        XmlTreeBuilder treeBuilder = new XmlTreeBuilder(source, start, end, rootStartTag.append('>').toString(),
+                "</" + CONTENT_ROOT + ">", LAZY_PARSE_CONTENT_LENGTH, namespaces);
+        treeBuilder.contentRootPending = true;
+        return ((XmlSequence) treeBuilder.parse()).getChildrenList();
+    }
+
+    /**
+     * Find the content of the top level elements in a range of the source, by matching start and end tags without
+     * checking their names. The ranges match the elements seen by the xml stream reader as long as the source is
+     * well-formed, which the reader checks. Content shorter than {@link #LAZY_PARSE_CONTENT_LENGTH} is not deferred.
+     *
+     * @param source xml source
+     * @param start  start index of the range
+     * @param end    end index of the range
+     * @return the start and end index of the content of each top level element, null for an element whose content is
+     * not deferred, or null if nothing is deferred or the range can't be scanned, so it is parsed right away
+     */
+    private static List<int[]> findElementContents(String source, int start, int end) {
+        List<int[]> contents = new ArrayList<>();
+        boolean deferred = false;
+        int depth = 0;
+        int contentStart = -1;
+        int i = start;
+        while (true) {
+            i = source.indexOf('<', i);
+            if (i < 0 || i >= end) {
+                break;
+            }
+            if (source.startsWith("<!--", i)) {
+                i = skipPast(source, i, "-->");
+            } else if (source.startsWith("<![CDATA[", i)) {
+                i = skipPast(source, i, "]]>");
+            } else if (source.startsWith("<?", i)) {
+                i = skipPast(source, i, "?>");
+            } else if (source.startsWith("<!", i)) {
+                // Entities declared in a DTD are not available when deferred content is parsed on its own.
+                return null;
+            } else if (source.startsWith("</", i)) {
+                if (--depth < 0) {
+                    return null;
+                }
+                if (depth == 0) {
+                    boolean longContent = i - contentStart >= LAZY_PARSE_CONTENT_LENGTH;
+                    contents.add(longContent ? new int[]{contentStart, i} : null);
+                    deferred |= longContent;
+                }
+                i = source.indexOf('>', i);
+            } else {
+                i = findTagEnd(source, i);
+                if (i < 0) {
+                    return null;
+                }
+                if (source.charAt(i - 2) == '/') {
+                    if (depth == 0) {
+                        contents.add(null);
+                    }
+                } else if (depth++ == 0) {
+                    contentStart = i;
+                }
+            }
+            if (i < 0 || i > end) {
+                return null;
+            }
+        }
+        return deferred && depth == 0 ? contents : null;
+    }
+
+
     private void handleXMLStreamException(Exception e) {
         // todo: do e.getMessage contain all the information? verify
         throw new BallerinaException(e.getMessage(), e);
@@ -105,10 +225,16 @@ public class XmlTreeBuilder {
                 int next = xmlStreamReader.next();
                 switch (next) {
                     case START_ELEMENT:
-                        readElement(xmlStreamReader);
+                        if (contentRootPending) {
+                            contentRootPending = false;
+                        } else {
+                            readElement(xmlStreamReader);
+                        }
                         break;
                     case END_ELEMENT:
-                        endElement();
+                        if (siblingDeque.size() > 1) {
+                            endElement();
+                        }
                         break;
                     case PROCESSING_INSTRUCTION:
                         readPI(xmlStreamReader);
@@ -165,7 +291,7 @@ public class XmlTreeBuilder {
         this.seqDeque.pop();
     }
 
-    private void readElement(XMLStreamReader xmlStreamReader) {
+    private void readElement(XMLStreamReader xmlStreamReader) throws XMLStreamException {
         QName elemName = xmlStreamReader.getName();
         XmlQName name = new XmlQName(elemName.getLocalPart(),
                                      elemName.getNamespaceURI(), elemName.getPrefix());
@@ -176,6 +302,160 @@ public class XmlTreeBuilder {
         siblingDeque.peek().add(xmlItem);
         populateAttributeMap(xmlStreamReader, xmlItem, elemName);
         siblingDeque.push(xmlItem.getChildrenSeq().getChildrenList());
+        if (elementContents != null && siblingDeque.size() == 2 && elementCount < elementContents.size()) {
+            int[] content = elementContents.get(elementCount++);
+            if (content != null) {
+                // The content is parsed again when the children are accessed.
+                LazyXmlChildList.defer(xmlItem, source, content[0], content[1],
+                                       getNamespacesInScope(xmlStreamReader));
+                skipContent(xmlStreamReader);
+                endElement();
+            }
+        }
+    }
+
+    /**
+     * Read up to the end of the element at the current position of the reader without creating any values, so that
+     * the reader checks that the content is well-formed.
+     */
+    private static void skipContent(XMLStreamReader xmlStreamReader) throws XMLStreamException {
+        int depth = 0;
+        while (true) {
+            int next = xmlStreamReader.next();
+            if (next == START_ELEMENT) {
+                depth++;
+            } else if (next == END_ELEMENT && depth-- == 0) {
+                return;
+            }
+        }
+    }
+
+    private Map<String, String> getNamespacesInScope(XMLStreamReader xmlStreamReader) {
+        int namespaceCount = xmlStreamReader.getNamespaceCount();
+        if (namespaceCount == 0) {
+            return inheritedNamespaces;
+        }
+        Map<String, String> scope = new HashMap<>(inheritedNamespaces);
+        for (int i = 0; i < namespaceCount; i++) {
+            String prefix = xmlStreamReader.getNamespacePrefix(i);
+            String uri = xmlStreamReader.getNamespaceURI(i);
+            prefix = prefix == null ? "" : prefix;
+            if (uri == null || uri.isEmpty()) {
+                scope.remove(prefix);
+            } else {
+                scope.put(prefix, uri);
+            }
+        }
+        return scope;
+    }
+
+    private static int skipPast(String source, int from, String end) {
+        int index = source.indexOf(end, from);
+        return index < 0 ? -1 : index + end.length();
+    }
+
+    /**
+     * Find the end of the tag at the given index of the source, skipping any {@code >} in attribute values.
+     *
+     * @param source    xml source
+     * @param tagOffset index of the tag
+     * @return index following the tag, or -1 if the tag is not closed
+     */
+    private static int findTagEnd(String source, int tagOffset) {
+        char quote = 0;
+        for (int i = tagOffset + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static String escapeAttributeValue(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Reader over a range of a string, surrounded by a prefix and a suffix.
+     */
+    private static class SourceRangeReader extends Reader {
+
+        private final String prefix;
+        private final String source;
+        private final int sourceStart;
+        private final int sourceEnd;
+        private final String suffix;
+        private int part = -1; // -1 while reading the prefix, 0 while reading the source and 1 for the suffix
+        private int position; // index into the current part
+
+        SourceRangeReader(String prefix, String source, int sourceStart, int sourceEnd, String suffix) {
+            this.prefix = prefix;
+            this.source = source;
+            this.sourceStart = sourceStart;
+            this.sourceEnd = sourceEnd;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int len) {
+            int read = 0;
+            while (read < len && part <= 1) {
+                String text;
+                int start;
+                int end;
+                if (part < 0) {
+                    text = prefix;
+                    start = 0;
+                    end = prefix.length();
+                } else if (part == 0) {
+                    text = source;
+                    start = sourceStart;
+                    end = sourceEnd;
+                } else {
+                    text = suffix;
+                    start = 0;
+                    end = suffix.length();
+                }
+                int count = Math.min(len - read, end - start - position);
+                if (count <= 0) {
+                    part++;
+                    position = 0;
+                    continue;
+                }
+                text.getChars(start + position, start + position + count, buffer, offset + read);
+                position += count;
+                read += count;
+            }
+            return read == 0 && len > 0 ? -1 : read;
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
     }
     // need to duplicate the same in xmlItem.setAttribute
 
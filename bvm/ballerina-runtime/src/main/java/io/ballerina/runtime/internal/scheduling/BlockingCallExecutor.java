@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+
+import java.io.PrintStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking interop calls away from the scheduler threads, so that a strand waiting on I/O does not pin one of
+ * the strand executor threads.
+ * <p>
+ * The executor is selected by the BALLERINA_BLOCKING_EXECUTOR system variable.
+ * <ul>
+ * <li>{@code inline} (default) - run the call on the current strand executor thread, as before.</li>
+ * <li>{@code platform} - run the call on a cached pool of daemon platform threads.</li>
+ * <li>{@code virtual} - run each call on its own JDK virtual thread. Falls back to {@code platform} if the running
+ * JVM does not support virtual threads.</li>
+ * </ul>
+ * <p>
+ * One executor is shared by all the schedulers of the runtime. Each scheduler acquires it when it starts and releases
+ * it when it stops, and the threads of the executor are shut down once the last running scheduler stops.
+ *
+ * @since 2.0.0
+ */
+public class BlockingCallExecutor {
+
+    private static final String NEW_VIRTUAL_THREAD_EXECUTOR = "newVirtualThreadPerTaskExecutor";
+    private static final String THREAD_NAME_PREFIX = "jbal-blocking-exec-";
+
+    private static final Object SHARED_LOCK = new Object();
+    private static BlockingCallExecutor shared;
+    private static int sharedUsers;
+
+    private final ExecutorService executor;
+
+    private BlockingCallExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the executor shared by the running schedulers, creating it if there is none. Each call must be followed
+     * by a call to {@link #release()} once the scheduler stops.
+     *
+     * @param executorConf value of the BALLERINA_BLOCKING_EXECUTOR system variable
+     * @param err          stream to report invalid values to
+     * @return the shared executor
+     */
+    static BlockingCallExecutor acquire(String executorConf, PrintStream err) {
+        synchronized (SHARED_LOCK) {
+            if (shared == null) {
+                shared = create(executorConf, err);
+            }
+            sharedUsers++;
+            return shared;
+        }
+    }
+
+    /**
+     * Releases an executor returned by {@link #acquire(String, PrintStream)}. The threads of the executor are shut
+     * down when the last user releases it, after the blocking calls already submitted complete.
+     */
+    void release() {
+        synchronized (SHARED_LOCK) {
+            if (shared != this || --sharedUsers > 0) {
+                return;
+            }
+            shared = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    static BlockingCallExecutor create(String executorConf, PrintStream err) {
+        if (executorConf == null) {
+            return new BlockingCallExecutor(null);
+        }
+        String mode = executorConf.trim();
+        if (RuntimeConstants.BLOCKING_EXECUTOR_INLINE.equalsIgnoreCase(mode)) {
+            return new BlockingCallExecutor(null);
+        }
+        if (RuntimeConstants.BLOCKING_EXECUTOR_VIRTUAL.equalsIgnoreCase(mode)) {
+            ExecutorService virtualExecutor = createVirtualThreadExecutor();
+            if (virtualExecutor != null) {
+                return new BlockingCallExecutor(virtualExecutor);
+            }
+            err.println("ballerina: virtual threads are not supported by the current JVM, using platform threads " +
+                                "for the blocking calls");
+            return new BlockingCallExecutor(createPlatformThreadExecutor());
+        }
+        if (RuntimeConstants.BLOCKING_EXECUTOR_PLATFORM.equalsIgnoreCase(mode)) {
+            return new BlockingCallExecutor(createPlatformThreadExecutor());
+        }
+        err.println("ballerina: unknown blocking executor '" + executorConf + "' in system variable:" +
+                            RuntimeConstants.BALLERINA_BLOCKING_EXECUTOR_ENV_VAR + ", running blocking calls inline");
+        return new BlockingCallExecutor(null);
+    }
+
+    /**
+     * Returns whether blocking calls are moved off the strand executor threads.
+     *
+     * @return true if the calls are executed in a separate thread
+     */
+    public boolean isOffloading() {
+        return executor != null;
+    }
+
+    public void execute(Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * Virtual threads are only available from JDK 21, hence looked up reflectively to keep the runtime compatible
+     * with older JVMs.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(NEW_VIRTUAL_THREAD_EXECUTOR).invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService createPlatformThreadExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+            // blocking calls must not keep the runtime alive once all the strands are done
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
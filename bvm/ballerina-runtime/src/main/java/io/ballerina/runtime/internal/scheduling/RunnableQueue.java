@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be picked by the scheduler's carrier threads.
+ *
+ * @since 2.0.0
+ */
+interface RunnableQueue {
+
+    /**
+     * Called by each carrier thread once, before it starts taking groups from this queue.
+     *
+     * @param carrierId index of the carrier thread, from zero to the number of carriers - 1
+     */
+    void registerCarrier(int carrierId);
+
+    void add(ItemGroup group);
+
+    /**
+     * Adds a group that must be seen by every carrier eventually, such as the poison pill.
+     *
+     * @param group group to be added
+     */
+    void addGlobal(ItemGroup group);
+
+    ItemGroup take() throws InterruptedException;
+
+    int size();
+}
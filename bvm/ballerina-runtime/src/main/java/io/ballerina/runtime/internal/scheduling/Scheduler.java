@@ -37,11 +37,10 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.WeakHashMap;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -63,7 +62,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunnableQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
@@ -71,6 +70,10 @@ public class Scheduler {
 
     private static String poolSizeConf = System.getenv(RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    private static String schedulerPolicyConf = System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_POLICY_ENV_VAR);
+
+    private static String blockingExecutorConf = System.getenv(RuntimeConstants.BALLERINA_BLOCKING_EXECUTOR_ENV_VAR);
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
      * Default is 100.
@@ -79,6 +82,10 @@ public class Scheduler {
 
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
+    private final String blockingExecutor;
+
+    private BlockingCallExecutor blockingCallExecutor;
+
     private Semaphore mainBlockSem;
     private ListenerRegistry listenerRegistry;
     private Map<BObject, ItemGroup> objectGroups = Collections.synchronizedMap(new WeakHashMap<>());
@@ -95,15 +102,40 @@ public class Scheduler {
         }
         this.numThreads = poolSize;
         this.immortal = immortal;
+        this.runnableList = createRunnableQueue(schedulerPolicyConf, numThreads, err);
+        this.blockingExecutor = blockingExecutorConf;
         listenerRegistry = new ListenerRegistry();
     }
 
     public Scheduler(int numThreads, boolean immortal) {
+        this(numThreads, immortal, schedulerPolicyConf, blockingExecutorConf);
+    }
+
+    Scheduler(int numThreads, boolean immortal, String schedulerPolicy, String blockingExecutor) {
         this.numThreads = numThreads;
         this.immortal = immortal;
+        this.runnableList = createRunnableQueue(schedulerPolicy, numThreads, err);
+        this.blockingExecutor = blockingExecutor;
         listenerRegistry = new ListenerRegistry();
     }
 
+    /**
+     * Creates the runnable queue according to the BALLERINA_SCHEDULER_POLICY system variable. The default is a single
+     * queue shared by all the threads, "work-stealing" gives each thread its own queue.
+     */
+    static RunnableQueue createRunnableQueue(String schedulerPolicy, int numThreads, PrintStream err) {
+        if (schedulerPolicy == null ||
+                RuntimeConstants.SCHEDULER_POLICY_SHARED.equalsIgnoreCase(schedulerPolicy.trim())) {
+            return new SharedRunnableQueue();
+        }
+        if (RuntimeConstants.SCHEDULER_POLICY_WORK_STEALING.equalsIgnoreCase(schedulerPolicy.trim())) {
+            return new WorkStealingRunnableQueue(numThreads);
+        }
+        err.println("ballerina: unknown scheduler policy '" + schedulerPolicy + "' in system variable:" +
+                            RuntimeConstants.BALLERINA_SCHEDULER_POLICY_ENV_VAR + ", using the default policy");
+        return new SharedRunnableQueue();
+    }
+
     public static Strand getStrand() {
         Strand strand = strandHolder.get().strand;
         if (strand == null) {
@@ -275,23 +307,28 @@ public class Scheduler {
     }
 
     public void start() {
+        this.blockingCallExecutor = BlockingCallExecutor.acquire(blockingExecutor, err);
         this.mainBlockSem = new Semaphore(-(numThreads - 1));
         for (int i = 0; i < numThreads - 1; i++) {
-            new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
+            int carrierId = i;
+            new Thread(() -> runSafely(carrierId), "jbal-strand-exec-" + i).start();
         }
-        this.runSafely();
+        this.runSafely(numThreads - 1);
         try {
             this.mainBlockSem.acquire();
         } catch (InterruptedException e) {
             RuntimeUtils.printCrashLog(e);
+        } finally {
+            this.blockingCallExecutor.release();
         }
     }
 
     /**
      * Defensive programming to prevent unforeseen errors.
      */
-    private void runSafely() {
+    private void runSafely(int carrierId) {
         try {
+            runnableList.registerCarrier(carrierId);
             run();
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
@@ -354,15 +391,7 @@ public class Scheduler {
     private void postProcess(SchedulerItem item, Object result, Throwable panic) {
         switch (item.getState()) {
             case BLOCK_AND_YIELD:
-                item.future.strand.lock();
-                // need to recheck due to concurrency, unblockStrand() may have changed state
-                if (item.getState().getStatus() == State.YIELD.getStatus()) {
-                    reschedule(item);
-                    item.future.strand.unlock();
-                    break;
-                }
-                item.parked = true;
-                item.future.strand.unlock();
+                park(item);
                 break;
             case BLOCK_ON_AND_YIELD:
                 WaitContext waitContext = item.future.strand.waitContext;
@@ -379,8 +408,9 @@ public class Scheduler {
                 break;
             case RUNNABLE:
                 item.future.result = result;
-                item.future.isDone = true;
                 item.future.panic = panic;
+                // result and panic are published by this volatile write
+                item.future.isDone = true;
                 // TODO clean, better move it to future value itself
                 if (item.future.callback != null) {
                     if (item.future.panic != null) {
@@ -396,8 +426,19 @@ public class Scheduler {
                 Strand justCompleted = item.future.strand;
                 assert !justCompleted.getState().equals(State.DONE) : "Can't be completed twice";
 
-                justCompleted.setState(State.DONE);
+                if (!justCompleted.waitContextAttached) {
+                    // No wait context has looked at this strand before isDone was set, and any later one will see
+                    // it done, so there is nobody to notify.
+                    justCompleted.setState(State.DONE);
+                    cleanUp(justCompleted);
+                    completeStrand();
+                    break;
+                }
 
+                // a wait context may be getting attached concurrently, the lock makes sure it is seen below
+                justCompleted.lock();
+                justCompleted.setState(State.DONE);
+                justCompleted.unlock();
 
                 for (WaitContext ctx : justCompleted.waitingContexts) {
                     ctx.lock();
@@ -415,22 +456,37 @@ public class Scheduler {
                 }
 
                 cleanUp(justCompleted);
-
-                int strandsLeft = totalStrands.decrementAndGet();
-                if (strandsLeft == 0) {
-                    // (number of started stands - finished stands) = 0, all the work is done
-                    assert runnableList.size() == 0;
-
-                    if (!immortal) {
-                        poison();
-                    }
-                }
+                completeStrand();
                 break;
             default:
                 assert false : "illegal strand state during execute " + item.getState();
         }
     }
 
+    /**
+     * Parks an item whose strand is blocked, unless the strand got unblocked after it was seen as blocked.
+     */
+    void park(SchedulerItem item) {
+        item.park();
+        // need to recheck due to concurrency, unblockStrand() may have changed state before the item got
+        // parked. Only one of this thread and the unblocking thread can unpark the item.
+        if (item.getState() == State.YIELD && item.unpark()) {
+            reschedule(item);
+        }
+    }
+
+    private void completeStrand() {
+        int strandsLeft = totalStrands.decrementAndGet();
+        if (strandsLeft == 0) {
+            // (number of started stands - finished stands) = 0, all the work is done
+            assert runnableList.size() == 0;
+
+            if (!immortal) {
+                poison();
+            }
+        }
+    }
+
     public void setImmortal(boolean immortal) {
         this.immortal = immortal;
     }
@@ -445,16 +501,13 @@ public class Scheduler {
     }
 
     public void unblockStrand(Strand strand) {
-        strand.lock();
-        if (strand.schedulerItem.parked) {
-            strand.schedulerItem.parked = false;
-            reschedule(strand.schedulerItem);
-        } else {
-            // item not returned to scheduler, yet.
-            // scheduler will simply reschedule since this is already unlocked.
-            strand.setState(State.YIELD);
+        // If the item is not returned to the scheduler yet, the scheduler will simply reschedule since this is
+        // already unblocked. Otherwise whoever unparks the item first reschedules it.
+        strand.setState(State.YIELD);
+        SchedulerItem item = strand.schedulerItem;
+        if (item.unpark()) {
+            reschedule(item);
         }
-        strand.unlock();
     }
 
     private void cleanUp(Strand justCompleted) {
@@ -485,9 +538,8 @@ public class Scheduler {
     }
 
     private void reschedule(SchedulerItem item) {
-        if (!item.getState().equals(State.RUNNABLE)) {
+        if (item.makeRunnable()) {
             ItemGroup group = item.future.strand.strandGroup;
-            item.setState(State.RUNNABLE);
             group.add(item);
 
             // Group maybe not picked by any thread at the moment because,
@@ -521,7 +573,7 @@ public class Scheduler {
 
     public void poison() {
         for (int i = 0; i < numThreads; i++) {
-            runnableList.add(POISON_PILL);
+            runnableList.addGlobal(POISON_PILL);
         }
     }
 
@@ -540,6 +592,10 @@ public class Scheduler {
         return listenerRegistry;
     }
 
+    public BlockingCallExecutor getBlockingCallExecutor() {
+        return blockingCallExecutor;
+    }
+
     /**
      * The registry for runtime dynamic listeners.
      */
@@ -572,10 +628,13 @@ public class Scheduler {
  * @since 0.995.0
  */
 class SchedulerItem {
+    private static final AtomicIntegerFieldUpdater<SchedulerItem> PARKED_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(SchedulerItem.class, "parked");
+
     private Function function;
     private Object[] params;
     final FutureValue future;
-    boolean parked;
+    private volatile int parked;
 
     public SchedulerItem(Function function, Object[] params, FutureValue future) {
         this.future = future;
@@ -609,6 +668,36 @@ class SchedulerItem {
         this.future.strand.setState(state);
     }
 
+    void park() {
+        this.parked = 1;
+    }
+
+    /**
+     * Atomically clears the parked flag.
+     *
+     * @return true if the item was parked and this call unparked it
+     */
+    boolean unpark() {
+        return this.parked == 1 && PARKED_UPDATER.compareAndSet(this, 1, 0);
+    }
+
+    /**
+     * Atomically moves the strand to the runnable state.
+     *
+     * @return true if the strand was not runnable and this call made it runnable
+     */
+    boolean makeRunnable() {
+        Strand strand = this.future.strand;
+        State current;
+        do {
+            current = strand.getState();
+            if (current == State.RUNNABLE) {
+                return false;
+            }
+        } while (!strand.compareAndSetState(current, State.RUNNABLE));
+        return true;
+    }
+
     @Override
     public String toString() {
         return future == null ? "POISON_PILL" : String.valueOf(future.strand.hashCode());
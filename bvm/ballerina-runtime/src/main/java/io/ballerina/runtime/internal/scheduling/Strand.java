@@ -40,6 +40,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -58,6 +59,8 @@ import static io.ballerina.runtime.internal.scheduling.State.YIELD;
 public class Strand {
 
     private static AtomicInteger nextStrandId = new AtomicInteger(0);
+    private static final AtomicReferenceFieldUpdater<Strand, State> STATE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Strand.class, State.class, "state");
 
     private int id;
     private String name;
@@ -80,11 +83,16 @@ public class Strand {
     List<WaitContext> waitingContexts;
     WaitContext waitContext;
     ItemGroup strandGroup;
+    /**
+     * Set before a wait multiple or wait any context checks whether this strand is done. Lets the scheduler skip the
+     * strand lock on completion when nobody can be waiting on the strand.
+     */
+    volatile boolean waitContextAttached;
 
     private Map<String, Object> globalProps;
     public TransactionLocalContext currentTrxContext;
     public Stack<TransactionLocalContext> trxContexts;
-    private State state;
+    private volatile State state;
     private final ReentrantLock strandLock;
 
     public Strand(String name, StrandMetadata metadata, Scheduler scheduler, Strand parent,
@@ -251,6 +259,7 @@ public class Strand {
             FutureValue future = entry.getValue();
             // need to lock the future's strand since we cannot have a parallel state change
             future.strand.lock();
+            future.strand.waitContextAttached = true;
             if (future.isDone) {
                 if (future.panic != null) {
                     ctx.completed = true;
@@ -296,6 +305,7 @@ public class Strand {
             // need to lock the future's strand since we cannot have a parallel state change
             try {
                 future.strand.lock();
+                future.strand.waitContextAttached = true;
                 if (future.isDone) {
                     if (future.panic != null) {
                         ctx.completed = true;
@@ -360,9 +370,11 @@ public class Strand {
     }
 
     public void setState(State state) {
-        this.lock();
         this.state = state;
-        this.unlock();
+    }
+
+    boolean compareAndSetState(State expect, State update) {
+        return STATE_UPDATER.compareAndSet(this, expect, update);
     }
 
     public State getState() {
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link RunnableQueue} that keeps a local deque per carrier thread.
+ * <p>
+ * Groups scheduled from a carrier are pushed to the head of that carrier's deque and popped from the head again,
+ * so a strand's own children are picked in LIFO order while they are still hot in the cache. Groups scheduled from
+ * outside the carriers (e.g. callbacks from native threads) go to a shared injection queue. An idle carrier first
+ * drains the injection queue and then steals from the tail of the other carriers' deques. Carriers park only when
+ * there is nothing to steal, and producers signal them only when some carrier is parked.
+ *
+ * @since 2.0.0
+ */
+class WorkStealingRunnableQueue implements RunnableQueue {
+
+    private final ThreadLocal<Integer> carrierIndex = new ThreadLocal<>();
+
+    private final ConcurrentLinkedDeque<ItemGroup>[] localQueues;
+    private final ConcurrentLinkedDeque<ItemGroup> injectionQueue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCarriers = new AtomicInteger();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition workAvailable = idleLock.newCondition();
+
+    @SuppressWarnings("unchecked")
+    WorkStealingRunnableQueue(int numCarriers) {
+        this.localQueues = new ConcurrentLinkedDeque[numCarriers];
+        for (int i = 0; i < numCarriers; i++) {
+            localQueues[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    @Override
+    public void registerCarrier(int carrierId) {
+        carrierIndex.set(carrierId);
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        Integer index = carrierIndex.get();
+        if (index != null && index < localQueues.length) {
+            localQueues[index].addFirst(group);
+        } else {
+            injectionQueue.addLast(group);
+        }
+        signalIdleCarrier();
+    }
+
+    @Override
+    public void addGlobal(ItemGroup group) {
+        injectionQueue.addLast(group);
+        signalIdleCarrier();
+    }
+
+    @Override
+    public ItemGroup take() throws InterruptedException {
+        Integer index = carrierIndex.get();
+        int self = index == null ? -1 : index;
+        ItemGroup group = poll(self);
+        if (group != null) {
+            return group;
+        }
+
+        idleLock.lockInterruptibly();
+        try {
+            idleCarriers.incrementAndGet();
+            try {
+                // Recheck after announcing that this carrier is idle, so that a producer which added a group before
+                // seeing the idle count is not missed.
+                while ((group = poll(self)) == null) {
+                    workAvailable.await();
+                }
+            } finally {
+                idleCarriers.decrementAndGet();
+            }
+        } finally {
+            idleLock.unlock();
+        }
+        return group;
+    }
+
+    @Override
+    public int size() {
+        int size = injectionQueue.size();
+        for (ConcurrentLinkedDeque<ItemGroup> queue : localQueues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    private ItemGroup poll(int self) {
+        ItemGroup group;
+        if (self >= 0 && self < localQueues.length) {
+            group = localQueues[self].pollFirst();
+            if (group != null) {
+                return group;
+            }
+        }
+
+        group = injectionQueue.pollFirst();
+        if (group != null) {
+            return group;
+        }
+
+        // Steal from the tail of the other carriers, starting from the neighbour to spread the contention.
+        int numCarriers = localQueues.length;
+        int start = self < 0 ? 0 : self + 1;
+        for (int i = 0; i < numCarriers; i++) {
+            int victim = (start + i) % numCarriers;
+            if (victim == self) {
+                continue;
+            }
+            group = localQueues[victim].pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void signalIdleCarrier() {
+        if (idleCarriers.get() == 0) {
+            return;
+        }
+        idleLock.lock();
+        try {
+            workAvailable.signal();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Array backed ring buffer holding the messages of a {@link WorkerDataChannel}.
+ * <p>
+ * Messages are addressed by a monotonically increasing sequence number, so that the channel can remember which
+ * message belongs to a pending sync send without wrapping each message in a holder object. Ballerina nil values are
+ * stored as Java nulls, hence emptiness is decided by the sequences and not by the slot contents. The buffer doubles
+ * its capacity when it is full, since an async send never blocks the sender.
+ * <p>
+ * This is not thread safe. All the accesses are guarded by the channel lock, instead of making this a lock free
+ * single producer single consumer ring. Adding or taking a message has to be atomic with the rest of the channel
+ * state: the receiver parks itself when the buffer is empty and the sender has to see that in the same step as it
+ * adds a message, or the wake up is lost. A take also has to resume a pending sync sender or flush, and the error and
+ * panic of either side are checked against the message counts. The two workers of a channel rarely reach it at the
+ * same time, so the lock is mostly taken uncontended, at the cost of a single CAS. Messages are taken one at a time
+ * as each Ballerina receive consumes a single message and does the bookkeeping above for it.
+ *
+ * @since 2.0.0
+ */
+class WorkerMessageBuffer {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private Object[] messages = new Object[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private long head;
+    private long tail;
+
+    /**
+     * Adds a message to the tail of the buffer.
+     *
+     * @param message message to be added, can be null
+     * @return sequence number of the added message
+     */
+    long add(Object message) {
+        if (tail - head == messages.length) {
+            grow();
+        }
+        long sequence = tail;
+        messages[(int) sequence & mask] = message;
+        tail = sequence + 1;
+        return sequence;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    int size() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * Returns the sequence number of the message at the head of the buffer.
+     *
+     * @return sequence number of the next message to be polled
+     */
+    long headSequence() {
+        return head;
+    }
+
+    /**
+     * Removes the message at the head of the buffer. Callers must check {@link #isEmpty()} first.
+     *
+     * @return message at the head, can be null
+     */
+    Object poll() {
+        int index = (int) head & mask;
+        Object message = messages[index];
+        // release the reference so that the value can be collected
+        messages[index] = null;
+        head++;
+        return message;
+    }
+
+    private void grow() {
+        Object[] newMessages = new Object[messages.length << 1];
+        int newMask = newMessages.length - 1;
+        // sequence numbers are kept as they are, only their slots change with the new mask
+        for (long sequence = head; sequence < tail; sequence++) {
+            newMessages[(int) sequence & newMask] = messages[(int) sequence & mask];
+        }
+        messages = newMessages;
+        mask = newMask;
+    }
+}
@@ -44,7 +44,6 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
-import java.util.stream.IntStream;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.ARRAY_LANG_LIB;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.INDEX_OUT_OF_RANGE_ERROR_IDENTIFIER;
@@ -123,6 +122,14 @@ public class ArrayValueImpl extends AbstractArrayValue {
         setArrayType(PredefinedTypes.TYPE_STRING, readonly);
     }
 
+    // Used by bulk operations which set the storage themselves.
+    private ArrayValueImpl(ArrayType type, int size, int maxSize) {
+        this.arrayType = type;
+        this.elementType = type.getElementType();
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
     public ArrayValueImpl(ArrayType type) {
         this.arrayType = type;
         this.elementType = type.getElementType();
@@ -577,6 +584,20 @@ public class ArrayValueImpl extends AbstractArrayValue {
         add(this.size, value);
     }
 
+    /**
+     * Append values to the existing array, growing the underlying storage at most once.
+     *
+     * @param values values to be appended
+     */
+    @Override
+    public void appendAll(Object[] values) {
+        handleImmutableArrayValue();
+        ensureCapacity(this.size + values.length, getCurrentArrayLength());
+        for (Object value : values) {
+            add(this.size, value);
+        }
+    }
+
     @Override
     public Object shift(long index) {
         handleImmutableArrayValue();
@@ -740,7 +761,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
             return refs.get(this);
         }
 
-        ArrayValue valueArray;
+        // The copy keeps the type of this array, including int subtypes and the length of fixed length arrays.
+        ArrayValueImpl valueArray = new ArrayValueImpl(arrayType, this.size, this.maxSize);
+        int length = this.size;
         switch (this.elementType.getTag()) {
             case TypeTags.INT_TAG:
             case TypeTags.SIGNED32_INT_TAG:
@@ -749,32 +772,36 @@ public class ArrayValueImpl extends AbstractArrayValue {
             case TypeTags.UNSIGNED32_INT_TAG:
             case TypeTags.UNSIGNED16_INT_TAG:
             case TypeTags.UNSIGNED8_INT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(intValues, this.size), arrayType.isReadOnly());
+                valueArray.intValues = Arrays.copyOf(intValues, length);
                 break;
             case TypeTags.BOOLEAN_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(booleanValues, this.size), arrayType.isReadOnly());
+                valueArray.booleanValues = Arrays.copyOf(booleanValues, length);
                 break;
             case TypeTags.BYTE_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(byteValues, this.size), arrayType.isReadOnly());
+                valueArray.byteValues = Arrays.copyOf(byteValues, length);
                 break;
             case TypeTags.FLOAT_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(floatValues, this.size), arrayType.isReadOnly());
+                valueArray.floatValues = Arrays.copyOf(floatValues, length);
                 break;
             case TypeTags.STRING_TAG:
             case TypeTags.CHAR_STRING_TAG:
-                valueArray = new ArrayValueImpl(Arrays.copyOf(bStringValues, this.size), arrayType.isReadOnly());
+                valueArray.bStringValues = Arrays.copyOf(bStringValues, length);
+                break;
+            case TypeTags.DECIMAL_TAG:
+                // Decimal values are immutable, so they are shared with the copy.
+                valueArray.refValues = Arrays.copyOf(refValues, length);
                 break;
             default:
-                Object[] values = new Object[this.size];
-                valueArray = new ArrayValueImpl(values, arrayType);
-                IntStream.range(0, this.size).forEach(i -> {
+                Object[] values = new Object[length];
+                valueArray.refValues = values;
+                for (int i = 0; i < this.size; i++) {
                     Object value = this.refValues[i];
                     if (value instanceof RefValue) {
                         values[i] = ((RefValue) value).copy(refs);
                     } else {
                         values[i] = value;
                     }
-                });
+                }
                 break;
         }
 
@@ -799,8 +826,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
      * @return array slice within specified range
      */
     public ArrayValueImpl slice(long startIndex, long endIndex) {
-        ArrayValueImpl slicedArray;
         int slicedSize = (int) (endIndex - startIndex);
+        ArrayValueImpl slicedArray = new ArrayValueImpl(new BArrayType(this.elementType), slicedSize,
+                                                         SYSTEM_ARRAY_MAX);
         switch (this.elementType.getTag()) {
             case TypeTags.INT_TAG:
             case TypeTags.SIGNED32_INT_TAG:
@@ -809,29 +837,23 @@ public class ArrayValueImpl extends AbstractArrayValue {
             case TypeTags.UNSIGNED32_INT_TAG:
             case TypeTags.UNSIGNED16_INT_TAG:
             case TypeTags.UNSIGNED8_INT_TAG:
-                slicedArray = new ArrayValueImpl(new long[slicedSize], false);
-                System.arraycopy(intValues, (int) startIndex, slicedArray.intValues, 0, slicedSize);
+                slicedArray.intValues = Arrays.copyOfRange(intValues, (int) startIndex, (int) endIndex);
                 break;
             case TypeTags.BOOLEAN_TAG:
-                slicedArray = new ArrayValueImpl(new boolean[slicedSize], false);
-                System.arraycopy(booleanValues, (int) startIndex, slicedArray.booleanValues, 0, slicedSize);
+                slicedArray.booleanValues = Arrays.copyOfRange(booleanValues, (int) startIndex, (int) endIndex);
                 break;
             case TypeTags.BYTE_TAG:
-                slicedArray = new ArrayValueImpl(new byte[slicedSize], false);
-                System.arraycopy(byteValues, (int) startIndex, slicedArray.byteValues, 0, slicedSize);
+                slicedArray.byteValues = Arrays.copyOfRange(byteValues, (int) startIndex, (int) endIndex);
                 break;
             case TypeTags.FLOAT_TAG:
-                slicedArray = new ArrayValueImpl(new double[slicedSize], false);
-                System.arraycopy(floatValues, (int) startIndex, slicedArray.floatValues, 0, slicedSize);
+                slicedArray.floatValues = Arrays.copyOfRange(floatValues, (int) startIndex, (int) endIndex);
                 break;
             case TypeTags.STRING_TAG:
             case TypeTags.CHAR_STRING_TAG:
-                slicedArray = new ArrayValueImpl(new BString[slicedSize], false);
-                System.arraycopy(bStringValues, (int) startIndex, slicedArray.bStringValues, 0, slicedSize);
+                slicedArray.bStringValues = Arrays.copyOfRange(bStringValues, (int) startIndex, (int) endIndex);
                 break;
             default:
-                slicedArray = new ArrayValueImpl(new Object[slicedSize], new BArrayType(this.elementType));
-                System.arraycopy(refValues, (int) startIndex, slicedArray.refValues, 0, slicedSize);
+                slicedArray.refValues = Arrays.copyOfRange(refValues, (int) startIndex, (int) endIndex);
                 break;
         }
         return slicedArray;
@@ -932,7 +954,9 @@ public class ArrayValueImpl extends AbstractArrayValue {
         }
 
         this.arrayType = (ArrayType) ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.arrayType);
-        if (this.elementType == null || this.elementType.getTag() > TypeTags.BOOLEAN_TAG) {
+        if (this.elementType == null || (this.elementType.getTag() > TypeTags.BOOLEAN_TAG &&
+                !TypeTags.isIntegerTypeTag(this.elementType.getTag()) &&
+                this.elementType.getTag() != TypeTags.CHAR_STRING_TAG)) {
             for (int i = 0; i < this.size; i++) {
                 Object value = this.getRefValue(i);
                 if (value instanceof RefValue) {
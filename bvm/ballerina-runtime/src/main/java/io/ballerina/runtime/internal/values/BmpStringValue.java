@@ -51,13 +51,7 @@ package io.ballerina.runtime.internal.values;
 
      @Override
      public BString concat(BString str) {
-         if (str instanceof BmpStringValue) {
-             return new BmpStringValue(this.value + ((BmpStringValue) str).value);
-         } else if (str instanceof NonBmpStringValue) {
-             return new NonBmpStringValue(this.value + str.getValue(), ((NonBmpStringValue) str).getSurrogates());
-         } else {
-             throw new RuntimeException("not impl yet");
-         }
+         return RopeStringValue.concat(this, str);
      }
 
      @Override
@@ -54,10 +54,40 @@ public class DecimalValue implements SimpleValue, BDecimal {
     @Deprecated
     public DecimalValueKind valueKind = DecimalValueKind.OTHER;
 
+    // Values with at most this many digits are kept as an unscaled long and a scale.
+    private static final int MAX_COMPACT_PRECISION = 18;
+
+    private static final long[] LONG_TEN_POWERS = new long[MAX_COMPACT_PRECISION + 1];
+    private static final long[] LONG_TEN_POWER_THRESHOLDS = new long[MAX_COMPACT_PRECISION + 1];
+    private static final double[] DOUBLE_TEN_POWERS = new double[23];
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    static {
+        long power = 1;
+        for (int i = 0; i <= MAX_COMPACT_PRECISION; i++) {
+            LONG_TEN_POWERS[i] = power;
+            LONG_TEN_POWER_THRESHOLDS[i] = Long.MAX_VALUE / power;
+            power *= 10;
+        }
+        double doublePower = 1;
+        for (int i = 0; i < DOUBLE_TEN_POWERS.length; i++) {
+            DOUBLE_TEN_POWERS[i] = doublePower;
+            doublePower *= 10;
+        }
+    }
+
+    // A decimal whose unscaled value fits in a long is represented by the unscaled value and the scale, and the
+    // BigDecimal is only created when it is asked for. Operations on two compact decimals whose exact result also
+    // fits in a long are done on longs, otherwise they fall back to BigDecimal. Such exact results have far fewer
+    // digits than DECIMAL128 allows, so they are the same as the results of the BigDecimal operations.
+    private boolean compact;
+    private long unscaledValue;
+    private int scale;
+
     private BigDecimal value;
 
     public DecimalValue(BigDecimal value) {
-        this.value = value;
+        setValue(value);
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
@@ -66,20 +96,80 @@ public class DecimalValue implements SimpleValue, BDecimal {
     public DecimalValue(String value) {
         // Check whether the number provided is a hexadecimal value.
         if (isHexValueString(value)) {
-            this.value = hexToDecimalFloatingPointNumber(value);
-        } else {
-            this.value = new BigDecimal(value, MathContext.DECIMAL128);
+            setValue(hexToDecimalFloatingPointNumber(value));
+        } else if (!parseCompactValue(value)) {
+            setValue(new BigDecimal(value, MathContext.DECIMAL128));
         }
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
+    private DecimalValue(long unscaledValue, int scale) {
+        setCompactValue(unscaledValue, scale);
+        if (unscaledValue == 0) {
+            this.valueKind = DecimalValueKind.ZERO;
+        }
+    }
+
     public DecimalValue(String value, DecimalValueKind valueKind) {
         this(value);
         this.valueKind = valueKind;
     }
 
+    private void setValue(BigDecimal value) {
+        this.value = value;
+        if (value.precision() <= MAX_COMPACT_PRECISION) {
+            setCompactValue(value.unscaledValue().longValue(), value.scale());
+        }
+    }
+
+    private void setCompactValue(long unscaledValue, int scale) {
+        this.compact = true;
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+    }
+
+    /**
+     * Parses a plain decimal string such as {@code -12.50} with at most {@code MAX_COMPACT_PRECISION} digits
+     * without creating a BigDecimal. Strings in any other format are left to the BigDecimal constructor.
+     *
+     * @param value string value to be parsed
+     * @return true if the value was parsed
+     */
+    private boolean parseCompactValue(String value) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+        if (length - index > MAX_COMPACT_PRECISION + 1) {
+            return false;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int pointIndex = -1;
+        for (; index < length; index++) {
+            char c = value.charAt(index);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && pointIndex < 0) {
+                pointIndex = index;
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0 || digits > MAX_COMPACT_PRECISION) {
+            return false;
+        }
+        setCompactValue(negative ? -unscaled : unscaled, pointIndex < 0 ? 0 : length - pointIndex - 1);
+        return true;
+    }
+
     private static boolean isHexValueString(String value) {
         String upperCaseValue = value.toUpperCase();
         return upperCaseValue.startsWith("0X") || upperCaseValue.startsWith("-0X");
@@ -142,7 +232,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the value
      */
     public BigDecimal decimalValue() {
-        return this.value;
+        BigDecimal decimal = this.value;
+        if (decimal == null) {
+            decimal = BigDecimal.valueOf(unscaledValue, scale);
+            this.value = decimal;
+        }
+        return decimal;
     }
 
     /**
@@ -160,11 +255,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw ErrorUtils.createNumericConversionError(POSITIVE_INF, PredefinedTypes.TYPE_INT);
         }
 
-        if (!isDecimalWithinIntRange(value)) {
+        BigDecimal decimal = decimalValue();
+        if (!isDecimalWithinIntRange(decimal)) {
             throw ErrorUtils.createNumericConversionError(this.stringValue(null), PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_INT);
         }
-        return (long) Math.rint(value.doubleValue());
+        return (long) Math.rint(decimal.doubleValue());
     }
 
     /**
@@ -192,9 +288,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw ErrorUtils.createNumericConversionError(POSITIVE_INF, PredefinedTypes.TYPE_BYTE);
         }
 
-        int intVal = (int) Math.rint(this.value.doubleValue());
+        BigDecimal decimal = decimalValue();
+        int intVal = (int) Math.rint(decimal.doubleValue());
         if (!isByteLiteral(intVal)) {
-            throw ErrorUtils.createNumericConversionError(value, PredefinedTypes.TYPE_DECIMAL,
+            throw ErrorUtils.createNumericConversionError(decimal, PredefinedTypes.TYPE_DECIMAL,
                                                           PredefinedTypes.TYPE_BYTE);
         }
         return intVal;
@@ -212,7 +309,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind == DecimalValueKind.NOT_A_NUMBER) {
             return Double.NaN;
         }
-        return value.doubleValue();
+        // Both operands of the division are exact doubles, so the result is correctly rounded as is
+        // BigDecimal.doubleValue().
+        if (compact && scale >= 0 && scale < DOUBLE_TEN_POWERS.length && unscaledValue < MAX_EXACT_DOUBLE &&
+                unscaledValue > -MAX_EXACT_DOUBLE) {
+            return (double) unscaledValue / DOUBLE_TEN_POWERS[scale];
+        }
+        return decimalValue().doubleValue();
     }
 
     /**
@@ -220,6 +323,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is non zero
      */
     public boolean booleanValue() {
+        if (compact) {
+            return unscaledValue != 0;
+        }
         return value.compareTo(BigDecimal.ZERO) != 0;
     }
 
@@ -242,7 +348,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue();
         }
-        return value.toString();
+        return decimalValue().toString();
     }
 
     /**
@@ -254,7 +360,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue() + "d";
         }
-        return value.toString() + "d";
+        return decimalValue().toString() + "d";
     }
 
     /**
@@ -262,7 +368,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the decimal value
      */
     public BigDecimal value() {
-        return this.value;
+        return decimalValue();
     }
 
     /**
@@ -303,6 +409,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (augend.valueKind == DecimalValueKind.OTHER) {
+                    if (this.compact && augend.compact) {
+                        DecimalValue sum = addCompact(this, augend.unscaledValue, augend.scale, false);
+                        if (sum != null) {
+                            return sum;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().add(augend.decimalValue(), MathContext.DECIMAL128));
                 }
                 return augend;
@@ -341,6 +453,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (subtrahend.valueKind == DecimalValueKind.OTHER) {
+                    if (this.compact && subtrahend.compact) {
+                        DecimalValue difference = addCompact(this, subtrahend.unscaledValue, subtrahend.scale, true);
+                        if (difference != null) {
+                            return difference;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().subtract(subtrahend.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -384,6 +502,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 return NaN;
             default:
                 if (multiplicand.valueKind == DecimalValueKind.OTHER) {
+                    if (this.compact && multiplicand.compact) {
+                        DecimalValue product = multiplyCompact(this, multiplicand);
+                        if (product != null) {
+                            return product;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().multiply(multiplicand.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -476,6 +600,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
     public DecimalValue negate() {
         switch (this.valueKind) {
             case OTHER:
+                if (compact && unscaledValue != Long.MIN_VALUE) {
+                    return new DecimalValue(-unscaledValue, scale);
+                }
                 return new DecimalValue(this.decimalValue().negate());
             case POSITIVE_INFINITY:
                 return NEGATIVE_INF;
@@ -486,6 +613,92 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
     }
 
+    private static DecimalValue addCompact(DecimalValue lhs, long rhs, int rhsScale, boolean subtract) {
+        long lhsValue = lhs.unscaledValue;
+        int scale = lhs.scale;
+        if (scale < rhsScale) {
+            lhsValue = scaleUp(lhsValue, (long) rhsScale - scale);
+            if (lhsValue == Long.MIN_VALUE) {
+                return null;
+            }
+            scale = rhsScale;
+        } else if (scale > rhsScale) {
+            rhs = scaleUp(rhs, (long) scale - rhsScale);
+            if (rhs == Long.MIN_VALUE) {
+                return null;
+            }
+        }
+
+        long result;
+        if (subtract) {
+            result = lhsValue - rhs;
+            if (((lhsValue ^ rhs) & (lhsValue ^ result)) < 0) {
+                return null;
+            }
+        } else {
+            result = lhsValue + rhs;
+            if (((lhsValue ^ result) & (rhs ^ result)) < 0) {
+                return null;
+            }
+        }
+        return new DecimalValue(result, scale);
+    }
+
+    private static DecimalValue multiplyCompact(DecimalValue lhs, DecimalValue rhs) {
+        long scale = (long) lhs.scale + rhs.scale;
+        if (scale != (int) scale) {
+            return null;
+        }
+        long high = Math.multiplyHigh(lhs.unscaledValue, rhs.unscaledValue);
+        long result = lhs.unscaledValue * rhs.unscaledValue;
+        if ((high != 0 || result < 0) && (high != -1 || result >= 0)) {
+            return null;
+        }
+        return new DecimalValue(result, (int) scale);
+    }
+
+    /**
+     * Multiplies an unscaled value by a power of ten.
+     *
+     * @param unscaledValue unscaled value
+     * @param power         power of ten
+     * @return the result, or {@code Long.MIN_VALUE} if it does not fit in a long
+     */
+    private static long scaleUp(long unscaledValue, long power) {
+        if (power >= LONG_TEN_POWERS.length) {
+            return Long.MIN_VALUE;
+        }
+        long threshold = LONG_TEN_POWER_THRESHOLDS[(int) power];
+        if (unscaledValue > threshold || unscaledValue < -threshold) {
+            return Long.MIN_VALUE;
+        }
+        return unscaledValue * LONG_TEN_POWERS[(int) power];
+    }
+
+    /**
+     * Compares the numeric value of this decimal with the given decimal. Decimals that differ only in scale, such as
+     * {@code 1.0} and {@code 1.00}, are equal.
+     *
+     * @param decimal decimal to compare with
+     * @return a negative integer, zero, or a positive integer as this decimal is less than, equal to, or greater
+     * than the given decimal
+     */
+    public int compareValue(DecimalValue decimal) {
+        if (this.compact && decimal.compact) {
+            long lhs = this.unscaledValue;
+            long rhs = decimal.unscaledValue;
+            if (this.scale < decimal.scale) {
+                lhs = scaleUp(lhs, (long) decimal.scale - this.scale);
+            } else if (this.scale > decimal.scale) {
+                rhs = scaleUp(rhs, (long) this.scale - decimal.scale);
+            }
+            if (lhs != Long.MIN_VALUE && rhs != Long.MIN_VALUE) {
+                return Long.compare(lhs, rhs);
+            }
+        }
+        return this.decimalValue().compareTo(decimal.decimalValue());
+    }
+
     @Override
     public BDecimal add(BDecimal augend) {
         return add((DecimalValue) augend);
@@ -532,12 +745,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
 
         DecimalValue bDecimal = (DecimalValue) obj;
-        return ((value.compareTo(bDecimal.value) == 0) && (this.valueKind == bDecimal.valueKind));
+        return ((compareValue(bDecimal) == 0) && (this.valueKind == bDecimal.valueKind));
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return decimalValue().hashCode();
     }
 
     /**
@@ -555,7 +768,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfWithScaleOne(value);
     }
 
     /**
@@ -564,7 +777,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(long value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfWithScaleOne(value);
     }
 
     /**
@@ -582,28 +795,35 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(boolean value) {
-        return new DecimalValue(value ? BigDecimal.ONE.setScale(1, BigDecimal.ROUND_HALF_EVEN) :
-                                        BigDecimal.ZERO.setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return new DecimalValue(value ? 10 : 0, 1);
+    }
+
+    private static DecimalValue valueOfWithScaleOne(long value) {
+        long unscaledValue = scaleUp(value, 1);
+        if (unscaledValue == Long.MIN_VALUE) {
+            return new DecimalValue(BigDecimal.valueOf(value).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        }
+        return new DecimalValue(unscaledValue, 1);
     }
 
     public static DecimalValue valueOfJ(byte value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfWithScaleOne(value);
     }
 
     public static DecimalValue valueOfJ(char value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfWithScaleOne(value);
     }
 
     public static DecimalValue valueOfJ(short value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfWithScaleOne(value);
     }
 
     public static DecimalValue valueOfJ(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfWithScaleOne(value);
     }
 
     public static DecimalValue valueOfJ(long value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfWithScaleOne(value);
     }
 
     public static DecimalValue valueOfJ(float value) {
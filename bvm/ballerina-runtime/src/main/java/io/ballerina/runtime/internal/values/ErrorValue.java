@@ -36,11 +36,10 @@ import io.ballerina.runtime.internal.types.BTypeIdSet;
 
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.StringJoiner;
 
 import static io.ballerina.runtime.api.PredefinedTypes.TYPE_MAP;
@@ -68,6 +67,9 @@ public class ErrorValue extends BError implements RefValue {
     private final BError cause;
     private final Object details;
 
+    // Ballerina frames of the stack trace, filtered from the JVM stack trace when it is first requested.
+    private transient volatile StackTraceElement[] ballerinaStackTrace;
+
     private static final String GENERATE_OBJECT_CLASS_PREFIX = ".$value$";
     private static final String GENERATE_PKG_INIT = "___init_";
     private static final String GENERATE_PKG_START = "___start_";
@@ -272,15 +274,24 @@ public class ErrorValue extends BError implements RefValue {
     
     @Override
     public StackTraceElement[] getStackTrace() {
-        StackTraceElement[] stackTrace = super.getStackTrace();
-        List<StackTraceElement> filteredStack = new LinkedList<>();
-        int index = 0;
-        for (StackTraceElement stackFrame : stackTrace) {
-            Optional<StackTraceElement> stackTraceElement = filterStackTraceElement(stackFrame, index++);
-            stackTraceElement.ifPresent(filteredStack::add);
+        return getBallerinaStackTrace().clone();
+    }
+
+    @Override
+    public void setStackTrace(StackTraceElement[] stackTrace) {
+        super.setStackTrace(stackTrace);
+        this.ballerinaStackTrace = null;
+    }
+
+    private StackTraceElement[] getBallerinaStackTrace() {
+        // The JVM only records the frames when the error is created, the elements are created here on first use.
+        StackTraceElement[] stackTrace = this.ballerinaStackTrace;
+        if (stackTrace == null) {
+            List<StackTraceElement> filteredStack = filterStackTrace(super.getStackTrace());
+            stackTrace = filteredStack.toArray(new StackTraceElement[0]);
+            this.ballerinaStackTrace = stackTrace;
         }
-        StackTraceElement[] filteredStackArray = new StackTraceElement[filteredStack.size()];
-        return filteredStack.toArray(filteredStackArray);
+        return stackTrace;
     }
 
     /**
@@ -292,7 +303,7 @@ public class ErrorValue extends BError implements RefValue {
         StringBuilder sb = new StringBuilder();
         sb.append(errorMsg);
         // Append function/action/resource name with package path (if any)
-        StackTraceElement[] stackTrace = this.getStackTrace();
+        StackTraceElement[] stackTrace = getBallerinaStackTrace();
         if (stackTrace.length == 0) {
             return sb.toString();
         }
@@ -307,12 +318,16 @@ public class ErrorValue extends BError implements RefValue {
 
     @Override
     public List<StackTraceElement> getCallStack() {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        List<StackTraceElement> filteredStack = new LinkedList<>();
-        int index = 0;
-        for (StackTraceElement stackFrame : stackTrace) {
-            Optional<StackTraceElement> stackTraceElement = filterStackTraceElement(stackFrame, index++);
-            stackTraceElement.ifPresent(filteredStack::add);
+        return filterStackTrace(Thread.currentThread().getStackTrace());
+    }
+
+    private List<StackTraceElement> filterStackTrace(StackTraceElement[] stackTrace) {
+        List<StackTraceElement> filteredStack = new ArrayList<>();
+        for (int i = 0; i < stackTrace.length; i++) {
+            StackTraceElement stackTraceElement = filterStackTraceElement(stackTrace[i], i);
+            if (stackTraceElement != null) {
+                filteredStack.add(stackTraceElement);
+            }
         }
         return filteredStack;
     }
@@ -364,18 +379,18 @@ public class ErrorValue extends BError implements RefValue {
         return (details instanceof MapValue) && ((MapValue<?, ?>) details).isEmpty();
     }
 
-    private Optional<StackTraceElement> filterStackTraceElement(StackTraceElement stackFrame, int currentIndex) {
+    private StackTraceElement filterStackTraceElement(StackTraceElement stackFrame, int currentIndex) {
         String fileName = stackFrame.getFileName();
         int lineNo = stackFrame.getLineNumber();
         if (lineNo < 0) {
-            return Optional.empty();
+            return null;
         }
         // Handle init function
         String className = stackFrame.getClassName();
         String methodName = stackFrame.getMethodName();
         if (className.equals(MODULE_INIT_CLASS_NAME)) {
             if (currentIndex == 0) {
-                return Optional.empty();
+                return null;
             }
             switch (methodName) {
                 case GENERATE_PKG_INIT:
@@ -388,18 +403,16 @@ public class ErrorValue extends BError implements RefValue {
                     methodName = STOP_FUNCTION_SUFFIX;
                     break;
                 default:
-                    return Optional.empty();
+                    return null;
             }
-            return Optional.of(new StackTraceElement(cleanupClassName(className), methodName, fileName,
-                                                     stackFrame.getLineNumber()));
+            return new StackTraceElement(cleanupClassName(className), methodName, fileName, lineNo);
 
         }
         if (fileName != null && !fileName.endsWith(BLANG_SRC_FILE_SUFFIX)) {
             // Remove java sources for bal stacktrace if they are not extern functions.
-            return Optional.empty();
+            return null;
         }
-        return Optional.of(
-                new StackTraceElement(cleanupClassName(className), methodName, fileName, stackFrame.getLineNumber()));
+        return new StackTraceElement(cleanupClassName(className), methodName, fileName, lineNo);
     }
 
     private String cleanupClassName(String className) {
@@ -43,7 +43,7 @@ package io.ballerina.runtime.internal.values;
 
      public Object result;
 
-     public boolean isDone;
+     public volatile boolean isDone;
 
      public Throwable panic;
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.XmlTreeBuilder;
+import io.ballerina.runtime.internal.util.exceptions.BallerinaException;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Children of an xml element parsed from a large source, kept as the range of the source that holds the content of
+ * the element. The content has been checked to be well-formed by the parse, and the children are built the first
+ * time they are accessed.
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public final class LazyXmlChildList extends AbstractList<BXml> implements RandomAccess {
+
+    private String source;
+    private final int start;
+    private final int end;
+    private Map<String, String> namespaces;
+    private volatile List<BXml> items;
+
+    private LazyXmlChildList(String source, int start, int end, Map<String, String> namespaces) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.namespaces = namespaces;
+    }
+
+    /**
+     * Defer building the children of the given element, which is still being built by the parser.
+     *
+     * @param element    element whose children are deferred
+     * @param source     xml source the element was parsed from
+     * @param start      start index of the content of the element in the source
+     * @param end        end index of the content of the element in the source
+     * @param namespaces namespace declarations in scope for the content, keyed by prefix
+     * @return the deferred children
+     */
+    public static LazyXmlChildList defer(XmlItem element, String source, int start, int end,
+                                         Map<String, String> namespaces) {
+        LazyXmlChildList children = new LazyXmlChildList(source, start, end, namespaces);
+        ((XmlSequence) element.getChildrenSeq()).children = children;
+        return children;
+    }
+
+    /**
+     * Build the children if they have not been built yet.
+     *
+     * @return the children
+     * @throws io.ballerina.runtime.api.values.BError if the content is not well-formed
+     */
+    public List<BXml> expand() {
+        List<BXml> expanded = items;
+        if (expanded != null) {
+            return expanded;
+        }
+        synchronized (this) {
+            if (items == null) {
+                try {
+                    items = XmlTreeBuilder.parseContent(source, start, end, namespaces);
+                } catch (BallerinaException e) {
+                    throw ErrorCreator.createError(StringUtils.fromString("failed to parse xml: " + e.getMessage()));
+                }
+                // Release the source so that it can be collected once every deferred element has been built.
+                source = null;
+                namespaces = null;
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Check whether the children have been built.
+     *
+     * @return true if the children have been built
+     */
+    public boolean isExpanded() {
+        return items != null;
+    }
+
+    @Override
+    public BXml get(int index) {
+        return expand().get(index);
+    }
+
+    @Override
+    public int size() {
+        return expand().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return expand().isEmpty();
+    }
+
+    @Override
+    public BXml set(int index, BXml element) {
+        return expand().set(index, element);
+    }
+
+    @Override
+    public void add(int index, BXml element) {
+        expand().add(index, element);
+    }
+
+    @Override
+    public BXml remove(int index) {
+        return expand().remove(index);
+    }
+
+    @Override
+    public void clear() {
+        expand().clear();
+    }
+
+    @Override
+    public Iterator<BXml> iterator() {
+        return expand().iterator();
+    }
+}
@@ -59,6 +59,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.MAP_LANG_LIB;
@@ -88,9 +89,15 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         BMap<K, V> {
 
     private static final long serialVersionUID = 1L;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MapValueImpl, Map> NATIVE_DATA_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(MapValueImpl.class, Map.class, "nativeData");
+
     private TypedescValue typedesc;
     private Type type;
-    private final Map<String, Object> nativeData = new HashMap<>();
+    // Created on first use, since native data is only attached to a few map values. Set with a CAS, so that strands
+    // adding native data on different threads cannot replace each other's map.
+    private volatile Map<String, Object> nativeData;
     private Type iteratorNextReturnType;
 
     public MapValueImpl(TypedescValue typedesc) {
@@ -569,7 +576,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @param data value to be added.
      */
     public void addNativeData(String key, Object data) {
-        nativeData.put(key, data);
+        getNativeDataMap().put(key, data);
     }
 
     /**
@@ -578,7 +585,8 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return value for the given key.
      */
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        Map<String, Object> nativeData = this.nativeData;
+        return nativeData == null ? null : nativeData.get(key);
     }
 
     @Override
@@ -592,7 +600,12 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return nativeData map
      */
     public Map<String, Object> getNativeDataMap() {
-        return this.nativeData;
+        Map<String, Object> nativeData = this.nativeData;
+        if (nativeData == null) {
+            NATIVE_DATA_UPDATER.compareAndSet(this, null, new HashMap<>());
+            nativeData = this.nativeData;
+        }
+        return nativeData;
     }
 
     private void initializeIteratorNextReturnType() {
@@ -21,8 +21,6 @@
  import io.ballerina.runtime.api.values.BLink;
  import io.ballerina.runtime.api.values.BString;
 
- import java.util.Arrays;
-
  /**
   * Represent ballerina strings containing at least one non basic multilingual plane unicode character.
   *
@@ -70,17 +68,7 @@
 
     @Override
     public BString concat(BString str) {
-        if (str instanceof NonBmpStringValue) {
-            NonBmpStringValue other = (NonBmpStringValue) str;
-            int[] both = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
-            System.arraycopy(other.surrogates, 0, both, surrogates.length, other.surrogates.length);
-            return new NonBmpStringValue(this.value + other.value, both);
-        } else if (str instanceof BmpStringValue) {
-            BmpStringValue other = (BmpStringValue) str;
-            return new NonBmpStringValue(this.value + other.getValue(), surrogates);
-        } else {
-            throw new RuntimeException("not impl yet");
-        }
+        return RopeStringValue.concat(this, str);
     }
 
      @Override
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayDeque;
+
+/**
+ * Represent a ballerina string created by concatenating two strings, without copying their characters.
+ * <p>
+ * Building a string by repeated concatenation copies the whole string on every step. A rope only links the two
+ * operands, and the characters are copied once when the value of the string is first needed, after which the rope
+ * drops its operands and delegates to the flat string.
+ *
+ * @since 2.0.0
+ */
+public class RopeStringValue implements StringValue {
+
+    // Shorter strings are concatenated eagerly, since copying them is cheaper than keeping a rope node.
+    private static final int MIN_ROPE_LENGTH = 256;
+
+    private final int length;
+    private final int charLength;
+    private final boolean isBmp;
+
+    // The operands are cleared once the rope is flattened, the flat string is written before they are cleared.
+    private volatile BString left;
+    private volatile BString right;
+    private volatile BString flat;
+
+    private RopeStringValue(BString left, BString right, int charLength, boolean isBmp) {
+        this.left = left;
+        this.right = right;
+        this.length = left.length() + right.length();
+        this.charLength = charLength;
+        this.isBmp = isBmp;
+    }
+
+    /**
+     * Concatenates two strings, creating a rope if the result is long enough.
+     *
+     * @param left  the string at the start
+     * @param right the string at the end
+     * @return the concatenated string
+     */
+    static BString concat(BString left, BString right) {
+        int charLength = getCharLength(left) + getCharLength(right);
+        boolean isBmp = isBmp(left) && isBmp(right);
+        if (charLength >= MIN_ROPE_LENGTH) {
+            return new RopeStringValue(left, right, charLength, isBmp);
+        }
+        String value = left.getValue() + right.getValue();
+        return isBmp ? new BmpStringValue(value) : StringUtils.fromString(value);
+    }
+
+    private static int getCharLength(BString str) {
+        if (str instanceof RopeStringValue) {
+            return ((RopeStringValue) str).charLength;
+        }
+        return str.getValue().length();
+    }
+
+    private static boolean isBmp(BString str) {
+        if (str instanceof BmpStringValue) {
+            return true;
+        }
+        if (str instanceof RopeStringValue) {
+            return ((RopeStringValue) str).isBmp;
+        }
+        return str.length() == str.getValue().length();
+    }
+
+    private BString flatten() {
+        BString flatValue = this.flat;
+        if (flatValue != null) {
+            return flatValue;
+        }
+
+        // Copy the leaves from the end, since ropes built in loops are deep on the left.
+        char[] chars = new char[charLength];
+        int end = charLength;
+        ArrayDeque<BString> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) {
+            BString str = stack.pop();
+            if (str instanceof RopeStringValue) {
+                RopeStringValue rope = (RopeStringValue) str;
+                BString ropeLeft = rope.left;
+                BString ropeRight = rope.right;
+                if (ropeLeft != null && ropeRight != null) {
+                    stack.push(ropeLeft);
+                    stack.push(ropeRight);
+                    continue;
+                }
+                str = rope.flat;
+            }
+            String value = str.getValue();
+            end -= value.length();
+            value.getChars(0, value.length(), chars, end);
+        }
+
+        String value = new String(chars);
+        flatValue = isBmp ? new BmpStringValue(value) : StringUtils.fromString(value);
+        this.flat = flatValue;
+        this.left = null;
+        this.right = null;
+        return flatValue;
+    }
+
+    @Override
+    public String getValue() {
+        return flatten().getValue();
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return flatten().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        return concat(this, str);
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return flatten().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return flatten().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        return flatten().substring(beginIndex, endIndex);
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        return getValue();
+    }
+
+    @Override
+    public String informalStringValue(BLink parent) {
+        return "\"" + toString() + "\"";
+    }
+
+    @Override
+    public String expressionStringValue(BLink parent) {
+        return informalStringValue(parent);
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Row storage of a {@link TableValueImpl}.
+ * <p>
+ * Rows are kept in insertion order in dense key and value arrays. Removing a row leaves an empty slot behind, and
+ * the arrays are compacted once more than half of the slots are empty. Rows of tables with a key sequence are found
+ * through an open addressing index from the key hash to the row slot, which uses linear probing and backward shift
+ * deletion. Every row also gets an increasing sequence number so that iterators can find their position again after
+ * a compaction.
+ *
+ * @param <K> the type of the row keys
+ * @param <V> the type of the rows
+ *
+ * @since 2.0.0
+ */
+final class TableStorage<K, V> {
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MIN_EMPTY_SLOTS_TO_COMPACT = 32;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private int slotCount;
+    private int size;
+    private long nextSequence;
+    private int compactions;
+
+    // Key hash index, the index slots hold the row slot + 1 so that 0 marks an empty index slot.
+    private final boolean indexed;
+    private long[] indexHashes;
+    private int[] indexSlots;
+
+    TableStorage(boolean indexed) {
+        this.indexed = indexed;
+        if (indexed) {
+            this.indexHashes = new long[INITIAL_CAPACITY * 2];
+            this.indexSlots = new int[INITIAL_CAPACITY * 2];
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot of the row with the given key hash, or -1 if there is no such row.
+     */
+    int find(long hash) {
+        int mask = indexSlots.length - 1;
+        for (int i = bucket(hash, mask); indexSlots[i] != 0; i = (i + 1) & mask) {
+            if (indexHashes[i] == hash) {
+                return indexSlots[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    V get(long hash) {
+        int slot = find(hash);
+        return slot < 0 ? null : valueAt(slot);
+    }
+
+    /**
+     * Adds a row at the end of a table without a key sequence.
+     */
+    void append(K key, V value) {
+        addRow(0, key, value);
+    }
+
+    /**
+     * Replaces the row with the given key hash, or adds a new row at the end if there is no such row.
+     *
+     * @return the replaced row, or null if a new row was added
+     */
+    V put(long hash, K key, V value) {
+        int slot = find(hash);
+        if (slot >= 0) {
+            V previous = valueAt(slot);
+            keys[slot] = key;
+            values[slot] = value;
+            return previous;
+        }
+        slot = addRow(hash, key, value);
+        if ((size << 1) > indexSlots.length) {
+            rebuildIndex(indexSlots.length << 1);
+        } else {
+            addToIndex(hash, slot);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the row with the given key hash.
+     *
+     * @return the removed row, or null if there is no such row
+     */
+    V remove(long hash) {
+        int mask = indexSlots.length - 1;
+        int i = bucket(hash, mask);
+        while (indexSlots[i] != 0 && indexHashes[i] != hash) {
+            i = (i + 1) & mask;
+        }
+        if (indexSlots[i] == 0) {
+            return null;
+        }
+        int slot = indexSlots[i] - 1;
+        removeFromIndex(i, mask);
+
+        V previous = valueAt(slot);
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        if (slot == slotCount - 1) {
+            while (slotCount > 0 && values[slotCount - 1] == null) {
+                slotCount--;
+            }
+            // The trimmed slots are reused by the next rows, which an iterator past them would otherwise miss.
+            compactions++;
+        } else if (slotCount - size > MIN_EMPTY_SLOTS_TO_COMPACT && (slotCount - size) << 1 > slotCount) {
+            compact();
+        }
+        return previous;
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0, slotCount, null);
+        Arrays.fill(values, 0, slotCount, null);
+        slotCount = 0;
+        size = 0;
+        compactions++;
+        if (indexed) {
+            Arrays.fill(indexSlots, 0);
+        }
+    }
+
+    /**
+     * Returns the first slot at or after the given slot which holds a row, or -1 if there is none.
+     */
+    int nextSlot(int slot) {
+        for (; slot < slotCount; slot++) {
+            if (values[slot] != null) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first slot which holds a row added after the row with the given sequence number, or -1 if there
+     * is none. Used by iterators to find their position after the rows are compacted.
+     */
+    int slotAfter(long sequence) {
+        int slot = Arrays.binarySearch(sequences, 0, slotCount, sequence + 1);
+        return nextSlot(slot < 0 ? -slot - 1 : slot);
+    }
+
+    K keyAt(int slot) {
+        return (K) keys[slot];
+    }
+
+    V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    long sequenceAt(int slot) {
+        return sequences[slot];
+    }
+
+    /**
+     * Returns the number of times the slots of the rows have changed or been freed for reuse, which invalidates the
+     * slots held by iterators.
+     */
+    int compactions() {
+        return compactions;
+    }
+
+    Object[] keys() {
+        Object[] liveKeys = new Object[size];
+        for (int slot = nextSlot(0), i = 0; slot >= 0; slot = nextSlot(slot + 1)) {
+            liveKeys[i++] = keys[slot];
+        }
+        return liveKeys;
+    }
+
+    /**
+     * Returns a view of the rows in insertion order.
+     */
+    Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<V>() {
+                    private int slot = nextSlot(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot >= 0;
+                    }
+
+                    @Override
+                    public V next() {
+                        if (slot < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        V value = valueAt(slot);
+                        slot = nextSlot(slot + 1);
+                        return value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int addRow(long hash, K key, V value) {
+        if (slotCount == values.length) {
+            if (slotCount - size > (slotCount >> 2)) {
+                compact();
+            } else {
+                int capacity = slotCount << 1;
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+            }
+        }
+        int slot = slotCount++;
+        keys[slot] = key;
+        values[slot] = value;
+        sequences[slot] = nextSequence++;
+        hashes[slot] = hash;
+        size++;
+        return slot;
+    }
+
+    private void compact() {
+        int target = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (values[slot] != null) {
+                keys[target] = keys[slot];
+                values[target] = values[slot];
+                sequences[target] = sequences[slot];
+                hashes[target] = hashes[slot];
+                target++;
+            }
+        }
+        Arrays.fill(keys, target, slotCount, null);
+        Arrays.fill(values, target, slotCount, null);
+        slotCount = target;
+        compactions++;
+        if (indexed) {
+            rebuildIndex(indexSlots.length);
+        }
+    }
+
+    private void rebuildIndex(int capacity) {
+        if (indexSlots.length == capacity) {
+            Arrays.fill(indexSlots, 0);
+        } else {
+            indexHashes = new long[capacity];
+            indexSlots = new int[capacity];
+        }
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            addToIndex(hashes[slot], slot);
+        }
+    }
+
+    private void addToIndex(long hash, int slot) {
+        int mask = indexSlots.length - 1;
+        int i = bucket(hash, mask);
+        while (indexSlots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        indexHashes[i] = hash;
+        indexSlots[i] = slot + 1;
+    }
+
+    private void removeFromIndex(int i, int mask) {
+        // Move back the following entries of the probe sequence which would no longer be reachable.
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (indexSlots[j] == 0) {
+                break;
+            }
+            int k = bucket(indexHashes[j], mask);
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) {
+                continue;
+            }
+            indexHashes[i] = indexHashes[j];
+            indexSlots[i] = indexSlots[j];
+            i = j;
+        }
+        indexSlots[i] = 0;
+    }
+
+    private static int bucket(long hash, int mask) {
+        int h = Long.hashCode(hash) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -48,14 +48,12 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.TABLE_LANG_LIB;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.INHERENT_TYPE_VIOLATION_ERROR_IDENTIFIER;
@@ -76,34 +74,24 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     private TableType type;
     private Type iteratorNextReturnType;
-    private ConcurrentHashMap<Long, Map.Entry<K, V>> entries;
-    private LinkedHashMap<Long, V> values;
-    private LinkedHashMap<Long, K> keys;
+    private final TableStorage<K, V> rows;
     private String[] fieldNames;
     private ValueHolder valueHolder;
     private long maxIntKey = 0;
 
-    //These are required to achieve the iterator behavior
-    private LinkedHashMap<Long, Long> indexToKeyMap;
-    private LinkedHashMap<Long, Long> keyToIndexMap;
-    private long noOfAddedEntries = 0;
-
     private boolean nextKeySupported;
 
-    private final Map<String, Object> nativeData = new HashMap<>();
+    private Map<String, Object> nativeData;
 
     public TableValueImpl(TableType type) {
         this.type = type;
 
-        this.entries = new ConcurrentHashMap<>();
-        this.keys = new LinkedHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new LinkedHashMap<>();
         this.fieldNames = type.getFieldNames();
         if (type.getFieldNames() != null) {
+            this.rows = new TableStorage<>(true);
             this.valueHolder = new KeyHashValueHolder();
         } else {
+            this.rows = new TableStorage<>(false);
             this.valueHolder = new ValueHolder();
         }
     }
@@ -127,7 +115,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public IteratorValue getIterator() {
-        return new TableIterator<K, V>();
+        return new TableIterator();
     }
 
     @Override
@@ -214,23 +202,22 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
-        return new LinkedHashSet<>(entries.values());
+        Set<Map.Entry<K, V>> entrySet = new LinkedHashSet<>();
+        for (int slot = rows.nextSlot(0); slot >= 0; slot = rows.nextSlot(slot + 1)) {
+            entrySet.add(new AbstractMap.SimpleEntry<>(rows.keyAt(slot), rows.valueAt(slot)));
+        }
+        return entrySet;
     }
 
     @Override
     public Collection<V> values() {
-        return values.values();
+        return rows.values();
     }
 
     @Override
     public void clear() {
         handleFrozenTableValue();
-        entries.clear();
-        keys.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        rows.clear();
     }
 
     @Override
@@ -259,7 +246,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                                         + "The key sequence should only have an " +
                                                                            "Integer field."));
         }
-        return keys.size() == 0 ? 0 : (this.maxIntKey + 1);
+        return rows.size() == 0 ? 0 : (this.maxIntKey + 1);
     }
 
     public Type getKeyType() {
@@ -287,27 +274,30 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public K[] getKeys() {
-        return (K[]) keys.values().toArray(new Object[]{});
+        return (K[]) rows.keys();
     }
 
     @Override
     public int size() {
-        return entries.size();
+        return rows.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return rows.size() == 0;
     }
 
     @Override
     public void addNativeData(String key, Object data) {
+        if (nativeData == null) {
+            nativeData = new HashMap<>();
+        }
         nativeData.put(key, data);
     }
 
     @Override
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        return nativeData == null ? null : nativeData.get(key);
     }
 
     @Override
@@ -322,7 +312,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     public String stringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
+        Iterator<V> itr = values().iterator();
         return createStringValueDataEntry(itr, parent);
     }
 
@@ -333,21 +323,21 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String expressionStringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
+        Iterator<V> itr = values().iterator();
         return createExpressionStringValueDataEntry(itr, parent);
     }
 
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createStringValueDataEntry(Iterator<V> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getStringValue(struct.getValue(),
+            V struct = itr.next();
+            sj.add(StringUtils.getStringValue(struct,
                                               new CycleUtils.Node(this, parent)));
         }
         return "[" + sj.toString() + "]";
     }
 
-    private String createExpressionStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createExpressionStringValueDataEntry(Iterator<V> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         StringJoiner keyJoiner = new StringJoiner(",");
         if (type.getFieldNames() != null) {
@@ -357,8 +347,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             }
         }
         while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getExpressionStringValue(struct.getValue(),
+            V struct = itr.next();
+            sj.add(StringUtils.getExpressionStringValue(struct,
                                                         new CycleUtils.Node(this, parent)));
         }
         return "table key(" + keyJoiner.toString() + ") [" + sj.toString() + "]";
@@ -398,40 +388,51 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         return iteratorNextReturnType;
     }
 
-    private class TableIterator<K, V> implements IteratorValue {
-        private long cursor;
+    private class TableIterator implements IteratorValue {
+        private int cursor;
+        private long lastSequence = -1;
+        private int compactions;
 
         TableIterator() {
             this.cursor = 0;
+            this.compactions = rows.compactions();
         }
 
         @Override
         public Object next() {
-            Long hash = indexToKeyMap.get(cursor);
-            if (hash != null) {
-                Map.Entry<K, V> next = (Map.Entry<K, V>) entries.get(hash);
-                V value = next.getValue();
-                K key = next.getKey();
-
-                List<Type> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
-            } else {
-                cursor++;
-                return next();
+            int slot = nextSlot();
+            if (slot < 0) {
+                throw new NoSuchElementException();
             }
+            K key = rows.keyAt(slot);
+            V value = rows.valueAt(slot);
+            lastSequence = rows.sequenceAt(slot);
+            cursor = slot + 1;
+
+            List<Type> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            return tuple;
         }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries;
+            return nextSlot() >= 0;
+        }
+
+        private int nextSlot() {
+            if (compactions != rows.compactions()) {
+                // Rows were moved after the last call, so continue from the row following the last returned one.
+                compactions = rows.compactions();
+                int slot = rows.slotAfter(lastSequence);
+                cursor = slot < 0 ? Integer.MAX_VALUE : slot;
+            }
+            return rows.nextSlot(cursor);
         }
     }
 
@@ -453,11 +454,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public V putData(V data) {
             checkInherentTypeViolation((MapValue) data, type);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            UUID uuid = UUID.randomUUID();
-            entries.put((long) uuid.hashCode(), entry);
-            updateIndexKeyMappings((long) uuid.hashCode());
-            return values.put((long) uuid.hashCode(), data);
+            rows.append((K) data, data);
+            return null;
         }
 
         public V remove(K key) {
@@ -498,63 +496,43 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                StringUtils.fromString("A value " + "found for key '" + key + "'"));
             }
 
-            if (nextKeySupported && (keys.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
+            if (nextKeySupported && (rows.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
                 maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
             }
 
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-            Long hash = TableUtils.hash(key, null);
-            putData(key, data, entry, hash);
+            rows.put(TableUtils.hash(key, null), key, data);
         }
 
         public V getData(K key) {
-            return values.get(TableUtils.hash(key, null));
+            return rows.get(TableUtils.hash(key, null));
         }
 
         public V putData(K key, V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
-            Long actualHash = TableUtils.hash(actualKey, null);
-            Long hash = TableUtils.hash(key, null);
+            long actualHash = TableUtils.hash(actualKey, null);
+            long hash = TableUtils.hash(key, null);
 
-            if (!hash.equals(actualHash)) {
+            if (hash != actualHash) {
                 throw ErrorCreator.createError(TABLE_KEY_NOT_FOUND_ERROR, StringUtils.fromString("The key '" +
                         key + "' not found in value " + data.toString()));
             }
 
-            return putData(key, data, entry, hash);
-        }
-
-        private V putData(K key, V data, Map.Entry<K, V> entry, Long hash) {
-            entries.put(hash, entry);
-            keys.put(hash, key);
-            updateIndexKeyMappings(hash);
-            return values.put(hash, data);
+            return rows.put(hash, key, data);
         }
 
         public V putData(V data) {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
-            return putData((K) key, data, entry, hash);
+            return rows.put(TableUtils.hash(key, null), key, data);
         }
 
         public V remove(K key) {
-            Long hash = TableUtils.hash(key, null);
-            entries.remove(hash);
-            keys.remove(hash);
-            Long index = keyToIndexMap.remove(hash);
-            indexToKeyMap.remove(index);
-            if (index != null && index == noOfAddedEntries - 1) {
-                noOfAddedEntries--;
-            }
-            return values.remove(hash);
+            return rows.remove(TableUtils.hash(key, null));
         }
 
         public boolean containsKey(K key) {
-            return keys.containsKey(TableUtils.hash(key, null));
+            return rows.find(TableUtils.hash(key, null)) >= 0;
         }
 
         public Type getKeyType() {
@@ -605,15 +583,6 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(Long hash) {
-        if (!keyToIndexMap.containsKey(hash)) {
-            keyToIndexMap.put(hash, noOfAddedEntries);
-            indexToKeyMap.put(noOfAddedEntries, hash);
-            noOfAddedEntries++;
-        }
-    }
-
     // This method checks for inherent table type violation
     private void checkInherentTypeViolation(MapValue dataMap, TableType type) {
         if (!TypeChecker.checkIsType(dataMap.getType(), type.getConstrainedType())) {
@@ -20,12 +20,31 @@ package io.ballerina.runtime.observability;
 import io.ballerina.runtime.observability.metrics.Tag;
 import io.ballerina.runtime.observability.tracer.BSpan;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_FUNCTION_MODULE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_FUNCTION_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ENTRYPOINT_SERVICE_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_ERROR;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_CLIENT_REMOTE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_MAIN_FUNCTION;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_SERVICE_REMOTE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_SERVICE_RESOURCE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_IS_SRC_WORKER;
 import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_LISTENER_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_FUNCTION_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_MODULE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_OBJECT_NAME;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_POSITION;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_RESOURCE_ACCESSOR;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_SRC_RESOURCE_PATH;
 
 /**
  * Context object used for observation purposes.
@@ -33,15 +52,48 @@ import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_
 public class ObserverContext {
 
     /**
-     * {@link Map} of properties, which is used to represent additional information required for observers.
+     * Keys of the tags added by the runtime to every observation. These tags are kept in fixed slots instead of a
+     * map, and their {@link Tag} objects are shared between contexts since the values come from a bounded set of
+     * call sites.
+     */
+    private static final String[] STANDARD_TAG_KEYS = {
+            TAG_KEY_SRC_MODULE, TAG_KEY_SRC_POSITION, TAG_KEY_SRC_OBJECT_NAME, TAG_KEY_SRC_FUNCTION_NAME,
+            TAG_KEY_SRC_RESOURCE_PATH, TAG_KEY_SRC_RESOURCE_ACCESSOR, TAG_KEY_ENTRYPOINT_FUNCTION_MODULE,
+            TAG_KEY_ENTRYPOINT_SERVICE_NAME, TAG_KEY_ENTRYPOINT_FUNCTION_NAME, TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR,
+            TAG_KEY_IS_SRC_MAIN_FUNCTION, TAG_KEY_IS_SRC_WORKER, TAG_KEY_IS_SRC_CLIENT_REMOTE,
+            TAG_KEY_IS_SRC_SERVICE_REMOTE, TAG_KEY_IS_SRC_SERVICE_RESOURCE, TAG_KEY_ERROR, TAG_KEY_LISTENER_NAME
+    };
+
+    // Stops interning the values of a standard tag if it has unexpectedly many distinct values.
+    private static final int MAX_INTERNED_TAGS_PER_KEY = 4096;
+
+    private static final Map<String, Tag>[] INTERNED_TAGS = createInternedTagMaps();
+
+    private static final int INITIAL_PROPERTIES_CAPACITY = 4;
+
+    /**
+     * Properties, which are used to represent additional information required for observers, stored as
+     * consecutive key and value pairs.
+     */
+    private Object[] properties;
+
+    private int propertyCount;
+
+    /**
+     * Tags with standard keys, indexed by the position of the key in {@code STANDARD_TAG_KEYS}.
      */
-    private final Map<String, Object> properties;
+    private final Tag[] standardTags = new Tag[STANDARD_TAG_KEYS.length];
 
     /**
-     * {@link Map} of values (with tag as map's key and tag value as map's value),
-     * which is required to pass to observers.
+     * {@link Map} of other tags (with tag as map's key and tag value as map's value), created when the first such
+     * tag is added.
      */
-    private final Map<String, Tag> tags;
+    private Map<String, Tag> otherTags;
+
+    /**
+     * Set of all the tags, created when the tags are first asked for after being changed.
+     */
+    private Set<Tag> tagSet;
 
     /**
      * {@link Map} of custom Tags, which are relevant to metrics  .
@@ -75,30 +127,160 @@ public class ObserverContext {
     private boolean manuallyClosed;
 
     public ObserverContext() {
-        this.properties = new HashMap<>();
-        this.tags = new HashMap<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Tag>[] createInternedTagMaps() {
+        Map<String, Tag>[] maps = new Map[STANDARD_TAG_KEYS.length];
+        for (int i = 0; i < maps.length; i++) {
+            maps[i] = new ConcurrentHashMap<>();
+        }
+        return maps;
+    }
+
+    private static int getStandardTagIndex(String key) {
+        switch (key) {
+            case TAG_KEY_SRC_MODULE:
+                return 0;
+            case TAG_KEY_SRC_POSITION:
+                return 1;
+            case TAG_KEY_SRC_OBJECT_NAME:
+                return 2;
+            case TAG_KEY_SRC_FUNCTION_NAME:
+                return 3;
+            case TAG_KEY_SRC_RESOURCE_PATH:
+                return 4;
+            case TAG_KEY_SRC_RESOURCE_ACCESSOR:
+                return 5;
+            case TAG_KEY_ENTRYPOINT_FUNCTION_MODULE:
+                return 6;
+            case TAG_KEY_ENTRYPOINT_SERVICE_NAME:
+                return 7;
+            case TAG_KEY_ENTRYPOINT_FUNCTION_NAME:
+                return 8;
+            case TAG_KEY_ENTRYPOINT_RESOURCE_ACCESSOR:
+                return 9;
+            case TAG_KEY_IS_SRC_MAIN_FUNCTION:
+                return 10;
+            case TAG_KEY_IS_SRC_WORKER:
+                return 11;
+            case TAG_KEY_IS_SRC_CLIENT_REMOTE:
+                return 12;
+            case TAG_KEY_IS_SRC_SERVICE_REMOTE:
+                return 13;
+            case TAG_KEY_IS_SRC_SERVICE_RESOURCE:
+                return 14;
+            case TAG_KEY_ERROR:
+                return 15;
+            case TAG_KEY_LISTENER_NAME:
+                return 16;
+            default:
+                return -1;
+        }
+    }
+
+    private static Tag getInternedTag(int index, String value) {
+        Map<String, Tag> tags = INTERNED_TAGS[index];
+        Tag tag = tags.get(value);
+        if (tag == null) {
+            tag = Tag.of(STANDARD_TAG_KEYS[index], value);
+            if (tags.size() < MAX_INTERNED_TAGS_PER_KEY) {
+                tags.putIfAbsent(value, tag);
+            }
+        }
+        return tag;
     }
 
     public void addProperty(String key, Object value) {
-        properties.put(key, value);
+        Object[] props = properties;
+        if (props == null) {
+            props = new Object[INITIAL_PROPERTIES_CAPACITY * 2];
+            properties = props;
+        }
+        int index = indexOfProperty(key);
+        if (index >= 0) {
+            props[index + 1] = value;
+            return;
+        }
+        int end = propertyCount * 2;
+        if (end == props.length) {
+            props = Arrays.copyOf(props, end * 2);
+            properties = props;
+        }
+        props[end] = key;
+        props[end + 1] = value;
+        propertyCount++;
     }
 
     public Object getProperty(String key) {
-        return properties.get(key);
+        int index = indexOfProperty(key);
+        return index >= 0 ? properties[index + 1] : null;
+    }
+
+    private int indexOfProperty(String key) {
+        Object[] props = properties;
+        int end = propertyCount * 2;
+        // Property keys are usually constants, so look for the same instance before comparing the strings.
+        for (int i = 0; i < end; i += 2) {
+            if (props[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < end; i += 2) {
+            if (props[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public void addTag(String key, String value) {
         String sanitizedValue = value != null ? value : "";
-        Tag tag = Tag.of(key, sanitizedValue);
-        tags.put(key, tag);
+        int index = getStandardTagIndex(key);
+        if (index >= 0) {
+            standardTags[index] = getInternedTag(index, sanitizedValue);
+        } else {
+            if (otherTags == null) {
+                otherTags = new HashMap<>();
+            }
+            otherTags.put(key, Tag.of(key, sanitizedValue));
+        }
+        tagSet = null;
     }
 
     public Tag getTag(String key) {
-        return tags.get(key);
+        int index = getStandardTagIndex(key);
+        if (index >= 0) {
+            return standardTags[index];
+        }
+        return otherTags != null ? otherTags.get(key) : null;
     }
 
     public Set<Tag> getAllTags() {
-        return new HashSet<>(tags.values());
+        return new HashSet<>(getTags());
+    }
+
+    /**
+     * Get all the tags of the context as an unmodifiable set. The same set is returned until a tag is added.
+     *
+     * @return unmodifiable set of tags
+     */
+    public Set<Tag> getTags() {
+        Set<Tag> tags = tagSet;
+        if (tags == null) {
+            tags = new HashSet<>();
+            for (Tag tag : standardTags) {
+                if (tag != null) {
+                    tags.add(tag);
+                }
+            }
+            if (otherTags != null) {
+                tags.addAll(otherTags.values());
+            }
+            tags = Collections.unmodifiableSet(tags);
+            tagSet = tags;
+        }
+        return tags;
     }
 
     public BSpan getSpan() {
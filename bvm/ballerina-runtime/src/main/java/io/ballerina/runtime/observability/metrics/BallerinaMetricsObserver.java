@@ -17,6 +17,8 @@
  */
 package io.ballerina.runtime.observability.metrics;
 
+import io.ballerina.runtime.internal.TypeCheckCache;
+import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.observability.BallerinaObserver;
 import io.ballerina.runtime.observability.ObserverContext;
 
@@ -25,6 +27,8 @@ import java.time.Duration;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static io.ballerina.runtime.observability.ObservabilityConstants.PROPERTY_KEY_HTTP_STATUS_CODE;
 import static io.ballerina.runtime.observability.ObservabilityConstants.STATUS_CODE_GROUP_SUFFIX;
@@ -42,6 +46,18 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
 
     private static final MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
 
+    // Stops caching metrics for new tag sets if there are unexpectedly many of them.
+    private static final int MAX_CACHED_TAG_SETS = 4096;
+
+    /*
+     * Metrics already resolved for a set of tags. Observations of the same call site have the same tags, so this
+     * avoids creating the metric IDs and looking them up in the registry on every observation.
+     */
+    private final Map<Set<Tag>, Gauge> inProgressGauges = new ConcurrentHashMap<>();
+    private final Map<Set<Tag>, ResponseMetrics> responseMetrics = new ConcurrentHashMap<>();
+    // Registry removal count when the cached metrics were last checked, the caches are cleared when it changes.
+    private volatile int cachedRemovalCount = metricRegistry.getRemovalCount();
+
     private static final StatisticConfig[] responseTimeStatisticConfigs = new StatisticConfig[]{
             StatisticConfig.builder()
                     .expiry(Duration.ofSeconds(10))
@@ -57,6 +73,20 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
                     .build()
     };
 
+    public BallerinaMetricsObserver() {
+        registerTypeCheckCacheMetrics();
+    }
+
+    private static void registerTypeCheckCacheMetrics() {
+        TypeCheckCache typeCheckCache = TypeChecker.getTypeCheckCache();
+        PolledGauge.builder("type_check_cache_hits_total", typeCheckCache, TypeCheckCache::getHitCount)
+                .description("Number of runtime type checks answered by the type check cache")
+                .register(metricRegistry);
+        PolledGauge.builder("type_check_cache_misses_total", typeCheckCache, TypeCheckCache::getMissCount)
+                .description("Number of runtime type checks not found in the type check cache")
+                .register(metricRegistry);
+    }
+
     @Override
     public void startServerObservation(ObserverContext observerContext) {
         startObservation(observerContext);
@@ -87,10 +117,10 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
 
     private void startObservation(ObserverContext observerContext) {
         observerContext.addProperty(PROPERTY_START_TIME, System.nanoTime());
-        Set<Tag> tags = observerContext.getAllTags();
+        Set<Tag> tags = observerContext.getTags();
         try {
-            Gauge inProgressGauge = metricRegistry.gauge(new MetricId("inprogress_requests", "In-progress requests",
-                    tags));
+            Gauge inProgressGauge = getCachedMetrics(inProgressGauges, tags, tagSet -> metricRegistry.gauge(
+                    new MetricId("inprogress_requests", "In-progress requests", tagSet)));
             inProgressGauge.increment();
             /*
              * The in progress counter is stored so that the same counter can be decremted when the observation
@@ -104,34 +134,78 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
     }
 
     private void stopObservation(ObserverContext observerContext) {
-        Set<Tag> tags = new HashSet<>();
+        Set<Tag> tags = observerContext.getTags();
         Map<String, Tag> customTags = observerContext.customMetricTags;
-        if (customTags != null) {
-            tags.addAll(customTags.values());
-        }
-        tags.addAll(observerContext.getAllTags());
-
-        // Add status_code_group tag
         Integer statusCode = (Integer) observerContext.getProperty(PROPERTY_KEY_HTTP_STATUS_CODE);
-        if (statusCode != null && statusCode > 0) {
-            tags.add(Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, (statusCode / 100) + STATUS_CODE_GROUP_SUFFIX));
+        boolean hasStatusCode = statusCode != null && statusCode > 0;
+        if (customTags != null || hasStatusCode) {
+            Set<Tag> allTags = new HashSet<>();
+            if (customTags != null) {
+                allTags.addAll(customTags.values());
+            }
+            allTags.addAll(tags);
+
+            // Add status_code_group tag
+            if (hasStatusCode) {
+                allTags.add(Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, (statusCode / 100) + STATUS_CODE_GROUP_SUFFIX));
+            }
+            tags = allTags;
         }
 
         try {
             Long startTime = (Long) observerContext.getProperty(PROPERTY_START_TIME);
             long duration = System.nanoTime() - startTime;
             ((Gauge) observerContext.getProperty(PROPERTY_IN_PROGRESS_COUNTER)).decrement();
-            metricRegistry.gauge(new MetricId("response_time_seconds",
-                    "Response time", tags), responseTimeStatisticConfigs).setValue(duration / 1E9);
-            metricRegistry.counter(new MetricId("response_time_nanoseconds_total",
-                    "Total response response time for all requests", tags)).increment(duration);
-            metricRegistry.counter(new MetricId("requests_total",
-                    "Total number of requests", tags)).increment();
+            ResponseMetrics metrics = getCachedMetrics(responseMetrics, tags, ResponseMetrics::new);
+            metrics.responseTime.setValue(duration / 1E9);
+            metrics.responseTimeTotal.increment(duration);
+            metrics.requests.increment();
         } catch (RuntimeException e) {
             handleError("multiple metrics", tags, e);
         }
     }
 
+    private <M> M getCachedMetrics(Map<Set<Tag>, M> cache, Set<Tag> tags, Function<Set<Tag>, M> resolver) {
+        int removalCount = metricRegistry.getRemovalCount();
+        if (removalCount != cachedRemovalCount) {
+            // Cached metrics may have been unregistered, so they are looked up in the registry again.
+            cachedRemovalCount = removalCount;
+            inProgressGauges.clear();
+            responseMetrics.clear();
+        }
+        M metrics = cache.get(tags);
+        if (metrics == null) {
+            metrics = resolver.apply(tags);
+            if (cache.size() < MAX_CACHED_TAG_SETS) {
+                cache.put(tags, metrics);
+                // Do not keep the metrics if they were unregistered while being resolved.
+                if (metricRegistry.getRemovalCount() != removalCount) {
+                    cache.remove(tags, metrics);
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Metrics updated at the end of an observation, resolved for a set of tags.
+     */
+    private static class ResponseMetrics {
+
+        private final Gauge responseTime;
+        private final Counter responseTimeTotal;
+        private final Counter requests;
+
+        private ResponseMetrics(Set<Tag> tags) {
+            responseTime = metricRegistry.gauge(new MetricId("response_time_seconds",
+                    "Response time", tags), responseTimeStatisticConfigs);
+            responseTimeTotal = metricRegistry.counter(new MetricId("response_time_nanoseconds_total",
+                    "Total response response time for all requests", tags));
+            requests = metricRegistry.counter(new MetricId("requests_total",
+                    "Total number of requests", tags));
+        }
+    }
+
     private void handleError(String metricName, Set<Tag> tags, RuntimeException e) {
         // Metric Provider may throw exceptions if there is a mismatch in tags.
         consoleError.println("error: error collecting metrics for " + metricName + " with tags " + tags +
@@ -87,7 +87,7 @@ public class TracingUtils {
                 span.addTags(Collections.singletonMap(TAG_KEY_HTTP_STATUS_CODE, Integer.toString(statusCode)));
             }
 
-            Map<String, String> traceTags = observerContext.getAllTags()
+            Map<String, String> traceTags = observerContext.getTags()
                     .stream()
                     .collect(Collectors.toMap(Tag::getKey, Tag::getValue));
             span.addTags(traceTags);
@@ -64,8 +64,10 @@ public class TransactionLocalContext {
         this.rollbackOnlyError = null;
         this.isTransactional = true;
         this.transactionId = ValueCreator.createArrayValue(globalTransactionId.getBytes());
-        transactionResourceManager.transactionInfoMap.put(ByteBuffer.wrap(transactionId.getBytes().clone()),
-                infoRecord);
+        if (infoRecord != null) {
+            transactionResourceManager.transactionInfoMap.put(ByteBuffer.wrap(transactionId.getBytes().clone()),
+                    infoRecord);
+        }
     }
 
     public static TransactionLocalContext createTransactionParticipantLocalCtx(String globalTransactionId,
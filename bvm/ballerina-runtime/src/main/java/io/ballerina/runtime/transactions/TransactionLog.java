@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.transactions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+/**
+ * {@code TransactionLog} is the coordinator log used for XA transactions when the Atomikos transaction manager is
+ * disabled. Commit decisions are appended to a memory-mapped segment file and made durable with group commit, so a
+ * single {@code force} covers every decision appended by concurrent strands since the previous one. Aborts are not
+ * logged (presumed abort): a prepared branch without a commit record is rolled back by the resource manager.
+ * <p>
+ * Each record is laid out as
+ * {@code [length][crc32][type][branches][formatId][gtrid length][gtrid][bqual length][bqual]}, where a commit record
+ * carries the number of XA branches still to be committed. A transaction is only ended once every branch has been
+ * committed, until then a new commit record with the remaining count supersedes the previous one. A zero length marks
+ * the end of the data in a segment, and a record with a bad checksum is treated as a torn write.
+ *
+ * @since 2.0.0
+ */
+class TransactionLog implements Closeable {
+
+    static final String SEGMENT_PREFIX = "ballerina-transactions-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private static final byte COMMIT = 1;
+    private static final byte END = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionLog.class);
+
+    private final Path directory;
+    private final int segmentSize;
+
+    // Guarded by this.
+    private long segmentId;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long appendedPosition;
+    private final Map<String, Long> pendingDecisions = new HashMap<>();
+    private final TreeMap<Long, Integer> pendingPerSegment = new TreeMap<>();
+    private final TreeSet<Long> closedSegments = new TreeSet<>();
+
+    // Guarded by flushMonitor.
+    private final Object flushMonitor = new Object();
+    private long flushedPosition;
+    private boolean flushing;
+
+    private final Map<String, InDoubtTransaction> inDoubtTransactions = new ConcurrentHashMap<>();
+    private final Set<XAResource> recoveredResources = Collections.newSetFromMap(new WeakHashMap<>());
+
+    TransactionLog(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    TransactionLog(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        List<Path> oldSegments = new ArrayList<>();
+        long lastSegmentId = readSegments(oldSegments);
+        openSegment(lastSegmentId + 1);
+        long position;
+        synchronized (this) {
+            for (InDoubtTransaction transaction : inDoubtTransactions.values()) {
+                append(COMMIT, transaction.xid, transaction.pendingBranches);
+            }
+            position = appendedPosition;
+        }
+        force(position);
+        for (Path segment : oldSegments) {
+            Files.deleteIfExists(segment);
+        }
+        if (!inDoubtTransactions.isEmpty()) {
+            log.warn("found " + inDoubtTransactions.size() + " in-doubt transaction(s) in the transaction log at " +
+                    directory + ", they will be committed when their resources are enlisted again");
+        }
+    }
+
+    /**
+     * Durably records the decision to commit the given transaction. The calling thread blocks until the record has
+     * been forced to the storage device, possibly by a force issued on behalf of another thread.
+     *
+     * @param xid      the transaction id
+     * @param branches the number of XA branches of the transaction which are not committed yet
+     * @throws IOException if the record could not be written
+     */
+    void logCommit(Xid xid, int branches) throws IOException {
+        long position;
+        synchronized (this) {
+            position = append(COMMIT, xid, branches);
+        }
+        force(position);
+    }
+
+    /**
+     * Records that the given transaction has been committed in all of its resources. The record is not forced, if it
+     * is lost the transaction is reported as in-doubt on restart and the recovery commit is a no-op.
+     *
+     * @param xid the transaction id
+     * @throws IOException if the record could not be written
+     */
+    void logEnd(Xid xid) throws IOException {
+        synchronized (this) {
+            append(END, xid, 0);
+        }
+    }
+
+    boolean hasInDoubtTransactions() {
+        return !inDoubtTransactions.isEmpty();
+    }
+
+    /**
+     * Commits the branches of in-doubt transactions that are prepared in the given resource. Each resource instance
+     * is scanned only once. A transaction is ended once all of its branches are committed, while branches are still
+     * pending the remaining count is logged again so that the next run waits for those branches only.
+     *
+     * @param xaResource the XA resource to recover
+     */
+    void recover(XAResource xaResource) {
+        synchronized (recoveredResources) {
+            if (!recoveredResources.add(xaResource)) {
+                return;
+            }
+        }
+        Xid[] preparedXids;
+        try {
+            preparedXids = xaResource.recover(XAResource.TMSTARTRSCAN | XAResource.TMENDRSCAN);
+        } catch (XAException e) {
+            log.error("error in recovering XA resource: " + e.getMessage(), e);
+            return;
+        }
+        if (preparedXids == null) {
+            return;
+        }
+        for (Xid preparedXid : preparedXids) {
+            InDoubtTransaction transaction = inDoubtTransactions.get(getKey(preparedXid));
+            if (transaction == null) {
+                continue;
+            }
+            try {
+                // A branch which was committed concurrently through another instance of the same resource manager
+                // fails with XAER_NOTA, and is only counted by the instance that committed it.
+                xaResource.commit(preparedXid, false);
+            } catch (XAException e) {
+                log.error("error in committing in-doubt transaction: " + e.getMessage(), e);
+                continue;
+            }
+            try {
+                resolveBranch(transaction);
+            } catch (IOException e) {
+                log.error("error in logging the recovery of in-doubt transaction: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private void resolveBranch(InDoubtTransaction transaction) throws IOException {
+        synchronized (this) {
+            if (transaction.pendingBranches == 0) {
+                return;
+            }
+            transaction.pendingBranches--;
+            if (transaction.pendingBranches > 0) {
+                // Not forced, if the record is lost the next run waits for a branch which is no longer prepared,
+                // which keeps the transaction in-doubt rather than ending it too early.
+                append(COMMIT, transaction.xid, transaction.pendingBranches);
+                return;
+            }
+            append(END, transaction.xid, 0);
+        }
+        inDoubtTransactions.remove(getKey(transaction.xid));
+    }
+
+    /**
+     * Returns the number of XA branches of the given transaction which are still to be committed by recovery.
+     *
+     * @param xid the transaction id
+     * @return the number of pending branches, or zero if the transaction is not in-doubt
+     */
+    int getPendingBranches(Xid xid) {
+        InDoubtTransaction transaction = inDoubtTransactions.get(getKey(xid));
+        if (transaction == null) {
+            return 0;
+        }
+        synchronized (this) {
+            return transaction.pendingBranches;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    private long append(byte type, Xid xid, int branches) throws IOException {
+        byte[] gtrid = xid.getGlobalTransactionId();
+        byte[] bqual = xid.getBranchQualifier();
+        int payloadSize = 1 + Integer.BYTES * 2 + Short.BYTES + gtrid.length + Short.BYTES + bqual.length;
+        int recordSize = HEADER_SIZE + payloadSize;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IOException("transaction id is too large for the transaction log");
+        }
+        if (buffer.remaining() < recordSize + Integer.BYTES) {
+            rotate();
+        }
+        int start = buffer.position();
+        buffer.position(start + HEADER_SIZE);
+        buffer.put(type);
+        buffer.putInt(branches);
+        buffer.putInt(xid.getFormatId());
+        buffer.putShort((short) gtrid.length);
+        buffer.put(gtrid);
+        buffer.putShort((short) bqual.length);
+        buffer.put(bqual);
+        buffer.putInt(start + Integer.BYTES, (int) checksum(buffer, start + HEADER_SIZE, payloadSize));
+        // Written last so that a partially written record reads as the end of the log.
+        buffer.putInt(start, payloadSize);
+
+        String key = getKey(xid);
+        Long decisionSegment = pendingDecisions.remove(key);
+        if (decisionSegment != null) {
+            pendingPerSegment.merge(decisionSegment, -1, (count, delta) -> count + delta == 0 ? null :
+                    count + delta);
+        }
+        if (type == COMMIT) {
+            // A new commit record of the same transaction supersedes the previous one.
+            pendingDecisions.put(key, segmentId);
+            pendingPerSegment.merge(segmentId, 1, Integer::sum);
+        }
+        appendedPosition += recordSize;
+        return appendedPosition;
+    }
+
+    private void force(long position) throws IOException {
+        synchronized (flushMonitor) {
+            while (flushedPosition < position && flushing) {
+                try {
+                    flushMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while waiting for the transaction log");
+                }
+            }
+            if (flushedPosition >= position) {
+                return;
+            }
+            flushing = true;
+        }
+        // This thread is the leader, it forces everything appended so far and wakes up the followers.
+        long targetPosition = position;
+        try {
+            MappedByteBuffer target;
+            synchronized (this) {
+                target = buffer;
+                targetPosition = appendedPosition;
+            }
+            target.force();
+        } catch (RuntimeException e) {
+            targetPosition = -1;
+            throw new IOException("failed to force the transaction log", e);
+        } finally {
+            synchronized (flushMonitor) {
+                flushing = false;
+                if (targetPosition > flushedPosition) {
+                    flushedPosition = targetPosition;
+                }
+                flushMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        // Records of the full segment are forced before they stop being reachable through the current buffer.
+        buffer.force();
+        channel.close();
+        closedSegments.add(segmentId);
+        openSegment(segmentId + 1);
+        // A segment can only go once every older segment has gone too, otherwise the end records it holds would be
+        // lost while the matching commit records are still read on recovery.
+        long oldestLiveSegment = pendingPerSegment.isEmpty() ? segmentId : pendingPerSegment.firstKey();
+        Iterator<Long> iterator = closedSegments.headSet(oldestLiveSegment).iterator();
+        while (iterator.hasNext()) {
+            Files.deleteIfExists(getSegmentPath(iterator.next()));
+            iterator.remove();
+        }
+    }
+
+    private void openSegment(long id) throws IOException {
+        segmentId = id;
+        channel = FileChannel.open(getSegmentPath(id), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private long readSegments(List<Path> segments) throws IOException {
+        Map<Long, Path> segmentsById = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    segmentsById.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())), path);
+                } catch (NumberFormatException e) {
+                    // Not a segment written by this log.
+                }
+            }
+        }
+        Map<String, InDoubtTransaction> decisions = new LinkedHashMap<>();
+        long lastSegmentId = 0;
+        for (Map.Entry<Long, Path> entry : segmentsById.entrySet()) {
+            readSegment(entry.getValue(), decisions);
+            segments.add(entry.getValue());
+            lastSegmentId = entry.getKey();
+        }
+        inDoubtTransactions.putAll(decisions);
+        return lastSegmentId;
+    }
+
+    private void readSegment(Path path, Map<String, InDoubtTransaction> decisions) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        while (data.remaining() >= HEADER_SIZE) {
+            int start = data.position();
+            int payloadSize = data.getInt();
+            int crc = data.getInt();
+            if (payloadSize <= 0 || payloadSize > data.remaining() ||
+                    (int) checksum(data, start + HEADER_SIZE, payloadSize) != crc) {
+                return;
+            }
+            byte type = data.get();
+            int branches = data.getInt();
+            int formatId = data.getInt();
+            byte[] gtrid = new byte[data.getShort()];
+            data.get(gtrid);
+            byte[] bqual = new byte[data.getShort()];
+            data.get(bqual);
+            Xid xid = new XATransactionID(formatId, bqual, gtrid);
+            if (type == COMMIT && branches > 0) {
+                decisions.put(getKey(xid), new InDoubtTransaction(xid, branches));
+            } else {
+                decisions.remove(getKey(xid));
+            }
+        }
+    }
+
+    private Path getSegmentPath(long id) {
+        return directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+    }
+
+    private static long checksum(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(offset + length).position(offset);
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return crc32.getValue();
+    }
+
+    private static String getKey(Xid xid) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return xid.getFormatId() + ":" + encoder.encodeToString(xid.getGlobalTransactionId()) + ":" +
+                encoder.encodeToString(xid.getBranchQualifier());
+    }
+
+    private static class InDoubtTransaction {
+
+        private final Xid xid;
+        // Guarded by the transaction log.
+        private int pendingBranches;
+
+        private InDoubtTransaction(Xid xid, int pendingBranches) {
+            this.xid = xid;
+            this.pendingBranches = pendingBranches;
+        }
+    }
+}
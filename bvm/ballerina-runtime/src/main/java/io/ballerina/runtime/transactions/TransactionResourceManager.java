@@ -42,11 +42,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
@@ -99,22 +99,26 @@ public class TransactionResourceManager {
     private ConcurrentHashMap<String, ConcurrentSkipListSet<String>> localParticipants = new ConcurrentHashMap<>();
 
     private boolean transactionManagerEnabled;
+    private TransactionLog transactionLog;
     private static final PrintStream stderr = System.err;
 
     Map<ByteBuffer, Object> transactionInfoMap;
 
     private TransactionResourceManager() {
-        resourceRegistry = new HashMap<>();
-        committedFuncRegistry = new HashMap<>();
-        abortedFuncRegistry = new HashMap<>();
-        transactionInfoMap = new HashMap<>();
+        resourceRegistry = new ConcurrentHashMap<>();
+        committedFuncRegistry = new ConcurrentHashMap<>();
+        abortedFuncRegistry = new ConcurrentHashMap<>();
+        transactionInfoMap = new ConcurrentHashMap<>();
         transactionManagerEnabled = getTransactionManagerEnabled();
         if (transactionManagerEnabled) {
-            trxRegistry = new HashMap<>();
+            trxRegistry = new ConcurrentHashMap<>();
             setLogProperties();
             userTransactionManager = new UserTransactionManager();
         } else {
-            xidRegistry = new HashMap<>();
+            xidRegistry = new ConcurrentHashMap<>();
+            if (getCoordinatorLogEnabled()) {
+                openTransactionLog();
+            }
         }
     }
 
@@ -136,15 +140,8 @@ public class TransactionResourceManager {
     private void setLogProperties() {
         final Path projectRoot = Paths.get(RuntimeUtils.USER_DIR);
         if (projectRoot != null) {
-            String logDir = getTransactionLogDirectory();
-            Path logDirPath = Paths.get(logDir);
-            Path transactionLogDirectory;
-            if (!logDirPath.isAbsolute()) {
-                logDir = projectRoot.toAbsolutePath().toString() + File.separatorChar + logDir;
-                transactionLogDirectory = Paths.get(logDir);
-            } else {
-                transactionLogDirectory = logDirPath;
-            }
+            Path transactionLogDirectory = getTransactionLogPath(projectRoot);
+            String logDir = transactionLogDirectory.toString();
             if (!Files.exists(transactionLogDirectory)) {
                 try {
                     Files.createDirectory(transactionLogDirectory);
@@ -158,6 +155,27 @@ public class TransactionResourceManager {
         }
     }
 
+    /**
+     * This method opens the coordinator log used to recover XA transactions when the atomikos transaction manager is
+     * disabled. Transactions run without the log if it cannot be opened.
+     */
+    private void openTransactionLog() {
+        Path logDir = getTransactionLogPath(Paths.get(RuntimeUtils.USER_DIR));
+        try {
+            transactionLog = new TransactionLog(logDir);
+        } catch (IOException | RuntimeException e) {
+            stderr.println("error: failed to open transaction log in " + logDir + ": " + e.getMessage());
+        }
+    }
+
+    private Path getTransactionLogPath(Path projectRoot) {
+        Path logDirPath = Paths.get(getTransactionLogDirectory());
+        if (logDirPath.isAbsolute()) {
+            return logDirPath;
+        }
+        return Paths.get(projectRoot.toAbsolutePath().toString() + File.separatorChar + logDirPath);
+    }
+
     /**
      * This method checks whether the atomikos transaction manager should be enabled or not.
      *
@@ -173,6 +191,17 @@ public class TransactionResourceManager {
         }
     }
 
+    /**
+     * This method checks whether commit decisions of XA transactions should be written to the coordinator log.
+     *
+     * @return boolean whether the coordinator log should be enabled or not
+     */
+    private boolean getCoordinatorLogEnabled() {
+        VariableKey logEnabledKey = new VariableKey(TRANSACTION_PACKAGE_ID, "coordinatorLogEnabled");
+        Object keyVal = ConfigMap.get(logEnabledKey);
+        return !isNull(keyVal) && (boolean) keyVal;
+    }
+
     /**
      * This method gets the user specified config for log directory name.
      *
@@ -197,7 +226,7 @@ public class TransactionResourceManager {
      */
     public void register(String transactionId, String transactionBlockId, BallerinaTransactionContext txContext) {
         String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
-        resourceRegistry.computeIfAbsent(combinedId, resourceList -> new ArrayList<>()).add(txContext);
+        resourceRegistry.computeIfAbsent(combinedId, resourceList -> new CopyOnWriteArrayList<>()).add(txContext);
     }
 
     /**
@@ -208,7 +237,8 @@ public class TransactionResourceManager {
      */
     public void registerCommittedFunction(String transactionBlockId, BFunctionPointer fpValue) {
         if (fpValue != null) {
-            committedFuncRegistry.computeIfAbsent(transactionBlockId, list -> new ArrayList<>()).add(fpValue);
+            committedFuncRegistry.computeIfAbsent(transactionBlockId, list -> new CopyOnWriteArrayList<>())
+                    .add(fpValue);
         }
     }
 
@@ -220,7 +250,7 @@ public class TransactionResourceManager {
      */
     public void registerAbortedFunction(String transactionBlockId, BFunctionPointer fpValue) {
         if (fpValue != null) {
-            abortedFuncRegistry.computeIfAbsent(transactionBlockId, list -> new ArrayList<>()).add(fpValue);
+            abortedFuncRegistry.computeIfAbsent(transactionBlockId, list -> new CopyOnWriteArrayList<>()).add(fpValue);
         }
     }
 
@@ -290,6 +320,8 @@ public class TransactionResourceManager {
         boolean commitSuccess = true;
         List<BallerinaTransactionContext> txContextList = resourceRegistry.get(combinedId);
         if (txContextList != null) {
+            Xid loggedXid = null;
+            int xaBranches = transactionManagerEnabled ? 0 : countXAResources(txContextList);
             if (transactionManagerEnabled) {
                 Transaction trx = trxRegistry.get(combinedId);
                 try {
@@ -301,8 +333,21 @@ public class TransactionResourceManager {
                     log.error("error when committing transaction " + transactionId + ":" + e.getMessage(), e);
                     commitSuccess = false;
                 }
+            } else if (transactionLog != null && xaBranches > 0) {
+                loggedXid = xidRegistry.get(combinedId);
+                try {
+                    transactionLog.logCommit(loggedXid, xaBranches);
+                } catch (IOException e) {
+                    // Without a durable commit decision the transaction is presumed aborted, so the prepared branches
+                    // are rolled back rather than left for the resources to time out.
+                    log.error("error when logging the commit of transaction " + transactionId + ":" + e.getMessage(),
+                            e);
+                    rollbackResources(transactionId, combinedId, txContextList);
+                    return false;
+                }
             }
 
+            int failedXABranches = 0;
             for (BallerinaTransactionContext ctx : txContextList) {
                 try {
                     XAResource xaResource = ctx.getXAResource();
@@ -319,14 +364,56 @@ public class TransactionResourceManager {
                 } catch (XAException e) {
                     log.error("error when committing transaction " + transactionId + ":" + e.getMessage(), e);
                     commitSuccess = false;
+                    failedXABranches++;
                 } finally {
                     ctx.close();
                 }
             }
+            if (loggedXid != null) {
+                try {
+                    if (failedXABranches == 0) {
+                        transactionLog.logEnd(loggedXid);
+                    } else if (failedXABranches < xaBranches) {
+                        // Recovery only waits for the branches which are still prepared.
+                        transactionLog.logCommit(loggedXid, failedXABranches);
+                    }
+                } catch (IOException e) {
+                    log.error("error when logging the end of transaction " + transactionId + ":" + e.getMessage(), e);
+                }
+            }
         }
         return commitSuccess;
     }
 
+    private void rollbackResources(String transactionId, String combinedId,
+                                   List<BallerinaTransactionContext> txContextList) {
+        Xid xid = xidRegistry.get(combinedId);
+        for (BallerinaTransactionContext ctx : txContextList) {
+            try {
+                XAResource xaResource = ctx.getXAResource();
+                if (xaResource != null) {
+                    xaResource.rollback(xid);
+                } else {
+                    ctx.rollback();
+                }
+            } catch (XAException e) {
+                log.error("error when aborting the transaction " + transactionId + ":" + e.getMessage(), e);
+            } finally {
+                ctx.close();
+            }
+        }
+    }
+
+    private static int countXAResources(List<BallerinaTransactionContext> txContextList) {
+        int count = 0;
+        for (BallerinaTransactionContext ctx : txContextList) {
+            if (ctx.getXAResource() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     public void cleanTransaction(String transactionId, String transactionBlockId) {
         String combinedId = generateCombinedTransactionId(transactionId, transactionBlockId);
         removeContextsFromRegistry(combinedId, transactionId);
@@ -416,11 +503,10 @@ public class TransactionResourceManager {
                 log.error("error in initiating transaction " + transactionId + ":" + e.getMessage(), e);
             }
         } else {
-            Xid xid = xidRegistry.get(combinedId);
-            if (xid == null) {
-                xid = XIDGenerator.createXID();
-                xidRegistry.put(combinedId, xid);
+            if (transactionLog != null && transactionLog.hasInDoubtTransactions()) {
+                transactionLog.recover(xaResource);
             }
+            Xid xid = xidRegistry.computeIfAbsent(combinedId, id -> XIDGenerator.createXID());
             try {
                 xaResource.start(xid, TMNOFLAGS);
             } catch (XAException e) {
@@ -482,6 +568,7 @@ public class TransactionResourceManager {
         List<BFunctionPointer> abortFunctions =
                 abortedFuncRegistry.get(Scheduler.getStrand().currentTrxContext.getGlobalTransactionId());
         if (abortFunctions != null && !abortFunctions.isEmpty()) {
+            abortFunctions = new ArrayList<>(abortFunctions);
             Collections.reverse(abortFunctions);
             return ValueCreator.createArrayValue(abortFunctions.toArray(),
                     TypeCreator.createArrayType(abortFunctions.get(0).getType()));
@@ -498,6 +585,7 @@ public class TransactionResourceManager {
         List<BFunctionPointer> commitFunctions =
                 committedFuncRegistry.get(Scheduler.getStrand().currentTrxContext.getGlobalTransactionId());
         if (commitFunctions != null && !commitFunctions.isEmpty()) {
+            commitFunctions = new ArrayList<>(commitFunctions);
             Collections.reverse(commitFunctions);
             return ValueCreator.createArrayValue(commitFunctions.toArray(),
                     TypeCreator.createArrayType(commitFunctions.get(0).getType()));
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.internal.values.FutureValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test the lock used for lock statements, on its own and with strands run by the scheduler.
+ *
+ * @since 2.0.0
+ */
+public class BLockTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final int CONTENDING_STRANDS = 200;
+
+    @Test
+    public void testReentrantLock() {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand strand = createItem(scheduler).future.strand;
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertTrue(lock.lock(strand));
+        Assert.assertTrue(lock.lock(strand));
+        Assert.assertTrue(lock.lockedBySameContext(strand));
+
+        lock.unlock();
+        Assert.assertFalse(lock.isLockFree(), "lock released before the outermost unlock");
+        Assert.assertTrue(lock.lockedBySameContext(strand));
+        lock.unlock();
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertEquals(strand.getState(), State.RUNNABLE);
+    }
+
+    @Test
+    public void testContendedLockBlocksStrand() {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand owner = createItem(scheduler).future.strand;
+        SchedulerItem waitingItem = createItem(scheduler);
+        Strand waiting = waitingItem.future.strand;
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertFalse(lock.lock(waiting));
+        Assert.assertEquals(waiting.getState(), State.BLOCK_AND_YIELD);
+        Assert.assertFalse(waiting.blockedOnExtern);
+        Assert.assertTrue(lock.lockedBySameContext(owner));
+
+        // a re-entry of the owner does not release the lock, nor wake the waiting strand
+        Assert.assertTrue(lock.lock(owner));
+        scheduler.park(waitingItem);
+        lock.unlock();
+        Assert.assertEquals(waiting.getState(), State.BLOCK_AND_YIELD);
+        Assert.assertTrue(waiting.strandGroup.items.empty());
+
+        lock.unlock();
+        assertRescheduledOnce(waitingItem);
+        // the lock is not handed over, the woken strand acquires it once it runs again
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertTrue(lock.lock(waiting));
+        Assert.assertTrue(lock.lockedBySameContext(waiting));
+    }
+
+    @Test
+    public void testUnlockWakesOneStrandInOrder() {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand owner = createItem(scheduler).future.strand;
+        SchedulerItem firstItem = createItem(scheduler);
+        SchedulerItem secondItem = createItem(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertFalse(lock.lock(firstItem.future.strand));
+        Assert.assertFalse(lock.lock(secondItem.future.strand));
+        scheduler.park(firstItem);
+        scheduler.park(secondItem);
+
+        lock.unlock();
+        assertRescheduledOnce(firstItem);
+        Assert.assertEquals(secondItem.future.strand.getState(), State.BLOCK_AND_YIELD);
+        Assert.assertTrue(secondItem.future.strand.strandGroup.items.empty());
+
+        Assert.assertTrue(lock.lock(firstItem.future.strand));
+        lock.unlock();
+        assertRescheduledOnce(secondItem);
+        Assert.assertTrue(lock.isLockFree());
+    }
+
+    @Test
+    public void testUnlockBeforeWaitingStrandIsParked() {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand owner = createItem(scheduler).future.strand;
+        SchedulerItem waitingItem = createItem(scheduler);
+        BLock lock = new BLock();
+
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertFalse(lock.lock(waitingItem.future.strand));
+        // the owner releases the lock before the scheduler gets to park the waiting strand
+        lock.unlock();
+        Assert.assertEquals(waitingItem.future.strand.getState(), State.YIELD);
+        scheduler.park(waitingItem);
+        assertRescheduledOnce(waitingItem);
+    }
+
+    @Test
+    public void testContendingStrandsAreMutuallyExclusive() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(4, false, null, null);
+        BLock lock = new BLock();
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+        int[] counter = new int[1];
+        AtomicInteger blocked = new AtomicInteger();
+        List<FutureValue> futures = new ArrayList<>();
+        for (int i = 0; i < CONTENDING_STRANDS; i++) {
+            Function<Object[], Object> function = params -> {
+                Strand strand = (Strand) params[0];
+                // like the generated code, a strand which could not get the lock yields and tries again once woken
+                if (!lock.lock(strand)) {
+                    blocked.incrementAndGet();
+                    return null;
+                }
+                // re-entry from a nested lock statement on the same lock
+                Assert.assertTrue(lock.lock(strand));
+                int current = holders.incrementAndGet();
+                maxHolders.accumulateAndGet(current, Math::max);
+                for (int j = 0; j < 100; j++) {
+                    counter[0]++;
+                    Thread.yield();
+                }
+                holders.decrementAndGet();
+                lock.unlock();
+                lock.unlock();
+                return "done";
+            };
+            futures.add(scheduler.schedule(new Object[1], function, null, null, "strand-" + i, null));
+        }
+
+        // a lost wake up leaves a strand parked forever and the scheduler running
+        runUntilDone(scheduler);
+        Assert.assertEquals(maxHolders.get(), 1);
+        Assert.assertEquals(counter[0], CONTENDING_STRANDS * 100);
+        Assert.assertTrue(lock.isLockFree());
+        Assert.assertTrue(blocked.get() > 0, "strands did not contend for the lock");
+        for (FutureValue future : futures) {
+            Assert.assertTrue(future.isDone);
+            Assert.assertEquals(future.result, "done");
+        }
+    }
+
+    private static SchedulerItem createItem(Scheduler scheduler) {
+        FutureValue future = scheduler.createFuture(null, null, null, PredefinedTypes.TYPE_NULL, "strand", null);
+        SchedulerItem item = new SchedulerItem((Function<Object[], Object>) null, new Object[1], future);
+        future.strand.schedulerItem = item;
+        future.strand.strandGroup = new ItemGroup(item);
+        // the item has been taken from its group and is being executed
+        future.strand.strandGroup.get();
+        return item;
+    }
+
+    private static void assertRescheduledOnce(SchedulerItem item) {
+        Strand strand = item.future.strand;
+        Assert.assertEquals(strand.getState(), State.RUNNABLE);
+        Assert.assertEquals(strand.strandGroup.items.size(), 1);
+        Assert.assertTrue(strand.strandGroup.scheduled.get());
+        Assert.assertFalse(item.unpark());
+    }
+
+    private static void runUntilDone(Scheduler scheduler) throws InterruptedException {
+        Thread runner = new Thread(scheduler::start);
+        runner.start();
+        runner.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(runner.isAlive(), "scheduler did not stop");
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.values.FutureValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Test the executor of the blocking interop calls made through {@link Environment#executeBlocking(Supplier)}.
+ *
+ * @since 2.0.0
+ */
+public class BlockingCallExecutorTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @DataProvider(name = "executorModes")
+    public Object[][] executorModes() {
+        return new Object[][]{
+                {null, false},
+                {RuntimeConstants.BLOCKING_EXECUTOR_INLINE, false},
+                {" Platform ", true},
+                {RuntimeConstants.BLOCKING_EXECUTOR_VIRTUAL, true}
+        };
+    }
+
+    @Test(dataProvider = "executorModes")
+    public void testExecutorSelection(String mode, boolean offloading) {
+        BlockingCallExecutor executor = BlockingCallExecutor.create(mode, new PrintStream(new ByteArrayOutputStream()));
+        Assert.assertEquals(executor.isOffloading(), offloading);
+    }
+
+    @Test
+    public void testUnknownExecutorRunsCallsInline() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream err = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+        Assert.assertFalse(BlockingCallExecutor.create("pooled", err).isOffloading());
+        Assert.assertEquals(output.toString(StandardCharsets.UTF_8).trim(),
+                            "ballerina: unknown blocking executor 'pooled' in system variable:" +
+                                    RuntimeConstants.BALLERINA_BLOCKING_EXECUTOR_ENV_VAR +
+                                    ", running blocking calls inline");
+    }
+
+    @Test
+    public void testInlineDispatch() {
+        BlockingCallExecutor executor = BlockingCallExecutor.acquire(RuntimeConstants.BLOCKING_EXECUTOR_INLINE,
+                                                                     System.err);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        executor.execute(() -> thread.set(Thread.currentThread()));
+        executor.release();
+        Assert.assertSame(thread.get(), Thread.currentThread());
+    }
+
+    @Test
+    public void testPlatformDispatch() throws InterruptedException {
+        BlockingCallExecutor executor = BlockingCallExecutor.acquire(RuntimeConstants.BLOCKING_EXECUTOR_PLATFORM,
+                                                                     System.err);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            thread.set(Thread.currentThread());
+            done.countDown();
+        });
+        Assert.assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        executor.release();
+
+        Assert.assertTrue(thread.get().getName().startsWith("jbal-blocking-exec-"), thread.get().getName());
+        Assert.assertTrue(thread.get().isDaemon());
+        // the threads of the executor stop once it is released by its only user
+        thread.get().join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(thread.get().isAlive());
+    }
+
+    @Test
+    public void testExecutorSharedUntilLastRelease() throws InterruptedException {
+        BlockingCallExecutor first = BlockingCallExecutor.acquire(RuntimeConstants.BLOCKING_EXECUTOR_PLATFORM,
+                                                                  System.err);
+        BlockingCallExecutor second = BlockingCallExecutor.acquire(RuntimeConstants.BLOCKING_EXECUTOR_PLATFORM,
+                                                                   System.err);
+        Assert.assertSame(second, first);
+
+        first.release();
+        CountDownLatch done = new CountDownLatch(1);
+        second.execute(done::countDown);
+        Assert.assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        second.release();
+
+        BlockingCallExecutor next = BlockingCallExecutor.acquire(RuntimeConstants.BLOCKING_EXECUTOR_PLATFORM,
+                                                                 System.err);
+        Assert.assertNotSame(next, first);
+        next.release();
+    }
+
+    @DataProvider(name = "schedulerExecutorModes")
+    public Object[][] schedulerExecutorModes() {
+        return new Object[][]{
+                {RuntimeConstants.BLOCKING_EXECUTOR_INLINE, false},
+                {RuntimeConstants.BLOCKING_EXECUTOR_PLATFORM, true}
+        };
+    }
+
+    @Test(dataProvider = "schedulerExecutorModes")
+    public void testExecuteBlockingCompletesStrand(String mode, boolean offloaded) throws InterruptedException {
+        AtomicReference<String> blockingThread = new AtomicReference<>();
+        FutureValue future = runBlockingCall(mode, () -> {
+            blockingThread.set(Thread.currentThread().getName());
+            return 42L;
+        });
+
+        Assert.assertNull(future.panic);
+        Assert.assertEquals(future.result, 42L);
+        Assert.assertEquals(blockingThread.get().startsWith("jbal-blocking-exec-"), offloaded, blockingThread.get());
+    }
+
+    @Test(dataProvider = "schedulerExecutorModes")
+    public void testExecuteBlockingReturnsErrors(String mode, boolean offloaded) throws InterruptedException {
+        BError error = ErrorCreator.createError(StringUtils.fromString("blocking call failed"));
+        FutureValue future = runBlockingCall(mode, () -> {
+            throw error;
+        });
+
+        Assert.assertNull(future.panic);
+        Assert.assertSame(future.result, error);
+    }
+
+    @Test
+    public void testOtherStrandsRunWhileBlocked() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(1, false, null, RuntimeConstants.BLOCKING_EXECUTOR_PLATFORM);
+        CountDownLatch otherStrandDone = new CountDownLatch(1);
+        AtomicInteger blockingCalls = new AtomicInteger();
+        Function<Object[], Object> blockingFunction = params -> resumeOrExecute(params, () -> {
+            blockingCalls.incrementAndGet();
+            try {
+                // only completes if the single strand executor thread is free to run the other strand
+                return otherStrandDone.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        FutureValue future = scheduler.schedule(new Object[1], blockingFunction, null, null, "blocking", null);
+        scheduler.schedule(new Object[1], params -> {
+            otherStrandDone.countDown();
+            return null;
+        }, null, null, "other", null);
+
+        runUntilDone(scheduler);
+        Assert.assertEquals(future.result, true);
+        Assert.assertEquals(blockingCalls.get(), 1);
+    }
+
+    private static FutureValue runBlockingCall(String mode, Supplier<Object> operation) throws InterruptedException {
+        Scheduler scheduler = new Scheduler(2, false, null, mode);
+        Function<Object[], Object> blockingFunction = params -> resumeOrExecute(params, operation);
+        FutureValue future = scheduler.schedule(new Object[1], blockingFunction, null, null, "blocking", null);
+        runUntilDone(scheduler);
+        Assert.assertTrue(future.isDone);
+        return future;
+    }
+
+    /**
+     * Mimics the code generated for an interop call, which returns the result of the call set by the future when the
+     * strand is resumed.
+     */
+    private static Object resumeOrExecute(Object[] params, Supplier<Object> operation) {
+        Strand strand = (Strand) params[0];
+        if (strand.blockedOnExtern) {
+            strand.blockedOnExtern = false;
+            return strand.returnValue;
+        }
+        return new Environment(strand).executeBlocking(operation);
+    }
+
+    private static void runUntilDone(Scheduler scheduler) throws InterruptedException {
+        Thread runner = new Thread(scheduler::start);
+        runner.start();
+        runner.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(runner.isAlive(), "scheduler did not stop");
+    }
+}
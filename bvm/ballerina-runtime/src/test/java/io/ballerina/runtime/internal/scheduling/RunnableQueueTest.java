@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.ballerina.runtime.internal.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * Test the runnable queues of the scheduler and the selection of the scheduler policy.
+ *
+ * @since 2.0.0
+ */
+public class RunnableQueueTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void testCarrierPopsOwnGroupsInLifoOrder() throws InterruptedException {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(2);
+        ItemGroup first = new ItemGroup(null);
+        ItemGroup second = new ItemGroup(null);
+        queue.registerCarrier(0);
+        queue.add(first);
+        queue.add(second);
+
+        Assert.assertEquals(queue.size(), 2);
+        Assert.assertSame(queue.take(), second);
+        Assert.assertSame(queue.take(), first);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test
+    public void testGroupsStolenByAnotherCarrier() throws InterruptedException {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(2);
+        ItemGroup[] groups = {new ItemGroup(null), new ItemGroup(null), new ItemGroup(null)};
+        Thread producer = new Thread(() -> {
+            queue.registerCarrier(0);
+            for (ItemGroup group : groups) {
+                queue.add(group);
+            }
+        });
+        producer.start();
+        producer.join();
+
+        // the other carrier steals from the tail, i.e. the oldest group first
+        queue.registerCarrier(1);
+        for (ItemGroup group : groups) {
+            Assert.assertSame(queue.take(), group);
+        }
+    }
+
+    @Test
+    public void testIdleCarriersWokenForStolenWork() throws InterruptedException {
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(2);
+        ItemGroup group = new ItemGroup(null);
+        AtomicReference<ItemGroup> taken = new AtomicReference<>();
+        Thread idleCarrier = new Thread(() -> {
+            queue.registerCarrier(1);
+            try {
+                taken.set(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        idleCarrier.start();
+        waitUntilWaiting(idleCarrier);
+
+        queue.registerCarrier(0);
+        queue.add(group);
+        idleCarrier.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(idleCarrier.isAlive());
+        Assert.assertSame(taken.get(), group);
+    }
+
+    @Test
+    public void testPoisonPillSeenByEveryCarrier() throws InterruptedException {
+        int numCarriers = 3;
+        WorkStealingRunnableQueue queue = new WorkStealingRunnableQueue(numCarriers);
+        CountDownLatch poisoned = new CountDownLatch(numCarriers);
+        Thread[] carriers = new Thread[numCarriers];
+        for (int i = 0; i < numCarriers; i++) {
+            int carrierId = i;
+            carriers[i] = new Thread(() -> {
+                queue.registerCarrier(carrierId);
+                try {
+                    if (queue.take() == POISON_PILL) {
+                        poisoned.countDown();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            carriers[i].start();
+        }
+        for (Thread carrier : carriers) {
+            waitUntilWaiting(carrier);
+        }
+
+        for (int i = 0; i < numCarriers; i++) {
+            queue.addGlobal(POISON_PILL);
+        }
+        Assert.assertTrue(poisoned.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testChildStrandStolenByAnotherCarrier() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(2, false, RuntimeConstants.SCHEDULER_POLICY_WORK_STEALING, null);
+        CountDownLatch childDone = new CountDownLatch(1);
+        AtomicReference<String> parentThread = new AtomicReference<>();
+        AtomicReference<String> childThread = new AtomicReference<>();
+        scheduler.schedule(new Object[1], params -> {
+            parentThread.set(Thread.currentThread().getName());
+            Strand parent = (Strand) ((Object[]) params)[0];
+            // the child goes to the local queue of this carrier, which stays busy until the child is done
+            scheduler.schedule(new Object[1], childParams -> {
+                childThread.set(Thread.currentThread().getName());
+                childDone.countDown();
+                return null;
+            }, parent, null, "child", null);
+            try {
+                return childDone.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }, null, null, "parent", null);
+
+        runUntilDone(scheduler);
+        Assert.assertEquals(childDone.getCount(), 0);
+        Assert.assertNotNull(childThread.get());
+        Assert.assertNotEquals(childThread.get(), parentThread.get());
+    }
+
+    @DataProvider(name = "schedulerPolicies")
+    public Object[][] schedulerPolicies() {
+        return new Object[][]{
+                {RuntimeConstants.SCHEDULER_POLICY_SHARED},
+                {RuntimeConstants.SCHEDULER_POLICY_WORK_STEALING}
+        };
+    }
+
+    @Test(dataProvider = "schedulerPolicies")
+    public void testSchedulerStopsWhenAllStrandsComplete(String policy) throws InterruptedException {
+        Scheduler scheduler = new Scheduler(3, false, policy, null);
+        CountDownLatch executed = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            scheduler.schedule(new Object[1], params -> {
+                executed.countDown();
+                return null;
+            }, null, null, "strand-" + i, null);
+        }
+
+        runUntilDone(scheduler);
+        Assert.assertEquals(executed.getCount(), 0);
+    }
+
+    @Test(dataProvider = "schedulerPolicies")
+    public void testImmortalSchedulerStopsWhenPoisoned(String policy) throws InterruptedException {
+        Scheduler scheduler = new Scheduler(3, true, policy, null);
+        Thread runner = new Thread(scheduler::start);
+        runner.start();
+
+        // work submitted from a non carrier thread goes through the injection queue
+        CountDownLatch executed = new CountDownLatch(1);
+        scheduler.schedule(new Object[1], params -> {
+            executed.countDown();
+            return null;
+        }, null, null, "strand", null);
+        Assert.assertTrue(executed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertTrue(runner.isAlive());
+
+        scheduler.poison();
+        runner.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(runner.isAlive());
+    }
+
+    @Test
+    public void testSchedulerPolicySelection() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream err = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+        Assert.assertTrue(Scheduler.createRunnableQueue(null, 2, err) instanceof SharedRunnableQueue);
+        Assert.assertTrue(Scheduler.createRunnableQueue(" Shared ", 2, err) instanceof SharedRunnableQueue);
+        Assert.assertTrue(Scheduler.createRunnableQueue("WORK-STEALING", 2, err) instanceof
+                                  WorkStealingRunnableQueue);
+        Assert.assertEquals(output.size(), 0);
+    }
+
+    @Test
+    public void testUnknownSchedulerPolicyFallsBackToDefault() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream err = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+        Assert.assertTrue(Scheduler.createRunnableQueue("round-robin", 2, err) instanceof SharedRunnableQueue);
+        Assert.assertEquals(output.toString(StandardCharsets.UTF_8).trim(),
+                            "ballerina: unknown scheduler policy 'round-robin' in system variable:" +
+                                    RuntimeConstants.BALLERINA_SCHEDULER_POLICY_ENV_VAR +
+                                    ", using the default policy");
+    }
+
+    private static void runUntilDone(Scheduler scheduler) throws InterruptedException {
+        Thread runner = new Thread(scheduler::start);
+        runner.start();
+        runner.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(runner.isAlive(), "scheduler did not stop");
+    }
+
+    private static void waitUntilWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (thread.getState() != Thread.State.WAITING) {
+            Assert.assertTrue(System.nanoTime() < deadline, thread.getName() + " is not waiting");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.FutureValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test the strand state transitions on the yield and resume paths of the scheduler.
+ *
+ * @since 2.0.0
+ */
+public class StrandStateTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+    private static final int RACING_STRANDS = 2000;
+    private static final int UNBLOCKER_THREADS = 2;
+
+    @Test
+    public void testUnparkWithoutPark() {
+        SchedulerItem item = new SchedulerItem((Function<Object[], Object>) null, null, null);
+        Assert.assertFalse(item.unpark());
+        item.park();
+        Assert.assertTrue(item.unpark());
+        Assert.assertFalse(item.unpark());
+    }
+
+    @Test
+    public void testSingleUnparkWins() throws InterruptedException {
+        int threads = 8;
+        for (int round = 0; round < 100; round++) {
+            SchedulerItem item = new SchedulerItem((Function<Object[], Object>) null, null, null);
+            item.park();
+            AtomicInteger winners = new AtomicInteger();
+            runConcurrently(threads, () -> {
+                if (item.unpark()) {
+                    winners.incrementAndGet();
+                }
+            });
+            Assert.assertEquals(winners.get(), 1);
+        }
+    }
+
+    @Test
+    public void testSingleMakeRunnableWins() throws InterruptedException {
+        int threads = 8;
+        for (int round = 0; round < 100; round++) {
+            Strand strand = new Strand("strand", null, null, null, null);
+            strand.setState(State.BLOCK_AND_YIELD);
+            FutureValue future = new FutureValue(strand, null, null);
+            SchedulerItem item = new SchedulerItem((Function<Object[], Object>) null, null, future);
+            AtomicInteger winners = new AtomicInteger();
+            runConcurrently(threads, () -> {
+                if (item.makeRunnable()) {
+                    winners.incrementAndGet();
+                }
+            });
+            Assert.assertEquals(winners.get(), 1);
+            Assert.assertEquals(strand.getState(), State.RUNNABLE);
+        }
+    }
+
+    @Test
+    public void testUnblockBeforePark() {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        SchedulerItem item = createBlockedItem(scheduler);
+        Strand strand = item.future.strand;
+
+        // the unblock completes between the scheduler seeing the strand blocked and parking the item
+        scheduler.unblockStrand(strand);
+        Assert.assertEquals(strand.getState(), State.YIELD);
+        Assert.assertTrue(strand.strandGroup.items.empty());
+        scheduler.park(item);
+
+        assertRescheduledOnce(item);
+    }
+
+    @Test
+    public void testUnblockAfterPark() {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        SchedulerItem item = createBlockedItem(scheduler);
+        Strand strand = item.future.strand;
+
+        scheduler.park(item);
+        Assert.assertTrue(strand.strandGroup.items.empty());
+        Assert.assertEquals(strand.getState(), State.BLOCK_AND_YIELD);
+        scheduler.unblockStrand(strand);
+
+        assertRescheduledOnce(item);
+    }
+
+    @Test
+    public void testUnblockBeforeReturningToScheduler() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(2, false, null, null);
+        AtomicInteger executions = new AtomicInteger();
+        Function<Object[], Object> function = params -> {
+            Strand strand = (Strand) params[0];
+            if (executions.getAndIncrement() > 0) {
+                return "resumed";
+            }
+            strand.setState(State.BLOCK_AND_YIELD);
+            // the strand is unblocked before the scheduler gets to park it
+            scheduler.unblockStrand(strand);
+            return null;
+        };
+        FutureValue future = scheduler.schedule(new Object[1], function, null, null, "strand", null);
+
+        runUntilDone(scheduler);
+        Assert.assertEquals(executions.get(), 2);
+        Assert.assertTrue(future.isDone);
+        Assert.assertEquals(future.result, "resumed");
+    }
+
+    @Test
+    public void testConcurrentUnblockResumesOnce() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(4, false, null, null);
+        Queue<Strand> toUnblock = new ConcurrentLinkedQueue<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Thread> unblockers = new ArrayList<>();
+        for (int i = 0; i < UNBLOCKER_THREADS; i++) {
+            // spin instead of parking, so that the unblock lands as close as possible to the park of the item
+            Thread unblocker = new Thread(() -> {
+                while (!stopped.get()) {
+                    Strand strand = toUnblock.poll();
+                    if (strand != null) {
+                        scheduler.unblockStrand(strand);
+                    }
+                }
+            });
+            unblocker.start();
+            unblockers.add(unblocker);
+        }
+
+        AtomicInteger[] executions = new AtomicInteger[RACING_STRANDS];
+        List<FutureValue> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < RACING_STRANDS; i++) {
+                AtomicInteger strandExecutions = new AtomicInteger();
+                executions[i] = strandExecutions;
+                Function<Object[], Object> function = params -> {
+                    Strand strand = (Strand) params[0];
+                    if (strandExecutions.getAndIncrement() > 0) {
+                        return null;
+                    }
+                    strand.setState(State.BLOCK_AND_YIELD);
+                    toUnblock.add(strand);
+                    return null;
+                };
+                futures.add(scheduler.schedule(new Object[1], function, null, null, "strand-" + i, null));
+            }
+
+            // a lost wake up leaves a strand parked forever and the scheduler running
+            runUntilDone(scheduler);
+        } finally {
+            stopped.set(true);
+            for (Thread unblocker : unblockers) {
+                unblocker.join();
+            }
+        }
+        for (int i = 0; i < RACING_STRANDS; i++) {
+            Assert.assertEquals(executions[i].get(), 2, "executions of strand-" + i);
+            Assert.assertTrue(futures.get(i).isDone);
+            Assert.assertEquals(futures.get(i).strand.getState(), State.DONE);
+        }
+    }
+
+    @Test
+    public void testCompletionWithoutWaiters() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Function<Object[], Object> function = params -> 5L;
+        FutureValue future = scheduler.schedule(new Object[1], function, null, null, "strand", null);
+
+        runUntilDone(scheduler);
+        Assert.assertTrue(future.isDone);
+        Assert.assertEquals(future.result, 5L);
+        Assert.assertFalse(future.strand.waitContextAttached);
+        Assert.assertEquals(future.strand.getState(), State.DONE);
+    }
+
+    @Test
+    public void testWaitOnRunningStrand() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(2, false, null, null);
+        CountDownLatch releaseChild = new CountDownLatch(1);
+        MapValueImpl<BString, Object> target = new MapValueImpl<>(PredefinedTypes.TYPE_MAP);
+        AtomicInteger executions = new AtomicInteger();
+        List<FutureValue> children = Collections.synchronizedList(new ArrayList<>());
+        Function<Object[], Object> child = params -> {
+            try {
+                return releaseChild.await(TIMEOUT_SECONDS, TimeUnit.SECONDS) ? "child result" : "timed out";
+            } catch (InterruptedException e) {
+                return "interrupted";
+            }
+        };
+        Function<Object[], Object> parent = params -> {
+            Strand strand = (Strand) params[0];
+            if (executions.getAndIncrement() > 0) {
+                // like the generated code, the wait is done again once resumed
+                waitMultiple(strand, children.get(0), target);
+                Assert.assertEquals(strand.getState(), State.RUNNABLE);
+                return target.get(StringUtils.fromString("child"));
+            }
+            FutureValue childFuture = scheduler.schedule(new Object[1], child, strand, null, "child", null);
+            children.add(childFuture);
+            waitMultiple(strand, childFuture, target);
+            Assert.assertTrue(childFuture.strand.waitContextAttached);
+            Assert.assertEquals(strand.getState(), State.BLOCK_ON_AND_YIELD);
+            // the child may complete before or after the scheduler handles the yield of this strand
+            releaseChild.countDown();
+            return null;
+        };
+        FutureValue future = scheduler.schedule(new Object[1], parent, null, null, "parent", null);
+
+        runUntilDone(scheduler);
+        Assert.assertEquals(executions.get(), 2);
+        Assert.assertEquals(String.valueOf(future.result), "child result");
+        Assert.assertEquals(children.get(0).strand.getState(), State.DONE);
+    }
+
+    @Test
+    public void testWaitOnCompletedStrand() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(2, false, null, null);
+        MapValueImpl<BString, Object> target = new MapValueImpl<>(PredefinedTypes.TYPE_MAP);
+        AtomicInteger executions = new AtomicInteger();
+        Function<Object[], Object> child = params -> "child result";
+        Function<Object[], Object> parent = params -> {
+            Strand strand = (Strand) params[0];
+            executions.incrementAndGet();
+            FutureValue childFuture = scheduler.schedule(new Object[1], child, strand, null, "child", null);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (!childFuture.isDone && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            waitMultiple(strand, childFuture, target);
+            // the result is taken without yielding
+            Assert.assertEquals(strand.getState(), State.RUNNABLE);
+            return target.get(StringUtils.fromString("child"));
+        };
+        FutureValue future = scheduler.schedule(new Object[1], parent, null, null, "parent", null);
+
+        runUntilDone(scheduler);
+        Assert.assertEquals(executions.get(), 1);
+        Assert.assertEquals(String.valueOf(future.result), "child result");
+    }
+
+    private static SchedulerItem createBlockedItem(Scheduler scheduler) {
+        FutureValue future = scheduler.createFuture(null, null, null, PredefinedTypes.TYPE_NULL, "strand", null);
+        SchedulerItem item = new SchedulerItem((Function<Object[], Object>) null, new Object[1], future);
+        future.strand.schedulerItem = item;
+        future.strand.strandGroup = new ItemGroup(item);
+        // the item has been taken from its group and is being executed
+        future.strand.strandGroup.get();
+        future.strand.setState(State.BLOCK_AND_YIELD);
+        return item;
+    }
+
+    private static void assertRescheduledOnce(SchedulerItem item) {
+        Strand strand = item.future.strand;
+        Assert.assertEquals(strand.getState(), State.RUNNABLE);
+        Assert.assertEquals(strand.strandGroup.items.size(), 1);
+        Assert.assertTrue(strand.strandGroup.scheduled.get());
+        Assert.assertFalse(item.unpark());
+    }
+
+    private static void waitMultiple(Strand strand, FutureValue future, MapValueImpl<BString, Object> target) {
+        try {
+            strand.handleWaitMultiple(Collections.singletonMap("child", future), target);
+        } catch (Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                task.run();
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        }
+    }
+
+    private static void runUntilDone(Scheduler scheduler) throws InterruptedException {
+        Thread runner = new Thread(scheduler::start);
+        runner.start();
+        runner.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertFalse(runner.isAlive(), "scheduler did not stop");
+    }
+}
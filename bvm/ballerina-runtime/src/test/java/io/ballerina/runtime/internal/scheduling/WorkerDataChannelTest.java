@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.internal.values.ChannelDetails;
+import io.ballerina.runtime.internal.values.ErrorValue;
+import io.ballerina.runtime.internal.values.FutureValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+/**
+ * Test the ordering of the messages of a {@link WorkerDataChannel} and the resumption of its waiting workers.
+ *
+ * @since 2.0.0
+ */
+public class WorkerDataChannelTest {
+
+    private static final String CHANNEL_NAME = "w1->w2";
+
+    @Test
+    public void testBufferGrowsAcrossWrapAround() {
+        WorkerMessageBuffer buffer = new WorkerMessageBuffer();
+        long next = 0;
+        long expected = 0;
+        // move the head away from the first slot, so that the buffer has wrapped around when it grows
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(buffer.add(next), next);
+            next++;
+        }
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(buffer.poll(), expected++);
+        }
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(buffer.add(next), next);
+            next++;
+        }
+        Assert.assertEquals(buffer.size(), 21);
+        while (!buffer.isEmpty()) {
+            Assert.assertEquals(buffer.headSequence(), expected);
+            Assert.assertEquals(buffer.poll(), expected++);
+        }
+        Assert.assertEquals(expected, next);
+    }
+
+    @Test
+    public void testNilMessages() {
+        WorkerMessageBuffer buffer = new WorkerMessageBuffer();
+        buffer.add(null);
+        Assert.assertFalse(buffer.isEmpty());
+        Assert.assertNull(buffer.poll());
+        Assert.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testSendReceiveOrdering() throws Throwable {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand sender = createStrand(scheduler);
+        Strand receiver = createStrand(scheduler);
+        WorkerDataChannel channel = new WorkerDataChannel(CHANNEL_NAME);
+
+        long sent = 0;
+        long received = 0;
+        // interleave sends and receives so that the ring wraps around and overflows its initial capacity
+        for (int round = 1; round <= 10; round++) {
+            for (int i = 0; i < round * 3; i++) {
+                channel.sendData(sent++, sender);
+            }
+            for (int i = 0; i < round * 2; i++) {
+                Assert.assertEquals(channel.tryTakeData(receiver), received++);
+            }
+        }
+        while (received < sent) {
+            Assert.assertEquals(channel.tryTakeData(receiver), received++);
+        }
+        Assert.assertEquals(receiver.getState(), State.RUNNABLE);
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+    }
+
+    @Test
+    public void testReceiverResumedBySend() throws Throwable {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand sender = createStrand(scheduler);
+        Strand receiver = createStrand(scheduler);
+        WorkerDataChannel channel = new WorkerDataChannel(CHANNEL_NAME);
+
+        Assert.assertNull(channel.tryTakeData(receiver));
+        Assert.assertEquals(receiver.getState(), State.BLOCK_AND_YIELD);
+
+        channel.sendData("message", sender);
+        Assert.assertEquals(receiver.getState(), State.YIELD);
+        receiver.setState(State.RUNNABLE);
+        Assert.assertEquals(channel.tryTakeData(receiver), "message");
+    }
+
+    @Test
+    public void testSyncSenderResumedWhenItsMessageIsTaken() throws Throwable {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand sender = createStrand(scheduler);
+        Strand receiver = createStrand(scheduler);
+        WorkerDataChannel channel = new WorkerDataChannel(CHANNEL_NAME);
+
+        channel.sendData("first", sender);
+        channel.sendData("second", sender);
+        Assert.assertNull(channel.syncSendData("sync", sender));
+        Assert.assertEquals(sender.getState(), State.BLOCK_AND_YIELD);
+
+        // the sender waits until the message it sent itself is taken, not the ones before
+        Assert.assertEquals(channel.tryTakeData(receiver), "first");
+        Assert.assertEquals(channel.tryTakeData(receiver), "second");
+        Assert.assertEquals(sender.getState(), State.BLOCK_AND_YIELD);
+        Assert.assertEquals(channel.tryTakeData(receiver), "sync");
+        Assert.assertEquals(sender.getState(), State.YIELD);
+
+        // the resumed sender completes the send
+        sender.setState(State.RUNNABLE);
+        Assert.assertNull(channel.syncSendData("sync", sender));
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+
+        // an async message after the sync send does not resume the sender again
+        channel.sendData("after", sender);
+        Assert.assertEquals(channel.tryTakeData(receiver), "after");
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+    }
+
+    @Test
+    public void testFlushCompletesWhenAllMessagesAreTaken() throws Throwable {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand sender = createStrand(scheduler);
+        Strand receiver = createStrand(scheduler);
+        WorkerDataChannel channel = sender.wdChannels.getWorkerDataChannel(CHANNEL_NAME);
+        ChannelDetails[] channels = {new ChannelDetails(CHANNEL_NAME, true, true)};
+
+        for (int i = 0; i < 6; i++) {
+            channel.sendData((long) i, sender);
+        }
+        Assert.assertNull(sender.handleFlush(channels));
+        Assert.assertEquals(sender.getState(), State.BLOCK_AND_YIELD);
+
+        for (long i = 0; i < 5; i++) {
+            Assert.assertEquals(channel.tryTakeData(receiver), i);
+            Assert.assertEquals(sender.getState(), State.BLOCK_AND_YIELD);
+        }
+        Assert.assertEquals(channel.tryTakeData(receiver), 5L);
+        Assert.assertEquals(sender.getState(), State.YIELD);
+
+        sender.setState(State.RUNNABLE);
+        Assert.assertNull(sender.handleFlush(channels));
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+    }
+
+    @Test
+    public void testFlushOfReceivedChannel() throws Throwable {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand sender = createStrand(scheduler);
+        Strand receiver = createStrand(scheduler);
+        WorkerDataChannel channel = sender.wdChannels.getWorkerDataChannel(CHANNEL_NAME);
+        ChannelDetails[] channels = {new ChannelDetails(CHANNEL_NAME, true, true)};
+
+        channel.sendData("message", sender);
+        Assert.assertEquals(channel.tryTakeData(receiver), "message");
+        Assert.assertNull(sender.handleFlush(channels));
+        Assert.assertEquals(sender.getState(), State.RUNNABLE);
+    }
+
+    @Test
+    public void testReceiverErrorAfterQueuedMessages() throws Throwable {
+        Scheduler scheduler = new Scheduler(1, false, null, null);
+        Strand sender = createStrand(scheduler);
+        Strand receiver = createStrand(scheduler);
+        WorkerDataChannel channel = new WorkerDataChannel(CHANNEL_NAME);
+        ErrorValue error = new ErrorValue(StringUtils.fromString("sender failed"));
+
+        channel.sendData("message", sender);
+        channel.setSendError(error);
+        // the queued message is received before the error of the sender
+        Assert.assertEquals(channel.tryTakeData(receiver), "message");
+        Assert.assertSame(channel.tryTakeData(receiver), error);
+    }
+
+    private static Strand createStrand(Scheduler scheduler) {
+        FutureValue future = scheduler.createFuture(null, null, null, PredefinedTypes.TYPE_NULL, "strand", null);
+        SchedulerItem item = new SchedulerItem((Function<Object[], Object>) null, new Object[1], future);
+        future.strand.schedulerItem = item;
+        future.strand.strandGroup = new ItemGroup(item);
+        future.strand.strandGroup.get();
+        return future.strand;
+    }
+}
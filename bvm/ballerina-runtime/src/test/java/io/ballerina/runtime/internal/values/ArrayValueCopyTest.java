@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BTupleType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Test the element types and members of copied, sliced and reversed arrays.
+ *
+ * @since 2.0.0
+ */
+public class ArrayValueCopyTest {
+
+    @Test
+    public void testIntSubtypeArray() {
+        ArrayValueImpl array = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_INT_SIGNED_8));
+        array.appendAll(new Object[]{1L, -2L, 127L});
+
+        ArrayValueImpl copy = (ArrayValueImpl) array.copy(new HashMap<>());
+        assertElementType(copy, TypeTags.SIGNED8_INT_TAG);
+        assertInts(copy, 1, -2, 127);
+        copy.add(0, 5L);
+        Assert.assertEquals(array.getInt(0), 1L, "copy shares the storage of the array");
+
+        ArrayValueImpl slice = array.slice(1, 3);
+        assertElementType(slice, TypeTags.SIGNED8_INT_TAG);
+        assertInts(slice, -2, 127);
+
+        ArrayValueImpl reversed = reverse(array);
+        assertElementType(reversed, TypeTags.SIGNED8_INT_TAG);
+        assertInts(reversed, 127, -2, 1);
+        assertInts(array, 1, -2, 127);
+    }
+
+    @Test
+    public void testFixedLengthIntSubtypeArrayCopy() {
+        ArrayValueImpl array = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_INT_UNSIGNED_16, 3));
+        array.add(1, 65535L);
+
+        ArrayValueImpl copy = (ArrayValueImpl) array.copy(new HashMap<>());
+        Assert.assertEquals(((ArrayType) copy.getType()).getState(), ArrayType.ArrayState.CLOSED);
+        Assert.assertEquals(((ArrayType) copy.getType()).getSize(), 3);
+        assertElementType(copy, TypeTags.UNSIGNED16_INT_TAG);
+        assertInts(copy, 0, 65535, 0);
+    }
+
+    @Test
+    public void testCharArray() {
+        ArrayValueImpl array = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_STRING_CHAR));
+        array.appendAll(new Object[]{StringUtils.fromString("a"), StringUtils.fromString("b"),
+                StringUtils.fromString("c")});
+
+        ArrayValueImpl copy = (ArrayValueImpl) array.copy(new HashMap<>());
+        assertElementType(copy, TypeTags.CHAR_STRING_TAG);
+        assertStrings(copy, "a", "b", "c");
+
+        ArrayValueImpl slice = array.slice(0, 2);
+        assertElementType(slice, TypeTags.CHAR_STRING_TAG);
+        assertStrings(slice, "a", "b");
+
+        ArrayValueImpl reversed = reverse(array);
+        assertElementType(reversed, TypeTags.CHAR_STRING_TAG);
+        assertStrings(reversed, "c", "b", "a");
+    }
+
+    @Test
+    public void testDecimalArray() {
+        DecimalValue first = new DecimalValue("1.5");
+        DecimalValue second = new DecimalValue("-2.25");
+        ArrayValueImpl array = new ArrayValueImpl(new BArrayType(PredefinedTypes.TYPE_DECIMAL));
+        array.appendAll(new Object[]{first, second});
+
+        ArrayValueImpl copy = (ArrayValueImpl) array.copy(new HashMap<>());
+        assertElementType(copy, TypeTags.DECIMAL_TAG);
+        Assert.assertSame(copy.get(0), first);
+        Assert.assertSame(copy.get(1), second);
+        copy.add(0, new DecimalValue("3"));
+        Assert.assertSame(array.get(0), first);
+
+        ArrayValueImpl slice = array.slice(1, 2);
+        assertElementType(slice, TypeTags.DECIMAL_TAG);
+        Assert.assertEquals(slice.size(), 1);
+        Assert.assertSame(slice.get(0), second);
+
+        ArrayValueImpl reversed = reverse(array);
+        assertElementType(reversed, TypeTags.DECIMAL_TAG);
+        Assert.assertSame(reversed.get(0), second);
+        Assert.assertSame(reversed.get(1), first);
+    }
+
+    @Test
+    public void testTupleAppendAll() {
+        // Tuples use the appendAll of BArray, which appends the values one by one.
+        TupleValueImpl tuple = new TupleValueImpl(new BTupleType(List.of(PredefinedTypes.TYPE_INT),
+                                                                 PredefinedTypes.TYPE_STRING, 0, false));
+        Assert.assertEquals(tuple.size(), 1);
+        tuple.appendAll(new Object[]{StringUtils.fromString("a"), StringUtils.fromString("b")});
+        Assert.assertEquals(tuple.size(), 3);
+        Assert.assertEquals(tuple.get(0), 0L);
+        Assert.assertEquals(tuple.get(1).toString(), "a");
+        Assert.assertEquals(tuple.get(2).toString(), "b");
+    }
+
+    // Same as lang.array reverse() for arrays.
+    private static ArrayValueImpl reverse(ArrayValueImpl array) {
+        ArrayValueImpl reversed = array.slice(0, array.size());
+        reversed.reverse();
+        return reversed;
+    }
+
+    private static void assertElementType(ArrayValueImpl array, int typeTag) {
+        Type elementType = array.getElementType();
+        Assert.assertEquals(elementType.getTag(), typeTag, "element type: " + elementType);
+    }
+
+    private static void assertInts(ArrayValueImpl array, long... values) {
+        Assert.assertEquals(array.size(), values.length);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(array.getInt(i), values[i]);
+        }
+    }
+
+    private static void assertStrings(ArrayValueImpl array, String... values) {
+        Assert.assertEquals(array.size(), values.length);
+        for (int i = 0; i < values.length; i++) {
+            BString value = array.getBString(i);
+            Assert.assertEquals(value.getValue(), values[i]);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BMapType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test the lazily created native data of map values.
+ *
+ * @since 2.0.0
+ */
+public class MapValueNativeDataTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testNativeDataCreatedOnFirstUse() {
+        MapValueImpl<BString, Object> map = newMap();
+        Assert.assertNull(map.getNativeData("key"));
+
+        map.addNativeData("key", "value");
+        Assert.assertEquals(map.getNativeData("key"), "value");
+        Assert.assertSame(map.getNativeDataMap(), map.getNativeDataMap());
+        Assert.assertEquals(map.getNativeDataMap().size(), 1);
+    }
+
+    @Test
+    public void testConcurrentFirstUseSharesNativeDataMap() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 200; round++) {
+                MapValueImpl<BString, Object> map = newMap();
+                CountDownLatch start = new CountDownLatch(1);
+                @SuppressWarnings("unchecked")
+                Future<Map<String, Object>>[] results = new Future[THREADS];
+                for (int i = 0; i < THREADS; i++) {
+                    results[i] = executor.submit(() -> {
+                        start.await();
+                        return map.getNativeDataMap();
+                    });
+                }
+                start.countDown();
+                Map<String, Object> nativeData = results[0].get(10, TimeUnit.SECONDS);
+                for (Future<Map<String, Object>> result : results) {
+                    Assert.assertSame(result.get(10, TimeUnit.SECONDS), nativeData);
+                }
+                Assert.assertSame(map.getNativeDataMap(), nativeData);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNativeDataAddedOnOtherThreadIsVisible() throws Exception {
+        MapValueImpl<BString, Object> map = newMap();
+        Thread writer = new Thread(() -> map.addNativeData("key", "value"));
+        writer.start();
+        writer.join(10000);
+        Assert.assertEquals(map.getNativeData("key"), "value");
+    }
+
+    private static MapValueImpl<BString, Object> newMap() {
+        return new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_ANY));
+    }
+}
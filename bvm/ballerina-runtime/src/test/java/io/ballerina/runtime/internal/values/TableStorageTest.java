@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BTableType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test the row storage and the key hash index of tables.
+ *
+ * @since 2.0.0
+ */
+public class TableStorageTest {
+
+    private static final BString ID = StringUtils.fromString("id");
+
+    @Test
+    public void testFindAfterRemovingCollidingHashes() {
+        TableStorage<Long, String> storage = new TableStorage<>(true);
+        // Hashes which only differ in the high bits, to get long probe sequences in the index.
+        long[] hashes = new long[64];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = ((long) i << 40) | 7;
+            Assert.assertNull(storage.put(hashes[i], (long) i, "row" + i));
+        }
+
+        // Remove every third row, which moves back the following entries of the probe sequences.
+        for (int i = 0; i < hashes.length; i += 3) {
+            Assert.assertEquals(storage.remove(hashes[i]), "row" + i);
+            Assert.assertNull(storage.remove(hashes[i]));
+        }
+
+        for (int i = 0; i < hashes.length; i++) {
+            if (i % 3 == 0) {
+                Assert.assertEquals(storage.find(hashes[i]), -1);
+                Assert.assertNull(storage.get(hashes[i]));
+            } else {
+                Assert.assertEquals(storage.get(hashes[i]), "row" + i);
+                Assert.assertEquals(storage.keyAt(storage.find(hashes[i])), Long.valueOf(i));
+            }
+        }
+        Assert.assertEquals(storage.size(), hashes.length - 22);
+
+        // Re-added rows go to the end.
+        Assert.assertNull(storage.put(hashes[0], 0L, "row0"));
+        Assert.assertEquals(storage.get(hashes[0]), "row0");
+        Assert.assertEquals(storage.valueAt(storage.nextSlot(storage.find(hashes[62]) + 1)), "row0");
+    }
+
+    @Test
+    public void testPutReplacesRowInPlace() {
+        TableStorage<Long, String> storage = new TableStorage<>(true);
+        storage.put(1, 1L, "a");
+        storage.put(2, 2L, "b");
+        storage.put(3, 3L, "c");
+
+        Assert.assertEquals(storage.put(2, 2L, "B"), "b");
+        Assert.assertEquals(storage.size(), 3);
+        Assert.assertEquals(new ArrayList<>(storage.values()), List.of("a", "B", "c"));
+    }
+
+    @Test
+    public void testCompactionKeepsOrderAndIndex() {
+        TableStorage<Long, String> storage = new TableStorage<>(true);
+        int rowCount = 200;
+        for (int i = 0; i < rowCount; i++) {
+            storage.put(i, (long) i, "row" + i);
+        }
+
+        int compactions = storage.compactions();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            if (i % 4 == 0) {
+                expected.add("row" + i);
+            } else {
+                storage.remove(i);
+            }
+        }
+        Assert.assertTrue(storage.compactions() > compactions, "rows are not compacted");
+
+        Assert.assertEquals(new ArrayList<>(storage.values()), expected);
+        Assert.assertEquals(storage.keys().length, expected.size());
+        for (int i = 0; i < rowCount; i++) {
+            Assert.assertEquals(storage.get(i), i % 4 == 0 ? "row" + i : null);
+        }
+    }
+
+    @Test
+    public void testSlotAfterFindsRowsAfterCompaction() {
+        TableStorage<Long, String> storage = new TableStorage<>(true);
+        for (int i = 0; i < 100; i++) {
+            storage.put(i, (long) i, "row" + i);
+        }
+        long sequence = storage.sequenceAt(storage.find(40));
+        int compactions = storage.compactions();
+        for (int i = 0; i < 80; i++) {
+            if (i != 41) {
+                storage.remove(i);
+            }
+        }
+        Assert.assertTrue(storage.compactions() > compactions, "rows are not compacted");
+
+        int slot = storage.slotAfter(sequence);
+        Assert.assertEquals(storage.valueAt(slot), "row41");
+        Assert.assertEquals(storage.valueAt(storage.nextSlot(slot + 1)), "row80");
+        Assert.assertEquals(storage.slotAfter(storage.sequenceAt(storage.find(99))), -1);
+    }
+
+    @Test
+    public void testRemovingTrailingRowsInvalidatesSlots() {
+        TableStorage<Long, String> storage = new TableStorage<>(true);
+        storage.put(1, 1L, "a");
+        storage.put(2, 2L, "b");
+        storage.put(3, 3L, "c");
+        long sequence = storage.sequenceAt(storage.find(3));
+
+        int compactions = storage.compactions();
+        storage.remove(3);
+        storage.remove(2);
+        Assert.assertNotEquals(storage.compactions(), compactions);
+
+        // The freed slots are reused by the next rows, which still come after the removed ones.
+        storage.put(4, 4L, "d");
+        Assert.assertEquals(storage.find(4), 1);
+        Assert.assertEquals(storage.valueAt(storage.slotAfter(sequence)), "d");
+    }
+
+    @Test
+    public void testIterateWhileRemovingTrailingRowsAndAdding() {
+        TableValueImpl<Object, MapValue<BString, Object>> table = createTable(3);
+        IteratorValue iterator = table.getIterator();
+        Assert.assertEquals(nextId(iterator), 1);
+        Assert.assertEquals(nextId(iterator), 2);
+        Assert.assertEquals(nextId(iterator), 3);
+
+        table.remove(3L);
+        table.remove(2L);
+        table.add(createRow(4));
+        table.add(createRow(5));
+
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(nextId(iterator), 4);
+        Assert.assertEquals(nextId(iterator), 5);
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testIterateWhileRemovingRows() {
+        int rowCount = 100;
+        TableValueImpl<Object, MapValue<BString, Object>> table = createTable(rowCount);
+        IteratorValue iterator = table.getIterator();
+        List<Long> seen = new ArrayList<>();
+        while (iterator.hasNext()) {
+            long id = nextId(iterator);
+            seen.add(id);
+            // Remove the row just returned and the following one, which compacts the rows along the way.
+            table.remove(id);
+            table.remove(id + 1);
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= rowCount; id += 2) {
+            expected.add(id);
+        }
+        Assert.assertEquals(seen, expected);
+        Assert.assertEquals(table.size(), 0);
+    }
+
+    @Test
+    public void testIterateWhileUpdatingRows() {
+        TableValueImpl<Object, MapValue<BString, Object>> table = createTable(10);
+        IteratorValue iterator = table.getIterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            long id = nextId(iterator);
+            MapValue<BString, Object> row = createRow(id);
+            row.put(StringUtils.fromString("updated"), true);
+            table.put(id, row);
+            count++;
+        }
+        Assert.assertEquals(count, 10);
+        for (long id = 1; id <= 10; id++) {
+            Assert.assertEquals(table.get(id).get(StringUtils.fromString("updated")), true);
+        }
+    }
+
+    private static TableValueImpl<Object, MapValue<BString, Object>> createTable(int rowCount) {
+        BMapType rowType = new BMapType(PredefinedTypes.TYPE_ANYDATA);
+        TableValueImpl<Object, MapValue<BString, Object>> table =
+                new TableValueImpl<>(new BTableType(rowType, new String[]{"id"}, false));
+        for (long id = 1; id <= rowCount; id++) {
+            table.add(createRow(id));
+        }
+        return table;
+    }
+
+    private static MapValue<BString, Object> createRow(long id) {
+        MapValue<BString, Object> row = new MapValueImpl<>(new BMapType(PredefinedTypes.TYPE_ANYDATA));
+        row.put(ID, id);
+        return row;
+    }
+
+    private static long nextId(IteratorValue iterator) {
+        TupleValueImpl entry = (TupleValueImpl) iterator.next();
+        return (Long) ((MapValue<?, ?>) entry.get(1)).get(ID);
+    }
+}
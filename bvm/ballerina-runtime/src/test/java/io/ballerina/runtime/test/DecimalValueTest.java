@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.internal.DecimalValueKind;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Test decimal values held as an unscaled long and a scale against the same operations on {@link BigDecimal}.
+ *
+ * @since 2.0.0
+ */
+public class DecimalValueTest {
+
+    private static final String[] OPERANDS = {
+            "1", "-1", "0.1", "-7.25", "123.456", "1.000", "+42", ".5", "5.",
+            // the largest values with at most 18 digits, which are parsed without a BigDecimal
+            "999999999999999999", "-999999999999999999", "99999999999999999.9", "0.999999999999999999",
+            "3037000499.97604969", "4611686018427387904", "-4611686018427387904",
+            // values which do not fit in 18 digits
+            "9223372036854775807", "-9223372036854775808", "9223372036854775806", "12345678901234567890.5",
+            "0.000000000000000001", "1E-20",
+            // negative scales
+            "1E+3", "-2.5E+5", "1E+20", "-9E+17"
+    };
+
+    @DataProvider(name = "operands")
+    public Object[][] operands() {
+        Object[][] operands = new Object[OPERANDS.length][];
+        for (int i = 0; i < OPERANDS.length; i++) {
+            operands[i] = new Object[]{OPERANDS[i]};
+        }
+        return operands;
+    }
+
+    @Test(dataProvider = "operands")
+    public void testParse(String value) {
+        BigDecimal expected = new BigDecimal(value, MathContext.DECIMAL128);
+        assertDecimal(new DecimalValue(value), expected);
+        assertDecimal(new DecimalValue(expected), expected);
+        Assert.assertEquals(new DecimalValue(value), new DecimalValue(expected));
+        Assert.assertEquals(new DecimalValue(value).hashCode(), new DecimalValue(expected).hashCode());
+    }
+
+    @Test
+    public void testArithmeticMatchesBigDecimal() {
+        for (String lhsValue : OPERANDS) {
+            for (String rhsValue : OPERANDS) {
+                BigDecimal lhs = new BigDecimal(lhsValue, MathContext.DECIMAL128);
+                BigDecimal rhs = new BigDecimal(rhsValue, MathContext.DECIMAL128);
+                DecimalValue lhsDecimal = new DecimalValue(lhsValue);
+                DecimalValue rhsDecimal = new DecimalValue(rhsValue);
+                String operation = lhsValue + ", " + rhsValue;
+
+                assertDecimal(lhsDecimal.add(rhsDecimal), lhs.add(rhs, MathContext.DECIMAL128), "add " + operation);
+                assertDecimal(lhsDecimal.subtract(rhsDecimal), lhs.subtract(rhs, MathContext.DECIMAL128),
+                              "subtract " + operation);
+                assertDecimal(lhsDecimal.multiply(rhsDecimal), lhs.multiply(rhs, MathContext.DECIMAL128),
+                              "multiply " + operation);
+                Assert.assertEquals(Integer.signum(lhsDecimal.compareValue(rhsDecimal)), lhs.compareTo(rhs),
+                                    "compare " + operation);
+                Assert.assertEquals(lhsDecimal.equals(rhsDecimal), lhs.compareTo(rhs) == 0, "equals " + operation);
+            }
+        }
+    }
+
+    @Test
+    public void testMixedScales() {
+        assertDecimal(new DecimalValue("1.5").add(new DecimalValue("2.25")), new BigDecimal("3.75"));
+        assertDecimal(new DecimalValue("1.50").subtract(new DecimalValue("0.5")), new BigDecimal("1.00"));
+        assertDecimal(new DecimalValue("0.01").multiply(new DecimalValue("0.001")), new BigDecimal("0.00001"));
+        assertDecimal(new DecimalValue("1E+3").add(new DecimalValue("0.5")), new BigDecimal("1000.5"));
+        assertDecimal(new DecimalValue("-2.5E+5").multiply(new DecimalValue("4")), new BigDecimal("-1.00E+6"));
+
+        // equal values of different scales
+        Assert.assertEquals(new DecimalValue("1.0").compareValue(new DecimalValue("1.00")), 0);
+        Assert.assertEquals(new DecimalValue("1E+3").compareValue(new DecimalValue("1000.000")), 0);
+        Assert.assertEquals(new DecimalValue("1.0"), new DecimalValue("1.00"));
+        Assert.assertTrue(new DecimalValue("0.1").compareValue(new DecimalValue("0.09")) > 0);
+    }
+
+    @Test
+    public void testOverflowFallsBackToBigDecimal() {
+        DecimalValue max18 = new DecimalValue("999999999999999999");
+        assertDecimal(max18.multiply(max18),
+                      new BigDecimal("999999999999999998000000000000000001").round(MathContext.DECIMAL128));
+        assertDecimal(max18.add(max18).add(max18).add(max18).add(max18).add(max18).add(max18).add(max18)
+                              .add(max18).add(max18), new BigDecimal("9999999999999999990"));
+        // scaling up the operand with the smaller scale overflows
+        assertDecimal(max18.add(new DecimalValue("0.1")), new BigDecimal("999999999999999999.1"));
+        assertDecimal(new DecimalValue("1E+20").subtract(new DecimalValue("1")),
+                      new BigDecimal("99999999999999999999"));
+        Assert.assertTrue(new DecimalValue("1E+20").compareValue(max18) > 0);
+        Assert.assertTrue(max18.compareValue(new DecimalValue("1E+20")) < 0);
+        Assert.assertTrue(new DecimalValue("0.000000000000000001").compareValue(new DecimalValue("1E+3")) < 0);
+    }
+
+    @Test
+    public void testUnscaledValueOfLongMinValue() {
+        // -922337203685477580.0 - 0.8 has Long.MIN_VALUE as its unscaled value
+        DecimalValue min = DecimalValue.valueOf(-922337203685477580L).subtract(new DecimalValue("0.8"));
+        BigDecimal expected = BigDecimal.valueOf(Long.MIN_VALUE, 1);
+        assertDecimal(min, expected);
+        assertDecimal(min.negate(), expected.negate());
+        assertDecimal(min.subtract(new DecimalValue("0.1")), expected.subtract(new BigDecimal("0.1")));
+        assertDecimal(min.add(new DecimalValue("0.1")), expected.add(new BigDecimal("0.1")));
+        assertDecimal(min.multiply(new DecimalValue("1")), expected);
+        assertDecimal(min.multiply(new DecimalValue("-1")), expected.negate());
+        Assert.assertTrue(min.compareValue(new DecimalValue("-922337203685477580.7")) < 0);
+        Assert.assertEquals(min.compareValue(new DecimalValue(expected)), 0);
+        Assert.assertEquals(min, new DecimalValue(expected));
+        Assert.assertEquals(min.hashCode(), new DecimalValue(expected).hashCode());
+    }
+
+    @Test
+    public void testValueOfNearLongLimits() {
+        long[] values = {0, 1, -1, Long.MAX_VALUE / 10, Long.MIN_VALUE / 10, Long.MAX_VALUE / 10 + 1,
+                Long.MIN_VALUE / 10 - 1, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            BigDecimal expected = BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_EVEN);
+            assertDecimal(DecimalValue.valueOf(value), expected, Long.toString(value));
+            assertDecimal(DecimalValue.valueOf(value).add(DecimalValue.valueOf(1)),
+                          expected.add(BigDecimal.ONE, MathContext.DECIMAL128), Long.toString(value));
+        }
+        assertDecimal(DecimalValue.valueOf(true), new BigDecimal("1.0"));
+        assertDecimal(DecimalValue.valueOf(false), new BigDecimal("0.0"));
+    }
+
+    @Test
+    public void testNegativeZero() {
+        DecimalValue negativeZero = new DecimalValue("-0.0");
+        assertDecimal(negativeZero, new BigDecimal("-0.0"));
+        Assert.assertEquals(negativeZero.getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertFalse(negativeZero.booleanValue());
+        Assert.assertEquals(negativeZero, new DecimalValue("0.0"));
+        Assert.assertEquals(negativeZero.hashCode(), new DecimalValue(new BigDecimal("0.0")).hashCode());
+        Assert.assertEquals(negativeZero.compareValue(new DecimalValue("0")), 0);
+        Assert.assertEquals(negativeZero.negate().getValueKind(), DecimalValueKind.ZERO);
+
+        DecimalValue one = new DecimalValue("1.5");
+        Assert.assertSame(one.add(negativeZero), one);
+        Assert.assertEquals(one.subtract(one).getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(one.negate().add(one).getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(new DecimalValue("-0E+3").getValueKind(), DecimalValueKind.ZERO);
+    }
+
+    @Test
+    public void testEqualsAndHashCodeAcrossForms() {
+        // 10^18 is compact as a sum, and is held as a BigDecimal when created with 19 digits.
+        DecimalValue sum = new DecimalValue("999999999999999999").add(new DecimalValue("1"));
+        DecimalValue big = new DecimalValue(new BigDecimal("1000000000000000000"));
+        Assert.assertEquals(sum, big);
+        Assert.assertEquals(big, sum);
+        Assert.assertEquals(sum.hashCode(), big.hashCode());
+        Assert.assertEquals(sum.stringValue(null), big.stringValue(null));
+
+        DecimalValue parsed = new DecimalValue("123.45");
+        DecimalValue fromBigDecimal = new DecimalValue(new BigDecimal("123.45"));
+        DecimalValue product = new DecimalValue("12.345").multiply(new DecimalValue("10"));
+        Assert.assertEquals(parsed, fromBigDecimal);
+        Assert.assertEquals(parsed.hashCode(), fromBigDecimal.hashCode());
+        Assert.assertEquals(parsed, product);
+        Assert.assertEquals(product.decimalValue(), new BigDecimal("123.450"));
+
+        Assert.assertNotEquals(new DecimalValue("12345678901234567890.5"), new DecimalValue("12345678901234567890.4"));
+        Assert.assertNotEquals(new DecimalValue("0.1"), new DecimalValue("-0.1"));
+    }
+
+    private static void assertDecimal(DecimalValue actual, BigDecimal expected) {
+        assertDecimal(actual, expected, expected.toString());
+    }
+
+    private static void assertDecimal(DecimalValue actual, BigDecimal expected, String message) {
+        // BigDecimal.equals compares the scale as well
+        Assert.assertEquals(actual.decimalValue(), expected, message);
+        // zero decimals are always shown as 0
+        Assert.assertEquals(actual.stringValue(null), expected.signum() == 0 ? "0" : expected.toString(), message);
+        Assert.assertEquals(actual.hashCode(), expected.hashCode(), message);
+        Assert.assertEquals(actual.floatValue(), expected.doubleValue(), message);
+        Assert.assertEquals(actual.booleanValue(), expected.signum() != 0, message);
+        Assert.assertEquals(actual.getValueKind(),
+                            expected.signum() == 0 ? DecimalValueKind.ZERO : DecimalValueKind.OTHER, message);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test UTF-8 byte based JSON parsing.
+ *
+ * @since 2.0.0
+ */
+public class JsonParserTest {
+
+    private static final String JSON = "{\"name\":\"Jos\\u00e9 \\\"J\\\"\", 'city' : \"日本\\n\", " +
+            "\"scores\":[1, -0, 2.5, -42, true, false, null, {}], \"nested\":{\"list\":[[], [\"a\\/b\"]]}}";
+
+    @Test
+    public void testParseBytesProducesSameJsonAsParseString() {
+        Object fromString = JsonUtils.parse(JSON);
+        Object fromBytes = JsonUtils.parse(JSON.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(StringUtils.getJsonString(fromBytes), StringUtils.getJsonString(fromString));
+    }
+
+    @Test
+    public void testParseByteBufferRemaining() {
+        byte[] bytes = ("xx" + JSON + "yy").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 4).slice();
+        Object fromBuffer = JsonUtils.parse(buffer);
+        Assert.assertEquals(buffer.position(), 0);
+        Assert.assertEquals(StringUtils.getJsonString(fromBuffer), StringUtils.getJsonString(JsonUtils.parse(JSON)));
+    }
+
+    @Test
+    public void testParseNumbersFromBytes() {
+        Assert.assertEquals(JsonUtils.parse("9223372036854775807".getBytes(StandardCharsets.UTF_8)),
+                            Long.MAX_VALUE);
+        Assert.assertEquals(JsonUtils.parse("-123".getBytes(StandardCharsets.UTF_8)), -123L);
+        Assert.assertEquals(JsonUtils.parse("-0".getBytes(StandardCharsets.UTF_8)), -0.0);
+        Assert.assertEquals(JsonUtils.parse("12".getBytes(StandardCharsets.UTF_8),
+                                            JsonUtils.NonStringValueProcessingMode.FROM_JSON_FLOAT_STRING), 12.0);
+    }
+
+    @Test(expectedExceptions = BError.class,
+            expectedExceptionsMessageRegExp = "unrecognized token 'tru' at line: 2 column: 6")
+    void testParseBytesInvalidToken() {
+        JsonUtils.parse("{\"a\":\n  tru}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(expectedExceptions = BError.class,
+            expectedExceptionsMessageRegExp = "unexpected end of JSON document at line: 1 column: .*")
+    void testParseBytesUnexpectedEnd() {
+        JsonUtils.parse("[1, {\"a\": \"b".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testParseStreamReadInSingleBytes() {
+        // Every token and every multi-byte character spans a refill of the window.
+        Object fromStream = JsonUtils.parse(new TrickleInputStream(JSON.getBytes(StandardCharsets.UTF_8)),
+                                            StandardCharsets.UTF_8.name());
+        Assert.assertEquals(StringUtils.getJsonString(fromStream), StringUtils.getJsonString(JsonUtils.parse(JSON)));
+    }
+
+    @Test
+    public void testParseStreamLargerThanWindow() {
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longString.append("ab日");
+        }
+        StringBuilder json = new StringBuilder("{\"long\":\"").append(longString).append("\", \"escaped\":\"")
+                .append(longString).append("\\n\", \"list\":[");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i).append(", ").append(i).append(".5, ");
+        }
+        json.append("null]}");
+        String jsonStr = json.toString();
+
+        Object fromStream = JsonUtils.parse(new ByteArrayInputStream(jsonStr.getBytes(StandardCharsets.UTF_8)),
+                                            StandardCharsets.UTF_8.name());
+        Assert.assertEquals(StringUtils.getJsonString(fromStream),
+                            StringUtils.getJsonString(JsonUtils.parse(jsonStr)));
+    }
+
+    @Test(expectedExceptions = BError.class,
+            expectedExceptionsMessageRegExp = "unrecognized token 'tru' at line: 3 column: 6")
+    void testParseStreamInvalidTokenLocation() {
+        JsonUtils.parse(new TrickleInputStream("{\"日本\":\n1, \"a\":\n  tru}".getBytes(StandardCharsets.UTF_8)),
+                        StandardCharsets.UTF_8.name());
+    }
+
+    @Test(expectedExceptions = BError.class,
+            expectedExceptionsMessageRegExp = "Error in parsing JSON data: broken stream")
+    void testParseStreamReadFailure() {
+        InputStream in = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken stream");
+            }
+        };
+        JsonUtils.parse(in, StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * An input stream which returns a single byte on each read.
+     */
+    private static class TrickleInputStream extends ByteArrayInputStream {
+
+        TrickleInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1));
+        }
+    }
+}
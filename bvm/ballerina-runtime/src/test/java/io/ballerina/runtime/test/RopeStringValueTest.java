@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.BmpStringValue;
+import io.ballerina.runtime.internal.values.NonBmpStringValue;
+import io.ballerina.runtime.internal.values.RopeStringValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+
+/**
+ * Test strings concatenated into a {@link RopeStringValue}.
+ *
+ * @since 2.0.0
+ */
+public class RopeStringValueTest {
+
+    private static final String SAUCER = new String(Character.toChars(0x1F6F8)); // U+1F6F8 = FLYING SAUCER
+    private static final String ALIEN = new String(Character.toChars(0x1F47D)); // U+1F47D = EXTRATERRESTRIAL ALIEN
+    private static final String BMP_TEXT = "a".repeat(200);
+
+    @Test
+    void testShortConcatIsNotRope() {
+        BString str = StringUtils.fromString("abc").concat(StringUtils.fromString("def"));
+        Assert.assertTrue(str instanceof BmpStringValue);
+        Assert.assertEquals(str.getValue(), "abcdef");
+    }
+
+    @Test
+    void testNonBmpConcatOffsetsRightSurrogates() {
+        // Short enough to be concatenated eagerly, the surrogates of the right operand must be moved after the left.
+        BString left = StringUtils.fromString("x" + SAUCER + "y");
+        BString right = StringUtils.fromString("z" + ALIEN);
+        BString str = left.concat(right);
+        Assert.assertTrue(str instanceof NonBmpStringValue);
+        Assert.assertEquals(str.length(), 5);
+        Assert.assertEquals(str.getCodePoint(1), 0x1F6F8);
+        Assert.assertEquals(str.getCodePoint(2), 'y');
+        Assert.assertEquals(str.getCodePoint(3), 'z');
+        Assert.assertEquals(str.getCodePoint(4), 0x1F47D);
+
+        BString bmpLeft = StringUtils.fromString("xy").concat(right);
+        Assert.assertEquals(bmpLeft.getCodePoint(3), 0x1F47D);
+        Assert.assertEquals(bmpLeft.substring(2, 4).getValue(), "z" + ALIEN);
+    }
+
+    @Test
+    void testSurrogatePairsAcrossBoundary() {
+        String leftValue = BMP_TEXT + SAUCER;
+        String rightValue = ALIEN + BMP_TEXT + SAUCER;
+        BString str = StringUtils.fromString(leftValue).concat(StringUtils.fromString(rightValue));
+        Assert.assertTrue(str instanceof RopeStringValue);
+
+        String expected = leftValue + rightValue;
+        int[] codePoints = expected.codePoints().toArray();
+        Assert.assertEquals(str.length(), codePoints.length);
+        for (int i = 0; i < codePoints.length; i++) {
+            Assert.assertEquals(str.getCodePoint(i), codePoints[i], "code point at " + i);
+        }
+        Assert.assertEquals(str.getValue(), expected);
+    }
+
+    @Test
+    void testBmpAndNonBmpOperands() {
+        BString bmp = StringUtils.fromString(BMP_TEXT);
+        BString nonBmp = StringUtils.fromString(ALIEN + BMP_TEXT);
+
+        BString bmpFirst = bmp.concat(nonBmp);
+        Assert.assertEquals(bmpFirst.length(), 401);
+        Assert.assertEquals(bmpFirst.getCodePoint(199), 'a');
+        Assert.assertEquals(bmpFirst.getCodePoint(200), 0x1F47D);
+        Assert.assertEquals(bmpFirst.getCodePoint(201), 'a');
+
+        BString nonBmpFirst = nonBmp.concat(bmp);
+        Assert.assertEquals(nonBmpFirst.length(), 401);
+        Assert.assertEquals(nonBmpFirst.getCodePoint(0), 0x1F47D);
+        Assert.assertEquals(nonBmpFirst.getCodePoint(400), 'a');
+
+        BString bmpOnly = bmp.concat(bmp);
+        Assert.assertTrue(bmpOnly instanceof RopeStringValue);
+        Assert.assertEquals(bmpOnly.length(), 400);
+        Assert.assertEquals(bmpOnly.getValue(), BMP_TEXT + BMP_TEXT);
+    }
+
+    @Test
+    void testSubstringOfRope() {
+        String leftValue = BMP_TEXT + SAUCER + "b";
+        String rightValue = "c" + ALIEN + BMP_TEXT;
+        BString str = StringUtils.fromString(leftValue).concat(StringUtils.fromString(rightValue));
+
+        // code points 199..204 are "a", SAUCER, "b", "c", ALIEN
+        Assert.assertEquals(str.substring(199, 204).getValue(), "a" + SAUCER + "bc" + ALIEN);
+        Assert.assertEquals(str.substring(202, 204).getValue(), "c" + ALIEN);
+        Assert.assertEquals(str.substring(0, 200).getValue(), BMP_TEXT);
+        Assert.assertEquals(str.substring(204, str.length()).getValue(), BMP_TEXT);
+        Assert.assertEquals(str.substring(203, 204).getCodePoint(0), 0x1F47D);
+    }
+
+    @Test
+    void testIndexOfInRope() {
+        BString str = StringUtils.fromString(BMP_TEXT + SAUCER + "b")
+                .concat(StringUtils.fromString("c" + ALIEN + "d" + BMP_TEXT));
+        Assert.assertEquals(str.indexOf(StringUtils.fromString("bc"), 0), Long.valueOf(201));
+        Assert.assertEquals(str.indexOf(StringUtils.fromString("d"), 0), Long.valueOf(204));
+        Assert.assertEquals(str.lastIndexOf(StringUtils.fromString(SAUCER), str.length() - 1), Long.valueOf(200));
+    }
+
+    @Test
+    void testFlattenOnFirstUse() throws ReflectiveOperationException {
+        BString left = StringUtils.fromString(BMP_TEXT);
+        BString right = StringUtils.fromString(SAUCER + BMP_TEXT);
+        BString str = left.concat(right);
+
+        // The length is known without flattening.
+        Assert.assertEquals(str.length(), 401);
+        Assert.assertNull(getField(str, "flat"));
+        Assert.assertSame(getField(str, "left"), left);
+
+        String value = str.getValue();
+        Assert.assertTrue(getField(str, "flat") instanceof NonBmpStringValue);
+        Assert.assertNull(getField(str, "left"));
+        Assert.assertNull(getField(str, "right"));
+        Assert.assertSame(str.getValue(), value);
+        Assert.assertEquals(str.getCodePoint(200), 0x1F6F8);
+    }
+
+    @Test
+    void testFlattenDeepRope() {
+        StringBuilder expected = new StringBuilder();
+        BString str = StringUtils.fromString("");
+        for (int i = 0; i < 100000; i++) {
+            String part = i % 1000 == 0 ? ALIEN : "ab";
+            expected.append(part);
+            str = str.concat(StringUtils.fromString(part));
+        }
+        Assert.assertTrue(str instanceof RopeStringValue);
+        Assert.assertEquals(str.length(), expected.codePointCount(0, expected.length()));
+        Assert.assertEquals(str.getValue(), expected.toString());
+        Assert.assertEquals(str.getCodePoint(str.length() - 1), 'b');
+    }
+
+    @Test
+    void testRopeOfFlattenedRopes() {
+        BString inner = StringUtils.fromString(BMP_TEXT).concat(StringUtils.fromString(SAUCER + BMP_TEXT));
+        Assert.assertEquals(inner.getCodePoint(200), 0x1F6F8);
+
+        BString outer = inner.concat(inner);
+        Assert.assertEquals(outer.length(), 802);
+        Assert.assertEquals(outer.getCodePoint(601), 0x1F6F8);
+        Assert.assertEquals(outer.getValue(), inner.getValue() + inner.getValue());
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        String value = BMP_TEXT + ALIEN + BMP_TEXT;
+        BString rope = StringUtils.fromString(BMP_TEXT).concat(StringUtils.fromString(ALIEN + BMP_TEXT));
+        BString flat = StringUtils.fromString(value);
+        Assert.assertEquals(rope, flat);
+        Assert.assertEquals(flat, rope);
+        Assert.assertEquals(rope.hashCode(), flat.hashCode());
+        Assert.assertNotEquals(rope, StringUtils.fromString(value + "a"));
+    }
+
+    private static Object getField(BString str, String name) throws ReflectiveOperationException {
+        Field field = RopeStringValue.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(str);
+    }
+}
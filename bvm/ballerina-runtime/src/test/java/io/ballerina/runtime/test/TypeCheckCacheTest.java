@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.internal.TypeCheckCache;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.types.BArrayType;
+import io.ballerina.runtime.internal.types.BField;
+import io.ballerina.runtime.internal.types.BIntersectionType;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BRecordType;
+import io.ballerina.runtime.internal.types.BUnionType;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test the cache of the type level checks in {@link TypeChecker}.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckCacheTest {
+
+    private static final Module MODULE = new Module("testorg", "types", "1.0.0");
+
+    @Test(dataProvider = "typePairs")
+    public void testCachedResultMatchesUncachedCheck(Type sourceType, Type targetType) {
+        TypeCheckCache cache = TypeChecker.getTypeCheckCache();
+        // a non null list of unresolved types bypasses the cache
+        boolean expected = TypeChecker.checkIsType(sourceType, targetType, new ArrayList<>());
+
+        long misses = cache.getMissCount();
+        Assert.assertEquals(TypeChecker.checkIsType(sourceType, targetType), expected);
+        Assert.assertTrue(cache.getMissCount() > misses, "first check is not a cache miss");
+
+        long hits = cache.getHitCount();
+        Assert.assertEquals(TypeChecker.checkIsType(sourceType, targetType), expected);
+        Assert.assertTrue(cache.getHitCount() > hits, "second check is not a cache hit");
+    }
+
+    @DataProvider(name = "typePairs")
+    public Object[][] typePairs() {
+        BRecordType node = createNodeType("Node");
+        BRecordType otherNode = createNodeType("OtherNode");
+        BUnionType cyclicJson = createCyclicJsonType();
+        BArrayType intArray = new BArrayType(PredefinedTypes.TYPE_INT);
+        BIntersectionType readonlyIntArray = new BIntersectionType(
+                MODULE, new Type[]{intArray, PredefinedTypes.TYPE_READONLY},
+                new BArrayType(PredefinedTypes.TYPE_INT, true), 0, true);
+        BUnionType nullableNode = new BUnionType(new Type[]{node, PredefinedTypes.TYPE_NULL},
+                                                 new Type[]{node, PredefinedTypes.TYPE_NULL}, 0);
+        return new Object[][]{
+                // recursive record types, which are compared structurally
+                {node, otherNode},
+                {node, new BMapType(PredefinedTypes.TYPE_ANYDATA)},
+                {node, new BMapType(PredefinedTypes.TYPE_STRING)},
+                {nullableNode, new BUnionType(new Type[]{otherNode, PredefinedTypes.TYPE_NULL},
+                                              new Type[]{otherNode, PredefinedTypes.TYPE_NULL}, 0)},
+                // cyclic union types
+                {cyclicJson, PredefinedTypes.TYPE_JSON},
+                {cyclicJson, PredefinedTypes.TYPE_ANYDATA},
+                {cyclicJson, new BMapType(PredefinedTypes.TYPE_JSON)},
+                {new BArrayType(cyclicJson), new BArrayType(PredefinedTypes.TYPE_JSON)},
+                // readonly intersection types
+                {readonlyIntArray, intArray},
+                {readonlyIntArray, new BArrayType(PredefinedTypes.TYPE_ANYDATA)},
+                {readonlyIntArray, new BArrayType(PredefinedTypes.TYPE_STRING)}
+        };
+    }
+
+    @Test
+    public void testMutableSourceIsNotCachedForReadonlyTarget() {
+        BArrayType intArray = new BArrayType(PredefinedTypes.TYPE_INT);
+        BArrayType readonlyIntArray = new BArrayType(PredefinedTypes.TYPE_INT, true);
+        Assert.assertFalse(TypeChecker.checkIsType(intArray, readonlyIntArray, new ArrayList<>()));
+
+        TypeCheckCache cache = TypeChecker.getTypeCheckCache();
+        long misses = cache.getMissCount();
+        long hits = cache.getHitCount();
+        Assert.assertFalse(TypeChecker.checkIsType(intArray, readonlyIntArray));
+        Assert.assertFalse(TypeChecker.checkIsType(intArray, readonlyIntArray));
+        Assert.assertEquals(cache.getMissCount(), misses);
+        Assert.assertEquals(cache.getHitCount(), hits);
+    }
+
+    @Test
+    public void testCachedResultsAreKeyedByTypeIdentity() {
+        BRecordType node = createNodeType("Node");
+        BMapType stringMap = new BMapType(PredefinedTypes.TYPE_STRING);
+        Assert.assertFalse(TypeChecker.checkIsType(node, stringMap));
+
+        // a structurally equal pair of other type instances is checked again rather than answered from the cache
+        long misses = TypeChecker.getTypeCheckCache().getMissCount();
+        Assert.assertFalse(TypeChecker.checkIsType(createNodeType("Node"), new BMapType(PredefinedTypes.TYPE_STRING)));
+        Assert.assertTrue(TypeChecker.getTypeCheckCache().getMissCount() > misses);
+        Assert.assertTrue(TypeChecker.checkIsType(node, node));
+    }
+
+    // record {| int value; T? next; |}
+    private static BRecordType createNodeType(String name) {
+        BRecordType nodeType = new BRecordType(name, MODULE, 0, true, 0);
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("value", new BField(PredefinedTypes.TYPE_INT, "value", SymbolFlags.REQUIRED));
+        fields.put("next", new BField(new BUnionType(new Type[]{nodeType, PredefinedTypes.TYPE_NULL},
+                                                     new Type[]{nodeType, PredefinedTypes.TYPE_NULL}, 0),
+                                      "next", SymbolFlags.REQUIRED));
+        nodeType.setFields(fields);
+        return nodeType;
+    }
+
+    // type MyJson ()|boolean|int|float|string|MyJson[]|map<MyJson>;
+    private static BUnionType createCyclicJsonType() {
+        BUnionType jsonType = new BUnionType("MyJson", MODULE, 0, true, 0);
+        Type[] memberTypes = new Type[]{PredefinedTypes.TYPE_NULL, PredefinedTypes.TYPE_BOOLEAN,
+                PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_FLOAT, PredefinedTypes.TYPE_STRING,
+                new BArrayType(jsonType), new BMapType(jsonType)};
+        jsonType.setMemberTypes(memberTypes);
+        jsonType.setOriginalMemberTypes(memberTypes);
+        return jsonType;
+    }
+}
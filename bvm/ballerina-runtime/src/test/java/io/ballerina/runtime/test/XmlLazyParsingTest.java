@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.test;
+
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.runtime.internal.XmlFactory;
+import io.ballerina.runtime.internal.XmlTreeBuilder;
+import io.ballerina.runtime.internal.values.LazyXmlChildList;
+import io.ballerina.runtime.internal.values.XmlItem;
+import io.ballerina.runtime.internal.values.XmlSequence;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Test lazy parsing of large xml sources.
+ *
+ * @since 2.0.0
+ */
+public class XmlLazyParsingTest {
+
+    private static String createFeed(String lastEntryContent) {
+        StringBuilder feed = new StringBuilder("<?xml version=\"1.0\"?><s:Envelope xmlns:s=\"urn:s\"><s:Body>" +
+                "<feed xmlns=\"urn:feed\" xmlns:x=\"urn:x\">");
+        for (int i = 0; i < 2000; i++) {
+            feed.append("<entry id='").append(i).append("' x:note='a > b'><title>Title &amp; ").append(i)
+                    .append("</title><!-- <entry> --><x:content><![CDATA[<raw>]]></x:content><?pi data?>\r\n")
+                    .append(i % 500 == 0 ? "<big>" + "<item/>text".repeat(2000) + "</big>" : "")
+                    .append("</entry>");
+        }
+        return feed.append("<entry>").append(lastEntryContent).append("</entry></feed></s:Body></s:Envelope>")
+                .toString();
+    }
+
+    @Test
+    public void testLazyParseBuildsSameTree() {
+        String source = createFeed("<x:last xmlns=''>end</x:last>");
+        BXml eager = new XmlTreeBuilder(new StringReader(source)).parse();
+        BXml lazy = new XmlTreeBuilder(source).parse();
+        BXml lastEntry = lazy.children().children().children().getItem(2000);
+        Assert.assertEquals(lastEntry.children().getItem(0).getElementName(), "{urn:x}last");
+        Assert.assertEquals(lazy.toString(), eager.toString());
+        Assert.assertEquals(lazy, eager);
+    }
+
+    @Test
+    public void testLongContentIsDeferredUntilAccessed() {
+        BXml document = new XmlTreeBuilder(createFeed("")).parse();
+        XmlItem envelope = (XmlItem) document.getItem(0);
+        LazyXmlChildList envelopeChildren = getLazyChildren(envelope);
+        Assert.assertFalse(envelopeChildren.isExpanded());
+
+        // Accessing the children builds a single level.
+        XmlItem body = (XmlItem) envelope.children().getItem(0);
+        Assert.assertTrue(envelopeChildren.isExpanded());
+        Assert.assertEquals(body.getElementName(), "{urn:s}Body");
+        LazyXmlChildList bodyChildren = getLazyChildren(body);
+        Assert.assertFalse(bodyChildren.isExpanded());
+
+        XmlItem feed = (XmlItem) body.children().getItem(0);
+        LazyXmlChildList feedChildren = getLazyChildren(feed);
+        Assert.assertFalse(feedChildren.isExpanded());
+        Assert.assertEquals(feedChildren.size(), 2001);
+        Assert.assertTrue(feedChildren.isExpanded());
+
+        // An entry with a big element is itself longer than the threshold, while the others are built right away.
+        XmlItem bigEntry = (XmlItem) feedChildren.get(0);
+        Assert.assertFalse(getLazyChildren(bigEntry).isExpanded());
+        XmlItem entry = (XmlItem) feedChildren.get(1);
+        Assert.assertFalse(getChildren(entry) instanceof LazyXmlChildList);
+        Assert.assertEquals(entry.children().getItem(0).getTextValue(), "Title & 1");
+
+        XmlItem big = (XmlItem) bigEntry.children().getItem(5);
+        Assert.assertEquals(big.getElementName(), "{urn:feed}big");
+        LazyXmlChildList bigChildren = getLazyChildren(big);
+        Assert.assertFalse(bigChildren.isExpanded());
+        Assert.assertEquals(big.children().size(), 4000);
+        Assert.assertTrue(bigChildren.isExpanded());
+    }
+
+    @Test
+    public void testShortSourceIsParsedEagerly() {
+        // The content of the element is longer than the content threshold, but the source is shorter than the
+        // source threshold.
+        String source = "<root xmlns='urn:root'>" + "<item/>text".repeat(5000) + "</root>";
+        Assert.assertTrue(source.length() < 64 * 1024);
+        XmlItem root = (XmlItem) new XmlTreeBuilder(source).parse().getItem(0);
+        Assert.assertFalse(getChildren(root) instanceof LazyXmlChildList);
+        Assert.assertEquals(root.children().size(), 10000);
+    }
+
+    @Test
+    public void testLazyParseReportsErrorsInDeferredContent() {
+        // Both are in content which is long enough to be deferred.
+        String undeclaredPrefix = createFeed("<y:last/>");
+        BError error = Assert.expectThrows(BError.class, () -> XmlFactory.parse(undeclaredPrefix));
+        Assert.assertTrue(error.getMessage().matches("(?s)failed to parse xml: .*Undeclared namespace prefix " +
+                                                     "\"y\".*"), error.getMessage());
+
+        String mismatchedTag = createFeed("<last></first>");
+        error = Assert.expectThrows(BError.class, () -> XmlFactory.parse(mismatchedTag));
+        Assert.assertTrue(error.getMessage().startsWith("failed to parse xml: "), error.getMessage());
+
+        String undefinedEntity = createFeed("&undefined;");
+        error = Assert.expectThrows(BError.class, () -> XmlFactory.parse(undefinedEntity));
+        Assert.assertTrue(error.getMessage().startsWith("failed to parse xml: "), error.getMessage());
+    }
+
+    @Test
+    public void testIsEmptyBuildsDeferredChildren() {
+        String source = "<root>" + "<!-- comment -->".repeat(8000) + "</root>";
+        XmlItem root = (XmlItem) new XmlTreeBuilder(source).parse().getItem(0);
+        LazyXmlChildList children = getLazyChildren(root);
+        Assert.assertFalse(children.isEmpty());
+        Assert.assertTrue(children.isExpanded());
+        Assert.assertEquals(children.size(), 8000);
+
+        String whitespace = "<root>" + " ".repeat(80000) + "</root>";
+        children = getLazyChildren((XmlItem) new XmlTreeBuilder(whitespace).parse().getItem(0));
+        Assert.assertEquals(children.isEmpty(), children.expand().isEmpty());
+    }
+
+    @Test
+    public void testReaderSourceIsParsedWhileReading() {
+        String source = createFeed("<x:last/>");
+        BXml document = XmlFactory.parse(new StringReader(source));
+        XmlItem envelope = (XmlItem) document.getItem(0);
+        Assert.assertFalse(getChildren(envelope) instanceof LazyXmlChildList);
+        Assert.assertEquals(document, new XmlTreeBuilder(source).parse());
+
+        BError error = Assert.expectThrows(BError.class,
+                                           () -> XmlFactory.parse(new StringReader(createFeed("<y:last/>"))));
+        Assert.assertTrue(error.getMessage().startsWith("failed to create xml: "), error.getMessage());
+    }
+
+    private static List<BXml> getChildren(XmlItem element) {
+        return ((XmlSequence) element.getChildrenSeq()).getChildrenList();
+    }
+
+    private static LazyXmlChildList getLazyChildren(XmlItem element) {
+        List<BXml> children = getChildren(element);
+        Assert.assertTrue(children instanceof LazyXmlChildList, "children of " + element.getElementName() +
+                " are not deferred");
+        return (LazyXmlChildList) children;
+    }
+}
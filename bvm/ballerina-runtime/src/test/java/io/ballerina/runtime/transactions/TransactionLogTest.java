@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.transactions;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+/**
+ * Test the coordinator log of XA transactions and the recovery of in-doubt transactions.
+ *
+ * @since 2.0.0
+ */
+public class TransactionLogTest {
+
+    // [length][crc32][type][branches][formatId][gtrid length][gtrid][bqual length][bqual] of the ids created here
+    private static final int RECORD_SIZE = 4 + 4 + 1 + 4 + 4 + 2 + 4 + 2 + 2;
+    private static final int SEGMENT_SIZE = 256;
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("transaction-log-test");
+    }
+
+    @AfterMethod
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testRecoveryEndsOnceEveryBranchIsCommitted() throws IOException {
+        Xid xid = createXid(1);
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            log.logCommit(xid, 2);
+        }
+
+        FakeXAResource first = new FakeXAResource(xid);
+        FakeXAResource second = new FakeXAResource(xid);
+        FakeXAResource unrelated = new FakeXAResource(createXid(2));
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            Assert.assertTrue(log.hasInDoubtTransactions());
+            Assert.assertEquals(log.getPendingBranches(xid), 2);
+
+            // A resource which does not take part in the transaction does not resolve any of its branches.
+            log.recover(unrelated);
+            Assert.assertEquals(log.getPendingBranches(xid), 2);
+            Assert.assertTrue(unrelated.isPrepared(createXid(2)));
+
+            log.recover(first);
+            Assert.assertFalse(first.isPrepared(xid));
+            Assert.assertEquals(log.getPendingBranches(xid), 1);
+            Assert.assertTrue(log.hasInDoubtTransactions());
+
+            // Each resource instance is scanned only once.
+            first.prepare(xid);
+            log.recover(first);
+            Assert.assertTrue(first.isPrepared(xid));
+            Assert.assertEquals(log.getPendingBranches(xid), 1);
+        }
+
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            // The next run only waits for the branch which is still prepared.
+            Assert.assertEquals(log.getPendingBranches(xid), 1);
+            log.recover(second);
+            Assert.assertFalse(second.isPrepared(xid));
+            Assert.assertEquals(log.getPendingBranches(xid), 0);
+            Assert.assertFalse(log.hasInDoubtTransactions());
+        }
+
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            Assert.assertFalse(log.hasInDoubtTransactions());
+        }
+    }
+
+    @Test
+    public void testFailedRecoveryCommitKeepsBranchPending() throws IOException {
+        Xid xid = createXid(1);
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            log.logCommit(xid, 1);
+        }
+
+        FakeXAResource failing = new FakeXAResource(xid);
+        failing.failCommit = true;
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            log.recover(failing);
+            Assert.assertEquals(log.getPendingBranches(xid), 1);
+
+            FakeXAResource retry = new FakeXAResource(xid);
+            log.recover(retry);
+            Assert.assertEquals(log.getPendingBranches(xid), 0);
+        }
+    }
+
+    @Test
+    public void testRecommitSupersedesBranchCount() throws IOException {
+        Xid xid = createXid(1);
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            log.logCommit(xid, 3);
+            log.logCommit(xid, 1);
+        }
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            Assert.assertEquals(log.getPendingBranches(xid), 1);
+            log.recover(new FakeXAResource(xid));
+            Assert.assertFalse(log.hasInDoubtTransactions());
+        }
+    }
+
+    @Test
+    public void testTornRecordEndsTheSegment() throws IOException {
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            log.logCommit(createXid(1), 1);
+            log.logCommit(createXid(2), 1);
+            log.logCommit(createXid(3), 1);
+        }
+        // Corrupt the last byte of the second record, the records from there on are not read.
+        overwrite(getSegments().get(0), RECORD_SIZE * 2 - 1, new byte[]{(byte) 0xff});
+
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            Assert.assertEquals(log.getPendingBranches(createXid(1)), 1);
+            Assert.assertEquals(log.getPendingBranches(createXid(2)), 0);
+            Assert.assertEquals(log.getPendingBranches(createXid(3)), 0);
+        }
+
+        // The surviving record is carried over to a new segment, and the old segments are deleted.
+        List<Path> segments = getSegments();
+        Assert.assertEquals(segments.size(), 1);
+        // A length which runs past the end of the segment is read as a torn write as well.
+        overwrite(segments.get(0), 0, ByteBuffer.allocate(4).putInt(SEGMENT_SIZE).array());
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            Assert.assertFalse(log.hasInDoubtTransactions());
+        }
+    }
+
+    @Test
+    public void testGroupCommitFromConcurrentThreads() throws Exception {
+        int threadCount = 8;
+        int commitsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try (TransactionLog log = new TransactionLog(directory, 64 * 1024)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threadCount; thread++) {
+                int first = thread * commitsPerThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < first + commitsPerThread; i++) {
+                        log.logCommit(createXid(i), 1);
+                        if (i % 2 == 0) {
+                            log.logEnd(createXid(i));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try (TransactionLog log = new TransactionLog(directory, 64 * 1024)) {
+            for (int i = 0; i < threadCount * commitsPerThread; i++) {
+                Assert.assertEquals(log.getPendingBranches(createXid(i)), i % 2 == 0 ? 0 : 1, "transaction " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testRotatedSegmentsAreDeletedOnceResolved() throws IOException {
+        Xid pending = createXid(-1);
+        Xid resolved = createXid(-2);
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            log.logCommit(resolved, 1);
+            for (int i = 0; i < 100; i++) {
+                log.logCommit(createXid(i), 1);
+                log.logEnd(createXid(i));
+            }
+            // The first segment holds a pending decision, so neither it nor the segments after it can go.
+            Assert.assertTrue(getSegments().size() > 10, "segments are deleted while a decision is pending");
+
+            log.logEnd(resolved);
+            for (int i = 100; i < 200; i++) {
+                log.logCommit(createXid(i), 1);
+                log.logEnd(createXid(i));
+            }
+            // Every closed segment goes on the first rotation after the pending decision is resolved.
+            Assert.assertEquals(getSegments().size(), 1);
+
+            log.logCommit(pending, 1);
+            List<Path> segments = getSegments();
+            Path pendingSegment = segments.get(segments.size() - 1);
+            for (int i = 200; i < 300; i++) {
+                log.logCommit(createXid(i), 1);
+                log.logEnd(createXid(i));
+            }
+            // The segment of the pending decision is the oldest one kept.
+            Assert.assertEquals(getSegments().get(0), pendingSegment);
+            Assert.assertTrue(getSegments().size() > 10);
+        }
+
+        try (TransactionLog log = new TransactionLog(directory, SEGMENT_SIZE)) {
+            Assert.assertEquals(log.getPendingBranches(pending), 1);
+            Assert.assertEquals(log.getPendingBranches(resolved), 0);
+            for (int i = 0; i < 300; i++) {
+                Assert.assertEquals(log.getPendingBranches(createXid(i)), 0, "transaction " + i);
+            }
+        }
+        Assert.assertEquals(getSegments().size(), 1);
+    }
+
+    private static Xid createXid(int id) {
+        return new XATransactionID(1, new byte[]{1, 2},
+                                   ByteBuffer.allocate(Integer.BYTES).putInt(id).array());
+    }
+
+    private List<Path> getSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(TransactionLogTest::getSegmentId));
+        return segments;
+    }
+
+    private static long getSegmentId(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(TransactionLog.SEGMENT_PREFIX.length(),
+                                             name.length() - TransactionLog.SEGMENT_SUFFIX.length()));
+    }
+
+    private static void overwrite(Path segment, int position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    /**
+     * A resource manager which reports the branches prepared in it on recovery.
+     */
+    private static class FakeXAResource implements XAResource {
+
+        private final Map<String, Xid> preparedXids = new LinkedHashMap<>();
+        private boolean failCommit;
+
+        private FakeXAResource(Xid... xids) {
+            for (Xid xid : xids) {
+                prepare(xid);
+            }
+        }
+
+        private boolean isPrepared(Xid xid) {
+            return preparedXids.containsKey(getKey(xid));
+        }
+
+        @Override
+        public Xid[] recover(int flag) {
+            return preparedXids.values().toArray(new Xid[0]);
+        }
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) throws XAException {
+            if (failCommit) {
+                throw new XAException(XAException.XAER_RMFAIL);
+            }
+            if (preparedXids.remove(getKey(xid)) == null) {
+                throw new XAException(XAException.XAER_NOTA);
+            }
+        }
+
+        @Override
+        public int prepare(Xid xid) {
+            preparedXids.put(getKey(xid), xid);
+            return XA_OK;
+        }
+
+        @Override
+        public void rollback(Xid xid) {
+            preparedXids.remove(getKey(xid));
+        }
+
+        @Override
+        public void start(Xid xid, int flags) {
+        }
+
+        @Override
+        public void end(Xid xid, int flags) {
+        }
+
+        @Override
+        public void forget(Xid xid) {
+        }
+
+        @Override
+        public int getTransactionTimeout() {
+            return 0;
+        }
+
+        @Override
+        public boolean setTransactionTimeout(int seconds) {
+            return false;
+        }
+
+        @Override
+        public boolean isSameRM(XAResource xaResource) {
+            return xaResource == this;
+        }
+
+        private static String getKey(Xid xid) {
+            return xid.getFormatId() + Arrays.toString(xid.getGlobalTransactionId()) +
+                    Arrays.toString(xid.getBranchQualifier());
+        }
+    }
+}
@@ -135,6 +135,9 @@ public class BuildCommand implements BLauncherCmd {
     @CommandLine.Option(names = "--dump-bir-file", hidden = true)
     private String dumpBIRFile;
 
+    @CommandLine.Option(names = "--dump-type-check-stats", hidden = true)
+    private Boolean dumpTypeCheckStats;
+
     @CommandLine.Option(names = {"--help", "-h"}, hidden = true)
     private boolean helpFlag;
 
@@ -171,6 +174,10 @@ public class BuildCommand implements BLauncherCmd {
             description = "list conflicted classes when generating executable")
     private Boolean listConflictedClasses;
 
+    @CommandLine.Option(names = "--optimization-level", description = "level of the optimizations applied to the " +
+            "intermediate representation (0 - 2).")
+    private Integer optimizationLevel;
+
     public void execute() {
         if (this.helpFlag) {
             String commandUsageInfo = BLauncherCmd.getCommandUsageInfo(BUILD_COMMAND);
@@ -190,6 +197,15 @@ public class BuildCommand implements BLauncherCmd {
             coverage = false;
         }
 
+        if (this.optimizationLevel != null && (this.optimizationLevel < 0 || this.optimizationLevel > 2)) {
+            CommandUtil.printError(this.errStream,
+                    "invalid optimization level '" + this.optimizationLevel + "'. The level should be 0, 1 or 2.",
+                    "bal build --optimization-level=<0|1|2> [<ballerina-file | package-path>]",
+                    true);
+            CommandUtil.exitError(this.exitWhenFinish);
+            return;
+        }
+
         BuildOptions buildOptions = constructBuildOptions();
 
         boolean isSingleFileBuild = false;
@@ -306,6 +322,8 @@ public class BuildCommand implements BLauncherCmd {
                 .dumpBir(dumpBIR)
                 .dumpBirFile(dumpBIRFile)
                 .listConflictedClasses(listConflictedClasses)
+                .optimizationLevel(optimizationLevel)
+                .dumpTypeCheckStats(dumpTypeCheckStats)
                 .build();
     }
 
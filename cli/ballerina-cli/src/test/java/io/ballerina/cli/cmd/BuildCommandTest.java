@@ -181,6 +181,20 @@ public class BuildCommandTest extends BaseCommandTest {
                 .contains("The file does not exist: " + validBalFilePath.toString()));
     }
 
+    @Test(description = "Build a valid ballerina file with an invalid optimization level")
+    public void testBuildWithInvalidOptimizationLevel() throws IOException {
+        Path validBalFilePath = this.testResources.resolve("valid-bal-file").resolve("hello_world.bal");
+        for (String level : new String[]{"3", "-1"}) {
+            BuildCommand buildCommand = new BuildCommand(validBalFilePath, printStream, printStream, false, true);
+            new CommandLine(buildCommand).parse("--optimization-level=" + level, validBalFilePath.toString());
+            buildCommand.execute();
+            String buildLog = readOutput(true);
+            Assert.assertTrue(buildLog.replaceAll("\r", "")
+                    .contains("invalid optimization level '" + level + "'. The level should be 0, 1 or 2."));
+            Assert.assertFalse(buildLog.contains("Compiling source"));
+        }
+    }
+
     @Test(enabled = false, description = "Build bal file with no entry")
     public void testBuildBalFileWithNoEntry() {
         // valid source root path
@@ -67,6 +67,10 @@ public class BuildOptions {
         return this.compilationOptions.getCloud();
     }
 
+    public int optimizationLevel() {
+        return this.compilationOptions.optimizationLevel();
+    }
+
     CompilationOptions compilationOptions() {
         return compilationOptions;
     }
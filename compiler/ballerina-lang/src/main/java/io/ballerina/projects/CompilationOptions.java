@@ -33,10 +33,13 @@ class CompilationOptions {
     private String dumpBirFile;
     private String cloud;
     private Boolean listConflictedClasses;
+    private Integer optimizationLevel;
+    private Boolean dumpTypeCheckStats;
 
     public CompilationOptions(Boolean skipTests, Boolean offlineBuild, Boolean experimental,
                               Boolean observabilityIncluded, Boolean dumpBir, String dumpBirFile,
-                              String cloud, Boolean listConflictedClasses) {
+                              String cloud, Boolean listConflictedClasses, Integer optimizationLevel,
+                              Boolean dumpTypeCheckStats) {
         this.skipTests = skipTests;
         this.offlineBuild = offlineBuild;
         this.experimental = experimental;
@@ -45,6 +48,8 @@ class CompilationOptions {
         this.dumpBirFile = dumpBirFile;
         this.cloud = cloud;
         this.listConflictedClasses = listConflictedClasses;
+        this.optimizationLevel = optimizationLevel;
+        this.dumpTypeCheckStats = dumpTypeCheckStats;
     }
 
     boolean skipTests() {
@@ -79,6 +84,14 @@ class CompilationOptions {
         return toBooleanDefaultIfNull(listConflictedClasses);
     }
 
+    public int optimizationLevel() {
+        return optimizationLevel == null ? 0 : optimizationLevel;
+    }
+
+    public boolean dumpTypeCheckStats() {
+        return toBooleanDefaultIfNull(dumpTypeCheckStats);
+    }
+
     /**
      * Merge the given compilation options by favoring theirs if there are conflicts.
      *
@@ -100,6 +113,10 @@ class CompilationOptions {
         this.dumpBirFile = theirOptions.dumpBirFile;
         this.listConflictedClasses = Objects.requireNonNullElseGet(
                 theirOptions.listConflictedClasses, () -> toBooleanDefaultIfNull(this.listConflictedClasses));
+        this.optimizationLevel = Objects.requireNonNullElseGet(
+                theirOptions.optimizationLevel, () -> optimizationLevel());
+        this.dumpTypeCheckStats = Objects.requireNonNullElseGet(
+                theirOptions.dumpTypeCheckStats, () -> toBooleanDefaultIfNull(this.dumpTypeCheckStats));
         return this;
     }
 
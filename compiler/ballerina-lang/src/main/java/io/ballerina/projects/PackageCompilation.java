@@ -40,9 +40,11 @@ import java.util.function.Function;
 import static org.ballerinalang.compiler.CompilerOptionName.CLOUD;
 import static org.ballerinalang.compiler.CompilerOptionName.DUMP_BIR;
 import static org.ballerinalang.compiler.CompilerOptionName.DUMP_BIR_FILE;
+import static org.ballerinalang.compiler.CompilerOptionName.DUMP_TYPE_CHECK_STATS;
 import static org.ballerinalang.compiler.CompilerOptionName.EXPERIMENTAL_FEATURES_ENABLED;
 import static org.ballerinalang.compiler.CompilerOptionName.OBSERVABILITY_INCLUDED;
 import static org.ballerinalang.compiler.CompilerOptionName.OFFLINE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
 import static org.ballerinalang.compiler.CompilerOptionName.SKIP_TESTS;
 
 /**
@@ -86,6 +88,8 @@ public class PackageCompilation {
         options.put(DUMP_BIR, Boolean.toString(compilationOptions.dumpBir()));
         options.put(DUMP_BIR_FILE, compilationOptions.getBirDumpFile());
         options.put(CLOUD, compilationOptions.getCloud());
+        options.put(OPTIMIZATION_LEVEL, Integer.toString(compilationOptions.optimizationLevel()));
+        options.put(DUMP_TYPE_CHECK_STATS, Boolean.toString(compilationOptions.dumpTypeCheckStats()));
     }
 
     static PackageCompilation from(PackageContext rootPackageContext) {
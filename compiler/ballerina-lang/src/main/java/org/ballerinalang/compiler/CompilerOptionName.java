@@ -64,6 +64,10 @@ public enum CompilerOptionName {
 
     LIST_CONFLICTED_CLASSES("listConflictedClasses"),
 
+    OPTIMIZATION_LEVEL("optimizationLevel"),
+
+    DUMP_TYPE_CHECK_STATS("dumpTypeCheckStats"),
+
     /**
      * We've introduced this temporary option to support old-project structure and the new package structure.
      * If the option is set, then the compilation is initiated by the Project APT.
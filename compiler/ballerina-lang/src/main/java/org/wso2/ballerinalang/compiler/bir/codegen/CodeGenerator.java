@@ -17,21 +17,27 @@
  */
 package org.wso2.ballerinalang.compiler.bir.codegen;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.wso2.ballerinalang.compiler.CompiledJarFile;
 import org.wso2.ballerinalang.compiler.PackageCache;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.Names;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.util.HashMap;
 
+import static org.wso2.ballerinalang.compiler.util.CompilerUtils.getBooleanValueIfSet;
+
 /**
  * JVM byte code generator from BIR model.
  *
@@ -44,6 +50,8 @@ public class CodeGenerator {
     private PackageCache packageCache;
     private BLangDiagnosticLog dlog;
     private CompilerContext compilerContext;
+    private Types types;
+    private boolean dumpTypeCheckStats;
 
     private CodeGenerator(CompilerContext compilerContext) {
 
@@ -52,6 +60,9 @@ public class CodeGenerator {
         this.packageCache = PackageCache.getInstance(compilerContext);
         this.dlog = BLangDiagnosticLog.getInstance(compilerContext);
         this.compilerContext = compilerContext;
+        this.types = Types.getInstance(compilerContext);
+        this.dumpTypeCheckStats = getBooleanValueIfSet(CompilerOptions.getInstance(compilerContext),
+                                                       CompilerOptionName.DUMP_TYPE_CHECK_STATS);
     }
 
     public static CodeGenerator getInstance(CompilerContext context) {
@@ -80,7 +91,7 @@ public class CodeGenerator {
         jvmObservabilityGen.instrumentPackage(packageSymbol.bir);
 
         dlog.setCurrentPackageId(packageSymbol.pkgID);
-        final JvmPackageGen jvmPackageGen = new JvmPackageGen(symbolTable, packageCache, dlog);
+        final JvmPackageGen jvmPackageGen = new JvmPackageGen(symbolTable, packageCache, dlog, types);
 
         populateExternalMap(jvmPackageGen);
 
@@ -90,6 +101,11 @@ public class CodeGenerator {
 
         // TODO Get-rid of the following assignment
         packageSymbol.compiledJarFile = jvmPackageGen.generate(packageSymbol.bir, true);
+        if (dumpTypeCheckStats) {
+            // the stream is looked up on each use, so that the report follows a redirected standard output
+            PrintStream console = System.out;
+            console.println(jvmPackageGen.getTypeCheckEliminator().getReport(packageSymbol.pkgID));
+        }
 
         //Revert encoding identifier names
         JvmDesugarPhase.replaceEncodedModuleIdentifiers(packageSymbol.bir, Names.getInstance(this.compilerContext),
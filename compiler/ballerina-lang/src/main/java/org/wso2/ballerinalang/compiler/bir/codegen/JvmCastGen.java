@@ -110,9 +110,12 @@ public class JvmCastGen {
 
     private final JvmTypeGen jvmTypeGen;
 
-    public JvmCastGen(SymbolTable symbolTable, JvmTypeGen jvmTypeGen) {
+    private final TypeCheckEliminator typeCheckEliminator;
+
+    public JvmCastGen(SymbolTable symbolTable, JvmTypeGen jvmTypeGen, TypeCheckEliminator typeCheckEliminator) {
         this.symbolTable = symbolTable;
         this.jvmTypeGen = jvmTypeGen;
+        this.typeCheckEliminator = typeCheckEliminator;
     }
 
     void generatePlatformCheckCast(MethodVisitor mv, BIRVarToJVMIndexMap indexMap, BType sourceType,
@@ -839,7 +842,7 @@ public class JvmCastGen {
                     return;
                 default:
                     // do the ballerina checkcast
-                    checkCast(mv, targetType);
+                    checkCastIfRequired(mv, sourceType, targetType);
                     break;
             }
         }
@@ -1266,7 +1269,7 @@ public class JvmCastGen {
 
         if (sourceType.tag == TypeTags.ANY || sourceType.tag == TypeTags.UNION ||
                 sourceType.tag == TypeTags.INTERSECTION) {
-            checkCast(mv, symbolTable.anydataType);
+            checkCastIfRequired(mv, sourceType, symbolTable.anydataType);
         } else {
             // if value types, then ad box instruction
             generateCastToAny(mv, sourceType);
@@ -1280,7 +1283,7 @@ public class JvmCastGen {
                 sourceType.tag == TypeTags.INTERSECTION ||
                 sourceType.tag == TypeTags.READONLY ||
                 sourceType.tag == TypeTags.MAP) {
-            checkCast(mv, symbolTable.jsonType);
+            checkCastIfRequired(mv, sourceType, symbolTable.jsonType);
         } else {
             // if value types, then ad box instruction
             generateCastToAny(mv, sourceType);
@@ -1290,11 +1293,21 @@ public class JvmCastGen {
     private void generateCheckCastToUnionType(MethodVisitor mv, BType sourceType, BUnionType targetType) {
 
         generateCastToAny(mv, sourceType);
+        checkCastIfRequired(mv, sourceType, targetType);
+    }
+
+    private void checkCastIfRequired(MethodVisitor mv, BType sourceType, BType targetType) {
+
+        // the cast always succeeds if the source type is a subtype of the target type
+        if (typeCheckEliminator.isCastEliminable(sourceType, targetType)) {
+            return;
+        }
         checkCast(mv, targetType);
     }
 
     private void checkCast(MethodVisitor mv, BType targetType) {
 
+        typeCheckEliminator.addRuntimeCast();
         jvmTypeGen.loadType(mv, targetType);
         mv.visitMethodInsn(INVOKESTATIC, TYPE_CHECKER, "checkCast",
                            String.format("(L%s;L%s;)L%s;", OBJECT, TYPE, OBJECT), false);
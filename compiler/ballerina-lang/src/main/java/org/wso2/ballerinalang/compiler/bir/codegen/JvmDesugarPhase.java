@@ -164,8 +164,8 @@ public class JvmDesugarPhase {
         return new Name(prefix + nextId);
     }
 
-    private static List<BType> updateParamTypesWithDefaultableBooleanVar(List<BType> funcParams, BType restType,
-                                                                         BType booleanType) {
+    static List<BType> updateParamTypesWithDefaultableBooleanVar(List<BType> funcParams, BType restType,
+                                                                 BType booleanType) {
 
         List<BType> paramTypes = new ArrayList<>();
 
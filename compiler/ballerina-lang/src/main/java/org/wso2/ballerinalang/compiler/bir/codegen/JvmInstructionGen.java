@@ -83,6 +83,7 @@ import static org.objectweb.asm.Opcodes.IFGT;
 import static org.objectweb.asm.Opcodes.IFLE;
 import static org.objectweb.asm.Opcodes.IFLT;
 import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IFNULL;
 import static org.objectweb.asm.Opcodes.IF_ICMPEQ;
 import static org.objectweb.asm.Opcodes.IF_ICMPGE;
 import static org.objectweb.asm.Opcodes.IF_ICMPGT;
@@ -91,6 +92,7 @@ import static org.objectweb.asm.Opcodes.IF_ICMPLT;
 import static org.objectweb.asm.Opcodes.IF_ICMPNE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INEG;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
@@ -1519,9 +1521,39 @@ public class JvmInstructionGen {
     }
 
     void generateTypeTestIns(BIRNonTerminator.TypeTest typeTestIns) {
+        BType sourceType = typeTestIns.rhsOp.variableDcl.type;
+        TypeCheckEliminator typeCheckEliminator = jvmPackageGen.getTypeCheckEliminator();
+
+        // the test is always true if the source type is a subtype of the target type
+        if (typeCheckEliminator.isTypeTestEliminable(sourceType, typeTestIns.type)) {
+            this.mv.visitInsn(ICONST_1);
+            this.storeToVar(typeTestIns.lhsOp.variableDcl);
+            return;
+        }
+
         // load source value
         this.loadVar(typeTestIns.rhsOp.variableDcl);
 
+        if (typeCheckEliminator.isNilTest(sourceType, typeTestIns.type)) {
+            Label nilLabel = new Label();
+            Label endLabel = new Label();
+            this.mv.visitJumpInsn(IFNULL, nilLabel);
+            this.mv.visitInsn(ICONST_0);
+            this.mv.visitJumpInsn(GOTO, endLabel);
+            this.mv.visitLabel(nilLabel);
+            this.mv.visitInsn(ICONST_1);
+            this.mv.visitLabel(endLabel);
+            this.storeToVar(typeTestIns.lhsOp.variableDcl);
+            return;
+        }
+
+        String instanceOfClass = typeCheckEliminator.getInstanceOfClass(sourceType, typeTestIns.type);
+        if (instanceOfClass != null) {
+            this.mv.visitTypeInsn(INSTANCEOF, instanceOfClass);
+            this.storeToVar(typeTestIns.lhsOp.variableDcl);
+            return;
+        }
+
         // load targetType
         jvmTypeGen.loadType(this.mv, typeTestIns.type);
 
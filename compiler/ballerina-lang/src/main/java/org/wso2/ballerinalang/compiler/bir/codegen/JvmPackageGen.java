@@ -43,15 +43,18 @@ import org.wso2.ballerinalang.compiler.bir.codegen.methodgen.MethodGenUtils;
 import org.wso2.ballerinalang.compiler.bir.codegen.methodgen.ModuleStopMethodGen;
 import org.wso2.ballerinalang.compiler.bir.model.BIRInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRGlobalVariableDcl;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.NewInstance;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarScope;
 import org.wso2.ballerinalang.compiler.diagnostic.BLangDiagnosticLog;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BObjectTypeSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
@@ -73,6 +76,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.ballerinalang.model.symbols.SymbolOrigin.VIRTUAL;
@@ -82,9 +86,11 @@ import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
 import static org.objectweb.asm.Opcodes.ACC_SUPER;
 import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.objectweb.asm.Opcodes.RETURN;
@@ -95,9 +101,12 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCodeGenUtil.toNameS
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BALLERINA;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.CURRENT_MODULE_VAR_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.ENCODED_DOT_CHARACTER;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.GLOBAL_LOCK_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.JVM_INIT_METHOD;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE_VAR_NAME;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VAR_NAME_PREFIX;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE_INIT_CLASS_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE_STARTED;
@@ -128,13 +137,16 @@ public class JvmPackageGen {
     private final FrameClassGen frameClassGen;
     private final InitMethodGen initMethodGen;
     private final ConfigMethodGen configMethodGen;
+    private final NonYieldingFunctionAnalyzer nonYieldingFunctionAnalyzer;
+    private final TypeCheckEliminator typeCheckEliminator;
+    private final OptionalPrimitiveUnboxer optionalPrimitiveUnboxer;
     private final Map<String, BIRFunctionWrapper> birFunctionMap;
     private final Map<String, String> externClassMap;
     private final Map<String, String> globalVarClassMap;
     private final Set<PackageID> dependentModules;
     private final BLangDiagnosticLog dlog;
 
-    JvmPackageGen(SymbolTable symbolTable, PackageCache packageCache, BLangDiagnosticLog dlog) {
+    JvmPackageGen(SymbolTable symbolTable, PackageCache packageCache, BLangDiagnosticLog dlog, Types types) {
         birFunctionMap = new HashMap<>();
         globalVarClassMap = new HashMap<>();
         externClassMap = new HashMap<>();
@@ -146,6 +158,9 @@ public class JvmPackageGen {
         initMethodGen = new InitMethodGen(symbolTable);
         configMethodGen = new ConfigMethodGen();
         frameClassGen = new FrameClassGen();
+        nonYieldingFunctionAnalyzer = new NonYieldingFunctionAnalyzer();
+        typeCheckEliminator = new TypeCheckEliminator(symbolTable, types);
+        optionalPrimitiveUnboxer = new OptionalPrimitiveUnboxer(symbolTable);
         unifier = new Unifier();
 
         JvmInstructionGen.anyType = symbolTable.anyType;
@@ -228,12 +243,41 @@ public class JvmPackageGen {
         fv.visitEnd();
     }
 
-    private static void generateLockForVariable(ClassWriter cw) {
+    private static void generateLockForVariable(ClassWriter cw, BIRPackage birPackage) {
 
         String lockStoreClass = "L" + LOCK_STORE + ";";
         FieldVisitor fv;
         fv = cw.visitField(ACC_PUBLIC + ACC_FINAL + ACC_STATIC, LOCK_STORE_VAR_NAME, lockStoreClass, null, null);
         fv.visitEnd();
+
+        // Lock statements load their lock from these fields instead of looking it up from the lock store by name.
+        String lockClass = "L" + LOCK_VALUE + ";";
+        for (Integer lockId : getLockIds(birPackage)) {
+            fv = cw.visitField(ACC_PUBLIC + ACC_FINAL + ACC_STATIC, LOCK_VAR_NAME_PREFIX + lockId, lockClass, null,
+                               null);
+            fv.visitEnd();
+        }
+    }
+
+    private static Set<Integer> getLockIds(BIRPackage birPackage) {
+        Set<Integer> lockIds = new TreeSet<>();
+        for (BIRFunction func : birPackage.functions) {
+            addLockIds(func, lockIds);
+        }
+        for (BIRTypeDefinition typeDef : birPackage.typeDefs) {
+            for (BIRFunction func : typeDef.attachedFuncs) {
+                addLockIds(func, lockIds);
+            }
+        }
+        return lockIds;
+    }
+
+    private static void addLockIds(BIRFunction func, Set<Integer> lockIds) {
+        for (BIRBasicBlock basicBlock : func.basicBlocks) {
+            if (basicBlock.terminator instanceof BIRTerminator.Lock) {
+                lockIds.add(((BIRTerminator.Lock) basicBlock.terminator).lockId);
+            }
+        }
     }
 
     private static void generateStaticInitializer(ClassWriter cw, String className, BIRPackage birPackage,
@@ -246,7 +290,7 @@ public class JvmPackageGen {
         MethodVisitor mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
         if (isInitClass) {
             setConstantFields(mv, birPackage, className, stringConstantsGen);
-            setLockStoreField(mv, className);
+            setLockStoreField(mv, className, birPackage);
             setServiceEPAvailableField(cw, mv, serviceEPAvailable, className);
             setModuleStatusField(cw, mv, className);
             setCurrentModuleField(cw, mv, birPackage.packageID, className);
@@ -276,12 +320,22 @@ public class JvmPackageGen {
         }
     }
 
-    private static void setLockStoreField(MethodVisitor mv, String className) {
+    private static void setLockStoreField(MethodVisitor mv, String className, BIRPackage birPackage) {
         String lockStoreClass = "L" + LOCK_STORE + ";";
         mv.visitTypeInsn(NEW, LOCK_STORE);
         mv.visitInsn(DUP);
         mv.visitMethodInsn(INVOKESPECIAL, LOCK_STORE, JVM_INIT_METHOD, "()V", false);
         mv.visitFieldInsn(PUTSTATIC, className, LOCK_STORE_VAR_NAME, lockStoreClass);
+
+        // The locks are still created through the lock store, since it checks the locks held by a strand.
+        String lockClass = "L" + LOCK_VALUE + ";";
+        for (Integer lockId : getLockIds(birPackage)) {
+            mv.visitFieldInsn(GETSTATIC, className, LOCK_STORE_VAR_NAME, lockStoreClass);
+            mv.visitLdcInsn(GLOBAL_LOCK_NAME + lockId);
+            mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_STORE, "getLockFromMap",
+                               String.format("(L%s;)L%s;", STRING_VALUE, LOCK_VALUE), false);
+            mv.visitFieldInsn(PUTSTATIC, className, LOCK_VAR_NAME_PREFIX + lockId, lockClass);
+        }
     }
 
     private static void setServiceEPAvailableField(ClassWriter cw, MethodVisitor mv, boolean serviceEPAvailable,
@@ -414,7 +468,7 @@ public class JvmPackageGen {
             AsyncDataCollector asyncDataCollector = new AsyncDataCollector(moduleClass);
             boolean isInitClass = Objects.equals(moduleClass, moduleInitClass);
             JvmTypeGen jvmTypeGen = new JvmTypeGen(stringConstantsGen, module.packageID);
-            JvmCastGen jvmCastGen = new JvmCastGen(symbolTable, jvmTypeGen);
+            JvmCastGen jvmCastGen = new JvmCastGen(symbolTable, jvmTypeGen, typeCheckEliminator);
             LambdaGen lambdaGen = new LambdaGen(this, jvmCastGen);
             if (isInitClass) {
                 cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, moduleClass, null, VALUE_CREATOR, null);
@@ -445,7 +499,7 @@ public class JvmPackageGen {
                 }
                 initMethodGen.generateLambdaForPackageInits(cw, module, moduleClass, moduleImports, jvmCastGen);
 
-                generateLockForVariable(cw);
+                generateLockForVariable(cw, module);
                 jvmTypeGen.generateCreateTypesMethod(cw, module.typeDefs, moduleInitClass, symbolTable);
                 initMethodGen.generateModuleInitializer(cw, module, moduleInitClass);
                 ModuleStopMethodGen moduleStopMethodGen = new ModuleStopMethodGen(symbolTable, jvmTypeGen);
@@ -697,6 +751,14 @@ public class JvmPackageGen {
         dependentModules.clear();
     }
 
+    public NonYieldingFunctionAnalyzer getNonYieldingFunctionAnalyzer() {
+        return nonYieldingFunctionAnalyzer;
+    }
+
+    public TypeCheckEliminator getTypeCheckEliminator() {
+        return typeCheckEliminator;
+    }
+
     public BIRFunctionWrapper lookupBIRFunctionWrapper(String lookupKey) {
         return this.birFunctionMap.get(lookupKey);
     }
@@ -793,12 +855,18 @@ public class JvmPackageGen {
         // desugar the record init function
         rewriteRecordInits(module.typeDefs);
 
+        // keep the int? and float? locals unboxed within function bodies
+        optionalPrimitiveUnboxer.unbox(module);
+
+        // find the functions which never yield, so that they can be generated without frames
+        nonYieldingFunctionAnalyzer.analyze(module);
+
         // generate object/record value classes
         JvmValueGen valueGen = new JvmValueGen(module, this, methodGen);
         valueGen.generateValueClasses(jarEntries, stringConstantsGen);
 
         // generate frame classes
-        frameClassGen.generateFrameClasses(module, jarEntries);
+        frameClassGen.generateFrameClasses(module, jarEntries, nonYieldingFunctionAnalyzer);
 
         // generate module classes
         generateModuleClasses(module, jarEntries, moduleInitClass, stringConstantsGen, jvmClassMapping,
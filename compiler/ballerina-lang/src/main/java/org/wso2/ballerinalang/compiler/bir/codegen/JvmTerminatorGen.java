@@ -40,8 +40,11 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarScope;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BAttachedFunction;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BObjectTypeSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BPackageSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BFutureType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BInvokableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
@@ -49,6 +52,7 @@ import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.compiler.util.Unifier;
+import org.wso2.ballerinalang.util.Flags;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -120,6 +124,7 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LIST;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_STORE_VAR_NAME;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VAR_NAME_PREFIX;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MAP;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MAP_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.MODULE;
@@ -300,7 +305,7 @@ public class JvmTerminatorGen {
                 this.genGoToTerm((BIRTerminator.GOTO) terminator, funcName);
                 return;
             case CALL:
-                this.genCallTerm((BIRTerminator.Call) terminator, localVarOffset);
+                this.genCallTerm((BIRTerminator.Call) terminator, func, attachedType, localVarOffset);
                 return;
             case ASYNC_CALL:
                 this.genAsyncCallTerm((BIRTerminator.AsyncCall) terminator, localVarOffset,
@@ -361,13 +366,9 @@ public class JvmTerminatorGen {
     private void genLockTerm(BIRTerminator.Lock lockIns, String funcName, int localVarOffset) {
 
         Label gotoLabel = this.labelGen.getLabel(funcName + lockIns.lockedBB.id.value);
-        String lockStore = "L" + LOCK_STORE + ";";
         String initClassName = jvmPackageGen.lookupGlobalVarClassName(this.currentPackageName, LOCK_STORE_VAR_NAME);
-        String lockName = GLOBAL_LOCK_NAME + lockIns.lockId;
-        this.mv.visitFieldInsn(GETSTATIC, initClassName, LOCK_STORE_VAR_NAME, lockStore);
-        this.mv.visitLdcInsn(lockName);
-        this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_STORE, "getLockFromMap",
-                String.format("(L%s;)L%s;", STRING_VALUE, LOCK_VALUE), false);
+        this.mv.visitFieldInsn(GETSTATIC, initClassName, LOCK_VAR_NAME_PREFIX + lockIns.lockId,
+                               "L" + LOCK_VALUE + ";");
         this.mv.visitVarInsn(ALOAD, localVarOffset);
         this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_VALUE, "lock", String.format("(L%s;)Z", STRAND_CLASS), false);
         this.mv.visitInsn(POP);
@@ -380,13 +381,9 @@ public class JvmTerminatorGen {
         Label gotoLabel = this.labelGen.getLabel(funcName + unlockIns.unlockBB.id.value);
 
         // unlocked in the same order https://yarchive.net/comp/linux/lock_ordering.html
-        String lockStore = "L" + LOCK_STORE + ";";
-        String lockName = GLOBAL_LOCK_NAME + unlockIns.relatedLock.lockId;
         String initClassName = jvmPackageGen.lookupGlobalVarClassName(this.currentPackageName, LOCK_STORE_VAR_NAME);
-        this.mv.visitFieldInsn(GETSTATIC, initClassName, LOCK_STORE_VAR_NAME, lockStore);
-        this.mv.visitLdcInsn(lockName);
-        this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_STORE, "getLockFromMap", String.format("(L%s;)L%s;",
-                STRING_VALUE, LOCK_VALUE), false);
+        this.mv.visitFieldInsn(GETSTATIC, initClassName, LOCK_VAR_NAME_PREFIX + unlockIns.relatedLock.lockId,
+                               "L" + LOCK_VALUE + ";");
         this.mv.visitMethodInsn(INVOKEVIRTUAL, LOCK_VALUE, "unlock", "()V", false);
 
         this.mv.visitJumpInsn(GOTO, gotoLabel);
@@ -443,9 +440,10 @@ public class JvmTerminatorGen {
         this.mv.visitJumpInsn(GOTO, falseBBLabel);
     }
 
-    private void genCallTerm(BIRTerminator.Call callIns, int localVarOffset) {
+    private void genCallTerm(BIRTerminator.Call callIns, BIRNode.BIRFunction func, BType attachedType,
+                             int localVarOffset) {
         // invoke the function
-        this.genCall(callIns, callIns.calleePkg, localVarOffset);
+        this.genCall(callIns, callIns.calleePkg, func, attachedType, localVarOffset);
 
         // store return
         this.storeReturnFromCallIns(callIns.lhsOp != null ? callIns.lhsOp.variableDcl : null);
@@ -684,7 +682,8 @@ public class JvmTerminatorGen {
     }
 
 
-    private void genCall(BIRTerminator.Call callIns, PackageID packageID, int localVarOffset) {
+    private void genCall(BIRTerminator.Call callIns, PackageID packageID, BIRNode.BIRFunction func,
+                         BType attachedType, int localVarOffset) {
 
         if (!callIns.isVirtual) {
             this.genFuncCall(callIns, packageID, localVarOffset);
@@ -693,8 +692,15 @@ public class JvmTerminatorGen {
 
         BIRNode.BIRVariableDcl selfArg = callIns.args.get(0).variableDcl;
         if (selfArg.type.tag == TypeTags.OBJECT) {
-            this.genVirtualCall(callIns, JvmCodeGenUtil.isBallerinaBuiltinModule(
-                    packageID.orgName.getValue(), packageID.name.getValue()), localVarOffset);
+            boolean isBuiltInModule = JvmCodeGenUtil.isBallerinaBuiltinModule(packageID.orgName.getValue(),
+                                                                              packageID.name.getValue());
+            BAttachedFunction selfCallTarget = isBuiltInModule ? null : getSelfCallTarget(callIns, func,
+                                                                                           attachedType);
+            if (selfCallTarget != null) {
+                this.genSelfCall(callIns, selfCallTarget, localVarOffset);
+            } else {
+                this.genVirtualCall(callIns, isBuiltInModule, localVarOffset);
+            }
         } else {
             // then this is a function attached to a built-in type
             this.genBuiltinTypeAttachedFuncCall(callIns, packageID, localVarOffset);
@@ -828,6 +834,85 @@ public class JvmTerminatorGen {
         jvmCastGen.addUnboxInsn(this.mv, returnType);
     }
 
+    /**
+     * Returns the method of the class being generated which is called on `self`, if the call can be made directly.
+     * The receiver of such a call is always an instance of the enclosing class, so the method does not need to be
+     * looked up by name through {@code BObject.call}.
+     *
+     * @param callIns      method call
+     * @param func         function which makes the call
+     * @param attachedType type the function is attached to
+     * @return the called method or null, if the call has to be dispatched through {@code BObject.call}
+     */
+    private BAttachedFunction getSelfCallTarget(BIRTerminator.Call callIns, BIRNode.BIRFunction func,
+                                                BType attachedType) {
+        if (func == null || attachedType == null || attachedType.tag != TypeTags.OBJECT ||
+                !Symbols.isFlagOn(attachedType.tsymbol.flags, Flags.CLASS)) {
+            return null;
+        }
+        BIRNode.BIRVariableDcl selfArg = callIns.args.get(0).variableDcl;
+        if (selfArg != func.receiver || selfArg.type != attachedType) {
+            return null;
+        }
+
+        String methodName = JvmCodeGenUtil.rewriteVirtualCallTypeName(callIns.name.value);
+        for (BAttachedFunction attachedFunc : ((BObjectTypeSymbol) attachedType.tsymbol).attachedFuncs) {
+            if (!attachedFunc.funcName.value.equals(methodName)) {
+                continue;
+            }
+            // External methods are generated with the signature of the Java method they bind to.
+            if (Symbols.isNative(attachedFunc.symbol)) {
+                return null;
+            }
+            BInvokableType type = attachedFunc.type;
+            int paramCount = type.paramTypes.size() + (type.restType != null ? 1 : 0);
+            return paramCount == callIns.args.size() - 1 ? attachedFunc : null;
+        }
+        return null;
+    }
+
+    private void genSelfCall(BIRTerminator.Call callIns, BAttachedFunction callee, int localVarOffset) {
+        String objClassName = asyncDataCollector.getEnclosingClass();
+
+        // load self
+        BIRNode.BIRVariableDcl selfArg = callIns.args.get(0).variableDcl;
+        this.loadVar(selfArg);
+        this.mv.visitTypeInsn(CHECKCAST, objClassName);
+
+        // load the strand
+        this.mv.visitVarInsn(ALOAD, localVarOffset);
+
+        // load each argument followed by its 'isExist' flag, as expected by the generated method
+        BInvokableType type = callee.symbol.getType();
+        List<BType> paramTypes = JvmDesugarPhase.updateParamTypesWithDefaultableBooleanVar(type.paramTypes,
+                                                                                          type.restType,
+                                                                                          symbolTable.booleanType);
+        int argsCount = callIns.args.size() - 1;
+        for (int i = 0; i < argsCount; i++) {
+            // i + 1 is used since we skip the first argument (self)
+            BIRArgument arg = callIns.args.get(i + 1);
+            this.loadArgument(arg);
+            BType argType = arg.variableDcl.type;
+            BType paramType = paramTypes.get(i * 2);
+            if (!JvmCodeGenUtil.getArgTypeSignature(argType).equals(
+                    JvmCodeGenUtil.getArgTypeSignature(paramType))) {
+                jvmCastGen.addBoxInsn(this.mv, argType);
+                jvmCastGen.addUnboxInsn(this.mv, paramType);
+            }
+            this.loadStateOfArgument(arg, false);
+        }
+
+        BType retType = type.retType;
+        this.mv.visitMethodInsn(INVOKEVIRTUAL, objClassName, JvmCodeGenUtil.rewriteVirtualCallTypeName(
+                callIns.name.value), JvmCodeGenUtil.getMethodDesc(paramTypes, retType), false);
+
+        BType returnType = callIns.lhsOp.variableDcl.type;
+        if (!JvmCodeGenUtil.generateReturnType(retType).equals(JvmCodeGenUtil.generateReturnType(returnType))) {
+            jvmCastGen.addBoxInsn(this.mv, retType);
+            jvmCastGen.addUnboxInsn(this.mv, returnType);
+        }
+    }
+
     private void loadStateOfArgument(BIRArgument arg, boolean isBuiltInModule) {
         if (isBuiltInModule) {
             return;
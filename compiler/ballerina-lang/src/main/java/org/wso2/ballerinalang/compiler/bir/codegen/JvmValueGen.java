@@ -74,6 +74,7 @@ import static org.objectweb.asm.Opcodes.CHECKCAST;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.DUP2;
 import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.ICONST_0;
 import static org.objectweb.asm.Opcodes.ICONST_1;
@@ -671,7 +672,8 @@ class JvmValueGen {
             cw.visitSource(className, null);
         }
         JvmTypeGen jvmTypeGen = new JvmTypeGen(stringConstantsGen, module.packageID);
-        JvmCastGen jvmCastGen = new JvmCastGen(jvmPackageGen.symbolTable, jvmTypeGen);
+        JvmCastGen jvmCastGen = new JvmCastGen(jvmPackageGen.symbolTable, jvmTypeGen,
+                                               jvmPackageGen.getTypeCheckEliminator());
         LambdaGen lambdaGen = new LambdaGen(jvmPackageGen, jvmCastGen);
         cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, className,
                 String.format("<K:L%s;V:L%s;>L%s<TK;TV;>;L%s<TK;TV;>;", OBJECT, OBJECT, MAP_VALUE_IMPL, MAP_VALUE),
@@ -687,13 +689,13 @@ class JvmValueGen {
         this.createRecordFields(cw, fields);
         this.createRecordGetMethod(cw, fields, className, jvmCastGen);
         this.createRecordSetMethod(cw, fields, className, jvmCastGen);
-        this.createRecordEntrySetMethod(cw, fields, className, jvmCastGen);
+        this.createRecordEntrySetMethod(cw, fields, className, jvmCastGen, stringConstantsGen);
         this.createRecordContainsKeyMethod(cw, fields, className);
         this.createRecordGetValuesMethod(cw, fields, className, jvmCastGen);
         this.createGetSizeMethod(cw, fields, className);
         this.createRecordClearMethod(cw);
         this.createRecordRemoveMethod(cw, fields, className, jvmCastGen);
-        this.createRecordGetKeysMethod(cw, fields, className);
+        this.createRecordGetKeysMethod(cw, fields, className, stringConstantsGen);
         this.createRecordPopulateInitialValuesMethod(cw);
 
         this.createRecordConstructor(cw, TYPEDESC_VALUE);
@@ -990,7 +992,7 @@ class JvmValueGen {
     }
 
     private void createRecordEntrySetMethod(ClassWriter cw, Map<String, BField> fields, String className,
-                                            JvmCastGen jvmCastGen) {
+                                            JvmCastGen jvmCastGen, JvmBStringConstantsGen stringConstantsGen) {
 
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "entrySet",
                                           String.format("()L%s;", SET),
@@ -1021,10 +1023,10 @@ class JvmValueGen {
             mv.visitTypeInsn(NEW, MAP_SIMPLE_ENTRY);
             mv.visitInsn(DUP);
 
-            // field name as key
-            mv.visitLdcInsn(decodeIdentifier(fieldName));
-            mv.visitMethodInsn(INVOKESTATIC, STRING_UTILS, "fromString",
-                               String.format("(L%s;)L%s;", STRING_VALUE, B_STRING_VALUE), false);
+            // field name as key, loaded from the module's string constants instead of creating a new string
+            String keyVarName = stringConstantsGen.addBString(decodeIdentifier(fieldName));
+            mv.visitFieldInsn(GETSTATIC, stringConstantsGen.getStringConstantsClass(), keyVarName,
+                              String.format("L%s;", B_STRING_VALUE));
 
             // field value as the map-entry value
             mv.visitVarInsn(ALOAD, 0);
@@ -1289,7 +1291,8 @@ class JvmValueGen {
         }
     }
 
-    private void createRecordGetKeysMethod(ClassWriter cw, Map<String, BField> fields, String className) {
+    private void createRecordGetKeysMethod(ClassWriter cw, Map<String, BField> fields, String className,
+                                           JvmBStringConstantsGen stringConstantsGen) {
 
         MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "getKeys", String.format("()[L%s;", OBJECT), "()[TK;", null);
         mv.visitCode();
@@ -1313,9 +1316,8 @@ class JvmValueGen {
             }
 
             mv.visitVarInsn(ALOAD, keysVarIndex);
-            mv.visitLdcInsn(fieldName);
-                mv.visitMethodInsn(INVOKESTATIC, STRING_UTILS, "fromString",
-                                   String.format("(L%s;)L%s;", STRING_VALUE, B_STRING_VALUE), false);
+            mv.visitFieldInsn(GETSTATIC, stringConstantsGen.getStringConstantsClass(),
+                              stringConstantsGen.addBString(fieldName), String.format("L%s;", B_STRING_VALUE));
             mv.visitMethodInsn(INVOKEINTERFACE, SET, "add", String.format("(L%s;)Z", OBJECT), true);
             mv.visitInsn(POP);
             mv.visitLabel(ifNotPresent);
@@ -1386,7 +1388,8 @@ class JvmValueGen {
         cw.visitSource(typeDef.pos.lineRange().filePath(), null);
 
         JvmTypeGen jvmTypeGen = new JvmTypeGen(stringConstantsGen, module.packageID);
-        JvmCastGen jvmCastGen = new JvmCastGen(jvmPackageGen.symbolTable, jvmTypeGen);
+        JvmCastGen jvmCastGen = new JvmCastGen(jvmPackageGen.symbolTable, jvmTypeGen,
+                                               jvmPackageGen.getTypeCheckEliminator());
         LambdaGen lambdaGen =  new LambdaGen(jvmPackageGen, jvmCastGen);
         cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, className, null, ABSTRACT_OBJECT_VALUE, new String[]{B_OBJECT});
 
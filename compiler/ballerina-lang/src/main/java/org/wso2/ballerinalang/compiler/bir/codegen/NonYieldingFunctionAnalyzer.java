@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the functions of a module which can never yield the strand they run on.
+ * <p>
+ * A function is non-yielding when none of its terminators can suspend the strand (waits, worker interactions,
+ * locks, function pointer calls and virtual calls) and every function it calls is a non-yielding function of the
+ * same module. Calls to such functions need neither a yield check nor a frame to resume from.
+ * Functions of other modules and external functions are always treated as yielding.
+ *
+ * @since 2.0.0
+ */
+public class NonYieldingFunctionAnalyzer {
+
+    private final Map<String, BIRFunction> moduleFunctions = new HashMap<>();
+    private final Set<BIRFunction> nonYieldingFunctions = new HashSet<>();
+    private BIRPackage module;
+
+    public void analyze(BIRPackage module) {
+        this.module = module;
+        moduleFunctions.clear();
+        nonYieldingFunctions.clear();
+
+        List<BIRFunction> functions = new ArrayList<>(module.functions);
+        for (BIRFunction func : module.functions) {
+            moduleFunctions.put(func.name.value, func);
+        }
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            if (typeDef.attachedFuncs != null) {
+                functions.addAll(typeDef.attachedFuncs);
+            }
+        }
+
+        Map<BIRFunction, List<BIRFunction>> callers = new HashMap<>();
+        Deque<BIRFunction> yielding = new ArrayDeque<>();
+        for (BIRFunction func : functions) {
+            if (func == null) {
+                continue;
+            }
+            if (mayYieldLocally(func, callers)) {
+                yielding.add(func);
+            } else {
+                nonYieldingFunctions.add(func);
+            }
+        }
+
+        // a function which calls a yielding function can yield as well
+        while (!yielding.isEmpty()) {
+            BIRFunction func = yielding.poll();
+            for (BIRFunction caller : callers.getOrDefault(func, Collections.emptyList())) {
+                if (nonYieldingFunctions.remove(caller)) {
+                    yielding.add(caller);
+                }
+            }
+        }
+    }
+
+    public boolean isNonYielding(BIRFunction func) {
+        return nonYieldingFunctions.contains(func);
+    }
+
+    public boolean isNonYieldingCall(BIRTerminator terminator) {
+        if (terminator.kind != InstructionKind.CALL) {
+            return false;
+        }
+        BIRFunction callee = getModuleCallee((BIRTerminator.Call) terminator);
+        return callee != null && nonYieldingFunctions.contains(callee);
+    }
+
+    private boolean mayYieldLocally(BIRFunction func, Map<BIRFunction, List<BIRFunction>> callers) {
+        if (JvmCodeGenUtil.isExternFunc(func) || func.workerChannels.length > 0) {
+            return true;
+        }
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            BIRTerminator terminator = bb.terminator;
+            switch (terminator.kind) {
+                case GOTO:
+                case BRANCH:
+                case RETURN:
+                case PANIC:
+                case UNLOCK:
+                case ASYNC_CALL:
+                    break;
+                case FP_CALL:
+                    if (!((BIRTerminator.FPCall) terminator).isAsync) {
+                        return true;
+                    }
+                    break;
+                case CALL:
+                    BIRFunction callee = getModuleCallee((BIRTerminator.Call) terminator);
+                    if (callee == null || JvmCodeGenUtil.isExternFunc(callee)) {
+                        return true;
+                    }
+                    callers.computeIfAbsent(callee, k -> new ArrayList<>()).add(func);
+                    break;
+                default:
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private BIRFunction getModuleCallee(BIRTerminator.Call callIns) {
+        if (callIns.isVirtual || !module.packageID.equals(callIns.calleePkg)) {
+            return null;
+        }
+        return moduleFunctions.get(callIns.name.value);
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import io.ballerina.tools.diagnostics.Location;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorKeyValueEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRMappingConstructorSpreadFieldEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRTypeDefinition;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.NewStructure;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeCast;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.TypeTest;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Branch;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.GOTO;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the local variables of type {@code int?} and {@code float?} of a function unboxed.
+ * <p>
+ * Such a variable is given a primitive companion variable holding its value and a boolean one telling whether it
+ * holds a value or nil. Assignments of int or float values and nil, moves between such variables, type tests and
+ * narrowing casts then work on the companions only. Every other read of the variable is an escape, before which
+ * the boxed value is rebuilt from the companions.
+ * <p>
+ * The debugger reads the variables declared in the source from their own slots, so a changed source variable is
+ * also boxed before the end of its basic block and before an instruction of another scope.
+ * <p>
+ * A variable is left boxed if it is assigned in any other way, e.g. from the result of a call.
+ *
+ * @since 2.0.0
+ */
+public class OptionalPrimitiveUnboxer {
+
+    private static final String VALUE_VAR_SUFFIX = "$value";
+    private static final String PRESENT_VAR_SUFFIX = "$present";
+    private static final String NEW_BB_PREFIX = "unboxingBB";
+
+    private final SymbolTable symbolTable;
+    private int newBBIndex;
+
+    public OptionalPrimitiveUnboxer(SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
+    public void unbox(BIRPackage module) {
+        for (BIRFunction func : module.functions) {
+            unbox(func);
+        }
+        for (BIRTypeDefinition typeDef : module.typeDefs) {
+            for (BIRFunction func : typeDef.attachedFuncs) {
+                unbox(func);
+            }
+        }
+    }
+
+    private void unbox(BIRFunction func) {
+        if (func.basicBlocks.isEmpty()) {
+            return;
+        }
+
+        Map<BIRVariableDcl, BType> candidates = findCandidates(func);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Map<BIRVariableDcl, UnboxedVar> unboxedVars = new LinkedHashMap<>();
+        for (Map.Entry<BIRVariableDcl, BType> candidate : candidates.entrySet()) {
+            BIRVariableDcl varDcl = candidate.getKey();
+            UnboxedVar unboxedVar = new UnboxedVar(
+                    createVar(varDcl.name.value + VALUE_VAR_SUFFIX, candidate.getValue()),
+                    createVar(varDcl.name.value + PRESENT_VAR_SUFFIX, symbolTable.booleanType));
+            func.localVars.add(unboxedVar.valueVar);
+            func.localVars.add(unboxedVar.presentVar);
+            unboxedVars.put(varDcl, unboxedVar);
+        }
+
+        newBBIndex = 0;
+        rewriteBasicBlocks(func, unboxedVars);
+    }
+
+    private Map<BIRVariableDcl, BType> findCandidates(BIRFunction func) {
+        Set<String> varNames = new HashSet<>();
+        for (BIRVariableDcl varDcl : func.localVars) {
+            varNames.add(varDcl.name.value);
+        }
+
+        Map<BIRVariableDcl, BType> candidates = new LinkedHashMap<>();
+        for (BIRVariableDcl varDcl : func.localVars) {
+            BType primitiveType = getOptionalPrimitiveType(varDcl);
+            if (primitiveType != null && !varNames.contains(varDcl.name.value + VALUE_VAR_SUFFIX) &&
+                    !varNames.contains(varDcl.name.value + PRESENT_VAR_SUFFIX)) {
+                candidates.put(varDcl, primitiveType);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        // drop the variables assigned in ways other than from an unboxed value, nil or another candidate
+        List<Move> candidateMoves = new ArrayList<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            for (BIRNonTerminator ins : bb.instructions) {
+                if (ins.lhsOp == null || !candidates.containsKey(ins.lhsOp.variableDcl)) {
+                    continue;
+                }
+                BType primitiveType = candidates.get(ins.lhsOp.variableDcl);
+                if (ins.kind == InstructionKind.MOVE) {
+                    candidateMoves.add((Move) ins);
+                } else if (!isUnboxedAssignment(ins, primitiveType)) {
+                    candidates.remove(ins.lhsOp.variableDcl);
+                }
+            }
+            BIRTerminator terminator = bb.terminator;
+            if (terminator.lhsOp != null) {
+                candidates.remove(terminator.lhsOp.variableDcl);
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Move move : candidateMoves) {
+                BIRVariableDcl lhsVar = move.lhsOp.variableDcl;
+                if (!candidates.containsKey(lhsVar)) {
+                    continue;
+                }
+                BType rhsType = candidates.get(move.rhsOp.variableDcl);
+                if (rhsType == null || rhsType.tag != candidates.get(lhsVar).tag) {
+                    candidates.remove(lhsVar);
+                    changed = true;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private BType getOptionalPrimitiveType(BIRVariableDcl varDcl) {
+        // arguments are passed in boxed
+        if (varDcl.kind != VarKind.LOCAL && varDcl.kind != VarKind.TEMP && varDcl.kind != VarKind.SYNTHETIC) {
+            return null;
+        }
+        if (varDcl.type.tag != TypeTags.UNION) {
+            return null;
+        }
+
+        Set<BType> memberTypes = ((BUnionType) varDcl.type).getMemberTypes();
+        if (memberTypes.size() != 2) {
+            return null;
+        }
+        BType primitiveType = null;
+        boolean hasNil = false;
+        for (BType memberType : memberTypes) {
+            if (memberType.tag == TypeTags.NIL) {
+                hasNil = true;
+            } else if (memberType.tag == TypeTags.INT || memberType.tag == TypeTags.FLOAT) {
+                primitiveType = memberType;
+            }
+        }
+        return hasNil ? primitiveType : null;
+    }
+
+    private boolean isUnboxedAssignment(BIRNonTerminator ins, BType primitiveType) {
+        switch (ins.kind) {
+            case TYPE_CAST:
+                int sourceTag = ((TypeCast) ins).rhsOp.variableDcl.type.tag;
+                return sourceTag == primitiveType.tag || sourceTag == TypeTags.NIL;
+            case CONST_LOAD:
+                return ((ConstantLoad) ins).type.tag == TypeTags.NIL;
+            default:
+                return false;
+        }
+    }
+
+    private void rewriteBasicBlocks(BIRFunction func, Map<BIRVariableDcl, UnboxedVar> unboxedVars) {
+        List<BIRBasicBlock> basicBlocks = new ArrayList<>();
+        for (BIRBasicBlock bb : func.basicBlocks) {
+            List<BIRNonTerminator> instructions = bb.instructions;
+            BIRTerminator terminator = bb.terminator;
+            bb.instructions = new ArrayList<>();
+            basicBlocks.add(bb);
+
+            // whether the variables assigned so far in this block hold a value, and the changed source variables
+            Map<BIRVariableDcl, Boolean> knownPresence = new HashMap<>();
+            Set<BIRVariableDcl> changedLocals = new LinkedHashSet<>();
+            BIRBasicBlock currentBB = bb;
+            BirScope currentScope = null;
+            for (BIRNonTerminator ins : instructions) {
+                if (ins.scope != currentScope) {
+                    currentBB = generateBoxing(changedLocals, unboxedVars, knownPresence, currentBB, ins.pos,
+                                               currentScope, basicBlocks);
+                    changedLocals.clear();
+                    currentScope = ins.scope;
+                }
+                List<BIRNonTerminator> unboxedInstructions = getUnboxedInstructions(ins, unboxedVars);
+                if (unboxedInstructions != null) {
+                    currentBB.instructions.addAll(unboxedInstructions);
+                    trackAssignment(ins, unboxedVars, knownPresence, changedLocals);
+                    continue;
+                }
+                Set<BIRVariableDcl> escapingVars = getUnboxedReads(getReadOperands(ins), unboxedVars);
+                currentBB = generateBoxing(escapingVars, unboxedVars, knownPresence, currentBB, ins.pos, ins.scope,
+                                           basicBlocks);
+                changedLocals.removeAll(escapingVars);
+                currentBB.instructions.add(ins);
+            }
+            Set<BIRVariableDcl> escapingVars = getUnboxedReads(terminator.getRhsOperands(), unboxedVars);
+            escapingVars.addAll(changedLocals);
+            currentBB = generateBoxing(escapingVars, unboxedVars, knownPresence, currentBB, terminator.pos,
+                                       terminator.scope, basicBlocks);
+            currentBB.terminator = terminator;
+
+            if (currentBB != bb) {
+                // a trapped range ending with this block now ends with the block holding its terminator
+                for (BIRErrorEntry errorEntry : func.errorTable) {
+                    if (errorEntry.endBB == bb) {
+                        errorEntry.endBB = currentBB;
+                    }
+                }
+            }
+        }
+        func.basicBlocks = basicBlocks;
+    }
+
+    private void trackAssignment(BIRNonTerminator ins, Map<BIRVariableDcl, UnboxedVar> unboxedVars,
+                                 Map<BIRVariableDcl, Boolean> knownPresence, Set<BIRVariableDcl> changedLocals) {
+        if (ins.lhsOp == null || !unboxedVars.containsKey(ins.lhsOp.variableDcl)) {
+            return;
+        }
+        BIRVariableDcl lhsVar = ins.lhsOp.variableDcl;
+        switch (ins.kind) {
+            case TYPE_CAST:
+                knownPresence.put(lhsVar, ((TypeCast) ins).rhsOp.variableDcl.type.tag != TypeTags.NIL);
+                break;
+            case CONST_LOAD:
+                knownPresence.put(lhsVar, false);
+                break;
+            case MOVE:
+                Boolean rhsPresence = knownPresence.get(((Move) ins).rhsOp.variableDcl);
+                if (rhsPresence == null) {
+                    knownPresence.remove(lhsVar);
+                } else {
+                    knownPresence.put(lhsVar, rhsPresence);
+                }
+                break;
+            default:
+                return;
+        }
+        if (lhsVar.kind == VarKind.LOCAL) {
+            changedLocals.add(lhsVar);
+        }
+    }
+
+    private List<BIRNonTerminator> getUnboxedInstructions(BIRNonTerminator ins,
+                                                          Map<BIRVariableDcl, UnboxedVar> unboxedVars) {
+        UnboxedVar lhsVar = ins.lhsOp == null ? null : unboxedVars.get(ins.lhsOp.variableDcl);
+        List<BIRNonTerminator> instructions = new ArrayList<>();
+        switch (ins.kind) {
+            case TYPE_CAST: {
+                TypeCast typeCast = (TypeCast) ins;
+                if (lhsVar != null) {
+                    if (typeCast.rhsOp.variableDcl.type.tag == TypeTags.NIL) {
+                        instructions.add(new ConstantLoad(ins.pos, false, symbolTable.booleanType,
+                                                          new BIROperand(lhsVar.presentVar)));
+                    } else {
+                        instructions.add(new Move(ins.pos, typeCast.rhsOp, new BIROperand(lhsVar.valueVar)));
+                        instructions.add(new ConstantLoad(ins.pos, true, symbolTable.booleanType,
+                                                          new BIROperand(lhsVar.presentVar)));
+                    }
+                    break;
+                }
+                UnboxedVar rhsVar = unboxedVars.get(typeCast.rhsOp.variableDcl);
+                // a checked cast has to fail on nil, so it is done on the boxed value
+                if (rhsVar == null || typeCast.checkTypes || typeCast.type.tag != rhsVar.valueVar.type.tag) {
+                    return null;
+                }
+                instructions.add(new Move(ins.pos, new BIROperand(rhsVar.valueVar), ins.lhsOp));
+                break;
+            }
+            case CONST_LOAD:
+                if (lhsVar == null) {
+                    return null;
+                }
+                instructions.add(new ConstantLoad(ins.pos, false, symbolTable.booleanType,
+                                                  new BIROperand(lhsVar.presentVar)));
+                break;
+            case MOVE: {
+                UnboxedVar rhsVar = unboxedVars.get(((Move) ins).rhsOp.variableDcl);
+                if (lhsVar == null || rhsVar == null) {
+                    return null;
+                }
+                instructions.add(new Move(ins.pos, new BIROperand(rhsVar.valueVar),
+                                          new BIROperand(lhsVar.valueVar)));
+                instructions.add(new Move(ins.pos, new BIROperand(rhsVar.presentVar),
+                                          new BIROperand(lhsVar.presentVar)));
+                break;
+            }
+            case TYPE_TEST: {
+                TypeTest typeTest = (TypeTest) ins;
+                UnboxedVar rhsVar = unboxedVars.get(typeTest.rhsOp.variableDcl);
+                if (rhsVar == null) {
+                    return null;
+                }
+                if (typeTest.type.tag == rhsVar.valueVar.type.tag) {
+                    instructions.add(new Move(ins.pos, new BIROperand(rhsVar.presentVar), ins.lhsOp));
+                } else if (typeTest.type.tag == TypeTags.NIL) {
+                    instructions.add(new UnaryOP(ins.pos, InstructionKind.NOT, ins.lhsOp,
+                                                 new BIROperand(rhsVar.presentVar)));
+                } else {
+                    return null;
+                }
+                break;
+            }
+            default:
+                return null;
+        }
+
+        for (BIRNonTerminator instruction : instructions) {
+            instruction.scope = ins.scope;
+        }
+        return instructions;
+    }
+
+    private BIROperand[] getReadOperands(BIRNonTerminator ins) {
+        if (ins.kind != InstructionKind.NEW_STRUCTURE) {
+            return ins.getRhsOperands();
+        }
+
+        // the values of a mapping constructor are not part of its rhs operands
+        List<BIROperand> operands = new ArrayList<>();
+        operands.add(((NewStructure) ins).rhsOp);
+        for (BIRMappingConstructorEntry entry : ((NewStructure) ins).initialValues) {
+            if (entry.isKeyValuePair()) {
+                operands.add(((BIRMappingConstructorKeyValueEntry) entry).keyOp);
+                operands.add(((BIRMappingConstructorKeyValueEntry) entry).valueOp);
+            } else {
+                operands.add(((BIRMappingConstructorSpreadFieldEntry) entry).exprOp);
+            }
+        }
+        return operands.toArray(new BIROperand[0]);
+    }
+
+    private Set<BIRVariableDcl> getUnboxedReads(BIROperand[] operands, Map<BIRVariableDcl, UnboxedVar> unboxedVars) {
+        Set<BIRVariableDcl> unboxedReads = new LinkedHashSet<>();
+        if (operands == null) {
+            return unboxedReads;
+        }
+        for (BIROperand operand : operands) {
+            if (operand != null && unboxedVars.containsKey(operand.variableDcl)) {
+                unboxedReads.add(operand.variableDcl);
+            }
+        }
+        return unboxedReads;
+    }
+
+    private BIRBasicBlock generateBoxing(Set<BIRVariableDcl> varDcls, Map<BIRVariableDcl, UnboxedVar> unboxedVars,
+                                         Map<BIRVariableDcl, Boolean> knownPresence, BIRBasicBlock currentBB,
+                                         Location pos, BirScope scope, List<BIRBasicBlock> basicBlocks) {
+        for (BIRVariableDcl varDcl : varDcls) {
+            UnboxedVar unboxedVar = unboxedVars.get(varDcl);
+            Boolean present = knownPresence.get(varDcl);
+            if (present == null) {
+                currentBB = generateBoxing(varDcl, unboxedVar, currentBB, pos, scope, basicBlocks);
+            } else {
+                currentBB.instructions.add(present ? createBoxIns(varDcl, unboxedVar, pos, scope) :
+                                                   createNilIns(varDcl, pos, scope));
+            }
+        }
+        return currentBB;
+    }
+
+    /**
+     * Rebuilds the boxed value of a variable from its companions, when it is not known whether it holds a value.
+     * <p>
+     * <pre>
+     *     bb:      branch x$present [boxBB, nilBB]
+     *     boxBB:   x = &lt;int?&gt; x$value; goto nextBB
+     *     nilBB:   x = (); goto nextBB
+     *     nextBB:  the instruction reading x
+     * </pre>
+     */
+    private BIRBasicBlock generateBoxing(BIRVariableDcl varDcl, UnboxedVar unboxedVar, BIRBasicBlock currentBB,
+                                         Location pos, BirScope scope, List<BIRBasicBlock> basicBlocks) {
+        BIRBasicBlock boxBB = new BIRBasicBlock(new Name(NEW_BB_PREFIX + newBBIndex++));
+        BIRBasicBlock nilBB = new BIRBasicBlock(new Name(NEW_BB_PREFIX + newBBIndex++));
+        BIRBasicBlock nextBB = new BIRBasicBlock(new Name(NEW_BB_PREFIX + newBBIndex++));
+
+        currentBB.terminator = new Branch(pos, new BIROperand(unboxedVar.presentVar), boxBB, nilBB);
+        currentBB.terminator.scope = scope;
+
+        boxBB.instructions.add(createBoxIns(varDcl, unboxedVar, pos, scope));
+        boxBB.terminator = new GOTO(pos, nextBB);
+        boxBB.terminator.scope = scope;
+
+        nilBB.instructions.add(createNilIns(varDcl, pos, scope));
+        nilBB.terminator = new GOTO(pos, nextBB);
+        nilBB.terminator.scope = scope;
+
+        basicBlocks.add(boxBB);
+        basicBlocks.add(nilBB);
+        basicBlocks.add(nextBB);
+        return nextBB;
+    }
+
+    private TypeCast createBoxIns(BIRVariableDcl varDcl, UnboxedVar unboxedVar, Location pos, BirScope scope) {
+        TypeCast boxIns = new TypeCast(pos, new BIROperand(varDcl), new BIROperand(unboxedVar.valueVar), varDcl.type,
+                                       false);
+        boxIns.scope = scope;
+        return boxIns;
+    }
+
+    private ConstantLoad createNilIns(BIRVariableDcl varDcl, Location pos, BirScope scope) {
+        ConstantLoad nilIns = new ConstantLoad(pos, null, symbolTable.nilType, new BIROperand(varDcl));
+        nilIns.scope = scope;
+        return nilIns;
+    }
+
+    private BIRVariableDcl createVar(String name, BType type) {
+        return new BIRVariableDcl(type, new Name(name), VarScope.FUNCTION, VarKind.SYNTHETIC);
+    }
+
+    /**
+     * The companion variables of an unboxed optional variable.
+     */
+    private static class UnboxedVar {
+
+        final BIRVariableDcl valueVar;
+        final BIRVariableDcl presentVar;
+
+        UnboxedVar(BIRVariableDcl valueVar, BIRVariableDcl presentVar) {
+            this.valueVar = valueVar;
+            this.presentVar = presentVar;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BERROR;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BOOLEAN_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_STRING_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.DECIMAL_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.DOUBLE_VALUE;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.XML_VALUE;
+
+/**
+ * Decides which runtime type checks of a module can be answered from the BIR types, and counts the checks that
+ * were eliminated and the ones left to the runtime {@code TypeChecker}.
+ * <p>
+ * A cast or a type test is statically true when the source type is assignable to the target type. A type test
+ * against a type whose values are exactly the instances of one runtime value class is generated as a JVM
+ * {@code instanceof} (or a null check for nil).
+ * <p>
+ * One eliminator is shared by all the class generators of a package, including the parallel ones.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckEliminator {
+
+    private final SymbolTable symbolTable;
+    private final Types types;
+    private final AtomicInteger eliminatedCasts = new AtomicInteger();
+    private final AtomicInteger runtimeCasts = new AtomicInteger();
+    private final AtomicInteger eliminatedTypeTests = new AtomicInteger();
+    private final AtomicInteger instanceOfTypeTests = new AtomicInteger();
+    private final AtomicInteger runtimeTypeTests = new AtomicInteger();
+
+    public TypeCheckEliminator(SymbolTable symbolTable, Types types) {
+        this.symbolTable = symbolTable;
+        this.types = types;
+    }
+
+    boolean isCastEliminable(BType sourceType, BType targetType) {
+        if (isAssignable(sourceType, targetType)) {
+            eliminatedCasts.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    void addRuntimeCast() {
+        runtimeCasts.incrementAndGet();
+    }
+
+    boolean isTypeTestEliminable(BType sourceType, BType targetType) {
+        if (isAssignable(sourceType, targetType)) {
+            eliminatedTypeTests.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    boolean isNilTest(BType sourceType, BType targetType) {
+        if (isReferenceType(sourceType) && targetType.tag == TypeTags.NIL) {
+            instanceOfTypeTests.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the runtime value class whose instances are exactly the values of the target type, if the type test
+     * can be done with a JVM {@code instanceof}.
+     *
+     * @param sourceType type of the tested value
+     * @param targetType type tested against
+     * @return the internal name of the value class, or null if the runtime type checker is needed
+     */
+    String getInstanceOfClass(BType sourceType, BType targetType) {
+        String valueClass = isReferenceType(sourceType) ? getValueClass(targetType) : null;
+        if (valueClass != null) {
+            instanceOfTypeTests.incrementAndGet();
+        } else {
+            runtimeTypeTests.incrementAndGet();
+        }
+        return valueClass;
+    }
+
+    String getReport(PackageID packageID) {
+        return String.format("type checks in %s/%s: casts %d eliminated, %d at runtime; type tests %d eliminated, " +
+                                     "%d with instanceof, %d at runtime", packageID.orgName, packageID.name,
+                             eliminatedCasts.get(), runtimeCasts.get(), eliminatedTypeTests.get(),
+                             instanceOfTypeTests.get(), runtimeTypeTests.get());
+    }
+
+    private String getValueClass(BType targetType) {
+        switch (targetType.tag) {
+            case TypeTags.FLOAT:
+                return DOUBLE_VALUE;
+            case TypeTags.BOOLEAN:
+                return BOOLEAN_VALUE;
+            case TypeTags.STRING:
+                return B_STRING_VALUE;
+            case TypeTags.DECIMAL:
+                return DECIMAL_VALUE;
+            case TypeTags.ERROR:
+                return targetType == symbolTable.errorType ? BERROR : null;
+            case TypeTags.XML:
+                return targetType == symbolTable.xmlType ? XML_VALUE : null;
+            default:
+                // int values may be boxed as Long or Integer, and the rest need a structural check
+                return null;
+        }
+    }
+
+    private boolean isReferenceType(BType type) {
+        switch (type.tag) {
+            case TypeTags.ANY:
+            case TypeTags.ANYDATA:
+            case TypeTags.JSON:
+            case TypeTags.UNION:
+            case TypeTags.READONLY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private synchronized boolean isAssignable(BType sourceType, BType targetType) {
+        // Classes of a module are generated in parallel and this is the only place code generation reaches the
+        // shared Types. isAssignable does not create types or bump the anon type counters, but its helpers are not
+        // written for concurrent use, so calls are serialized here rather than handing each generator a copy.
+        return types.isAssignable(sourceType, targetType);
+    }
+}
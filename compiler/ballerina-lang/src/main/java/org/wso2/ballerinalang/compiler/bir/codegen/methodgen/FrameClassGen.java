@@ -24,6 +24,7 @@ import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.Opcodes;
 import org.wso2.ballerinalang.compiler.bir.codegen.BallerinaClassWriter;
 import org.wso2.ballerinalang.compiler.bir.codegen.JvmCodeGenUtil;
+import org.wso2.ballerinalang.compiler.bir.codegen.NonYieldingFunctionAnalyzer;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
@@ -43,8 +44,10 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.OBJECT;
  */
 public class FrameClassGen {
 
-    public void generateFrameClasses(BIRNode.BIRPackage pkg, Map<String, byte[]> pkgEntries) {
-        pkg.functions.parallelStream().forEach(
+    public void generateFrameClasses(BIRNode.BIRPackage pkg, Map<String, byte[]> pkgEntries,
+                                     NonYieldingFunctionAnalyzer nonYieldingFunctionAnalyzer) {
+        // non-yielding functions are never resumed, hence they do not need a frame class
+        pkg.functions.parallelStream().filter(func -> !nonYieldingFunctionAnalyzer.isNonYielding(func)).forEach(
                 func -> generateFrameClassForFunction(pkg.packageID, func, pkgEntries, null));
 
         for (BIRNode.BIRTypeDefinition typeDef : pkg.typeDefs) {
@@ -61,8 +64,8 @@ public class FrameClassGen {
             } else {
                 attachedType = typeDef.type;
             }
-            attachedFuncs.parallelStream().forEach(func -> generateFrameClassForFunction(
-                    pkg.packageID, func, pkgEntries, attachedType));
+            attachedFuncs.parallelStream().filter(func -> !nonYieldingFunctionAnalyzer.isNonYielding(func))
+                    .forEach(func -> generateFrameClassForFunction(pkg.packageID, func, pkgEntries, attachedType));
         }
     }
 
@@ -33,6 +33,7 @@ import org.wso2.ballerinalang.compiler.bir.codegen.JvmInstructionGen;
 import org.wso2.ballerinalang.compiler.bir.codegen.JvmPackageGen;
 import org.wso2.ballerinalang.compiler.bir.codegen.JvmTerminatorGen;
 import org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen;
+import org.wso2.ballerinalang.compiler.bir.codegen.NonYieldingFunctionAnalyzer;
 import org.wso2.ballerinalang.compiler.bir.codegen.internal.AsyncDataCollector;
 import org.wso2.ballerinalang.compiler.bir.codegen.internal.BIRVarToJVMIndexMap;
 import org.wso2.ballerinalang.compiler.bir.codegen.internal.FunctionParamComparator;
@@ -196,6 +197,15 @@ public class MethodGen {
         genLocalVars(indexMap, mv, func.localVars);
 
         int returnVarRefIndex = getReturnVarRefIndex(func, indexMap, retType, mv);
+
+        // a non-yielding function never gets resumed, hence it doesn't need to save or restore its frame
+        if (jvmPackageGen.getNonYieldingFunctionAnalyzer().isNonYielding(func)) {
+            genNonYieldingMethodBody(func, mv, indexMap, module, jvmTypeGen, jvmCastGen, stringConstantsGen,
+                                     moduleClassName, attachedType, asyncDataCollector, returnVarRefIndex,
+                                     localVarOffset, methodStartLabel);
+            return;
+        }
+
         int stateVarIndex = getStateVarIndex(indexMap, mv);
 
         mv.visitVarInsn(ALOAD, localVarOffset);
@@ -260,6 +270,31 @@ public class MethodGen {
         mv.visitEnd();
     }
 
+    private void genNonYieldingMethodBody(BIRFunction func, MethodVisitor mv, BIRVarToJVMIndexMap indexMap,
+                                          BIRPackage module, JvmTypeGen jvmTypeGen, JvmCastGen jvmCastGen,
+                                          JvmBStringConstantsGen stringConstantsGen, String moduleClassName,
+                                          BType attachedType, AsyncDataCollector asyncDataCollector,
+                                          int returnVarRefIndex, int localVarOffset, Label methodStartLabel) {
+        LabelGenerator labelGen = new LabelGenerator();
+        JvmInstructionGen instGen = new JvmInstructionGen(mv, indexMap, module.packageID, jvmPackageGen, jvmTypeGen,
+                                                          jvmCastGen, stringConstantsGen, asyncDataCollector);
+        JvmErrorGen errorGen = new JvmErrorGen(mv, indexMap, instGen);
+        JvmTerminatorGen termGen = new JvmTerminatorGen(mv, indexMap, labelGen, errorGen, module.packageID, instGen,
+                                                        jvmPackageGen, jvmTypeGen, jvmCastGen, asyncDataCollector);
+
+        generateBasicBlocks(mv, labelGen, errorGen, instGen, termGen, jvmTypeGen, func, returnVarRefIndex, -1,
+                            localVarOffset, module, attachedType, moduleClassName);
+
+        Label methodEndLabel = new Label();
+        mv.visitLabel(methodEndLabel);
+        termGen.genReturnTerm(returnVarRefIndex, func);
+
+        createLocalVariableTable(func, indexMap, localVarOffset, mv, methodStartLabel, labelGen, methodEndLabel);
+
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
     private BType getReturnType(BIRFunction func) {
         BType retType = func.type.retType;
         if (JvmCodeGenUtil.isExternFunc(func) && Symbols.isFlagOn(retType.flags, Flags.PARAMETERIZED)) {
@@ -448,6 +483,8 @@ public class MethodGen {
         String funcName = func.name.value;
         BirScope lastScope = null;
         Set<BirScope> visitedScopesSet = new HashSet<>();
+        NonYieldingFunctionAnalyzer nonYieldingFunctionAnalyzer = jvmPackageGen.getNonYieldingFunctionAnalyzer();
+        boolean isNonYielding = nonYieldingFunctionAnalyzer.isNonYielding(func);
 
         int caseIndex = 0;
         for (int i = 0; i < func.basicBlocks.size(); i++) {
@@ -455,7 +492,7 @@ public class MethodGen {
             // create jvm label
             Label bbLabel = labelGen.getLabel(funcName + bb.id.value);
             mv.visitLabel(bbLabel);
-            if (i == 0) {
+            if (i == 0 && !isNonYielding) {
                 pushShort(mv, stateVarIndex, caseIndex);
                 caseIndex += 1;
             }
@@ -469,8 +506,10 @@ public class MethodGen {
             mv.visitLabel(bbEndLabel);
 
             BIRTerminator terminator = bb.terminator;
-            pushShort(mv, stateVarIndex, caseIndex);
-            caseIndex += 1;
+            if (!isNonYielding) {
+                pushShort(mv, stateVarIndex, caseIndex);
+                caseIndex += 1;
+            }
 
             processTerminator(mv, func, module, funcName, terminator, jvmTypeGen, localVarOffset);
             termGen.genTerminator(terminator, moduleClassName, func, funcName, localVarOffset,
@@ -479,7 +518,13 @@ public class MethodGen {
             errorGen.generateTryCatch(func, funcName, bb, termGen, labelGen);
 
             BIRBasicBlock thenBB = terminator.thenBB;
-            if (thenBB != null) {
+            if (thenBB == null) {
+                continue;
+            }
+            if (isNonYielding || nonYieldingFunctionAnalyzer.isNonYieldingCall(terminator)) {
+                // the strand cannot be yielded here, so go straight to thenBB
+                mv.visitJumpInsn(GOTO, labelGen.getLabel(funcName + thenBB.id.value));
+            } else {
                 JvmCodeGenUtil.genYieldCheck(mv, termGen.getLabelGenerator(), thenBB, funcName, localVarOffset);
             }
         }
@@ -0,0 +1,287 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Folds binary and unary operations on constant operands of the basic value types, propagates the constants through
+ * moves and turns branches on constant conditions into gotos.
+ * <p>
+ * Constants are tracked within a basic block. Operations which would panic at runtime (i.e. integer overflow and
+ * division by zero) are left as they are.
+ *
+ * @since 2.0.0
+ */
+public class BIRConstantFolder extends BIRVisitor {
+
+    private final Map<BIRNode.BIRVariableDcl, ConstantLoad> constants = new HashMap<>();
+
+    public void optimizeNode(BIRNode node) {
+        node.accept(this);
+    }
+
+    @Override
+    public void visit(BIRNode.BIRPackage birPackage) {
+        birPackage.typeDefs.forEach(tDef -> tDef.accept(this));
+        birPackage.functions.forEach(func -> func.accept(this));
+    }
+
+    @Override
+    public void visit(BIRNode.BIRTypeDefinition birTypeDefinition) {
+        birTypeDefinition.attachedFuncs.forEach(func -> func.accept(this));
+    }
+
+    @Override
+    public void visit(BIRNode.BIRFunction birFunction) {
+        birFunction.basicBlocks.forEach(bb -> bb.accept(this));
+    }
+
+    @Override
+    public void visit(BIRNode.BIRBasicBlock basicBlock) {
+        constants.clear();
+        List<BIRNonTerminator> instructions = basicBlock.instructions;
+        for (int i = 0; i < instructions.size(); i++) {
+            BIRNonTerminator instruction = instructions.get(i);
+            ConstantLoad folded = fold(instruction);
+            if (folded != null) {
+                folded.scope = instruction.scope;
+                instructions.set(i, folded);
+                instruction = folded;
+            }
+
+            if (instruction.lhsOp == null) {
+                continue;
+            }
+            BIRNode.BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+            if (instruction.kind == InstructionKind.CONST_LOAD && isTrackable((ConstantLoad) instruction)) {
+                constants.put(lhsVar, (ConstantLoad) instruction);
+            } else {
+                constants.remove(lhsVar);
+            }
+        }
+
+        BIRTerminator terminator = basicBlock.terminator;
+        if (terminator == null || terminator.kind != InstructionKind.BRANCH) {
+            return;
+        }
+        BIRTerminator.Branch branch = (BIRTerminator.Branch) terminator;
+        Object condition = getConstantValue(branch.op, TypeTags.BOOLEAN);
+        if (condition instanceof Boolean) {
+            BIRTerminator.GOTO gotoIns = new BIRTerminator.GOTO(branch.pos,
+                                                                (Boolean) condition ? branch.trueBB : branch.falseBB);
+            gotoIns.scope = branch.scope;
+            basicBlock.terminator = gotoIns;
+        }
+    }
+
+    private ConstantLoad fold(BIRNonTerminator instruction) {
+        if (instruction.lhsOp == null) {
+            return null;
+        }
+        int lhsTypeTag = instruction.lhsOp.variableDcl.type.tag;
+        Object value = null;
+        if (instruction instanceof BinaryOp) {
+            BinaryOp binaryOp = (BinaryOp) instruction;
+            ConstantLoad lhs = constants.get(binaryOp.rhsOp1.variableDcl);
+            ConstantLoad rhs = constants.get(binaryOp.rhsOp2.variableDcl);
+            if (lhs == null || rhs == null || lhs.type.tag != rhs.type.tag) {
+                return null;
+            }
+            value = foldBinaryOp(binaryOp.kind, lhs.type.tag, lhs.value, rhs.value);
+        } else if (instruction.kind == InstructionKind.NOT || instruction.kind == InstructionKind.NEGATE) {
+            ConstantLoad operand = constants.get(((UnaryOP) instruction).rhsOp.variableDcl);
+            if (operand == null || operand.type.tag != lhsTypeTag) {
+                return null;
+            }
+            value = foldUnaryOp(instruction.kind, lhsTypeTag, operand.value);
+        } else if (instruction.kind == InstructionKind.MOVE) {
+            ConstantLoad operand = constants.get(((Move) instruction).rhsOp.variableDcl);
+            if (operand != null && operand.type.tag == lhsTypeTag) {
+                value = operand.value;
+            }
+        }
+
+        if (value == null || getTypeTag(value) != lhsTypeTag) {
+            return null;
+        }
+        return new ConstantLoad(instruction.pos, value, instruction.lhsOp.variableDcl.type, instruction.lhsOp);
+    }
+
+    private Object foldBinaryOp(InstructionKind kind, int typeTag, Object lhsValue, Object rhsValue) {
+        switch (typeTag) {
+            case TypeTags.INT:
+                return foldIntBinaryOp(kind, (Long) lhsValue, (Long) rhsValue);
+            case TypeTags.FLOAT:
+                return foldFloatBinaryOp(kind, toDouble(lhsValue), toDouble(rhsValue));
+            case TypeTags.BOOLEAN:
+                if (kind == InstructionKind.AND) {
+                    return (Boolean) lhsValue && (Boolean) rhsValue;
+                } else if (kind == InstructionKind.OR) {
+                    return (Boolean) lhsValue || (Boolean) rhsValue;
+                }
+                return foldEqualityOp(kind, lhsValue, rhsValue);
+            case TypeTags.STRING:
+                if (kind == InstructionKind.ADD) {
+                    return lhsValue.toString() + rhsValue.toString();
+                }
+                return foldEqualityOp(kind, lhsValue.toString(), rhsValue.toString());
+            default:
+                return null;
+        }
+    }
+
+    private Object foldIntBinaryOp(InstructionKind kind, long lhs, long rhs) {
+        try {
+            switch (kind) {
+                case ADD:
+                    return Math.addExact(lhs, rhs);
+                case SUB:
+                    return Math.subtractExact(lhs, rhs);
+                case MUL:
+                    return Math.multiplyExact(lhs, rhs);
+                case DIV:
+                    if (rhs == 0 || (lhs == Long.MIN_VALUE && rhs == -1)) {
+                        return null;
+                    }
+                    return lhs / rhs;
+                case MOD:
+                    return rhs == 0 ? null : lhs % rhs;
+                case GREATER_THAN:
+                    return lhs > rhs;
+                case GREATER_EQUAL:
+                    return lhs >= rhs;
+                case LESS_THAN:
+                    return lhs < rhs;
+                case LESS_EQUAL:
+                    return lhs <= rhs;
+                default:
+                    return foldEqualityOp(kind, lhs, rhs);
+            }
+        } catch (ArithmeticException e) {
+            // leave the operation as it is, so that it panics at runtime
+            return null;
+        }
+    }
+
+    private Object foldFloatBinaryOp(InstructionKind kind, double lhs, double rhs) {
+        switch (kind) {
+            case ADD:
+                return lhs + rhs;
+            case SUB:
+                return lhs - rhs;
+            case MUL:
+                return lhs * rhs;
+            case DIV:
+                return lhs / rhs;
+            case GREATER_THAN:
+                return lhs > rhs;
+            case GREATER_EQUAL:
+                return lhs >= rhs;
+            case LESS_THAN:
+                return lhs < rhs;
+            case LESS_EQUAL:
+                return lhs <= rhs;
+            default:
+                // float equality has its own semantics for NaN and -0.0, hence is not folded
+                return null;
+        }
+    }
+
+    private Object foldEqualityOp(InstructionKind kind, Object lhs, Object rhs) {
+        switch (kind) {
+            case EQUAL:
+                return Objects.equals(lhs, rhs);
+            case NOT_EQUAL:
+                return !Objects.equals(lhs, rhs);
+            default:
+                return null;
+        }
+    }
+
+    private Object foldUnaryOp(InstructionKind kind, int typeTag, Object value) {
+        if (kind == InstructionKind.NOT) {
+            return typeTag == TypeTags.BOOLEAN ? !(Boolean) value : null;
+        }
+        switch (typeTag) {
+            case TypeTags.INT:
+                long intValue = (Long) value;
+                return intValue == Long.MIN_VALUE ? null : -intValue;
+            case TypeTags.FLOAT:
+                return -toDouble(value);
+            default:
+                return null;
+        }
+    }
+
+    private Object getConstantValue(BIROperand operand, int typeTag) {
+        ConstantLoad constantLoad = constants.get(operand.variableDcl);
+        if (constantLoad == null || constantLoad.type.tag != typeTag) {
+            return null;
+        }
+        return constantLoad.value;
+    }
+
+    private boolean isTrackable(ConstantLoad constantLoad) {
+        BIRNode.BIRVariableDcl variableDcl = constantLoad.lhsOp.variableDcl;
+        if (variableDcl.kind == VarKind.GLOBAL || variableDcl.kind == VarKind.CONSTANT ||
+                variableDcl.type.tag != constantLoad.type.tag) {
+            return false;
+        }
+        int valueTypeTag = getTypeTag(constantLoad.value);
+        if (constantLoad.type.tag == TypeTags.FLOAT) {
+            // float constants may be kept in their string form
+            return valueTypeTag == TypeTags.FLOAT || valueTypeTag == TypeTags.STRING;
+        }
+        return valueTypeTag == constantLoad.type.tag;
+    }
+
+    private static int getTypeTag(Object value) {
+        if (value instanceof Long) {
+            return TypeTags.INT;
+        } else if (value instanceof Double) {
+            return TypeTags.FLOAT;
+        } else if (value instanceof Boolean) {
+            return TypeTags.BOOLEAN;
+        } else if (value instanceof String) {
+            return TypeTags.STRING;
+        }
+        return -1;
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Double ? (Double) value : Double.parseDouble(value.toString());
+    }
+}
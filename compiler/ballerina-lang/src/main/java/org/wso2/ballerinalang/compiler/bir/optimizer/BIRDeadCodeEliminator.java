@@ -0,0 +1,201 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRArgument;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.BirScope;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes the basic blocks which can not be reached from the entry of a function and the constant loads and moves to
+ * temporary variables whose values are never used.
+ *
+ * @since 2.0.0
+ */
+public class BIRDeadCodeEliminator extends BIRVisitor {
+
+    public void optimizeNode(BIRNode node) {
+        node.accept(this);
+    }
+
+    @Override
+    public void visit(BIRNode.BIRPackage birPackage) {
+        birPackage.typeDefs.forEach(tDef -> tDef.accept(this));
+        birPackage.functions.forEach(func -> func.accept(this));
+    }
+
+    @Override
+    public void visit(BIRNode.BIRTypeDefinition birTypeDefinition) {
+        birTypeDefinition.attachedFuncs.forEach(func -> func.accept(this));
+    }
+
+    @Override
+    public void visit(BIRFunction birFunction) {
+        if (birFunction.basicBlocks.isEmpty()) {
+            return;
+        }
+        removeUnreachableBasicBlocks(birFunction);
+
+        // Error handling blocks are not connected to the rest of the graph, hence liveness of the variables used
+        // within them is not known.
+        if (birFunction.errorTable.isEmpty() && hasKnownOperands(birFunction)) {
+            removeDeadStores(birFunction);
+        }
+    }
+
+    /**
+     * Checks whether every instruction of the function reads only its rhs operands and writes only its lhs operand,
+     * which is what the liveness analysis assumes.
+     */
+    private boolean hasKnownOperands(BIRFunction birFunction) {
+        for (BIRBasicBlock basicBlock : birFunction.basicBlocks) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                if (!(instruction instanceof BIRNonTerminator.BinaryOp) && !isKnownInstruction(instruction.kind)) {
+                    return false;
+                }
+            }
+            if (!isKnownTerminator(basicBlock.terminator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isKnownInstruction(InstructionKind kind) {
+        switch (kind) {
+            case MOVE:
+            case CONST_LOAD:
+            case NOT:
+            case NEGATE:
+            case TYPEOF:
+            case TYPE_CAST:
+            case TYPE_TEST:
+            case IS_LIKE:
+            case MAP_LOAD:
+            case ARRAY_LOAD:
+            case STRING_LOAD:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isKnownTerminator(BIRTerminator terminator) {
+        switch (terminator.kind) {
+            case GOTO:
+            case BRANCH:
+            case RETURN:
+            case PANIC:
+                return true;
+            case CALL:
+            case ASYNC_CALL:
+                for (BIRArgument arg : ((BIRTerminator.Call) terminator).args) {
+                    if (arg.condition != null) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void removeUnreachableBasicBlocks(BIRFunction birFunction) {
+        List<BIRBasicBlock> entryBasicBlocks = new ArrayList<>();
+        entryBasicBlocks.add(birFunction.basicBlocks.get(0));
+        for (BIRErrorEntry errorEntry : birFunction.errorTable) {
+            entryBasicBlocks.add(errorEntry.trapBB);
+            entryBasicBlocks.add(errorEntry.endBB);
+            entryBasicBlocks.add(errorEntry.targetBB);
+        }
+
+        ControlFlowGraph graph = new ControlFlowGraph(birFunction);
+        Set<BIRBasicBlock> reachable = graph.getReachableBasicBlocks(entryBasicBlocks);
+        if (reachable.size() == birFunction.basicBlocks.size()) {
+            return;
+        }
+        birFunction.basicBlocks.removeIf(bb -> !reachable.contains(bb));
+
+        // Variables declared within the removed blocks should not refer to them anymore.
+        Set<BirScope> scopes = getScopes(birFunction.basicBlocks);
+        for (BIRVariableDcl localVar : birFunction.localVars) {
+            if (localVar.startBB != null &&
+                    (!reachable.contains(localVar.startBB) || !scopes.contains(localVar.insScope))) {
+                localVar.startBB = null;
+            }
+            if (localVar.endBB != null && !reachable.contains(localVar.endBB)) {
+                localVar.endBB = null;
+            }
+        }
+    }
+
+    private Set<BirScope> getScopes(List<BIRBasicBlock> basicBlocks) {
+        Set<BirScope> scopes = new HashSet<>();
+        for (BIRBasicBlock basicBlock : basicBlocks) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                addScope(scopes, instruction.scope);
+            }
+            addScope(scopes, basicBlock.terminator.scope);
+        }
+        return scopes;
+    }
+
+    private void addScope(Set<BirScope> scopes, BirScope scope) {
+        while (scope != null && scopes.add(scope)) {
+            scope = scope.parent;
+        }
+    }
+
+    private void removeDeadStores(BIRFunction birFunction) {
+        boolean removed = true;
+        while (removed) {
+            ControlFlowGraph graph = new ControlFlowGraph(birFunction);
+            LivenessAnalyzer analyzer = new LivenessAnalyzer(graph.getNodes());
+            Map<BIRAbstractInstruction, Set<BIRVariableDcl>> liveOuts = analyzer.getInstructionLiveOuts();
+            removed = false;
+            for (BIRBasicBlock basicBlock : birFunction.basicBlocks) {
+                removed |= basicBlock.instructions.removeIf(ins -> isDeadStore(ins, liveOuts.get(ins)));
+            }
+        }
+    }
+
+    private boolean isDeadStore(BIRNonTerminator instruction, Set<BIRVariableDcl> liveOut) {
+        if (instruction.kind != InstructionKind.CONST_LOAD && instruction.kind != InstructionKind.MOVE) {
+            return false;
+        }
+        BIRVariableDcl lhsVar = instruction.lhsOp.variableDcl;
+        return lhsVar.kind == VarKind.TEMP && !liveOut.contains(lhsVar);
+    }
+}
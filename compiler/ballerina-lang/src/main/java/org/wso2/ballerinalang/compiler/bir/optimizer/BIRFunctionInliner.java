@@ -0,0 +1,326 @@
+/*
+ *  Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.optimizer;
+
+import org.wso2.ballerinalang.compiler.bir.model.ArgumentState;
+import org.wso2.ballerinalang.compiler.bir.model.BIRArgument;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.BinaryOp;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.ConstantLoad;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.Move;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator.UnaryOP;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inlines calls to small functions of the same module.
+ * <p>
+ * A function is inlined when its body is a straight sequence of basic blocks, joined by gotos and ending with a
+ * return, of at most {@code MAX_INLINED_INSTRUCTIONS} moves, constant loads and arithmetic, comparison and logical
+ * operations on the int, float, boolean and string values of its own variables. Such a function can neither yield
+ * nor access any state other than its arguments. Panics raised by an inlined arithmetic operation are reported at
+ * the call site.
+ *
+ * @since 2.0.0
+ */
+public class BIRFunctionInliner extends BIRVisitor {
+
+    private static final int MAX_INLINED_INSTRUCTIONS = 8;
+    private static final String INLINED_VAR_PREFIX = "%inl";
+
+    private final Map<String, BIRFunction> inlineableFunctions = new HashMap<>();
+    private final Map<BIRFunction, List<BIRNonTerminator>> inlinedBodies = new HashMap<>();
+    private BIRNode.BIRPackage currentPackage;
+    private int inlinedVarCount = 0;
+
+    public void optimizeNode(BIRNode node) {
+        node.accept(this);
+    }
+
+    @Override
+    public void visit(BIRNode.BIRPackage birPackage) {
+        currentPackage = birPackage;
+        inlineableFunctions.clear();
+        inlinedBodies.clear();
+        for (BIRFunction function : birPackage.functions) {
+            List<BIRNonTerminator> body = getInlinedBody(function);
+            if (body != null) {
+                inlineableFunctions.put(function.name.value, function);
+                inlinedBodies.put(function, body);
+            }
+        }
+        if (inlineableFunctions.isEmpty()) {
+            return;
+        }
+
+        birPackage.typeDefs.forEach(tDef -> tDef.accept(this));
+        birPackage.functions.forEach(func -> func.accept(this));
+    }
+
+    @Override
+    public void visit(BIRNode.BIRTypeDefinition birTypeDefinition) {
+        birTypeDefinition.attachedFuncs.forEach(func -> func.accept(this));
+    }
+
+    @Override
+    public void visit(BIRFunction birFunction) {
+        for (BIRBasicBlock basicBlock : birFunction.basicBlocks) {
+            BIRFunction callee = getInlinedCallee(basicBlock.terminator);
+            if (callee != null && callee != birFunction) {
+                inlineCall(birFunction, basicBlock, (BIRTerminator.Call) basicBlock.terminator, callee);
+            }
+        }
+    }
+
+    private BIRFunction getInlinedCallee(BIRTerminator terminator) {
+        if (terminator == null || terminator.kind != InstructionKind.CALL) {
+            return null;
+        }
+        BIRTerminator.Call call = (BIRTerminator.Call) terminator;
+        if (call.isVirtual || call.transactional || !currentPackage.packageID.equals(call.calleePkg)) {
+            return null;
+        }
+        BIRFunction callee = inlineableFunctions.get(call.name.value);
+        if (callee == null || callee.parameters.size() != call.args.size()) {
+            return null;
+        }
+        int argIndex = 0;
+        for (BIRVariableDcl param : callee.parameters.keySet()) {
+            BIRArgument arg = call.args.get(argIndex++);
+            if (arg.argState != ArgumentState.PROVIDED || arg.variableDcl.type.tag != param.type.tag) {
+                return null;
+            }
+        }
+        if (call.lhsOp != null && call.lhsOp.variableDcl.type.tag != getReturnVariable(callee).type.tag) {
+            return null;
+        }
+        return callee;
+    }
+
+    private void inlineCall(BIRFunction caller, BIRBasicBlock basicBlock, BIRTerminator.Call call,
+                            BIRFunction callee) {
+        Map<BIRVariableDcl, BIRVariableDcl> varMap = new HashMap<>();
+        for (BIRVariableDcl calleeVar : callee.localVars) {
+            // Only the temporaries keep their kind, since the temp var optimizations expect them to be used once.
+            VarKind kind = calleeVar.kind == VarKind.TEMP ? VarKind.TEMP : VarKind.SYNTHETIC;
+            BIRVariableDcl inlinedVar = new BIRVariableDcl(calleeVar.type,
+                                                           new Name(INLINED_VAR_PREFIX + inlinedVarCount++),
+                                                           VarScope.FUNCTION, kind);
+            caller.localVars.add(inlinedVar);
+            varMap.put(calleeVar, inlinedVar);
+        }
+
+        List<BIRNonTerminator> inlined = new ArrayList<>();
+        int argIndex = 0;
+        for (BIRVariableDcl param : callee.parameters.keySet()) {
+            BIRArgument arg = call.args.get(argIndex++);
+            inlined.add(new Move(call.pos, new BIROperand(arg.variableDcl), new BIROperand(varMap.get(param))));
+        }
+        for (BIRNonTerminator instruction : inlinedBodies.get(callee)) {
+            inlined.add(copyInstruction(instruction, varMap, call));
+        }
+        if (call.lhsOp != null) {
+            inlined.add(new Move(call.pos, new BIROperand(varMap.get(getReturnVariable(callee))), call.lhsOp));
+        }
+        for (BIRNonTerminator instruction : inlined) {
+            instruction.scope = call.scope;
+        }
+        basicBlock.instructions.addAll(inlined);
+
+        BIRTerminator.GOTO gotoIns = new BIRTerminator.GOTO(call.pos, call.thenBB);
+        gotoIns.scope = call.scope;
+        basicBlock.terminator = gotoIns;
+    }
+
+    private BIRNonTerminator copyInstruction(BIRNonTerminator instruction, Map<BIRVariableDcl, BIRVariableDcl> varMap,
+                                             BIRTerminator.Call call) {
+        BIROperand lhsOp = mapOperand(instruction.lhsOp, varMap);
+        switch (instruction.kind) {
+            case MOVE:
+                return new Move(call.pos, mapOperand(((Move) instruction).rhsOp, varMap), lhsOp);
+            case CONST_LOAD:
+                ConstantLoad constantLoad = (ConstantLoad) instruction;
+                return new ConstantLoad(call.pos, constantLoad.value, constantLoad.type, lhsOp);
+            case NOT:
+            case NEGATE:
+                return new UnaryOP(call.pos, instruction.kind, lhsOp, mapOperand(((UnaryOP) instruction).rhsOp,
+                                                                                 varMap));
+            default:
+                BinaryOp binaryOp = (BinaryOp) instruction;
+                return new BinaryOp(call.pos, instruction.kind, lhsOp.variableDcl.type, lhsOp,
+                                    mapOperand(binaryOp.rhsOp1, varMap), mapOperand(binaryOp.rhsOp2, varMap));
+        }
+    }
+
+    private BIROperand mapOperand(BIROperand operand, Map<BIRVariableDcl, BIRVariableDcl> varMap) {
+        return new BIROperand(varMap.get(operand.variableDcl));
+    }
+
+    /**
+     * Returns the instructions of the function in the order they are executed, or null if it can not be inlined.
+     */
+    private List<BIRNonTerminator> getInlinedBody(BIRFunction function) {
+        if ((function.flags & Flags.NATIVE) == Flags.NATIVE || function.restParam != null ||
+                function.basicBlocks.isEmpty() || !function.errorTable.isEmpty() ||
+                function.workerChannels.length > 0) {
+            return null;
+        }
+        for (List<BIRBasicBlock> defaultValueBBs : function.parameters.values()) {
+            if (!defaultValueBBs.isEmpty()) {
+                return null;
+            }
+        }
+        Set<BIRVariableDcl> localVars = new HashSet<>(function.localVars);
+        for (BIRVariableDcl localVar : localVars) {
+            if (!isInlineableVarKind(localVar.kind) || !isInlineableType(localVar.type.tag)) {
+                return null;
+            }
+        }
+        if (getReturnVariable(function) == null) {
+            return null;
+        }
+
+        // A return statement ends with a goto to the block which returns, hence the body is followed through gotos.
+        List<BIRNonTerminator> body = new ArrayList<>();
+        Set<BIRBasicBlock> visited = new HashSet<>();
+        BIRBasicBlock basicBlock = function.basicBlocks.get(0);
+        while (visited.add(basicBlock)) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                if (!isInlineableInstruction(instruction) || !usesOwnVariables(instruction, localVars)) {
+                    return null;
+                }
+                body.add(instruction);
+            }
+            if (body.size() > MAX_INLINED_INSTRUCTIONS || basicBlock.terminator == null) {
+                return null;
+            }
+            if (basicBlock.terminator.kind == InstructionKind.RETURN) {
+                return body;
+            }
+            if (basicBlock.terminator.kind != InstructionKind.GOTO) {
+                return null;
+            }
+            basicBlock = ((BIRTerminator.GOTO) basicBlock.terminator).targetBB;
+        }
+        return null;
+    }
+
+    private boolean usesOwnVariables(BIRNonTerminator instruction, Set<BIRVariableDcl> localVars) {
+        if (!localVars.contains(instruction.lhsOp.variableDcl)) {
+            return false;
+        }
+        switch (instruction.kind) {
+            case CONST_LOAD:
+                return true;
+            case MOVE:
+                return localVars.contains(((Move) instruction).rhsOp.variableDcl);
+            case NOT:
+            case NEGATE:
+                return localVars.contains(((UnaryOP) instruction).rhsOp.variableDcl);
+            default:
+                BinaryOp binaryOp = (BinaryOp) instruction;
+                return localVars.contains(binaryOp.rhsOp1.variableDcl) &&
+                        localVars.contains(binaryOp.rhsOp2.variableDcl);
+        }
+    }
+
+    private boolean isInlineableInstruction(BIRNonTerminator instruction) {
+        switch (instruction.kind) {
+            case MOVE:
+            case CONST_LOAD:
+            case NOT:
+            case NEGATE:
+                return true;
+            case ADD:
+            case SUB:
+            case MUL:
+            case DIV:
+            case MOD:
+            case EQUAL:
+            case NOT_EQUAL:
+            case GREATER_THAN:
+            case GREATER_EQUAL:
+            case LESS_THAN:
+            case LESS_EQUAL:
+            case AND:
+            case OR:
+            case BITWISE_AND:
+            case BITWISE_OR:
+            case BITWISE_XOR:
+            case BITWISE_LEFT_SHIFT:
+            case BITWISE_RIGHT_SHIFT:
+            case BITWISE_UNSIGNED_RIGHT_SHIFT:
+                return instruction instanceof BinaryOp;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isInlineableVarKind(VarKind kind) {
+        switch (kind) {
+            case RETURN:
+            case ARG:
+            case LOCAL:
+            case TEMP:
+            case SYNTHETIC:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isInlineableType(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT:
+            case TypeTags.FLOAT:
+            case TypeTags.BOOLEAN:
+            case TypeTags.STRING:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private BIRVariableDcl getReturnVariable(BIRFunction function) {
+        for (BIRVariableDcl localVar : function.localVars) {
+            if (localVar.kind == VarKind.RETURN) {
+                return localVar;
+            }
+        }
+        return null;
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
+import org.ballerinalang.compiler.CompilerOptionName;
 import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRArgument;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
@@ -34,6 +35,7 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
 import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -54,6 +56,10 @@ public class BIROptimizer {
     private final LHSTempVarOptimizer lhsTempVarOptimizer;
     private final BIRLockOptimizer lockOptimizer;
     private final BirVariableOptimizer variableOptimizer;
+    private final BIRFunctionInliner functionInliner;
+    private final BIRConstantFolder constantFolder;
+    private final BIRDeadCodeEliminator deadCodeEliminator;
+    private final int optimizationLevel;
 
     public static BIROptimizer getInstance(CompilerContext context) {
         BIROptimizer birGen = context.get(BIR_OPTIMIZER);
@@ -70,9 +76,36 @@ public class BIROptimizer {
         this.lhsTempVarOptimizer = new LHSTempVarOptimizer();
         this.lockOptimizer = new BIRLockOptimizer();
         this.variableOptimizer = new BirVariableOptimizer();
+        this.functionInliner = new BIRFunctionInliner();
+        this.constantFolder = new BIRConstantFolder();
+        this.deadCodeEliminator = new BIRDeadCodeEliminator();
+        this.optimizationLevel = getOptimizationLevel(CompilerOptions.getInstance(context));
+    }
+
+    private static int getOptimizationLevel(CompilerOptions compilerOptions) {
+        String optimizationLevel = compilerOptions.get(CompilerOptionName.OPTIMIZATION_LEVEL);
+        if (optimizationLevel == null || optimizationLevel.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(optimizationLevel);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     public void optimizePackage(BIRPackage pkg) {
+        // Inline small functions, so that their bodies get folded along with the caller
+        if (this.optimizationLevel >= 2) {
+            this.functionInliner.optimizeNode(pkg);
+        }
+
+        // Fold constant expressions and remove the code they make unreachable
+        if (this.optimizationLevel >= 1) {
+            this.constantFolder.optimizeNode(pkg);
+            this.deadCodeEliminator.optimizeNode(pkg);
+        }
+
         // RHS temp var optimization
         pkg.accept(this.rhsTempVarOptimizer);
 
@@ -22,10 +22,14 @@ import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
 import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The control flow graph that gets created from the bir. In this implementation each instruction is reflected as a node
@@ -98,6 +102,38 @@ public class ControlFlowGraph {
         return nodes;
     }
 
+    /**
+     * Finds the basic blocks which can be reached by following the edges of the graph from the given basic blocks.
+     *
+     * @param entryBasicBlocks basic blocks to start from
+     * @return the set of reachable basic blocks, including the given ones
+     */
+    public Set<BIRNode.BIRBasicBlock> getReachableBasicBlocks(List<BIRNode.BIRBasicBlock> entryBasicBlocks) {
+        Set<Node> visited = new HashSet<>();
+        Deque<Node> toVisit = new ArrayDeque<>();
+        for (BIRNode.BIRBasicBlock basicBlock : entryBasicBlocks) {
+            Node entryNode = funcBasicBlockFirstNodeMap.get(basicBlock);
+            if (entryNode != null && visited.add(entryNode)) {
+                toVisit.push(entryNode);
+            }
+        }
+        while (!toVisit.isEmpty()) {
+            for (Node successor : toVisit.pop().successors) {
+                if (visited.add(successor)) {
+                    toVisit.push(successor);
+                }
+            }
+        }
+
+        Set<BIRNode.BIRBasicBlock> reachable = new HashSet<>();
+        funcBasicBlockFirstNodeMap.forEach((basicBlock, node) -> {
+            if (visited.contains(node)) {
+                reachable.add(basicBlock);
+            }
+        });
+        return reachable;
+    }
+
     static class Node {
         List<Node> successors;
         List<Node> predecessors;
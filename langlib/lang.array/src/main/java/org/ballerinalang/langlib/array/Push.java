@@ -41,13 +41,10 @@ public class Push {
 
     public static void push(BArray arr, Object... vals) {
         Type arrType = arr.getType();
-        int nVals = vals.length;
         switch (arrType.getTag()) {
             case TypeTags.ARRAY_TAG:
             case TypeTags.TUPLE_TAG:
-                for (int i = arr.size(), j = 0; j < nVals; i++, j++) {
-                    arr.add(i, vals[j]);
-                }
+                arr.appendAll(vals);
                 break;
             default:
                 throw createOpNotSupportedError(arrType, FUNCTION_SIGNATURE);
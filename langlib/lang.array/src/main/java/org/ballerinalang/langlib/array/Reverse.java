@@ -19,8 +19,6 @@
 package org.ballerinalang.langlib.array;
 
 import io.ballerina.runtime.api.TypeTags;
-import io.ballerina.runtime.api.creators.TypeCreator;
-import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.values.BArray;
 import org.ballerinalang.langlib.array.utils.ArrayUtils;
@@ -39,8 +37,10 @@ public class Reverse {
         BArray reversedArr;
         switch (arrType.getTag()) {
             case TypeTags.ARRAY_TAG:
-                reversedArr = ValueCreator.createArrayValue(TypeCreator.createArrayType(arr.getElementType()));
-                break;
+                // Copy the members in bulk and reverse them in place.
+                reversedArr = arr.slice(0, arr.size());
+                reversedArr.reverse();
+                return reversedArr;
             case TypeTags.TUPLE_TAG:
                 reversedArr = ArrayUtils.createEmptyArrayFromTuple(arr);
                 break;
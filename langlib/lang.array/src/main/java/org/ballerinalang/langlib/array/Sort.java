@@ -18,15 +18,20 @@
 
 package org.ballerinalang.langlib.array;
 
+import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BFunctionPointer;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.ValueComparisonUtils;
 import io.ballerina.runtime.internal.scheduling.Scheduler;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 import static io.ballerina.runtime.api.constants.RuntimeConstants.ARRAY_LANG_LIB;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.INVALID_TYPE_TO_SORT;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.getModulePrefixedReason;
@@ -39,74 +44,231 @@ import static org.ballerinalang.langlib.array.utils.ArrayUtils.checkIsArrayOnlyO
  */
 public class Sort {
 
+    private static final String ASCENDING = "ascending";
+
+    private static final Comparator<BString> CODE_POINT_ORDER =
+            (str1, str2) -> compareCodePoints(str1.getValue(), str2.getValue());
+
     public static BArray sort(BArray arr, Object direction, Object func) {
         checkIsArrayOnlyOperation(arr.getType(), "sort()");
         BFunctionPointer<Object, Object> function = (BFunctionPointer<Object, Object>) func;
+        String sortDirection = direction.toString();
+        boolean isAscending = ASCENDING.equals(sortDirection);
 
-        Object[][] sortArr = new Object[arr.size()][2];
-        Object[][] sortArrClone = new Object[arr.size()][2];
+        if (function == null) {
+            switch (arr.getElementType().getTag()) {
+                case TypeTags.INT_TAG:
+                case TypeTags.SIGNED32_INT_TAG:
+                case TypeTags.SIGNED16_INT_TAG:
+                case TypeTags.SIGNED8_INT_TAG:
+                case TypeTags.UNSIGNED32_INT_TAG:
+                case TypeTags.UNSIGNED16_INT_TAG:
+                case TypeTags.UNSIGNED8_INT_TAG:
+                    sortIntArray(arr, isAscending);
+                    return arr;
+                case TypeTags.FLOAT_TAG:
+                    sortFloatArray(arr, isAscending);
+                    return arr;
+                case TypeTags.STRING_TAG:
+                case TypeTags.CHAR_STRING_TAG:
+                    sortStringArray(arr, isAscending);
+                    return arr;
+                default:
+                    break;
+            }
+        }
+
+        int size = arr.size();
+        Object[] keys = new Object[size];
+        Object[] values = null;
         if (function != null) {
-            for (int i = 0; i < arr.size(); i++) {
-                sortArr[i][0] = function.call(new Object[]{Scheduler.getStrand(), arr.get(i), true});
-                sortArr[i][1] = arr.get(i);
+            values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = arr.get(i);
+                keys[i] = function.call(new Object[]{Scheduler.getStrand(), values[i], true});
             }
         } else {
-            for (int i = 0; i < arr.size(); i++) {
-                sortArr[i][0] = sortArr[i][1] = arr.get(i);
+            for (int i = 0; i < size; i++) {
+                keys[i] = arr.get(i);
             }
         }
 
-        mergesort(sortArr, sortArrClone, 0, sortArr.length - 1, direction.toString());
+        try {
+            mergesort(keys, values, new Object[size], values == null ? null : new Object[size], 0, size - 1,
+                      sortDirection, isAscending);
+        } catch (BError error) {
+            throw ErrorCreator.createError(getModulePrefixedReason(ARRAY_LANG_LIB, INVALID_TYPE_TO_SORT),
+                    StringUtils.fromString(((BMap) error.getDetails())
+                            .get(StringUtils.fromString("message")).toString()));
+        }
 
-        for (int k = 0; k < sortArr.length; k++) {
-            arr.add(k, sortArr[k][1]);
+        Object[] sorted = values == null ? keys : values;
+        for (int k = 0; k < size; k++) {
+            arr.add(k, sorted[k]);
         }
 
         return arr;
     }
 
+    private static void sortIntArray(BArray arr, boolean isAscending) {
+        int size = arr.size();
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = arr.getInt(i);
+        }
+        Arrays.parallelSort(values);
+        if (isAscending) {
+            for (int k = 0; k < size; k++) {
+                arr.add(k, values[k]);
+            }
+        } else {
+            for (int k = 0; k < size; k++) {
+                arr.add(k, values[size - 1 - k]);
+            }
+        }
+    }
+
+    private static void sortFloatArray(BArray arr, boolean isAscending) {
+        int size = arr.size();
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = arr.getFloat(i);
+        }
+
+        // -0.0 and +0.0 are equal when sorting, so they have to keep their original relative order. Remember it
+        // only if both are present, since the primitive sort places -0.0 first.
+        double[] zeros = null;
+        int negativeZeros = 0;
+        int zeroCount = 0;
+        for (double value : values) {
+            if (value == 0) {
+                zeroCount++;
+                if (Double.doubleToRawLongBits(value) != 0) {
+                    negativeZeros++;
+                }
+            }
+        }
+        if (negativeZeros != 0 && negativeZeros != zeroCount) {
+            zeros = new double[zeroCount];
+            for (int i = 0, j = 0; i < size; i++) {
+                if (values[i] == 0) {
+                    zeros[j++] = values[i];
+                }
+            }
+        }
+
+        Arrays.parallelSort(values);
+
+        // NaN is placed last in both directions, and the primitive sort already places it last.
+        int end = size;
+        while (end > 0 && Double.isNaN(values[end - 1])) {
+            end--;
+        }
+        if (!isAscending) {
+            for (int i = 0, j = end - 1; i < j; i++, j--) {
+                double temp = values[i];
+                values[i] = values[j];
+                values[j] = temp;
+            }
+        }
+        if (zeros != null) {
+            int zeroStart = 0;
+            while (values[zeroStart] != 0) {
+                zeroStart++;
+            }
+            System.arraycopy(zeros, 0, values, zeroStart, zeros.length);
+        }
+
+        for (int k = 0; k < size; k++) {
+            arr.add(k, values[k]);
+        }
+    }
+
+    private static void sortStringArray(BArray arr, boolean isAscending) {
+        int size = arr.size();
+        BString[] values = new BString[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = arr.getBString(i);
+        }
+
+        Arrays.parallelSort(values, isAscending ? CODE_POINT_ORDER : CODE_POINT_ORDER.reversed());
+
+        for (int k = 0; k < size; k++) {
+            arr.add(k, values[k]);
+        }
+    }
+
+    /**
+     * Compares two strings by their code points, without decoding the code points of the common prefix.
+     */
+    private static int compareCodePoints(String str1, String str2) {
+        int length = Math.min(str1.length(), str2.length());
+        for (int i = 0; i < length; i++) {
+            int char1 = str1.charAt(i);
+            int char2 = str2.charAt(i);
+            if (char1 != char2) {
+                // UTF-16 order differs from code point order only when surrogates are compared with the chars
+                // above them, so move the surrogates above all other chars.
+                if (char1 >= Character.MIN_SURROGATE && char2 >= Character.MIN_SURROGATE) {
+                    char1 = char1 > Character.MAX_SURROGATE ? char1 - 0x800 : char1 + 0x2000;
+                    char2 = char2 > Character.MAX_SURROGATE ? char2 - 0x800 : char2 + 0x2000;
+                }
+                return char1 - char2;
+            }
+        }
+        return str1.length() - str2.length();
+    }
+
     // Adapted from https://algs4.cs.princeton.edu/22mergesort/Merge.java.html
-    private static void mergesort(Object[][] input, Object[][] aux, int lo, int hi, String direction) {
+    // When values is null the keys are the values being sorted.
+    private static void mergesort(Object[] keys, Object[] values, Object[] auxKeys, Object[] auxValues, int lo,
+                                  int hi, String direction, boolean isAscending) {
         if (hi <= lo) {
             return;
         }
 
         int mid = lo + (hi - lo) / 2;
 
-        mergesort(input, aux, lo, mid, direction);
-        mergesort(input, aux, mid + 1, hi, direction);
+        mergesort(keys, values, auxKeys, auxValues, lo, mid, direction, isAscending);
+        mergesort(keys, values, auxKeys, auxValues, mid + 1, hi, direction, isAscending);
 
-        merge(input, aux, lo, mid, hi, direction);
+        // The halves are already in order if the last member of the first half is not placed after the first member
+        // of the second half.
+        if (!isPlacedBefore(keys[mid + 1], keys[mid], direction, isAscending)) {
+            return;
+        }
+        merge(keys, values, auxKeys, auxValues, lo, mid, hi, direction, isAscending);
     }
 
-    private static void merge(Object[][] input, Object[][] aux, int lo, int mid, int hi, String direction) {
-        if (hi + 1 - lo >= 0) {
-            System.arraycopy(input, lo, aux, lo, hi + 1 - lo);
+    private static void merge(Object[] keys, Object[] values, Object[] auxKeys, Object[] auxValues, int lo, int mid,
+                              int hi, String direction, boolean isAscending) {
+        System.arraycopy(keys, lo, auxKeys, lo, hi + 1 - lo);
+        if (values != null) {
+            System.arraycopy(values, lo, auxValues, lo, hi + 1 - lo);
         }
 
         for (int i = lo, j = mid + 1, k = lo; k <= hi; k++) {
             int index;
-            try {
-                if (i > mid) {
-                    index = j++;
-                } else if (j > hi) {
-                    index = i++;
-                } else if (direction.equals("ascending") && ValueComparisonUtils.compareValues(aux[j][0],
-                        aux[i][0], direction) < 0) {
-                    index = j++;
-                } else if (direction.equals("descending") && ValueComparisonUtils.compareValues(aux[i][0],
-                        aux[j][0], direction) < 0) {
-                    index = j++;
-                } else {
-                    index = i++;
-                }
-                input[k] = aux[index];
-
-            } catch (BError error) {
-                throw ErrorCreator.createError(getModulePrefixedReason(ARRAY_LANG_LIB, INVALID_TYPE_TO_SORT),
-                        StringUtils.fromString(((BMap) error.getDetails())
-                                .get(StringUtils.fromString("message")).toString()));
+            if (i > mid) {
+                index = j++;
+            } else if (j > hi) {
+                index = i++;
+            } else if (isPlacedBefore(auxKeys[j], auxKeys[i], direction, isAscending)) {
+                index = j++;
+            } else {
+                index = i++;
+            }
+            keys[k] = auxKeys[index];
+            if (values != null) {
+                values[k] = auxValues[index];
             }
         }
     }
+
+    private static boolean isPlacedBefore(Object key, Object otherKey, String direction, boolean isAscending) {
+        if (isAscending) {
+            return ValueComparisonUtils.compareValues(key, otherKey, direction) < 0;
+        }
+        return ValueComparisonUtils.compareValues(otherKey, key, direction) < 0;
+    }
 }
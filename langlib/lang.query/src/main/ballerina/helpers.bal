@@ -14,9 +14,18 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/lang.__internal as internal;
 import ballerina/lang.'xml;
 import ballerina/jballerina.java;
 
+# Config to evaluate `let`, `where` and `select` clauses of queries over lists and tables on up to this many
+# strands at a time. The clauses are evaluated one frame at a time on the calling strand when this is less than 2.
+# Only enable this when those clauses do not depend on or change state shared between the frames.
+configurable int parallelism = 1;
+
+# Minimum number of input members a partition should have, for a query to be evaluated in parallel.
+const int PARALLEL_PARTITION_SIZE = 1024;
+
 function createPipeline(
         Type[]|map<Type>|record{}|string|xml|table<map<Type>>|stream<Type, CompletionType>|_Iterable collection,
         typedesc<Type> constraintTd, typedesc<CompletionType> completionTd)
@@ -85,6 +94,7 @@ function getStreamFromPipeline(_StreamPipeline pipeline) returns stream<Type, Co
 }
 
 function toArray(stream<Type, CompletionType> strm, Type[] arr) returns Type[]|error {
+    evaluateInParallel(strm);
     record {| Type value; |}|error? v = strm.next();
     while (v is record {| Type value; |}) {
         arr.push(v.value);
@@ -98,6 +108,7 @@ function toArray(stream<Type, CompletionType> strm, Type[] arr) returns Type[]|e
 }
 
 function toXML(stream<Type, CompletionType> strm) returns xml {
+    evaluateInParallel(strm);
     xml result = 'xml:concat();
     record {| Type value; |}|CompletionType v = strm.next();
     while (v is record {| Type value; |}) {
@@ -111,6 +122,7 @@ function toXML(stream<Type, CompletionType> strm) returns xml {
 }
 
 function toString(stream<Type, CompletionType> strm) returns string {
+    evaluateInParallel(strm);
     string result = "";
     record {| Type value; |}|CompletionType v = strm.next();
     while (v is record {| Type value; |}) {
@@ -124,6 +136,7 @@ function toString(stream<Type, CompletionType> strm) returns string {
 }
 
 function addToTable(stream<Type, CompletionType> strm, table<map<Type>> tbl, error? err) returns table<map<Type>>|error {
+    evaluateInParallel(strm);
     record {| Type value; |}|CompletionType v = strm.next();
     while (v is record {| Type value; |}) {
         error? e = trap tbl.add(<map<Type>> checkpanic v.value);
@@ -150,3 +163,56 @@ function consumeStream(stream<Type, CompletionType> strm) returns error? {
         return v;
     }
 }
+
+function evaluateInParallel(stream<Type, CompletionType> strm) {
+    if (parallelism < 2) {
+        return;
+    }
+    var itrObj = internal:getIteratorObj(strm);
+    if (itrObj is IterHelper) {
+        _StreamPipeline pipeline = itrObj.pipeline;
+        pipeline.parallelize(parallelism);
+    }
+}
+
+function processPartition(Type[] values, int startIndex, int endIndex, _Stage[] stages, int partition,
+        _PartitionStop stop) returns _Partition {
+    _Frame[] frames = [];
+    int i = startIndex;
+    while (i < endIndex) {
+        if (stop.partition < partition) {
+            // An earlier partition ended the pipeline, so the frames of this one are not used.
+            return {frames: frames, completed: false, err: ()};
+        }
+        _Frame|error? f = {value: values[i]};
+        boolean selected = true;
+        foreach _Stage stage in stages {
+            var filterFunc = stage.filterFunc;
+            var mapFunc = stage.mapFunc;
+            if (!(f is _Frame)) {
+                break;
+            } else if (filterFunc is function (_Frame _frame) returns boolean) {
+                selected = filterFunc(f);
+                if (!selected) {
+                    break;
+                }
+            } else if (mapFunc is function (_Frame _frame) returns _Frame|error?) {
+                f = mapFunc(f);
+            }
+        }
+        if (f is _Frame) {
+            if (selected) {
+                frames.push(f);
+            }
+        } else {
+            // The pipeline ends at this member, as it does when the frames are processed one at a time. The
+            // partitions after this one stop at their next member.
+            if (partition < stop.partition) {
+                stop.partition = partition;
+            }
+            return {frames: frames, completed: false, err: f};
+        }
+        i += 1;
+    }
+    return {frames: frames, completed: true, err: ()};
+}
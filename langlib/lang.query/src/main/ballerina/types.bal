@@ -110,6 +110,81 @@ class _StreamPipeline {
         var strm = internal:construct(self.constraintTd, self.completionTd, itrObj);
         return strm;
     }
+
+    # Evaluates the pipeline over partitions of the input on separate strands and replaces it with the merged
+    # frames. Only pipelines over a list or a table which consist of `let`, `where` and `select` stages are
+    # evaluated this way, as the other stages depend on the frames that came before them. Once a partition ends
+    # the pipeline with an error, the partitions after it stop at their next member, but members they already
+    # evaluated are not undone.
+    #
+    # + partitions - maximum number of partitions to evaluate concurrently
+    function parallelize(int partitions) {
+        _Stage[] stages = [];
+        _StreamFunction? sf = self.streamFunction;
+        while (sf is _StreamFunction) {
+            if (sf is _InputFunction) {
+                stages.unshift({mapFunc: sf.inputFunc});
+            } else if (sf is _LetFunction) {
+                stages.unshift({mapFunc: sf.letFunc});
+            } else if (sf is _FilterFunction) {
+                stages.unshift({filterFunc: sf.filterFunc});
+            } else if (sf is _SelectFunction) {
+                stages.unshift({mapFunc: sf.selectFunc});
+            } else {
+                break;
+            }
+            sf = sf.prevFunc;
+        }
+
+        Type[] values;
+        if (sf is _InitFunction) {
+            var collection = sf.collection;
+            if (collection is Type[]) {
+                values = collection;
+            } else if (collection is table<map<Type>>) {
+                values = lang_table:toArray(collection);
+            } else {
+                return;
+            }
+        } else {
+            return;
+        }
+        int size = values.length();
+        int count = size / PARALLEL_PARTITION_SIZE;
+        if (count > partitions) {
+            count = partitions;
+        }
+        if (count < 2) {
+            return;
+        }
+
+        future<_Partition>[] futures = [];
+        _PartitionStop stop = {partition: count};
+        int startIndex = 0;
+        int i = 0;
+        while (i < count) {
+            int endIndex = size * (i + 1) / count;
+            future<_Partition> f = @strand {thread: "any"} start processPartition(values, startIndex, endIndex,
+                                                                                   stages, i, stop);
+            futures.push(f);
+            startIndex = endIndex;
+            i += 1;
+        }
+
+        // Merge the partitions in order, stopping at the first partition which ended the pipeline.
+        _Frame[] frames = [];
+        error? err = ();
+        boolean completed = true;
+        foreach future<_Partition> f in futures {
+            _Partition p = wait f;
+            if (completed) {
+                frames.push(...p.frames);
+                completed = p.completed;
+                err = p.err;
+            }
+        }
+        self.streamFunction = new _MergedFunction(frames, err);
+    }
 }
 
 class _InitFunction {
@@ -677,6 +752,53 @@ class _LimitFunction {
 
 // ---- helper types ----
 
+# A `let`, `where` or `select` stage of a pipeline which is evaluated on a partition of the input.
+type _Stage record {|
+    (function (_Frame _frame) returns _Frame|error?)? mapFunc = ();
+    (function (_Frame _frame) returns boolean)? filterFunc = ();
+|};
+
+# Frames produced by evaluating a partition of the input.
+type _Partition record {|
+    _Frame[] frames;
+    # whether all the members of the partition were processed
+    boolean completed;
+    error? err;
+|};
+
+# Shared by the partitions of a pipeline which is evaluated in parallel.
+type _PartitionStop record {|
+    # the first partition known to have ended the pipeline, or the number of partitions if none did
+    int partition;
+|};
+
+class _MergedFunction {
+    *_StreamFunction;
+    _Frame[] frames;
+    error? err;
+    int index = 0;
+
+    function init(_Frame[] frames, error? err) {
+        self.frames = frames;
+        self.err = err;
+        self.prevFunc = ();
+    }
+
+    public function process() returns _Frame|error? {
+        _Frame[] frames = self.frames;
+        if (self.index < frames.length()) {
+            _Frame f = frames[self.index];
+            self.index += 1;
+            return f;
+        }
+        return self.err;
+    }
+
+    public function reset() {
+        self.index = 0;
+    }
+}
+
 class _FrameMultiMap {
     map<_Frame[]> m;
 
@@ -20,6 +20,9 @@ import ballerina/jballerina.java;
 configurable boolean managerEnabled = false;
 # Config to specify transaction log directory.
 configurable string logBase = "transaction_log_dir";
+# Config to enable the coordinator log which is used to recover XA transactions when the transaction manager
+# is disabled.
+configurable boolean coordinatorLogEnabled = false;
 
 //TODO: remove this in Beta2 and use an anonymous record instead
 # Internally used record to hold information about a transaction.
@@ -41,8 +41,7 @@ public class FromJsonStringWithType {
             if (str.equals("null")) {
                 return FromJsonWithType.fromJsonWithType(null, t);
             } else {
-                Object jsonFromString = JsonParser.parse(str);
-                return FromJsonWithType.fromJsonWithType(jsonFromString, t);
+                return JsonParser.parse(str, t, json -> FromJsonWithType.fromJsonWithType(json, t));
             }
         } catch (BError e) {
             return ErrorCreator.createError(VALUE_LANG_LIB_CONVERSION_ERROR,
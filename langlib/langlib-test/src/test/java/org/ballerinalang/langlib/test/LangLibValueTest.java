@@ -373,6 +373,7 @@ public class LangLibValueTest {
         return new Object[][] {
                 { "testFromJsonStringWithTypeJson" },
                 { "testFromJsonStringWithTypeRecord" },
+                { "testFromJsonStringWithTypeNestedRecord" },
                 { "testFromJsonStringWithAmbiguousType" },
                 { "testFromJsonStringWithTypeMap" },
                 { "testFromJsonStringWithTypeStringArray" },
@@ -1182,6 +1182,30 @@ function testSort10() {
     assertValueEquality(sortedArr6, arr3);
 }
 
+function testSort11() {
+    float nan = 0.0 / 0.0;
+    float[] arr = [2.5, -0.0, nan, 0.0, -1.0, -0.0];
+
+    float[] sortedArr = arr.sort();
+    assertValueEquality(sortedArr.toString(), "[-1.0,-0.0,0.0,-0.0,2.5,NaN]");
+    assertValueEquality(sortedArr, arr);
+
+    float[] sortedArr2 = arr.sort(array:DESCENDING);
+    assertValueEquality(sortedArr2.toString(), "[2.5,-0.0,0.0,-0.0,-1.0,NaN]");
+
+    string[] arr2 = ["\u{1F600}", "b", "\u{E000}", "a\u{1F600}", "a"];
+
+    string[] sortedArr3 = arr2.sort();
+    assertValueEquality(sortedArr3, ["a", "a\u{1F600}", "b", "\u{E000}", "\u{1F600}"]);
+
+    string[] sortedArr4 = arr2.sort(array:DESCENDING);
+    assertValueEquality(sortedArr4, ["\u{1F600}", "\u{E000}", "b", "a\u{1F600}", "a"]);
+
+    ints:Signed8[] arr3 = [5, -128, 127, 0];
+    ints:Signed8[] sortedArr5 = arr3.sort(array:DESCENDING);
+    assertValueEquality(sortedArr5, [127, 5, 0, -128]);
+}
+
 function testTupleReverse() {
     [int, string, float] tupleArr = [2,  "abc", 2.4];
     anydata[] y = tupleArr.reverse();
@@ -1164,6 +1164,40 @@ function testFromJsonStringWithTypeRecord() {
     assert(student.name, "Name");
 }
 
+type Address3 record {|
+    string city;
+    string country = "LK";
+|};
+
+type Employee3 record {
+    string name;
+    int id;
+    float? salary;
+    Address3 address;
+    string[] skills = [];
+};
+
+function testFromJsonStringWithTypeNestedRecord() {
+    string str = "{\"name\":\"Anne\",\"id\":7,\"salary\":1500,\"address\":{\"city\":\"Kandy\"}," +
+        "\"skills\":[\"java\",\"ballerina\"],\"grade\":\"A\"}";
+    Employee3 employee = checkpanic str.fromJsonStringWithType(Employee3);
+    assert(employee.name, "Anne");
+    assert(employee.id, 7);
+    assert(employee.salary, 1500.0);
+    assert(employee.address.city, "Kandy");
+    assert(employee.address.country, "LK");
+    assert(employee.skills, ["java", "ballerina"]);
+    assert(employee["grade"], "A");
+
+    str = "{\"name\":\"Anne\",\"salary\":null,\"address\":{\"city\":\"Kandy\"}}";
+    Employee3|error missingField = str.fromJsonStringWithType(Employee3);
+    assert(missingField is error, true);
+
+    str = "{\"name\":\"Anne\",\"id\":7,\"salary\":null,\"address\":{\"city\":\"Kandy\",\"zip\":10}}";
+    Employee3|error unknownField = str.fromJsonStringWithType(Employee3);
+    assert(unknownField is error, true);
+}
+
 function testFromJsonStringWithAmbiguousType() {
     string str = "{\"name\":\"Name\",\"age\":35}";
     Student3|error p = str.fromJsonStringWithType(Student2Or3);
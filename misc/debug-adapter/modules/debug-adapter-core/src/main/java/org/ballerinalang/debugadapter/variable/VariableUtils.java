@@ -19,12 +19,15 @@ package org.ballerinalang.debugadapter.variable;
 import com.sun.jdi.Field;
 import com.sun.jdi.Method;
 import com.sun.jdi.ObjectReference;
+import com.sun.jdi.StringReference;
 import com.sun.jdi.Value;
 import org.ballerinalang.debugadapter.SuspendedContext;
 import org.ballerinalang.debugadapter.jdi.LocalVariableProxyImpl;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +40,9 @@ public class VariableUtils {
     public static final String FIELD_TYPENAME = "typeName";
     public static final String FIELD_VALUE = "value";
     private static final String FIELD_CONSTRAINT = "constraint";
+    private static final String FIELD_ROPE_LEFT = "left";
+    private static final String FIELD_ROPE_RIGHT = "right";
+    private static final String FIELD_ROPE_FLAT = "flat";
     private static final String METHOD_STRINGVALUE = "stringValue";
     public static final String UNKNOWN_VALUE = "unknown";
     private static final String LAMBDA_PARAM_MAP_PATTERN = "\\$.*[Mm][Aa][Pp].*\\$.*";
@@ -74,6 +80,9 @@ public class VariableUtils {
                 return UNKNOWN_VALUE;
             }
             ObjectReference stringRef = (ObjectReference) stringValue;
+            if (stringRef.referenceType().name().equals(JVMValueType.ROPESTRING.getString())) {
+                return getStringFromRope(stringRef);
+            }
             if (!stringRef.referenceType().name().equals(JVMValueType.BMPSTRING.getString())
                     && !stringRef.referenceType().name().equals(JVMValueType.NONBMPSTRING.getString())) {
                 // Additional filtering is required, as some ballerina variable type names may contain redundant
@@ -89,6 +98,44 @@ public class VariableUtils {
         }
     }
 
+    /**
+     * Returns the string value of a rope string by reading its leaves. The rope is not flattened using its methods,
+     * as that would change the state of the debuggee.
+     *
+     * @param ropeRef JDI value of the rope string instance
+     * @return actual string.
+     */
+    private static String getStringFromRope(ObjectReference ropeRef) throws DebugVariableException {
+        StringBuilder sb = new StringBuilder();
+        Deque<Value> strings = new ArrayDeque<>();
+        strings.push(ropeRef);
+        while (!strings.isEmpty()) {
+            Value string = strings.pop();
+            if (((ObjectReference) string).referenceType().name().equals(JVMValueType.ROPESTRING.getString())) {
+                // A flattened rope has the flat string set before its operands are cleared.
+                Optional<Value> flat = getFieldValue(string, FIELD_ROPE_FLAT);
+                if (flat.isPresent()) {
+                    strings.push(flat.get());
+                    continue;
+                }
+                Optional<Value> left = getFieldValue(string, FIELD_ROPE_LEFT);
+                Optional<Value> right = getFieldValue(string, FIELD_ROPE_RIGHT);
+                if (left.isEmpty() || right.isEmpty()) {
+                    return UNKNOWN_VALUE;
+                }
+                strings.push(right.get());
+                strings.push(left.get());
+                continue;
+            }
+            Optional<Value> value = getFieldValue(string, FIELD_VALUE);
+            if (value.isEmpty() || !(value.get() instanceof StringReference)) {
+                return UNKNOWN_VALUE;
+            }
+            sb.append(((StringReference) value.get()).value());
+        }
+        return sb.toString();
+    }
+
     /**
      * Invokes "stringValue()" method of the given ballerina jvm variable instance and returns the result as a string.
      *
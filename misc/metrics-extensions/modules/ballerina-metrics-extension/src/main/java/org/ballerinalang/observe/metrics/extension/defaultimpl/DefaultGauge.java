@@ -23,6 +23,7 @@ import io.ballerina.runtime.observability.metrics.MetricId;
 import io.ballerina.runtime.observability.metrics.Snapshot;
 import io.ballerina.runtime.observability.metrics.StatisticConfig;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -38,7 +39,8 @@ public class DefaultGauge extends AbstractMetric implements Gauge {
 
     private final LongAdder count = new LongAdder();
     private final DoubleAdder sum = new DoubleAdder();
-    private final DoubleAdder value = new DoubleAdder();
+    // Bits of the double value, updated with compare and set so that the histograms get the value after each update.
+    private final AtomicLong value = new AtomicLong(Double.doubleToRawLongBits(0));
     private final RollingHistogram[] rollingHistograms;
 
     private DefaultGauge(MetricId id, Clock clock, StatisticConfig... statisticConfigs) {
@@ -66,36 +68,35 @@ public class DefaultGauge extends AbstractMetric implements Gauge {
         }
     }
 
+    private double addAndGet(double amount) {
+        long current;
+        long next;
+        do {
+            current = value.get();
+            next = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + amount);
+        } while (!value.compareAndSet(current, next));
+        return Double.longBitsToDouble(next);
+    }
+
     @Override
     public void increment(double amount) {
-        synchronized (this) {
-            value.add(amount);
-            updateHistogram(value.sum());
-        }
+        updateHistogram(addAndGet(amount));
     }
 
     @Override
     public void decrement(double amount) {
-        synchronized (this) {
-            value.add(-amount);
-            updateHistogram(value.sum());
-        }
+        updateHistogram(addAndGet(-amount));
     }
 
     @Override
     public void setValue(double value) {
-        synchronized (this) {
-            this.value.reset();
-            this.value.add(value);
-            updateHistogram(value);
-        }
+        this.value.set(Double.doubleToRawLongBits(value));
+        updateHistogram(value);
     }
 
     @Override
     public double getValue() {
-        synchronized (this) {
-            return value.sum();
-        }
+        return Double.longBitsToDouble(value.get());
     }
 
     @Override
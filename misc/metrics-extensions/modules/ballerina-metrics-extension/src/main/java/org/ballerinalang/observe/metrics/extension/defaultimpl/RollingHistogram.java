@@ -21,16 +21,25 @@ import io.ballerina.runtime.observability.metrics.PercentileValue;
 import io.ballerina.runtime.observability.metrics.Snapshot;
 import io.ballerina.runtime.observability.metrics.StatisticConfig;
 import org.HdrHistogram.DoubleHistogram;
-import org.HdrHistogram.DoubleRecorder;
+import org.HdrHistogram.SingleWriterDoubleRecorder;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Using {@link DoubleHistogram} to maintain samples in a ring buffer to decay older samples and give greater weight
  * to recent samples. This implementation allows to get summary statistics for a rolling window over the last X minutes.
+ * <p>
+ * Values are recorded into one of a few striped {@link SingleWriterDoubleRecorder}s, chosen by the recording thread,
+ * so that threads recording at the same time rarely contend on the same recorder. The writers of a recorder are
+ * serialized by locking it, since the auto ranging of a {@code DoubleRecorder} records wrong values when several
+ * threads record into it while its range is being set. The recorders are drained into the histogram of the current
+ * bucket when the buckets are rotated or a snapshot is taken, and a snapshot merges the histograms of all the
+ * buckets.
  */
 public class RollingHistogram {
 
+    private static final int STRIPES = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors()), 8);
+
     /**
      * Clock for measuring time.
      */
@@ -42,9 +51,14 @@ public class RollingHistogram {
     private final StatisticConfig statisticConfig;
 
     /**
-     * Recorder in a ring buffer.
+     * Recorders for the values recorded since the recorders were last drained.
+     */
+    private final SingleWriterDoubleRecorder[] recorders;
+
+    /**
+     * Histograms of the values recorded in each bucket, in a ring buffer.
      */
-    private final DoubleRecorder[] ringBuffer;
+    private final DoubleHistogram[] ringBuffer;
 
     /**
      * Current bucket index.
@@ -62,15 +76,10 @@ public class RollingHistogram {
     private final long durationBetweenRotatesMillis;
 
     /**
-     * This interval histogram is reused when taking the next interval histogram.
+     * This interval histogram is reused when draining the recorders.
      */
     private final DoubleHistogram intervalHistogram;
 
-    /**
-     * A histogram to keep accumulated stats.
-     */
-    private DoubleHistogram accumulatedHistogram;
-
     /**
      * Global atomic field updater to update volatile {@code rotating} integer.
      */
@@ -82,34 +91,33 @@ public class RollingHistogram {
      */
     private volatile int rotating; // 0 - not rotating, 1 - rotating
 
-    /**
-     * A flag to check whether accumulatedHistogram is stale or not.
-     */
-    private volatile boolean accumulatedHistogramStale;
-
     public RollingHistogram(Clock clock, StatisticConfig statisticConfig) {
         this.clock = clock;
         this.statisticConfig = statisticConfig;
         int ageBuckets = (int) statisticConfig.getBuckets();
-        ringBuffer = new DoubleRecorder[ageBuckets];
+        recorders = new SingleWriterDoubleRecorder[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            recorders[i] = new SingleWriterDoubleRecorder(statisticConfig.getPercentilePrecision());
+        }
+        ringBuffer = new DoubleHistogram[ageBuckets];
         for (int i = 0; i < ageBuckets; i++) {
-            ringBuffer[i] = new DoubleRecorder(statisticConfig.getPercentilePrecision());
+            ringBuffer[i] = newHistogram();
         }
         this.currentBucket = 0;
         this.lastRotateTimestampMillis = clock.getCurrentTime();
         this.durationBetweenRotatesMillis = statisticConfig.getTimeWindow().toMillis() / ageBuckets;
-        intervalHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
-        accumulatedHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
+        intervalHistogram = newHistogram();
+    }
+
+    private DoubleHistogram newHistogram() {
+        return new DoubleHistogram(statisticConfig.getPercentilePrecision());
     }
 
     public void record(double value) {
         rotate();
-        try {
-            for (DoubleRecorder recorder : ringBuffer) {
-                recorder.recordValue(value);
-            }
-        } finally {
-            accumulatedHistogramStale = true;
+        SingleWriterDoubleRecorder recorder = recorders[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+        synchronized (recorder) {
+            recorder.recordValue(value);
         }
     }
 
@@ -127,11 +135,20 @@ public class RollingHistogram {
         try {
             int iterations = 0;
             synchronized (this) {
+                // Another thread may have rotated the buckets since the time was read.
+                timeSinceLastRotateMillis = clock.getCurrentTime() - lastRotateTimestampMillis;
+                if (timeSinceLastRotateMillis < durationBetweenRotatesMillis) {
+                    return;
+                }
+                // Values recorded so far belong to the bucket which is ending now.
+                drainRecorders();
                 do {
-                    currentHistogram().reset();
                     if (++currentBucket >= ringBuffer.length) {
                         currentBucket = 0;
                     }
+                    // The new current bucket is the oldest one, which goes out of the time window.
+                    //TODO: Use reset(). Refer: https://github.com/HdrHistogram/HdrHistogram/issues/143
+                    ringBuffer[currentBucket] = newHistogram();
                     timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
                     lastRotateTimestampMillis += durationBetweenRotatesMillis;
                 } while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < ringBuffer.length);
@@ -142,17 +159,22 @@ public class RollingHistogram {
                     lastRotateTimestampMillis += durationBetweenRotatesMillis *
                             (timeSinceLastRotateMillis / durationBetweenRotatesMillis);
                 }
-
-                accumulatedHistogram = new DoubleHistogram(statisticConfig.getPercentilePrecision());
-                //TODO: Use accumulatedHistogram.reset(); and make accumulatedHistogram as final
-                //Refer: https://github.com/HdrHistogram/HdrHistogram/issues/143
-                accumulatedHistogramStale = true;
             }
         } finally {
             rotating = 0;
         }
     }
 
+    private void drainRecorders() {
+        DoubleHistogram currentHistogram = ringBuffer[currentBucket];
+        for (SingleWriterDoubleRecorder recorder : recorders) {
+            recorder.getIntervalHistogramInto(intervalHistogram);
+            if (intervalHistogram.getTotalCount() > 0) {
+                currentHistogram.add(intervalHistogram);
+            }
+        }
+    }
+
     public StatisticConfig getStatisticConfig() {
         return statisticConfig;
     }
@@ -160,7 +182,13 @@ public class RollingHistogram {
     public Snapshot getSnapshot() {
         rotate();
         synchronized (this) {
-            accumulateIfStale();
+            drainRecorders();
+            DoubleHistogram accumulatedHistogram = newHistogram();
+            for (DoubleHistogram histogram : ringBuffer) {
+                if (histogram.getTotalCount() > 0) {
+                    accumulatedHistogram.add(histogram);
+                }
+            }
             PercentileValue[] percentileValues = null;
             final double[] monitoredPercentiles = statisticConfig.getPercentiles();
             if (monitoredPercentiles != null) {
@@ -178,20 +206,4 @@ public class RollingHistogram {
                     percentileValues);
         }
     }
-
-    private void accumulateIfStale() {
-        if (accumulatedHistogramStale) {
-            accumulate();
-            accumulatedHistogramStale = false;
-        }
-    }
-
-    private void accumulate() {
-        currentHistogram().getIntervalHistogramInto(intervalHistogram);
-        accumulatedHistogram.add(intervalHistogram);
-    }
-
-    private DoubleRecorder currentHistogram() {
-        return ringBuffer[currentBucket];
-    }
 }
@@ -24,7 +24,12 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -204,4 +209,113 @@ public class RollingHistogramTest {
         }
     }
 
+    @Test
+    public void testSnapshotAfterConcurrentRecord() throws InterruptedException {
+        RollingHistogram histogram = new RollingHistogram(Clock.DEFAULT, StatisticConfig.builder()
+                .percentiles(new double[]{0.0, 0.5, 1.0})
+                .expiry(Duration.ofDays(1)).buckets(3).build());
+
+        // Take snapshots while the values are recorded, which drains the recorders concurrently.
+        AtomicBoolean recording = new AtomicBoolean(true);
+        AtomicReference<Throwable> snapshotError = new AtomicReference<>();
+        Thread snapshotThread = new Thread(() -> {
+            try {
+                while (recording.get()) {
+                    histogram.getSnapshot();
+                }
+            } catch (Throwable e) {
+                snapshotError.set(e);
+            }
+        });
+        snapshotThread.start();
+        recordConcurrently(histogram, 8, 10_000, 10);
+        recording.set(false);
+        snapshotThread.join();
+        Assert.assertNull(snapshotError.get());
+
+        // Thread t records (t + 1) * 10, so every thread records the same number of values. The histogram keeps two
+        // significant digits, so the values are only checked to within 1%.
+        Snapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 10.0, 0.1);
+        Assert.assertEquals(snapshot.getMax(), 80.0, 0.8);
+        Assert.assertEquals(snapshot.getMean(), 45.0, 0.45);
+        Assert.assertEquals(percentileValue(snapshot, 0.0), 10.0, 0.1);
+        Assert.assertEquals(percentileValue(snapshot, 1.0), 80.0, 0.8);
+    }
+
+    @Test
+    public void testRotateAfterConcurrentRecord() throws InterruptedException {
+        final AtomicInteger currentTime = new AtomicInteger(0);
+        Clock clock = new Clock() {
+            @Override
+            public long getCurrentTime() {
+                return currentTime.get();
+            }
+
+            @Override
+            public long getCurrentTick() {
+                return currentTime.get() * 1_000_000L;
+            }
+        };
+        RollingHistogram histogram = new RollingHistogram(clock, StatisticConfig.builder()
+                .percentiles(new double[]{0.0, 1.0})
+                .expiry(Duration.ofSeconds(4)).buckets(4).build());
+
+        // The values recorded before a rotation are drained into the bucket which ends with the rotation.
+        recordConcurrently(histogram, 4, 1_000, 1);
+        currentTime.set(1000);
+        recordConcurrently(histogram, 4, 1_000, 100);
+
+        Snapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 1.0, 0.1);
+        Assert.assertEquals(snapshot.getMax(), 400.0, 4.0);
+        Assert.assertEquals(snapshot.getMean(), (2.5 + 250.0) / 2, 1.3);
+
+        // The first bucket goes out of the time window.
+        currentTime.set(4000);
+        snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 100.0, 1.0);
+        Assert.assertEquals(snapshot.getMax(), 400.0, 4.0);
+        Assert.assertEquals(snapshot.getMean(), 250.0, 2.5);
+
+        currentTime.set(5000);
+        snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMax(), 0.0, 0.0);
+        Assert.assertEquals(percentileValue(snapshot, 1.0), 0.0, 0.0);
+
+        recordConcurrently(histogram, 4, 1_000, 1000);
+        snapshot = histogram.getSnapshot();
+        Assert.assertEquals(snapshot.getMin(), 1000.0, 10.0);
+        Assert.assertEquals(snapshot.getMax(), 4000.0, 40.0);
+    }
+
+    /**
+     * Records {@code (t + 1) * unit} the given number of times in each thread t, starting all threads together.
+     */
+    private static void recordConcurrently(RollingHistogram histogram, int threadCount, int count, double unit)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            double value = (t + 1) * unit;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    histogram.record(value);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
 }
@@ -0,0 +1,65 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Copy, reverse and push over arrays whose members are kept unboxed, including int subtypes and decimals.
+
+int:Signed32[] signed32Array100K = createSigned32Array(100000);
+decimal[] decimalArray100K = createDecimalArray(100000);
+
+public function benchmarkSigned32ArrayClone100K() {
+    int:Signed32[] result = signed32Array100K.clone();
+}
+
+public function benchmarkDecimalArrayClone100K() {
+    decimal[] result = decimalArray100K.clone();
+}
+
+public function benchmarkIntArrayReverse100K() {
+    int[] result = intArray100K.reverse();
+}
+
+public function benchmarkIntArrayPush100K() {
+    int[] result = [];
+    int i = 0;
+    while (i < 100000) {
+        result.push(i, i + 1, i + 2, i + 3);
+        i += 4;
+    }
+}
+
+isolated function createSigned32Array(int size) returns int:Signed32[] {
+    int:Signed32[] arr = [];
+    int seed = 42;
+    int i = 0;
+    while (i < size) {
+        seed = nextRandom(seed);
+        arr[i] = <int:Signed32>(seed % 1000000);
+        i += 1;
+    }
+    return arr;
+}
+
+isolated function createDecimalArray(int size) returns decimal[] {
+    decimal[] arr = [];
+    int seed = 42;
+    int i = 0;
+    while (i < size) {
+        seed = nextRandom(seed);
+        arr[i] = <decimal>seed / 100;
+        i += 1;
+    }
+    return arr;
+}
@@ -0,0 +1,129 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Each benchmark sorts a fresh copy of a pseudo random array, so the time includes cloning the array.
+
+int[] intArray1K = createIntArray(1000);
+int[] intArray100K = createIntArray(100000);
+float[] floatArray1K = createFloatArray(1000);
+float[] floatArray100K = createFloatArray(100000);
+string[] stringArray1K = createStringArray(1000);
+string[] stringArray100K = createStringArray(100000);
+Person[] personArray1K = createPersonArray(1000);
+
+// The larger arrays are created on first use to keep them out of the other benchmarks.
+int[] intArray1M = [];
+int[] intArray10M = [];
+
+public function benchmarkIntArraySort1K() {
+    int[] result = intArray1K.clone().sort();
+}
+
+public function benchmarkIntArraySort100K() {
+    int[] result = intArray100K.clone().sort();
+}
+
+public function benchmarkIntArraySort1M() {
+    if (intArray1M.length() == 0) {
+        intArray1M = createIntArray(1000000);
+    }
+    int[] result = intArray1M.clone().sort();
+}
+
+public function benchmarkIntArraySort10M() {
+    if (intArray10M.length() == 0) {
+        intArray10M = createIntArray(10000000);
+    }
+    int[] result = intArray10M.clone().sort();
+}
+
+public function benchmarkIntArraySortDescending100K() {
+    int[] result = intArray100K.clone().sort("descending");
+}
+
+public function benchmarkFloatArraySort1K() {
+    float[] result = floatArray1K.clone().sort();
+}
+
+public function benchmarkFloatArraySort100K() {
+    float[] result = floatArray100K.clone().sort();
+}
+
+public function benchmarkStringArraySort1K() {
+    string[] result = stringArray1K.clone().sort();
+}
+
+public function benchmarkStringArraySort100K() {
+    string[] result = stringArray100K.clone().sort();
+}
+
+public function benchmarkArraySortWithKey1K() {
+    Person[] result = personArray1K.clone().sort("ascending", isolated function(Person p) returns string {
+        return p.lname;
+    });
+}
+
+isolated function nextRandom(int seed) returns int {
+    return (seed * 1103515245 + 12345) % 2147483648;
+}
+
+isolated function createIntArray(int size) returns int[] {
+    int[] arr = [];
+    int seed = 42;
+    int i = 0;
+    while (i < size) {
+        seed = nextRandom(seed);
+        arr[i] = seed;
+        i += 1;
+    }
+    return arr;
+}
+
+isolated function createFloatArray(int size) returns float[] {
+    float[] arr = [];
+    int seed = 42;
+    int i = 0;
+    while (i < size) {
+        seed = nextRandom(seed);
+        arr[i] = <float>seed / 1000.0;
+        i += 1;
+    }
+    return arr;
+}
+
+isolated function createStringArray(int size) returns string[] {
+    string[] arr = [];
+    int seed = 42;
+    int i = 0;
+    while (i < size) {
+        seed = nextRandom(seed);
+        arr[i] = "str" + seed.toString();
+        i += 1;
+    }
+    return arr;
+}
+
+isolated function createPersonArray(int size) returns Person[] {
+    Person[] arr = [];
+    int seed = 42;
+    int i = 0;
+    while (i < size) {
+        seed = nextRandom(seed);
+        arr[i] = {id: i, fname: "FName", lname: "LName" + seed.toString()};
+        i += 1;
+    }
+    return arr;
+}
@@ -0,0 +1,56 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+public function benchmarkRecursiveFibonacci() {
+    _ = fibonacci(20);
+}
+
+public function benchmarkNestedFunctionCalls() {
+    int sum = 0;
+    int i = 0;
+    while (i < 10000) {
+        sum = addSquares(sum, i);
+        i += 1;
+    }
+}
+
+public function benchmarkConstantExpressions() {
+    int sum = 0;
+    int i = 0;
+    while (i < 10000) {
+        int scale = 60 * 60 * 24;
+        boolean enabled = scale > 3600 && !(scale == 0);
+        if (enabled) {
+            sum = sum + scale % 1000;
+        }
+        i += 1;
+    }
+}
+
+function fibonacci(int n) returns int {
+    if (n < 2) {
+        return n;
+    }
+    return fibonacci(n - 1) + fibonacci(n - 2);
+}
+
+function addSquares(int a, int b) returns int {
+    return square(a % 1000) + square(b % 1000);
+}
+
+function square(int n) returns int {
+    return n * n;
+}
@@ -0,0 +1,55 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+int lockedCounter = 0;
+
+public function benchmarkUncontendedLock() {
+    _ = incrementInLock(1000);
+}
+
+public function benchmarkReentrantLock() {
+    int i = 0;
+    while (i < 1000) {
+        lock {
+            lock {
+                lockedCounter += 1;
+            }
+        }
+        i += 1;
+    }
+}
+
+public function benchmarkContendedLock() {
+    future<int> f1 = start incrementInLock(1000);
+    future<int> f2 = start incrementInLock(1000);
+    future<int> f3 = start incrementInLock(1000);
+    future<int> f4 = start incrementInLock(1000);
+    int r1 = wait f1;
+    int r2 = wait f2;
+    int r3 = wait f3;
+    int r4 = wait f4;
+}
+
+function incrementInLock(int count) returns int {
+    int i = 0;
+    while (i < count) {
+        lock {
+            lockedCounter += 1;
+        }
+        i += 1;
+    }
+    return i;
+}
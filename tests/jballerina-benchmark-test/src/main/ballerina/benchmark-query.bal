@@ -0,0 +1,37 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Queries with `let`, `where` and `select` clauses over a list. Run these with the `parallelism` config of
+// `ballerina/lang.query` set to the number of cores, e.g. `[ballerina."lang.query"] parallelism = 8` in Config.toml,
+// to compare parallel evaluation with the default of evaluating one frame at a time.
+
+Person[] personArray10K = createPersonArray(10000);
+Person[] personArray100K = createPersonArray(100000);
+
+public function benchmarkQueryWhereSelect10K() {
+    string[] result = selectNames(personArray10K);
+}
+
+public function benchmarkQueryWhereSelect100K() {
+    string[] result = selectNames(personArray100K);
+}
+
+function selectNames(Person[] persons) returns string[] {
+    return from var person in persons
+        let string name = person.fname + " " + person.lname
+        where person.id % 3 != 0
+        select name.toUpperAscii();
+}
@@ -0,0 +1,49 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+public function benchmarkDecimalAddition() {
+    decimal a = 10.15;
+    decimal b = 9.9;
+    decimal c = a + b;
+}
+
+public function benchmarkDecimalMultiplication() {
+    decimal a = 2.5;
+    decimal b = 5.25;
+    decimal c = a * b;
+}
+
+public function benchmarkDecimalSubtraction() {
+    decimal a = 25.5;
+    decimal b = 15.75;
+    decimal c = a - b;
+}
+
+public function benchmarkDecimalComparison() {
+    decimal a = 25.50;
+    decimal b = 25.5;
+    boolean c = a == b && a >= b;
+}
+
+public function benchmarkDecimalSumInLoop() {
+    decimal total = 0;
+    decimal price = 12.99;
+    int i = 0;
+    while (i < 1000) {
+        total = total + price * 1.15;
+        i += 1;
+    }
+}
@@ -25,6 +25,16 @@ public function benchmarkStringConcat() {
     string s3 = s2 + s2;
 }
 
+public function benchmarkStringConcatInLoop() {
+    string s = "";
+    int i = 0;
+    while (i < 10000) {
+        s = s + "item-" + i.toString() + ",";
+        i += 1;
+    }
+    int length = s.length();
+}
+
 public function benchmarkStringHasPrefix() {
     string name = "randomPerson";
     string prefix = "Mr";
@@ -0,0 +1,81 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+type Shape record {
+    string name;
+    float area;
+};
+
+public function benchmarkTypeTests() {
+    (int|float|string|())[] values = [1, 2.5, "three", (), 4.0, "six"];
+    float total = 0.0;
+    int i = 0;
+    while (i < 10000) {
+        int|float|string|() value = values[i % values.length()];
+        if (value is float) {
+            total = total + value;
+        } else if (value is string) {
+            total = total + <float> value.length();
+        } else if (value is ()) {
+            total = total + 1.0;
+        }
+        i += 1;
+    }
+}
+
+public function benchmarkUpcasts() {
+    Shape shape = {name: "square", area: 4.0};
+    int i = 0;
+    while (i < 10000) {
+        anydata data = <anydata> shape;
+        map<anydata> fields = <map<anydata>> shape;
+        if (data is Shape) {
+            _ = fields.length();
+        }
+        i += 1;
+    }
+}
+
+public function benchmarkOptionalIntAggregation() {
+    int? max = ();
+    int? min = ();
+    int i = 0;
+    while (i < 10000) {
+        int value = (i * 7919) % 10007;
+        if (max is () || value > max) {
+            max = value;
+        }
+        if (min is () || value < min) {
+            min = value;
+        }
+        i += 1;
+    }
+}
+
+public function benchmarkOptionalFloatAggregation() {
+    float? total = ();
+    int i = 0;
+    while (i < 10000) {
+        float value = <float> i * 0.5;
+        if (total is float) {
+            total = total + value;
+        } else {
+            total = value;
+        }
+        i += 1;
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+final string largeXmlFeed = createXmlFeed(5000);
+
+public function benchmarkXmlFromStringLarge() {
+    xml feed = checkpanic xml:fromString(largeXmlFeed);
+}
+
+public function benchmarkXmlFromStringLargeFirstElement() {
+    xml feed = checkpanic xml:fromString(largeXmlFeed);
+    xml title = feed/<entry>/<title>;
+}
+
+public function benchmarkXmlFromStringLargeIteration() {
+    xml feed = checkpanic xml:fromString(largeXmlFeed);
+    int count = 0;
+    foreach xml entry in feed/<entry> {
+        count += 1;
+    }
+}
+
+function createXmlFeed(int entries) returns string {
+    string feed = "<feed>";
+    int i = 0;
+    while (i < entries) {
+        feed += "<entry id=\"" + i.toString() + "\"><title>Title " + i.toString() + "</title>" +
+            "<author><name>name</name><email>name@example.com</email></author>" +
+            "<content type=\"text\">Lorem ipsum dolor sit amet</content></entry>";
+        i += 1;
+    }
+    return feed + "</feed>";
+}
@@ -55,6 +55,7 @@ public function registerMultiExecFunctions() {
     addMultiExecFunction("benchmarkStringIndexOf", benchmarkStringIndexOf);
     addMultiExecFunction("benchmarkStringEqualsIgnoreCase", benchmarkStringEqualsIgnoreCase);
     addMultiExecFunction("benchmarkStringConcat", benchmarkStringConcat);
+    addMultiExecFunction("benchmarkStringConcatInLoop", benchmarkStringConcatInLoop);
     addMultiExecFunction("benchmarkFloatAddition", benchmarkFloatAddition);
     addMultiExecFunction("benchmarkFloatAdditionWithReturn", benchmarkFloatAdditionWithReturn);
     addMultiExecFunction("benchmarkFloatMultiplication", benchmarkFloatMultiplication);
@@ -63,4 +64,40 @@ public function registerMultiExecFunctions() {
     addMultiExecFunction("benchmarkFloatSubtractionWithReturn", benchmarkFloatSubtractionWithReturn);
     addMultiExecFunction("benchmarkFloatDivision", benchmarkFloatDivision);
     addMultiExecFunction("benchmarkFloatDivisionWithReturn", benchmarkFloatDivisionWithReturn);
+    addMultiExecFunction("benchmarkDecimalAddition", benchmarkDecimalAddition);
+    addMultiExecFunction("benchmarkDecimalMultiplication", benchmarkDecimalMultiplication);
+    addMultiExecFunction("benchmarkDecimalSubtraction", benchmarkDecimalSubtraction);
+    addMultiExecFunction("benchmarkDecimalComparison", benchmarkDecimalComparison);
+    addMultiExecFunction("benchmarkDecimalSumInLoop", benchmarkDecimalSumInLoop);
+    addMultiExecFunction("benchmarkJsonParseWithReader", benchmarkJsonParseWithReader);
+    addMultiExecFunction("benchmarkJsonParseFromBytes", benchmarkJsonParseFromBytes);
+    addMultiExecFunction("benchmarkXmlFromStringLarge", benchmarkXmlFromStringLarge);
+    addMultiExecFunction("benchmarkXmlFromStringLargeFirstElement", benchmarkXmlFromStringLargeFirstElement);
+    addMultiExecFunction("benchmarkXmlFromStringLargeIteration", benchmarkXmlFromStringLargeIteration);
+    addMultiExecFunction("benchmarkIntArraySort1K", benchmarkIntArraySort1K);
+    addMultiExecFunction("benchmarkIntArraySort100K", benchmarkIntArraySort100K);
+    addMultiExecFunction("benchmarkIntArraySort1M", benchmarkIntArraySort1M);
+    addMultiExecFunction("benchmarkIntArraySort10M", benchmarkIntArraySort10M);
+    addMultiExecFunction("benchmarkIntArraySortDescending100K", benchmarkIntArraySortDescending100K);
+    addMultiExecFunction("benchmarkFloatArraySort1K", benchmarkFloatArraySort1K);
+    addMultiExecFunction("benchmarkFloatArraySort100K", benchmarkFloatArraySort100K);
+    addMultiExecFunction("benchmarkStringArraySort1K", benchmarkStringArraySort1K);
+    addMultiExecFunction("benchmarkStringArraySort100K", benchmarkStringArraySort100K);
+    addMultiExecFunction("benchmarkArraySortWithKey1K", benchmarkArraySortWithKey1K);
+    addMultiExecFunction("benchmarkSigned32ArrayClone100K", benchmarkSigned32ArrayClone100K);
+    addMultiExecFunction("benchmarkDecimalArrayClone100K", benchmarkDecimalArrayClone100K);
+    addMultiExecFunction("benchmarkIntArrayReverse100K", benchmarkIntArrayReverse100K);
+    addMultiExecFunction("benchmarkIntArrayPush100K", benchmarkIntArrayPush100K);
+    addMultiExecFunction("benchmarkQueryWhereSelect10K", benchmarkQueryWhereSelect10K);
+    addMultiExecFunction("benchmarkQueryWhereSelect100K", benchmarkQueryWhereSelect100K);
+    addMultiExecFunction("benchmarkUncontendedLock", benchmarkUncontendedLock);
+    addMultiExecFunction("benchmarkReentrantLock", benchmarkReentrantLock);
+    addMultiExecFunction("benchmarkContendedLock", benchmarkContendedLock);
+    addMultiExecFunction("benchmarkRecursiveFibonacci", benchmarkRecursiveFibonacci);
+    addMultiExecFunction("benchmarkNestedFunctionCalls", benchmarkNestedFunctionCalls);
+    addMultiExecFunction("benchmarkConstantExpressions", benchmarkConstantExpressions);
+    addMultiExecFunction("benchmarkTypeTests", benchmarkTypeTests);
+    addMultiExecFunction("benchmarkUpcasts", benchmarkUpcasts);
+    addMultiExecFunction("benchmarkOptionalIntAggregation", benchmarkOptionalIntAggregation);
+    addMultiExecFunction("benchmarkOptionalFloatAggregation", benchmarkOptionalFloatAggregation);
 }
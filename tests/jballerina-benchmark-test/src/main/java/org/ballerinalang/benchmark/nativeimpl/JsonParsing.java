@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmark.nativeimpl;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class holds the native functions used to compare the character reader based JSON parser with the UTF-8 byte
+ * based JSON parser on the same payload.
+ *
+ * @since 2.0.0
+ */
+public class JsonParsing {
+
+    private static final byte[] PAYLOAD = createPayload(100);
+
+    private JsonParsing() {
+    }
+
+    public static Object parseWithReader() {
+        return JsonUtils.parse(new InputStreamReader(new ByteArrayInputStream(PAYLOAD), StandardCharsets.UTF_8),
+                               JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    public static Object parseFromBytes() {
+        return JsonUtils.parse(PAYLOAD);
+    }
+
+    private static byte[] createPayload(int records) {
+        StringBuilder payload = new StringBuilder("{\"orders\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                payload.append(',');
+            }
+            payload.append("{\"id\":").append(i)
+                    .append(",\"customer\":\"customer-").append(i).append("\"")
+                    .append(",\"note\":\"line one\\nline \\\"two\\\" café\"")
+                    .append(",\"amount\":").append(i).append(".75")
+                    .append(",\"paid\":").append(i % 2 == 0)
+                    .append(",\"coupon\":null")
+                    .append(",\"items\":[").append(i).append(',').append(i + 1).append(',').append(-i).append(']')
+                    .append('}');
+        }
+        return payload.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.query;
+
+import org.ballerinalang.test.BaseTest;
+import org.ballerinalang.test.context.BMainInstance;
+import org.ballerinalang.test.context.BallerinaTestException;
+import org.ballerinalang.test.packaging.PackerinaTestUtils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static io.ballerina.runtime.internal.configurable.providers.toml.TomlConstants.CONFIG_FILES_ENV_VARIABLE;
+
+/**
+ * Test queries evaluated in parallel through the `parallelism` config of lang.query against sequential evaluation.
+ *
+ * @since 2.0.0
+ */
+public class ParallelQueryTestCase extends BaseTest {
+
+    private static final String testFileLocation = Paths.get("src", "test", "resources", "query", "parallel")
+            .toAbsolutePath().toString();
+    private static final String testFileName = "parallel_query.bal";
+    private BMainInstance bMainInstance;
+
+    @BeforeClass
+    public void setup() throws BallerinaTestException {
+        bMainInstance = new BMainInstance(balServer);
+    }
+
+    @Test
+    public void testParallelQueryMatchesSequentialEvaluation() throws BallerinaTestException {
+        // The Config.toml in the test directory sets the parallelism to 4.
+        String parallelOutput = bMainInstance.runMainAndReadStdOut("run", new String[]{testFileName},
+                                                                   PackerinaTestUtils.getEnvVariables(),
+                                                                   testFileLocation, false);
+        Map<String, String> envVariables = PackerinaTestUtils.getEnvVariables();
+        envVariables.put(CONFIG_FILES_ENV_VARIABLE,
+                         Paths.get(testFileLocation, "Config-sequential.toml").toString());
+        String sequentialOutput = bMainInstance.runMainAndReadStdOut("run", new String[]{testFileName},
+                                                                     envVariables, testFileLocation, false);
+
+        Assert.assertTrue(parallelOutput.contains("parallel: true"), parallelOutput);
+        Assert.assertTrue(sequentialOutput.contains("parallel: false"), sequentialOutput);
+        Assert.assertTrue(parallelOutput.endsWith("Tests passed"), parallelOutput);
+        Assert.assertTrue(sequentialOutput.endsWith("Tests passed"), sequentialOutput);
+        // Every query gives the same results whether it is evaluated in parallel or not.
+        Assert.assertEquals(parallelOutput.replace("parallel: true", "parallel: false"), sequentialOutput);
+    }
+}
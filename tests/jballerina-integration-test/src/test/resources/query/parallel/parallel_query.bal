@@ -0,0 +1,285 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime;
+import ballerina/test;
+import ballerina/jballerina.java;
+
+type Person record {|
+    readonly int id;
+    string name;
+    int age;
+|};
+
+type PersonTable table<Person> key(id);
+
+int partitionEvaluationCount = 0;
+
+public function main() {
+    print("parallel: " + isEvaluatedInParallel().toString());
+    testWhereSelectLet();
+    testRecordList();
+    testOrderByAndLimit();
+    testTable();
+    testStringAndXml();
+    testErrorInPartition();
+    testInputsSmallerThanPartitions();
+    print("Tests passed");
+}
+
+// Members evaluated in parallel are evaluated by processPartition of lang.query on other strands.
+function isEvaluatedInParallel() returns boolean {
+    int[] values = createValues(8192);
+    int[] result = from int i in values
+        where countPartitionEvaluation()
+        select i;
+    test:assertEquals(result, values);
+    lock {
+        return partitionEvaluationCount > 0;
+    }
+}
+
+function testWhereSelectLet() {
+    int[] values = createValues(10000);
+    int[] result = from int i in values
+        let int square = i * i
+        where square % 3 == 1
+        let int sum = square + i
+        select sum;
+
+    int[] expected = [];
+    foreach int i in values {
+        int square = i * i;
+        if (square % 3 == 1) {
+            expected.push(square + i);
+        }
+    }
+    test:assertEquals(result, expected);
+    print("whereSelectLet: " + result.length().toString() + " " + checksum(result).toString());
+}
+
+function testRecordList() {
+    Person[] people = createPeople(7000);
+    string[] result = from var {name, age} in people
+        where age >= 30
+        select name + ":" + age.toString();
+
+    string[] expected = [];
+    foreach Person p in people {
+        if (p.age >= 30) {
+            expected.push(p.name + ":" + p.age.toString());
+        }
+    }
+    test:assertEquals(result, expected);
+    print("recordList: " + result.length().toString() + " " + result[0] + " " + result[result.length() - 1]);
+}
+
+// Queries with order by and limit clauses are evaluated sequentially, and must give the same results.
+function testOrderByAndLimit() {
+    Person[] people = createPeople(5000);
+    Person[] result = from var p in people
+        where p.age > 20
+        order by p.age descending, p.name
+        limit 100
+        select p;
+
+    test:assertEquals(result.length(), 100);
+    foreach int i in 1 ..< result.length() {
+        Person previous = result[i - 1];
+        Person current = result[i];
+        test:assertTrue(previous.age > current.age || (previous.age == current.age && previous.name <= current.name));
+    }
+
+    int[] limited = from int i in createValues(6000)
+        where i % 2 == 0
+        limit 2500
+        select i;
+    test:assertEquals(limited.length(), 2500);
+    test:assertEquals(limited[2499], 4998);
+    print("orderByAndLimit: " + result[0].name + " " + result[99].name + " " + checksum(limited).toString());
+}
+
+function testTable() {
+    PersonTable tbl = table [];
+    foreach Person p in createPeople(6000) {
+        tbl.add(p);
+    }
+
+    PersonTable|error result = table key(id) from var p in tbl
+        where p.age % 2 == 0
+        select {id: p.id, name: p.name.toUpperAscii(), age: p.age + 1};
+    test:assertTrue(result is PersonTable);
+    PersonTable selected = checkpanic result;
+
+    PersonTable expected = table [];
+    foreach Person p in tbl {
+        if (p.age % 2 == 0) {
+            expected.add({id: p.id, name: p.name.toUpperAscii(), age: p.age + 1});
+        }
+    }
+    test:assertEquals(selected.toArray(), expected.toArray());
+
+    int[] ids = from var p in tbl
+        where p.name.endsWith("7")
+        select p.id;
+    int[] expectedIds = [];
+    foreach Person p in tbl {
+        if (p.name.endsWith("7")) {
+            expectedIds.push(p.id);
+        }
+    }
+    test:assertEquals(ids, expectedIds);
+    print("table: " + selected.length().toString() + " " + checksum(ids).toString());
+}
+
+function testStringAndXml() {
+    int[] values = createValues(5000);
+    string result = from int i in values
+        where i % 100 == 0
+        select i.toString() + ",";
+    string expected = "";
+    foreach int i in values {
+        if (i % 100 == 0) {
+            expected += i.toString() + ",";
+        }
+    }
+    test:assertEquals(result, expected);
+
+    xml items = from int i in values
+        where i % 500 == 0
+        select xml `<item>${i}</item>`;
+    test:assertEquals(items.length(), 10);
+    test:assertEquals(items.toString(), buildItems(values));
+    print("stringAndXml: " + result.length().toString() + " " + items.toString());
+}
+
+function testErrorInPartition() {
+    int[] values = createValues(8192);
+    // The first member which fails ends the query, whichever partition it is in.
+    foreach int failingIndex in [0, 2047, 2048, 5000, 8191] {
+        int[]|error result = from int i in values
+            let int v = check failAt(i, failingIndex)
+            where v % 2 == 0
+            select v;
+        test:assertTrue(result is error);
+        error err = <error> result;
+        test:assertEquals(err.message(), "failed at " + failingIndex.toString());
+        print("errorInPartition: " + err.message());
+    }
+
+    // An error after a member that failed in an earlier partition is not reported.
+    int[]|error result = from int i in values
+        let int v = check failAtAny(i, [6000, 3000])
+        select v;
+    test:assertEquals((<error> result).message(), "failed at 3000");
+
+    int[]|error completed = from int i in values
+        let int v = check failAt(i, -1)
+        select v;
+    test:assertEquals(completed, values);
+}
+
+function testInputsSmallerThanPartitions() {
+    foreach int size in [0, 1, 3, 1023, 1024, 2047, 2048, 4095, 4097] {
+        int[] values = createValues(size);
+        int[] result = from int i in values
+            where i % 3 != 0
+            select i * 2;
+        int[] expected = [];
+        foreach int i in values {
+            if (i % 3 != 0) {
+                expected.push(i * 2);
+            }
+        }
+        test:assertEquals(result, expected);
+        print("size " + size.toString() + ": " + result.length().toString() + " " + checksum(result).toString());
+    }
+}
+
+function createValues(int size) returns int[] {
+    int[] values = [];
+    foreach int i in 0 ..< size {
+        values.push(i);
+    }
+    return values;
+}
+
+function createPeople(int size) returns Person[] {
+    Person[] people = [];
+    foreach int i in 0 ..< size {
+        people.push({id: i, name: "person" + i.toString(), age: (i * 37) % 90});
+    }
+    return people;
+}
+
+function countPartitionEvaluation() returns boolean {
+    foreach runtime:StackFrame frame in runtime:getStackTrace() {
+        if (frame.toString().includes("processPartition")) {
+            lock {
+                partitionEvaluationCount += 1;
+            }
+            break;
+        }
+    }
+    return true;
+}
+
+function failAt(int i, int failingIndex) returns int|error {
+    if (i == failingIndex) {
+        return error("failed at " + i.toString());
+    }
+    return i;
+}
+
+function failAtAny(int i, int[] failingIndices) returns int|error {
+    if (failingIndices.indexOf(i) != ()) {
+        return error("failed at " + i.toString());
+    }
+    return i;
+}
+
+function buildItems(int[] values) returns string {
+    string items = "";
+    foreach int i in values {
+        if (i % 500 == 0) {
+            items += "<item>" + i.toString() + "</item>";
+        }
+    }
+    return items;
+}
+
+function checksum(int[] values) returns int {
+    int sum = 0;
+    foreach int v in values {
+        sum = (sum * 31 + v) % 1000000007;
+    }
+    return sum;
+}
+
+function system_out() returns handle = @java:FieldGet {
+    name: "out",
+    'class: "java.lang.System"
+} external;
+
+function println(handle receiver, handle arg0) = @java:Method {
+    name: "println",
+    'class: "java.io.PrintStream",
+    paramTypes: ["java.lang.String"]
+} external;
+
+function print(string str) {
+    println(system_out(), java:fromString(str));
+}
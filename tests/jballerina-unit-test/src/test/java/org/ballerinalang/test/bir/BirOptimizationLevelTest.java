@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.bir;
+
+import io.ballerina.projects.BuildOptions;
+import io.ballerina.projects.BuildOptionsBuilder;
+import org.ballerinalang.core.model.values.BInteger;
+import org.ballerinalang.core.model.values.BString;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRErrorEntry;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test the constant folding, dead code elimination and inlining done at each optimization level.
+ *
+ * @since 2.0.0
+ */
+public class BirOptimizationLevelTest {
+
+    private static final String SOURCE_PATH = "test-src/bir/bir_optimization_levels.bal";
+    private static final int MAX_OPTIMIZATION_LEVEL = 2;
+    private static final Pattern ERROR_REASON = Pattern.compile("\\{ballerina}(\\w+)");
+
+    private final CompileResult[] compileResults = new CompileResult[MAX_OPTIMIZATION_LEVEL + 1];
+    private final BIRPackage[] birPackages = new BIRPackage[MAX_OPTIMIZATION_LEVEL + 1];
+
+    @BeforeClass
+    public void setup() {
+        for (int level = 0; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+            BuildOptions buildOptions = new BuildOptionsBuilder().optimizationLevel(level).build();
+            compileResults[level] = BCompileUtil.compile(SOURCE_PATH, buildOptions);
+            Assert.assertEquals(compileResults[level].getErrorCount(), 0);
+            birPackages[level] = BCompileUtil.generateBIR(SOURCE_PATH, buildOptions).getExpectedBIR();
+        }
+    }
+
+    @DataProvider(name = "functionResults")
+    public Object[][] functionResults() {
+        return new Object[][]{
+                {"foldedArithmetic", new BValue[0], "13"},
+                {"foldedStrings", new BValue[0], "foobarbaz"},
+                {"foldedBranch", new BValue[0], "5"},
+                // operations which panic are left to panic at runtime
+                {"intOverflow", new BValue[0], "panic: NumberOverflow"},
+                {"intMinDivision", new BValue[0], "panic: NumberOverflow"},
+                {"divisionByZero", new BValue[0], "panic: DivisionByZero"},
+                {"modByZero", new BValue[0], "panic: DivisionByZero"},
+                {"deadStoresWithTrap", new BValue[]{new BInteger(0)}, "-1"},
+                {"deadStoresWithTrap", new BValue[]{new BInteger(5)}, "2"},
+                {"deadStoresInTrappedBranch", new BValue[]{new BInteger(0)}, "5"},
+                {"deadStoresInTrappedBranch", new BValue[]{new BInteger(5)}, "1"},
+                {"inlinedArgumentOrder", new BValue[]{new BInteger(7), new BInteger(2)}, "45"},
+                {"inlinedStringArgumentOrder", new BValue[]{new BString("ab"), new BString("cd")}, "abcdcdab"},
+                {"inlinedConstants", new BValue[0], "8"},
+                {"inlinedPanic", new BValue[]{new BInteger(7), new BInteger(2)}, "4"},
+                {"inlinedPanic", new BValue[]{new BInteger(1), new BInteger(0)}, "panic: DivisionByZero"},
+                {"inlinedTrappedPanic", new BValue[]{new BInteger(7), new BInteger(2)}, "3"},
+                {"inlinedTrappedPanic", new BValue[]{new BInteger(1), new BInteger(0)}, "-1"}
+        };
+    }
+
+    @Test(dataProvider = "functionResults")
+    public void testResultsAtEachLevel(String functionName, BValue[] args, String expected) {
+        for (int level = 0; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+            Assert.assertEquals(invoke(level, functionName, args), expected, functionName + " at level " + level);
+        }
+    }
+
+    @Test
+    public void testFloatComparisonsAtEachLevel() {
+        // comparisons with NaN are false, which folding must not change
+        String nanComparisons = invoke(0, "nanComparisons", new BValue[0]);
+        Assert.assertTrue(nanComparisons.startsWith("[false, false, false, false, false, false, "), nanComparisons);
+        Assert.assertTrue(nanComparisons.endsWith(", false, true]"), nanComparisons);
+        String negativeZero = invoke(0, "negativeZero", new BValue[0]);
+        for (int level = 1; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+            Assert.assertEquals(invoke(level, "nanComparisons", new BValue[0]), nanComparisons);
+            Assert.assertEquals(invoke(level, "negativeZero", new BValue[0]), negativeZero);
+        }
+    }
+
+    @Test
+    public void testConstantFolding() {
+        BIRFunction arithmetic = getFunction(0, "foldedArithmetic");
+        Assert.assertEquals(countInstructions(arithmetic, InstructionKind.MUL), 1);
+        Assert.assertEquals(countInstructions(arithmetic, InstructionKind.SUB), 1);
+        Assert.assertEquals(countTerminators(getFunction(0, "foldedBranch"), InstructionKind.BRANCH), 1);
+
+        for (int level = 1; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+            arithmetic = getFunction(level, "foldedArithmetic");
+            Assert.assertEquals(countInstructions(arithmetic, InstructionKind.MUL), 0);
+            Assert.assertEquals(countInstructions(arithmetic, InstructionKind.ADD), 0);
+            Assert.assertEquals(countInstructions(arithmetic, InstructionKind.SUB), 0);
+            Assert.assertEquals(countInstructions(getFunction(level, "foldedStrings"), InstructionKind.ADD), 0);
+
+            // the branch on the folded condition becomes a goto, and the block it skipped is removed
+            BIRFunction branch = getFunction(level, "foldedBranch");
+            Assert.assertEquals(countTerminators(branch, InstructionKind.BRANCH), 0);
+            Assert.assertTrue(branch.basicBlocks.size() < getFunction(0, "foldedBranch").basicBlocks.size());
+        }
+    }
+
+    @Test
+    public void testPanickingOperationsAreNotFolded() {
+        for (int level = 0; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+            Assert.assertEquals(countInstructions(getFunction(level, "intOverflow"), InstructionKind.ADD), 1);
+            Assert.assertEquals(countInstructions(getFunction(level, "intMinDivision"), InstructionKind.DIV), 1);
+            Assert.assertEquals(countInstructions(getFunction(level, "divisionByZero"), InstructionKind.DIV), 1);
+            Assert.assertEquals(countInstructions(getFunction(level, "modByZero"), InstructionKind.MOD), 1);
+        }
+    }
+
+    @Test
+    public void testFloatEqualityIsNotFolded() {
+        long equalities = countInstructions(getFunction(0, "nanComparisons"), InstructionKind.EQUAL);
+        long inequalities = countInstructions(getFunction(0, "nanComparisons"), InstructionKind.NOT_EQUAL);
+        for (int level = 1; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+            BIRFunction function = getFunction(level, "nanComparisons");
+            Assert.assertEquals(countInstructions(function, InstructionKind.EQUAL), equalities);
+            Assert.assertEquals(countInstructions(function, InstructionKind.NOT_EQUAL), inequalities);
+            Assert.assertEquals(countInstructions(function, InstructionKind.LESS_THAN), 0);
+        }
+    }
+
+    @Test
+    public void testDeadCodeEliminationKeepsErrorTables() {
+        for (String functionName : new String[]{"deadStoresWithTrap", "deadStoresInTrappedBranch"}) {
+            int errorEntries = getFunction(0, functionName).errorTable.size();
+            Assert.assertTrue(errorEntries > 0, functionName);
+            for (int level = 1; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+                BIRFunction function = getFunction(level, functionName);
+                Assert.assertEquals(function.errorTable.size(), errorEntries, functionName);
+                for (BIRErrorEntry errorEntry : function.errorTable) {
+                    Assert.assertTrue(function.basicBlocks.contains(errorEntry.trapBB), functionName);
+                    Assert.assertTrue(function.basicBlocks.contains(errorEntry.endBB), functionName);
+                    Assert.assertTrue(function.basicBlocks.contains(errorEntry.targetBB), functionName);
+                }
+                Assert.assertEquals(countInstructions(function, InstructionKind.DIV), 1, functionName);
+            }
+        }
+    }
+
+    @Test
+    public void testInlining() {
+        for (int level = 0; level < MAX_OPTIMIZATION_LEVEL; level++) {
+            Assert.assertEquals(countCalls(getFunction(level, "inlinedArgumentOrder"), "subtract"), 2);
+            Assert.assertEquals(countCalls(getFunction(level, "inlinedStringArgumentOrder"), "concat"), 2);
+            Assert.assertEquals(countCalls(getFunction(level, "inlinedPanic"), "divide"), 1);
+            Assert.assertEquals(countCalls(getFunction(level, "inlinedTrappedPanic"), "divide"), 1);
+        }
+
+        BIRFunction argumentOrder = getFunction(MAX_OPTIMIZATION_LEVEL, "inlinedArgumentOrder");
+        Assert.assertEquals(countCalls(argumentOrder, "subtract"), 0);
+        Assert.assertEquals(countInstructions(argumentOrder, InstructionKind.SUB), 2);
+        Assert.assertEquals(countCalls(getFunction(MAX_OPTIMIZATION_LEVEL, "inlinedStringArgumentOrder"), "concat"),
+                            0);
+        BIRFunction constants = getFunction(MAX_OPTIMIZATION_LEVEL, "inlinedConstants");
+        Assert.assertEquals(countCalls(constants, "subtract") + countCalls(constants, "increment"), 0);
+
+        // the inlined division still panics, within the error table of the caller when trapped
+        BIRFunction panic = getFunction(MAX_OPTIMIZATION_LEVEL, "inlinedPanic");
+        Assert.assertEquals(countCalls(panic, "divide"), 0);
+        Assert.assertEquals(countInstructions(panic, InstructionKind.DIV), 1);
+        BIRFunction trappedPanic = getFunction(MAX_OPTIMIZATION_LEVEL, "inlinedTrappedPanic");
+        Assert.assertEquals(countCalls(trappedPanic, "divide"), 0);
+        Assert.assertEquals(countInstructions(trappedPanic, InstructionKind.DIV), 1);
+        Assert.assertFalse(trappedPanic.errorTable.isEmpty());
+    }
+
+    private String invoke(int level, String functionName, BValue[] args) {
+        try {
+            BValue[] result = BRunUtil.invoke(compileResults[level], functionName, args);
+            return result[0].stringValue();
+        } catch (RuntimeException e) {
+            Matcher matcher = ERROR_REASON.matcher(String.valueOf(e.getMessage()));
+            Assert.assertTrue(matcher.find(), "unexpected failure: " + e.getMessage());
+            return "panic: " + matcher.group(1);
+        }
+    }
+
+    private BIRFunction getFunction(int level, String functionName) {
+        for (BIRFunction function : birPackages[level].functions) {
+            if (function.name.value.equals(functionName)) {
+                return function;
+            }
+        }
+        throw new AssertionError("function not found: " + functionName);
+    }
+
+    private long countInstructions(BIRFunction function, InstructionKind kind) {
+        long count = 0;
+        for (BIRBasicBlock basicBlock : function.basicBlocks) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                if (instruction.kind == kind) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long countTerminators(BIRFunction function, InstructionKind kind) {
+        return function.basicBlocks.stream().filter(basicBlock -> basicBlock.terminator.kind == kind).count();
+    }
+
+    private long countCalls(BIRFunction function, String calleeName) {
+        return function.basicBlocks.stream()
+                .filter(basicBlock -> basicBlock.terminator.kind == InstructionKind.CALL &&
+                        ((BIRTerminator.Call) basicBlock.terminator).name.value.equals(calleeName))
+                .count();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        for (int level = 0; level <= MAX_OPTIMIZATION_LEVEL; level++) {
+            compileResults[level] = null;
+            birPackages[level] = null;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.codegen.NonYieldingFunctionAnalyzer;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test functions which never yield, which are generated without frames and yield checks.
+ *
+ * @since 2.0.0
+ */
+public class NonYieldingFunctionTest {
+
+    private static final String PROJECT_PATH = "test-src/jvm/NonYieldingProject";
+    private static final String CLASS_PREFIX = "testorg.nonyielding.1_0_0.";
+
+    private CompileResult compileResult;
+    private NonYieldingFunctionAnalyzer analyzer;
+    private final Map<String, BIRFunction> functions = new HashMap<>();
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile(PROJECT_PATH);
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+
+        BIRPackage birPackage = BCompileUtil.generateBIR(PROJECT_PATH).getExpectedBIR();
+        analyzer = new NonYieldingFunctionAnalyzer();
+        analyzer.analyze(birPackage);
+        for (BIRFunction func : birPackage.functions) {
+            functions.put(func.name.value, func);
+        }
+    }
+
+    @DataProvider(name = "functions")
+    public Object[][] functions() {
+        return new Object[][]{
+                // recursive and mutually recursive functions without yield points
+                {"fib", true},
+                {"isEven", true},
+                {"isOdd", true},
+                {"fibOfEven", true},
+                {"increment", true},
+                {"appendOrder", true},
+                // a cycle with a yield point in one of its functions
+                {"countDown", false},
+                {"sleepAndCountDown", false},
+                {"fibAndCountDown", false},
+                // calls through function pointers
+                {"applyTwice", false},
+                {"applyAndAppend", false},
+                // calls into other modules, even to a function which does not yield there
+                {"tickTwice", false},
+                {"addAcrossModules", false},
+                {"tickAndAppend", false},
+                // lock, wait and worker interactions
+                {"lockedIncrement", false},
+                {"waitForFib", false},
+                {"workerFib", false},
+                {"sleepAndAppend", false}
+        };
+    }
+
+    @Test(dataProvider = "functions")
+    public void testAnalysis(String name, boolean nonYielding) {
+        BIRFunction func = functions.get(name);
+        Assert.assertNotNull(func, name);
+        Assert.assertEquals(analyzer.isNonYielding(func), nonYielding, name);
+    }
+
+    @Test(dataProvider = "functions")
+    public void testFrameClasses(String name, boolean nonYielding) {
+        // non-yielding functions are never resumed, hence no frame class is generated for them
+        try {
+            compileResult.getClassLoader().loadClass(CLASS_PREFIX + name + "Frame");
+            Assert.assertFalse(nonYielding, "frame class generated for non-yielding function " + name);
+        } catch (ClassNotFoundException e) {
+            Assert.assertTrue(nonYielding, "frame class not generated for yielding function " + name);
+        }
+    }
+
+    @Test
+    public void testRecursion() {
+        Assert.assertEquals(invoke("testRecursion"), "6765");
+        Assert.assertEquals(invoke("testMutualRecursion"), "[true, false, false, true]");
+        Assert.assertEquals(invoke("testNonYieldingCallers"), "6765");
+    }
+
+    @Test
+    public void testYieldingRecursion() {
+        Assert.assertEquals(invoke("testYieldingMutualRecursion"), "10");
+        Assert.assertEquals(invoke("testYieldingAndNonYieldingCallees"), "65");
+    }
+
+    @Test
+    public void testFunctionPointers() {
+        Assert.assertEquals(invoke("testFunctionPointers"), "[3, 3, 6, 6]");
+    }
+
+    @Test
+    public void testAcrossModules() {
+        Assert.assertEquals(invoke("testAcrossModules"), "15");
+    }
+
+    @Test
+    public void testLockWaitAndWorkers() {
+        Assert.assertEquals(invoke("testLock"), "5");
+        Assert.assertEquals(invoke("testWait"), "610");
+        Assert.assertEquals(invoke("testWorker"), "611");
+    }
+
+    @Test
+    public void testYieldingCalleeSuspends() {
+        // the started strand only runs once the caller yields in the yielding callee
+        Assert.assertEquals(invoke("testYieldingCalleeSuspends"), "[1, 2, 3, 4]");
+        Assert.assertEquals(invoke("testYieldingCalleeAcrossModulesSuspends"), "[1, 2, 3]");
+        Assert.assertEquals(invoke("testYieldingFunctionPointerSuspends"), "[1, 2, 3]");
+    }
+
+    private String invoke(String functionName) {
+        BValue[] result = BRunUtil.invoke(compileResult, functionName);
+        return result[0].stringValue();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        compileResult = null;
+        analyzer = null;
+        functions.clear();
+    }
+}
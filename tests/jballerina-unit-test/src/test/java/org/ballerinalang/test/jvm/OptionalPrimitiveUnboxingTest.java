@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import io.ballerina.projects.NullBackend;
+import io.ballerina.projects.PackageCompilation;
+import io.ballerina.projects.Project;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.codegen.OptionalPrimitiveUnboxer;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRBasicBlock;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRFunction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRPackage;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode.BIRVariableDcl;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator.Branch;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test the {@code int?} and {@code float?} variables kept unboxed by the {@link OptionalPrimitiveUnboxer}.
+ *
+ * @since 2.0.0
+ */
+public class OptionalPrimitiveUnboxingTest {
+
+    private static final String SOURCE_PATH = "test-src/jvm/optional-primitive-unboxing.bal";
+    private static final String PRESENT_VAR_SUFFIX = "$present";
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile(SOURCE_PATH);
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testNilValueTransitionsInLoop() {
+        Assert.assertEquals(invoke("testNilValueTransitionsInLoop"), "01-34- 8.0 nil");
+    }
+
+    @Test
+    public void testMovesBetweenOptionals() {
+        Assert.assertEquals(invoke("testMovesBetweenOptionals"), ",10,10,,1.5");
+    }
+
+    @Test
+    public void testTypeTestsAndNarrowing() {
+        Assert.assertEquals(invoke("testTypeTestsAndNarrowing"), "negative nil positive 5.0");
+    }
+
+    @Test
+    public void testEscapes() {
+        Assert.assertEquals(invoke("testEscapes"), "7 {\"a\":7,\"b\":null} [7,null] 7");
+        Assert.assertEquals(invoke("testReturnedOptionals"), "3,");
+        Assert.assertEquals(invoke("testWorkerSend"), "42");
+    }
+
+    @Test
+    public void testYieldWithLiveOptional() {
+        // the unboxed variables are saved to and restored from the frame of the function
+        Assert.assertEquals(invoke("testYieldWithLiveOptional"), "4,2.0,");
+    }
+
+    @Test
+    public void testTrapAndDefaultParams() {
+        Assert.assertEquals(invoke("testTrapAndCheck"), "-1,2,4");
+        Assert.assertEquals(invoke("testDefaultParams"), ",5,7");
+    }
+
+    @Test
+    public void testSourceVariablesUnboxed() {
+        Map<String, Set<String>> unboxedVars = new HashMap<>();
+        for (BIRFunction function : getUnboxedPackage().functions) {
+            Set<String> names = new HashSet<>();
+            for (BIRVariableDcl varDcl : function.localVars) {
+                if (varDcl.kind == VarKind.LOCAL && getPresentVar(function, varDcl) != null) {
+                    names.add(varDcl.metaVarName);
+                }
+            }
+            unboxedVars.put(function.name.value, names);
+        }
+        Assert.assertTrue(unboxedVars.get("testNilValueTransitionsInLoop").contains("current"));
+        Assert.assertTrue(unboxedVars.get("testMovesBetweenOptionals").contains("c"));
+        Assert.assertTrue(unboxedVars.get("testTrapAndCheck").contains("quotient"));
+        Assert.assertTrue(unboxedVars.get("nextStep").contains("next"));
+        // the result of a call stays boxed
+        Assert.assertFalse(unboxedVars.get("testTrapAndCheck").contains("checked"));
+    }
+
+    @Test
+    public void testSourceVariablesBoxedForDebugger() {
+        // a block changing a source variable stores its boxed value too, or branches to do so on its presence
+        for (BIRFunction function : getUnboxedPackage().functions) {
+            for (BIRVariableDcl varDcl : function.localVars) {
+                BIRVariableDcl presentVar = getPresentVar(function, varDcl);
+                if (varDcl.kind != VarKind.LOCAL || presentVar == null) {
+                    continue;
+                }
+                for (BIRBasicBlock bb : function.basicBlocks) {
+                    List<BIRNonTerminator> instructions = bb.instructions;
+                    int lastChange = -1;
+                    int lastBoxing = -1;
+                    for (int i = 0; i < instructions.size(); i++) {
+                        BIROperand lhsOp = instructions.get(i).lhsOp;
+                        if (lhsOp == null) {
+                            continue;
+                        }
+                        if (lhsOp.variableDcl == presentVar) {
+                            lastChange = i;
+                        } else if (lhsOp.variableDcl == varDcl) {
+                            lastBoxing = i;
+                        }
+                    }
+                    boolean boxingBranch = bb.terminator instanceof Branch &&
+                            ((Branch) bb.terminator).op.variableDcl == presentVar;
+                    Assert.assertTrue(lastChange == -1 || lastChange < lastBoxing || boxingBranch,
+                                      varDcl.metaVarName + " not boxed after " + bb.id.value + " of " +
+                                              function.name.value);
+                }
+            }
+        }
+    }
+
+    private BIRPackage getUnboxedPackage() {
+        Project project = BCompileUtil.loadProject(SOURCE_PATH);
+        PackageCompilation compilation = project.currentPackage().getCompilation();
+        NullBackend.from(compilation);
+        BIRPackage birPackage = compilation.defaultModuleBLangPackage().symbol.bir;
+        SymbolTable symbolTable = SymbolTable.getInstance(
+                project.projectEnvironmentContext().getService(CompilerContext.class));
+        new OptionalPrimitiveUnboxer(symbolTable).unbox(birPackage);
+        return birPackage;
+    }
+
+    private BIRVariableDcl getPresentVar(BIRFunction function, BIRVariableDcl varDcl) {
+        String name = varDcl.name.value + PRESENT_VAR_SUFFIX;
+        for (BIRVariableDcl localVar : function.localVars) {
+            if (localVar.name.value.equals(name)) {
+                return localVar;
+            }
+        }
+        return null;
+    }
+
+    private String invoke(String functionName) {
+        BValue[] result = BRunUtil.invoke(compileResult, functionName);
+        return result[0].stringValue();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        compileResult = null;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.core.model.values.BInteger;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test method calls on self, which are made directly on the generated class instead of through BObject.call.
+ *
+ * @since 2.0.0
+ */
+public class SelfCallTest {
+
+    private static final String PROJECT_PATH = "test-src/jvm/SelfCallProject";
+    private static final String PACKAGE_PATH = "testorg/selfcalls/1_0_0/";
+    private static final String COUNTER_CLASS = PACKAGE_PATH + "$value$Counter";
+    private static final String B_OBJECT = "io/ballerina/runtime/api/values/BObject";
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile(PROJECT_PATH);
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testSelfCallIsDirect() throws IOException {
+        List<String> calls = getMethodCalls(COUNTER_CLASS, "incrementTwice");
+        Assert.assertTrue(calls.contains(Opcodes.INVOKEVIRTUAL + " " + COUNTER_CLASS + ".increment"), calls.toString());
+        Assert.assertFalse(calls.contains(Opcodes.INVOKEINTERFACE + " " + B_OBJECT + ".call"), calls.toString());
+        Assert.assertEquals(((BInteger) invoke("testSelfCall")).intValue(), 6);
+    }
+
+    @Test
+    public void testCallOnOtherReceiverIsDispatched() throws IOException {
+        // the argument may be of any class which is a subtype of Counter
+        List<String> calls = getMethodCalls(PACKAGE_PATH + "main", "incrementOnce");
+        Assert.assertTrue(calls.contains(Opcodes.INVOKEINTERFACE + " " + B_OBJECT + ".call"), calls.toString());
+        Assert.assertFalse(calls.contains(Opcodes.INVOKEVIRTUAL + " " + COUNTER_CLASS + ".increment"),
+                           calls.toString());
+        // 6 from the doubled increment through the dispatched call, then 8 and 10 from the self calls
+        Assert.assertEquals(((BInteger) invoke("testCallOnSubtype")).intValue(), 16);
+    }
+
+    private List<String> getMethodCalls(String className, String methodName) throws IOException {
+        List<String> calls = new ArrayList<>();
+        try (InputStream classFile = compileResult.getClassLoader().getResourceAsStream(className + ".class")) {
+            Assert.assertNotNull(classFile, "class not generated: " + className);
+            new ClassReader(classFile).accept(new ClassVisitor(Opcodes.ASM7) {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                                                 String[] exceptions) {
+                    if (!name.equals(methodName)) {
+                        return null;
+                    }
+                    return new MethodVisitor(Opcodes.ASM7) {
+                        @Override
+                        public void visitMethodInsn(int opcode, String owner, String name, String descriptor,
+                                                    boolean isInterface) {
+                            calls.add(opcode + " " + owner + "." + name);
+                        }
+                    };
+                }
+            }, ClassReader.SKIP_DEBUG);
+        }
+        Assert.assertFalse(calls.isEmpty(), "method not generated: " + className + "." + methodName);
+        return calls;
+    }
+
+    private BValue invoke(String functionName) {
+        return BRunUtil.invoke(compileResult, functionName)[0];
+    }
+
+    @AfterClass
+    public void tearDown() {
+        compileResult = null;
+    }
+}
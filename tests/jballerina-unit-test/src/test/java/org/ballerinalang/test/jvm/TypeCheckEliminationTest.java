@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.jvm;
+
+import io.ballerina.projects.BuildOptionsBuilder;
+import io.ballerina.runtime.internal.values.RopeStringValue;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test type tests and casts which are decided at compile time or with a JVM instanceof on the runtime value class.
+ *
+ * @since 2.0.0
+ */
+public class TypeCheckEliminationTest {
+
+    private static final String SOURCE_PATH = "test-src/jvm/type-check-elimination.bal";
+    private static final Pattern REPORT = Pattern.compile("type checks in .*: casts (\\d+) eliminated, (\\d+) at " +
+            "runtime; type tests (\\d+) eliminated, (\\d+) with instanceof, (\\d+) at runtime");
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BCompileUtil.compile(SOURCE_PATH);
+        Assert.assertEquals(compileResult.getErrorCount(), 0);
+    }
+
+    @Test
+    public void testRopeStringMember() {
+        Assert.assertTrue(BRunUtil.invokeAndGetJVMResult(compileResult, "getRopeString") instanceof RopeStringValue);
+    }
+
+    @Test
+    public void testTypeTestsOnUnion() {
+        // is int, float, boolean, string, decimal, error, xml, () and map<int> for each member type
+        Assert.assertEquals(invoke("testUnionTypeTests"),
+                            "100000000,100000000,010000000,001000000,000100000,000100000,000010000,000001000," +
+                                    "000000100,000000100,000000010,000000001,000000000");
+    }
+
+    @Test
+    public void testTypeTestsOnAnyOrError() {
+        Assert.assertEquals(invoke("testAnyOrErrorTypeTests"),
+                            "100000000,100000000,010000000,001000000,000100000,000100000,000010000,000001000," +
+                                    "000000100,000000100,000000010,000000001,000000000,000000000");
+    }
+
+    @Test
+    public void testTypeTestsOnReadonly() {
+        Assert.assertEquals(invoke("testReadonlyTypeTests"),
+                            "100000000,100000000,010000000,001000000,000100000,000100000,000010000,000001000," +
+                                    "000000100,000000010,000000001,000000000");
+    }
+
+    @Test
+    public void testTypeTestsOnAnydata() {
+        // is int, float, boolean, string, decimal, xml, () and map<int> for each member type
+        Assert.assertEquals(invoke("testAnydataTypeTests"),
+                            "10000000,10000000,01000000,00100000,00010000,00010000,00001000,00000100,00000010," +
+                                    "00000001,00000000");
+    }
+
+    @Test
+    public void testTypeTestsOnJson() {
+        // is int, float, boolean, string, () and map<json> for each member type
+        Assert.assertEquals(invoke("testJsonTypeTests"),
+                            "100000,010000,001000,000100,000100,000010,000001,000000");
+    }
+
+    @Test
+    public void testConstantTrueTypeTests() {
+        Assert.assertEquals(invoke("testConstantTrueTypeTests"),
+                            "[true, true, true, true, true, true, true, true, true, true]");
+    }
+
+    @Test
+    public void testSkippedCasts() {
+        Assert.assertEquals(invoke("testSkippedCasts"), "5 5 5 {\"a\":1} nil");
+    }
+
+    @Test
+    public void testCastsLeftToTheRuntime() {
+        Assert.assertEquals(invoke("testCastFailures"), "error,str,error,anydata,error,json");
+    }
+
+    @Test
+    public void testTypeCheckStats() {
+        String report = compileAndReadOutput(true);
+        Matcher matcher = REPORT.matcher(report);
+        Assert.assertTrue(matcher.find(), report);
+        Assert.assertTrue(Integer.parseInt(matcher.group(1)) > 0, "no eliminated casts: " + report);
+        Assert.assertTrue(Integer.parseInt(matcher.group(2)) > 0, "no runtime casts: " + report);
+        Assert.assertTrue(Integer.parseInt(matcher.group(3)) > 0, "no eliminated type tests: " + report);
+        Assert.assertTrue(Integer.parseInt(matcher.group(4)) > 0, "no instanceof type tests: " + report);
+        Assert.assertTrue(Integer.parseInt(matcher.group(5)) > 0, "no runtime type tests: " + report);
+
+        Assert.assertFalse(REPORT.matcher(compileAndReadOutput(false)).find());
+    }
+
+    private String compileAndReadOutput(boolean dumpTypeCheckStats) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+            CompileResult result = BCompileUtil.compile(SOURCE_PATH, new BuildOptionsBuilder()
+                    .dumpTypeCheckStats(dumpTypeCheckStats).build());
+            Assert.assertEquals(result.getErrorCount(), 0);
+        } finally {
+            System.setOut(original);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private String invoke(String functionName) {
+        BValue[] result = BRunUtil.invoke(compileResult, functionName);
+        return result[0].stringValue();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        compileResult = null;
+    }
+}
@@ -0,0 +1,140 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Constant folding
+
+function foldedArithmetic() returns int {
+    int a = 3;
+    int b = a * 4 + 2;
+    return b - 1;
+}
+
+function foldedStrings() returns string {
+    string a = "foo";
+    string b = a + "bar";
+    return b + "baz";
+}
+
+function foldedBranch() returns int {
+    int a = 2 + 3;
+    if a > 4 {
+        return a;
+    }
+    return 0;
+}
+
+function intOverflow() returns int {
+    int a = 9223372036854775807;
+    int b = 1;
+    return a + b;
+}
+
+function intMinDivision() returns int {
+    int a = -9223372036854775807 - 1;
+    int b = -1;
+    return a / b;
+}
+
+function divisionByZero() returns int {
+    int a = 10;
+    int b = 0;
+    return a / b;
+}
+
+function modByZero() returns int {
+    int a = 10;
+    int b = 0;
+    return a % b;
+}
+
+function nanComparisons() returns boolean[] {
+    float nan = 0.0 / 0.0;
+    float one = 1.0;
+    return [nan < one, nan > one, nan <= one, nan >= one, nan < nan, nan >= nan, nan == nan, nan != nan,
+            nan == one, one == one];
+}
+
+function negativeZero() returns boolean[] {
+    float zero = 0.0;
+    float negativeZero = -zero;
+    return [zero == negativeZero, zero < negativeZero, zero >= negativeZero, 1.0 / negativeZero < zero];
+}
+
+// Dead code elimination
+
+function deadStoresWithTrap(int divisor) returns int {
+    int fallback = -1;
+    int|error result = trap (10 / divisor);
+    if result is error {
+        return fallback;
+    }
+    return result;
+}
+
+function deadStoresInTrappedBranch(int divisor) returns int {
+    int a = 2 + 3;
+    int|error result = trap (a / divisor);
+    if a > 4 {
+        if result is error {
+            return a;
+        }
+        return result;
+    }
+    return 0;
+}
+
+// Inlining
+
+function subtract(int a, int b) returns int {
+    return a - b;
+}
+
+function concat(string a, string b) returns string {
+    return a + b;
+}
+
+function divide(int a, int b) returns int {
+    return a / b;
+}
+
+function increment(int a) returns int {
+    int b = a + 1;
+    return b;
+}
+
+function inlinedArgumentOrder(int x, int y) returns int {
+    return subtract(x, y) * 10 + subtract(y, x);
+}
+
+function inlinedStringArgumentOrder(string x, string y) returns string {
+    return concat(x, y) + concat(y, x);
+}
+
+function inlinedConstants() returns int {
+    return increment(subtract(10, 3));
+}
+
+function inlinedPanic(int a, int b) returns int {
+    return divide(a, b) + 1;
+}
+
+function inlinedTrappedPanic(int a, int b) returns int {
+    int|error result = trap divide(a, b);
+    if result is error {
+        return -1;
+    }
+    return result;
+}
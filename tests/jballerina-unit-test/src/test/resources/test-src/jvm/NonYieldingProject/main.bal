@@ -0,0 +1,204 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime;
+import nonyielding.clock;
+
+int[] order = [];
+int counter = 0;
+
+// Non-yielding functions
+
+function fib(int n) returns int {
+    if n < 2 {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function isEven(int n) returns boolean {
+    if n == 0 {
+        return true;
+    }
+    return isOdd(n - 1);
+}
+
+function isOdd(int n) returns boolean {
+    if n == 0 {
+        return false;
+    }
+    return isEven(n - 1);
+}
+
+function fibOfEven(int n) returns int {
+    if isEven(n) {
+        return fib(n);
+    }
+    return 0;
+}
+
+function increment(int x) returns int {
+    return x + 1;
+}
+
+function appendOrder(int value) {
+    order.push(value);
+}
+
+// Yielding functions
+
+function countDown(int n) returns int {
+    if n == 0 {
+        return 0;
+    }
+    return 1 + sleepAndCountDown(n - 1);
+}
+
+function sleepAndCountDown(int n) returns int {
+    runtime:sleep(0.001);
+    return countDown(n);
+}
+
+function fibAndCountDown(int n) returns int {
+    return fib(n) + countDown(n);
+}
+
+function applyTwice(function (int) returns int func, int x) returns int {
+    return func(func(x));
+}
+
+function sleepAndIncrement(int x) returns int {
+    runtime:sleep(0.001);
+    return x + 1;
+}
+
+function tickTwice(int n) returns int {
+    return clock:tick(n) + clock:tick(n);
+}
+
+function addAcrossModules(int a, int b) returns int {
+    return clock:add(a, b);
+}
+
+function lockedIncrement(int n) returns int {
+    lock {
+        counter += n;
+        return counter;
+    }
+}
+
+function waitForFib(int n) returns int {
+    future<int> f = start fib(n);
+    return wait f;
+}
+
+function workerFib(int n) returns int {
+    worker w1 {
+        int x = fib(n);
+        x -> function;
+    }
+    int y = <- w1;
+    return y + 1;
+}
+
+function sleepAndAppend(int value) {
+    runtime:sleep(0.01);
+    order.push(value);
+}
+
+function tickAndAppend(int value) {
+    order.push(clock:tick(value));
+}
+
+function applyAndAppend(function (int) returns int func, int value) {
+    order.push(func(value - 1));
+}
+
+// Tests
+
+function testRecursion() returns int {
+    return fib(20);
+}
+
+function testMutualRecursion() returns boolean[] {
+    return [isEven(10), isOdd(10), isEven(7), isOdd(7)];
+}
+
+function testNonYieldingCallers() returns int {
+    return fibOfEven(20) + fibOfEven(21);
+}
+
+function testYieldingMutualRecursion() returns int {
+    return countDown(10);
+}
+
+function testYieldingAndNonYieldingCallees() returns int {
+    return fibAndCountDown(10);
+}
+
+function testFunctionPointers() returns int[] {
+    function (int) returns int nonYielding = increment;
+    function (int) returns int yielding = sleepAndIncrement;
+    return [applyTwice(nonYielding, 1), applyTwice(yielding, 1), nonYielding(5), yielding(5)];
+}
+
+function testAcrossModules() returns int {
+    return tickTwice(3) + addAcrossModules(4, 5);
+}
+
+function testLock() returns int {
+    counter = 0;
+    _ = lockedIncrement(2);
+    return lockedIncrement(3);
+}
+
+function testWait() returns int {
+    return waitForFib(15);
+}
+
+function testWorker() returns int {
+    return workerFib(15);
+}
+
+// The started strands share the thread of the caller, so they only run when the caller yields.
+function testYieldingCalleeSuspends() returns int[] {
+    order = [];
+    future<()> f = @strand {thread: "parent"} start appendOrder(3);
+    appendOrder(1);
+    _ = fibOfEven(20);
+    appendOrder(2);
+    sleepAndAppend(4);
+    wait f;
+    return order;
+}
+
+function testYieldingCalleeAcrossModulesSuspends() returns int[] {
+    order = [];
+    future<()> f = @strand {thread: "parent"} start appendOrder(2);
+    appendOrder(1);
+    tickAndAppend(3);
+    wait f;
+    return order;
+}
+
+function testYieldingFunctionPointerSuspends() returns int[] {
+    order = [];
+    future<()> f = @strand {thread: "parent"} start appendOrder(2);
+    appendOrder(1);
+    applyAndAppend(sleepAndIncrement, 3);
+    wait f;
+    return order;
+}
@@ -0,0 +1,61 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+class Counter {
+    int count = 0;
+
+    function increment(int by) returns int {
+        self.count += by;
+        return self.count;
+    }
+
+    // calls on self are made directly on the generated class
+    function incrementTwice(int by) returns int {
+        _ = self.increment(by);
+        return self.increment(by);
+    }
+}
+
+// Structurally a subtype of Counter, so its values can be used where a Counter is expected.
+class DoublingCounter {
+    int count = 0;
+
+    function increment(int by) returns int {
+        self.count += by * 2;
+        return self.count;
+    }
+
+    function incrementTwice(int by) returns int {
+        _ = self.increment(by);
+        return self.increment(by);
+    }
+}
+
+// calls on other receivers are dispatched on the runtime class of the receiver
+function incrementOnce(Counter counter, int by) returns int {
+    return counter.increment(by);
+}
+
+public function testSelfCall() returns int {
+    Counter counter = new;
+    return counter.incrementTwice(3);
+}
+
+public function testCallOnSubtype() returns int {
+    Counter counter = new DoublingCounter();
+    int once = incrementOnce(counter, 3);
+    return once + counter.incrementTwice(1);
+}
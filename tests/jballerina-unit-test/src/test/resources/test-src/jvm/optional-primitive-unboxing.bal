@@ -0,0 +1,153 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime;
+
+function testNilValueTransitionsInLoop() returns string {
+    int? current = ();
+    float? total = ();
+    string trace = "";
+    foreach int i in 0 ..< 6 {
+        current = i % 3 == 2 ? () : i;
+        if current is int {
+            total = (total ?: 0.0) + <float> current;
+            trace += current.toString();
+        } else {
+            trace += "-";
+        }
+    }
+    return trace + " " + (total ?: -1.0).toString() + " " + (current is () ? "nil" : "value");
+}
+
+function testMovesBetweenOptionals() returns string {
+    int? a = 10;
+    int? b = ();
+    int? c = a;
+    a = b;
+    b = c;
+    float? x = 1.5;
+    float? y = x;
+    x = ();
+    return a.toString() + "," + b.toString() + "," + c.toString() + "," + x.toString() + "," + y.toString();
+}
+
+function testTypeTestsAndNarrowing() returns string {
+    string result = "";
+    foreach int i in -1 ... 1 {
+        int? v = i == 0 ? () : i;
+        if v is () {
+            result += "nil ";
+        } else {
+            int n = v;
+            result += (n > 0 ? "positive " : "negative ");
+        }
+    }
+    float? f = 2.5;
+    if f is float {
+        float g = f * 2.0;
+        result += g.toString();
+    }
+    int? missing = ();
+    if missing is int {
+        result += " unexpected";
+    }
+    return result;
+}
+
+function identity(int? v) returns int? {
+    return v;
+}
+
+function returnOptional(boolean present) returns int? {
+    int? v = ();
+    if present {
+        v = 3;
+    }
+    return v;
+}
+
+function testReturnedOptionals() returns string {
+    return returnOptional(true).toString() + "," + returnOptional(false).toString();
+}
+
+function testEscapes() returns string {
+    int? a = 7;
+    int? b = ();
+    int? viaCall = identity(a);
+    map<int?> m = {a: a, b: b};
+    (int?)[] list = [a, b];
+    function () returns int? closure = function () returns int? {
+        return a;
+    };
+    return viaCall.toString() + " " + m.toString() + " " + list.toString() + " " + closure().toString();
+}
+
+function testWorkerSend() returns int? {
+    int? v = 21;
+
+    worker w1 returns int? {
+        int? received = <- function;
+        return received is int ? received * 2 : ();
+    }
+
+    v -> w1;
+    return wait w1;
+}
+
+function testYieldWithLiveOptional() returns string {
+    int? a = 1;
+    float? f = ();
+    int? n = ();
+    foreach int i in 0 ..< 3 {
+        runtime:sleep(0.001);
+        a = (a ?: 0) + i;
+        f = i == 1 ? () : <float> i;
+    }
+    return a.toString() + "," + f.toString() + "," + n.toString();
+}
+
+function divide(int a, int b) returns int|error {
+    if b == 0 {
+        return error("division by zero");
+    }
+    return a / b;
+}
+
+function testTrapAndCheck() returns string|error {
+    int zero = 0;
+    int? quotient = ();
+    int|error result = trap 10 / zero;
+    if result is error {
+        quotient = -1;
+    }
+    int? checked = check divide(6, 3);
+    int? total = ();
+    int value = check divide(8, 2);
+    total = value;
+    return quotient.toString() + "," + checked.toString() + "," + total.toString();
+}
+
+function nextStep(int? first = (), int step = 2) returns string {
+    int? next = ();
+    if first is int {
+        next = first + step;
+    }
+    return next.toString();
+}
+
+function testDefaultParams() returns string {
+    return nextStep() + "," + nextStep(3) + "," + nextStep(3, 4);
+}
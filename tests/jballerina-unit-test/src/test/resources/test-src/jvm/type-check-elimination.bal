@@ -0,0 +1,171 @@
+// Copyright (c) 2021 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+type Member int|byte|float|boolean|string|decimal|error|xml|()|map<int>|int[];
+
+class Counter {
+    int count = 0;
+}
+
+function getRopeString() returns string {
+    string part = "";
+    foreach int i in 0 ..< 20 {
+        part += "0123456789";
+    }
+    // long enough to be concatenated into a rope
+    return part + part;
+}
+
+function flag(boolean value) returns string {
+    return value ? "1" : "0";
+}
+
+// Type tests on values of every member type, which are held as Object
+
+function testOnUnion(Member v) returns string {
+    return flag(v is int) + flag(v is float) + flag(v is boolean) + flag(v is string) + flag(v is decimal) +
+            flag(v is error) + flag(v is xml) + flag(v is ()) + flag(v is map<int>);
+}
+
+function testOnAnyOrError(any|error v) returns string {
+    return flag(v is int) + flag(v is float) + flag(v is boolean) + flag(v is string) + flag(v is decimal) +
+            flag(v is error) + flag(v is xml) + flag(v is ()) + flag(v is map<int>);
+}
+
+function testOnReadonly(readonly v) returns string {
+    return flag(v is int) + flag(v is float) + flag(v is boolean) + flag(v is string) + flag(v is decimal) +
+            flag(v is error) + flag(v is xml) + flag(v is ()) + flag(v is map<int>);
+}
+
+function testOnAnydata(anydata v) returns string {
+    return flag(v is int) + flag(v is float) + flag(v is boolean) + flag(v is string) + flag(v is decimal) +
+            flag(v is xml) + flag(v is ()) + flag(v is map<int>);
+}
+
+function testOnJson(json v) returns string {
+    return flag(v is int) + flag(v is float) + flag(v is boolean) + flag(v is string) + flag(v is ()) +
+            flag(v is map<json>);
+}
+
+function testUnionTypeTests() returns string {
+    Member[] members = [1, <byte> 2, 2.5, true, "str", getRopeString(), 3.5d, error("Failed"), xml `<a/>`,
+                        xml `text`, (), {a: 1}, [1, 2]];
+    string[] results = [];
+    foreach Member v in members {
+        results.push(testOnUnion(v));
+    }
+    return string:'join(",", ...results);
+}
+
+function testAnyOrErrorTypeTests() returns string {
+    (any|error)[] members = [1, <byte> 2, 2.5, true, "str", getRopeString(), 3.5d, error("Failed"), xml `<a/>`,
+                             xml `text`, (), <map<int>> {a: 1}, <int[]> [1, 2], new Counter()];
+    string[] results = [];
+    foreach any|error v in members {
+        results.push(testOnAnyOrError(v));
+    }
+    return string:'join(",", ...results);
+}
+
+function testReadonlyTypeTests() returns string {
+    xml element = xml `<a/>`;
+    map<int> mapping = {a: 1};
+    int[] list = [1, 2];
+    readonly[] members = [1, <byte> 2, 2.5, true, "str", getRopeString(), 3.5d, error("Failed"),
+                          element.cloneReadOnly(), (), mapping.cloneReadOnly(), list.cloneReadOnly()];
+    string[] results = [];
+    foreach readonly v in members {
+        results.push(testOnReadonly(v));
+    }
+    return string:'join(",", ...results);
+}
+
+function testAnydataTypeTests() returns string {
+    anydata[] members = [1, <byte> 2, 2.5, true, "str", getRopeString(), 3.5d, xml `<a/>`, (), <map<int>> {a: 1},
+                         <int[]> [1, 2]];
+    string[] results = [];
+    foreach anydata v in members {
+        results.push(testOnAnydata(v));
+    }
+    return string:'join(",", ...results);
+}
+
+function testJsonTypeTests() returns string {
+    json[] members = [1, 2.5, true, "str", getRopeString(), (), {a: 1}, [1, 2]];
+    string[] results = [];
+    foreach json v in members {
+        results.push(testOnJson(v));
+    }
+    return string:'join(",", ...results);
+}
+
+// Type tests whose source type is a subtype of the target type
+
+function testConstantTrueTypeTests() returns boolean[] {
+    int i = 1;
+    string s = getRopeString();
+    int|string u = "u";
+    int? n = ();
+    float|decimal f = 1.5d;
+    readonly r = error("Failed");
+    map<int> m = {a: 1};
+    return [i is int, s is string, u is int|string, u is anydata, n is int?, n is anydata, f is float|decimal,
+            r is readonly, m is map<int>|int[], m is anydata];
+}
+
+// Casts whose source type is a subtype of the target type skip the runtime check
+
+function testSkippedCasts() returns string {
+    int i = 5;
+    int|string u = <int|string> i;
+    int|string|float w = <int|string|float> u;
+    anydata a = <anydata> w;
+    map<json> m = {a: 1};
+    json j = <json> m;
+    string? n = ();
+    json nilJson = <json> n;
+    return u.toString() + " " + w.toString() + " " + a.toString() + " " + j.toString() + " " + (nilJson is () ?
+            "nil" : "not nil");
+}
+
+function castToUnion(any v) returns int|string {
+    return <int|string> v;
+}
+
+function castToAnydata(any v) returns anydata {
+    return <anydata> v;
+}
+
+function castToJson(int|string|xml v) returns json {
+    return <json> v;
+}
+
+function testCastFailures() returns string {
+    string[] results = [];
+    var r1 = trap castToUnion(2.5);
+    results.push(r1 is error ? "error" : r1.toString());
+    var r2 = trap castToUnion("str");
+    results.push(r2 is error ? "error" : r2.toString());
+    var r3 = trap castToAnydata(new Counter());
+    results.push(r3 is error ? "error" : "anydata");
+    var r4 = trap castToAnydata(1);
+    results.push(r4 is error ? "error" : "anydata");
+    var r5 = trap castToJson(xml `<a/>`);
+    results.push(r5 is error ? "error" : "json");
+    var r6 = trap castToJson(3);
+    results.push(r6 is error ? "error" : "json");
+    return string:'join(",", ...results);
+}
@@ -70,14 +70,17 @@ public class Endpoint {
         }).start();
     }
 
-    public static BError shutdownGracefully(BObject listenerEndpoint) {
-        try {
-            WebServer webServer = (WebServer) listenerEndpoint.getNativeData(WEB_SERVER_NATIVE_DATA_KEY);
-            webServer.shutdownGracefully();
-            return null;
-        } catch (Throwable e) {
-            return Utils.createError(e);
-        }
+    public static Object shutdownGracefully(Environment env, BObject listenerEndpoint) {
+        // waits for the quiet period of the event loops, hence run as a blocking call
+        return env.executeBlocking(() -> {
+            try {
+                WebServer webServer = (WebServer) listenerEndpoint.getNativeData(WEB_SERVER_NATIVE_DATA_KEY);
+                webServer.shutdownGracefully();
+                return null;
+            } catch (Throwable e) {
+                return Utils.createError(e);
+            }
+        });
     }
 
     public static BError shutdownNow(BObject listenerEndpoint) {